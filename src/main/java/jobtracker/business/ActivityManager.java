@@ -1,7 +1,11 @@
 package jobtracker.business;
 
+import jobtracker.dao.Page;
+import jobtracker.dao.PageCursor;
+import jobtracker.dao.RowSink;
 import jobtracker.dao.ReportDaoJdbc;
 import jobtracker.dao.ReportDaoJdbc.ActivityRow;
+import java.sql.Timestamp;
 import java.util.List;
 
 public class ActivityManager {
@@ -24,6 +28,33 @@ public class ActivityManager {
         return dao.listActivities(limit, offset, auidFilter);
     }
 
+    /**
+     * Get one keyset page of activity records, newest first, optionally filtered by application ID
+     */
+    public Page<ActivityRow> getActivitiesPage(int limit, PageCursor after, String auidFilter) {
+        return dao.listActivitiesPage(limit, after, auidFilter);
+    }
+
+    /** Like getAllActivities, but hands each row to the sink as it is read */
+    public void streamActivities(int limit, int offset, String auidFilter, RowSink<? super ActivityRow> sink) {
+        dao.listActivities(limit, offset, auidFilter, sink);
+    }
+
+    /** Like getActivitiesPage, but hands each row to the sink; returns the next cursor */
+    public String streamActivitiesPage(int limit, PageCursor after, String auidFilter, RowSink<? super ActivityRow> sink) {
+        return dao.listActivitiesPage(limit, after, auidFilter, sink);
+    }
+
+    /** Activities after the given one, oldest first (resuming the activity stream). */
+    public List<ActivityRow> getActivitiesAfter(String afterActuid, String uuidFilter, String auidFilter, int limit) {
+        return dao.listActivitiesAfter(afterActuid, uuidFilter, auidFilter, limit);
+    }
+
+    /** Streams every activity (or those since the given time) to the sink. */
+    public long exportActivities(Timestamp since, RowSink<? super ActivityRow> sink) {
+        return dao.exportActivities(since, sink);
+    }
+
     public ActivityRow getActivityById(String actuid) {
         if (actuid == null || actuid.trim().isEmpty()) {
             return null;
@@ -0,0 +1,18 @@
+package jobtracker.business;
+
+import jobtracker.dao.ReportDaoJdbc.ActivityRow;
+import jobtracker.dao.ReportDaoJdbc.ApplicationRow;
+import jobtracker.dao.ReportDaoJdbc.CompanyRow;
+import jobtracker.dao.ReportDaoJdbc.JobRow;
+import java.util.List;
+
+/**
+ * One application with everything a detail view shows: the joined application
+ * row, its job and company, and the activity timeline (oldest first).
+ */
+public class ApplicationDetail {
+    public ApplicationRow application;
+    public JobRow job;
+    public CompanyRow company;
+    public List<ActivityRow> activities;
+}
@@ -1,6 +1,16 @@
 package jobtracker.business;
 
+import jobtracker.dao.BatchResult;
+import jobtracker.dao.Board;
+import jobtracker.dao.BulkStatusResult;
+import jobtracker.dao.ChangeSet;
+import jobtracker.dao.MultiGetResult;
+import jobtracker.dao.Page;
+import jobtracker.dao.PageCursor;
+import jobtracker.dao.RowSink;
+import jobtracker.dao.StatCounters;
 import jobtracker.dao.ReportDaoJdbc;
+import jobtracker.dao.ReportDaoJdbc.ApplicationPatch;
 import jobtracker.dao.ReportDaoJdbc.ApplicationRow;
 import java.sql.Timestamp;
 import java.util.List;
@@ -13,19 +23,7 @@ public class ApplicationManager {
      * Note: Application creation auto-logs Activity record
      */
     public String saveApplication(ApplicationRow app) {
-        // Validate required fields
-        if (app.uuid == null || app.uuid.trim().isEmpty()) {
-            throw new IllegalArgumentException("User ID is required");
-        }
-        if (app.juid == null || app.juid.trim().isEmpty()) {
-            throw new IllegalArgumentException("Job ID is required");
-        }
-        if (app.status == null || app.status.trim().isEmpty()) {
-            throw new IllegalArgumentException("Status is required");
-        }
-
-        // Validate enum values for status
-        validateStatus(app.status);
+        validateNewApplication(app);
 
         // Insert or Update logic
         if (app.auid == null || app.auid.trim().isEmpty()) {
@@ -45,6 +43,42 @@ public class ApplicationManager {
         }
     }
 
+    /**
+     * Bulk insert for imports: same validation as saveApplication, one batch and one
+     * transaction for the whole list (auto-logs one 'created' Activity per row).
+     * Keeps appliedAt when the row has one, otherwise stamps the current time.
+     */
+    public BatchResult saveApplications(List<ApplicationRow> apps) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (ApplicationRow app : apps) {
+            validateNewApplication(app);
+            if (app.appliedAt == null) {
+                app.appliedAt = now;
+            }
+        }
+        return dao.createApplications(apps);
+    }
+
+    /**
+     * Required fields and status check for a new application.
+     * Throws IllegalArgumentException describing the first problem found.
+     */
+    public void validateNewApplication(ApplicationRow app) {
+        // Validate required fields
+        if (app.uuid == null || app.uuid.trim().isEmpty()) {
+            throw new IllegalArgumentException("User ID is required");
+        }
+        if (app.juid == null || app.juid.trim().isEmpty()) {
+            throw new IllegalArgumentException("Job ID is required");
+        }
+        if (app.status == null || app.status.trim().isEmpty()) {
+            throw new IllegalArgumentException("Status is required");
+        }
+
+        // Validate enum values for status
+        validateStatus(app.status);
+    }
+
     public ApplicationRow getApplicationById(String auid) {
         if (auid == null || auid.trim().isEmpty()) {
             return null;
@@ -52,21 +86,117 @@ public class ApplicationManager {
         return dao.getApplicationByAuid(auid);
     }
 
+    /** All rows for ids in one query, plus the ids that matched nothing. */
+    public MultiGetResult<ApplicationRow> getApplicationsByIds(List<String> auids) {
+        return new MultiGetResult<>(auids, dao.getApplicationsByAuids(auids));
+    }
+
+    /**
+     * Application, job, company and activity timeline in one call, all on the
+     * caller's connection. The rows come from the point lookup cache where
+     * possible, so usually only the activity query reaches the database.
+     * Returns null if the application does not exist.
+     */
+    public ApplicationDetail getApplicationDetail(String auid) {
+        ApplicationRow app = getApplicationById(auid);
+        if (app == null) {
+            return null;
+        }
+
+        ApplicationDetail detail = new ApplicationDetail();
+        detail.application = app;
+        detail.job = dao.getJobByJuid(app.juid);
+        detail.company = (detail.job != null) ? dao.getCompanyByCuid(detail.job.cuid) : null;
+        detail.activities = dao.listActivityForApplication(auid);
+        return detail;
+    }
+
     public List<ApplicationRow> getAllApplications(int limit, int offset) {
         return dao.listApplicationsDetailedPaged(limit, offset);
     }
 
-    public void deleteApplication(String auid) {
+    public Page<ApplicationRow> getApplicationsPage(int limit, PageCursor after) {
+        return dao.listApplicationsDetailedPage(limit, after);
+    }
+
+    public void streamApplications(int limit, int offset, RowSink<? super ApplicationRow> sink) {
+        dao.listApplicationsDetailedPaged(limit, offset, sink);
+    }
+
+    public String streamApplicationsPage(int limit, PageCursor after, RowSink<? super ApplicationRow> sink) {
+        return dao.listApplicationsDetailedPage(limit, after, sink);
+    }
+
+    /**
+     * Applications created, updated or deleted after a sync token (null = full sync),
+     * optionally only one user's. Throws SyncTokenExpiredException when the token is
+     * older than the tombstone retention.
+     */
+    public ChangeSet getApplicationChanges(PageCursor since, String uuidFilter, int limit) {
+        return dao.listApplicationChanges(since, uuidFilter, limit);
+    }
+
+    /** The user's applications by status: count and newest perColumn per column. */
+    public Board getBoard(String uuid, int perColumn) {
+        if (uuid == null || uuid.trim().isEmpty()) {
+            throw new IllegalArgumentException("User ID is required");
+        }
+        return dao.getBoard(uuid, perColumn);
+    }
+
+    /** Table, status and source counts for one user, or for everything when uuid is null. */
+    public StatCounters.Counts getCounts(String uuid) {
+        return dao.getCounts(uuid);
+    }
+
+    /** Status counts in pipeline order (see StatusFunnel), for one user or everything. */
+    public StatusFunnel getStatusFunnel(String uuid) {
+        StatCounters.Counts counts = dao.getCounts(uuid);
+
+        StatusFunnel funnel = new StatusFunnel();
+        funnel.uuid = uuid;
+        for (long count : counts.statuses.values()) funnel.total += count;
+        for (String status : StatCounters.STATUSES) {
+            StatusFunnel.Stage stage = new StatusFunnel.Stage();
+            stage.status = status;
+            stage.count = counts.statuses.getOrDefault(status, 0L);
+            stage.percent = funnel.total == 0 ? 0 : Math.round(stage.count * 1000.0 / funnel.total) / 10.0;
+            funnel.stages.add(stage);
+            if (!"rejected".equals(status) && !"withdrawn".equals(status)) funnel.open += stage.count;
+        }
+        return funnel;
+    }
+
+    /** Recount all counters from the tables; returns how many were off. */
+    public int reconcileCounts() {
+        return dao.reconcileCounts();
+    }
+
+    /** Streams every application (or those updated since the given time) to the sink. */
+    public long exportApplications(Timestamp since, RowSink<? super ApplicationRow> sink) {
+        return dao.exportApplications(since, sink);
+    }
+
+    /** False if there was no such application. */
+    public boolean deleteApplication(String auid) {
         if (auid == null || auid.trim().isEmpty()) {
             throw new IllegalArgumentException("Application ID is required");
         }
-        dao.deleteApplication(auid);
+        return dao.deleteApplication(auid);
     }
 
     /**
      * Update application status with auto-logging to Activity
      */
     public ApplicationRow updateApplicationStatus(String auid, String newStatus) {
+        return updateApplicationStatus(auid, newStatus, null);
+    }
+
+    /**
+     * Same, but only applies while the application is still at expectedVersion
+     * (null = unconditional). Throws OptimisticLockException otherwise.
+     */
+    public ApplicationRow updateApplicationStatus(String auid, String newStatus, Integer expectedVersion) {
         if (auid == null || auid.trim().isEmpty()) {
             throw new IllegalArgumentException("Application ID is required");
         }
@@ -79,7 +209,7 @@ public class ApplicationManager {
 
         // Update status and auto-create Activity record
         Timestamp now = new Timestamp(System.currentTimeMillis());
-        dao.updateApplicationStatus(auid, newStatus, now);
+        dao.updateApplicationStatus(auid, newStatus, now, expectedVersion);
 
         // Return updated application
         return dao.getApplicationByAuid(auid);
@@ -89,24 +219,75 @@ public class ApplicationManager {
      * Update application notes
      */
     public void updateApplicationNotes(String auid, String notes) {
+        updateApplicationNotes(auid, notes, null);
+    }
+
+    /** Only applies while the application is still at expectedVersion (null = unconditional). */
+    public void updateApplicationNotes(String auid, String notes, Integer expectedVersion) {
         if (auid == null || auid.trim().isEmpty()) {
             throw new IllegalArgumentException("Application ID is required");
         }
 
         Timestamp now = new Timestamp(System.currentTimeMillis());
-        dao.updateApplicationNotes(auid, notes, now);
+        dao.updateApplicationNotes(auid, notes, now, expectedVersion);
     }
 
     /**
      * Update application source
      */
     public void updateApplicationSource(String auid, String source) {
+        updateApplicationSource(auid, source, null);
+    }
+
+    /** Only applies while the application is still at expectedVersion (null = unconditional). */
+    public void updateApplicationSource(String auid, String source, Integer expectedVersion) {
         if (auid == null || auid.trim().isEmpty()) {
             throw new IllegalArgumentException("Application ID is required");
         }
 
         Timestamp now = new Timestamp(System.currentTimeMillis());
-        dao.updateApplicationSource(auid, source, now);
+        dao.updateApplicationSource(auid, source, now, expectedVersion);
+    }
+
+    /**
+     * Set one status on many applications (one UPDATE and one batched Activity
+     * insert, in one transaction). Applications already at the status are left alone.
+     */
+    public BulkStatusResult updateApplicationStatuses(List<String> auids, String newStatus) {
+        if (auids == null || auids.isEmpty()) {
+            throw new IllegalArgumentException("At least one application ID is required");
+        }
+        if (newStatus == null || newStatus.trim().isEmpty()) {
+            throw new IllegalArgumentException("Status is required");
+        }
+        validateStatus(newStatus);
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        return dao.updateApplicationStatuses(auids, newStatus, now);
+    }
+
+    /**
+     * Update any of status, notes and source at once (one UPDATE, one transaction,
+     * a status_change Activity only if the status changed). Only applies while the
+     * application is still at expectedVersion (null = unconditional).
+     */
+    public ApplicationRow patchApplication(String auid, ApplicationPatch patch, Integer expectedVersion) {
+        if (auid == null || auid.trim().isEmpty()) {
+            throw new IllegalArgumentException("Application ID is required");
+        }
+        if (patch.status == null && !patch.setNotes && !patch.setSource) {
+            throw new IllegalArgumentException("Nothing to update: give status, notes and/or source");
+        }
+        if (patch.status != null) {
+            validateStatus(patch.status);
+        }
+        if (patch.setSource && patch.source != null) {
+            validateSource(patch.source);
+        }
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        dao.patchApplication(auid, patch, now, expectedVersion);
+        return dao.getApplicationByAuid(auid);
     }
 
     public boolean applicationExists(String auid) {
@@ -132,4 +313,14 @@ public class ApplicationManager {
         }
         throw new IllegalArgumentException("Invalid status. Must be one of: applied, phone_screen, interview, offer, rejected, withdrawn");
     }
+
+    private void validateSource(String source) {
+        String[] validSources = {"linkedin", "handshake", "referral", "company_site", "other"};
+        for (String valid : validSources) {
+            if (valid.equals(source)) {
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Invalid source. Must be one of: linkedin, handshake, referral, company_site, other");
+    }
 }
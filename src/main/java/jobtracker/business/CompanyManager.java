@@ -1,5 +1,9 @@
 package jobtracker.business;
 
+import jobtracker.dao.MultiGetResult;
+import jobtracker.dao.Page;
+import jobtracker.dao.PageCursor;
+import jobtracker.dao.RowSink;
 import jobtracker.dao.ReportDaoJdbc;
 import jobtracker.dao.ReportDaoJdbc.CompanyRow;
 import java.util.List;
@@ -47,15 +51,33 @@ public class CompanyManager {
         return dao.getCompanyByCuid(cuid);
     }
 
+    /** All rows for ids in one query, plus the ids that matched nothing. */
+    public MultiGetResult<CompanyRow> getCompaniesByIds(List<String> cuids) {
+        return new MultiGetResult<>(cuids, dao.getCompaniesByCuids(cuids));
+    }
+
     public List<CompanyRow> getAllCompanies(int limit, int offset) {
         return dao.listCompanies(limit, offset);
     }
 
-    public void deleteCompany(String cuid) {
+    public Page<CompanyRow> getCompaniesPage(int limit, PageCursor after) {
+        return dao.listCompaniesPage(limit, after);
+    }
+
+    public void streamCompanies(int limit, int offset, RowSink<? super CompanyRow> sink) {
+        dao.listCompanies(limit, offset, sink);
+    }
+
+    public String streamCompaniesPage(int limit, PageCursor after, RowSink<? super CompanyRow> sink) {
+        return dao.listCompaniesPage(limit, after, sink);
+    }
+
+    /** False if there was no such company; ConstraintViolationException if jobs still point at it. */
+    public boolean deleteCompany(String cuid) {
         if (cuid == null || cuid.trim().isEmpty()) {
             throw new IllegalArgumentException("Company ID is required");
         }
-        dao.deleteCompany(cuid);
+        return dao.deleteCompany(cuid);
     }
 
     public boolean companyNameExists(String name) {
@@ -1,5 +1,9 @@
 package jobtracker.business;
 
+import jobtracker.dao.MultiGetResult;
+import jobtracker.dao.Page;
+import jobtracker.dao.PageCursor;
+import jobtracker.dao.RowSink;
 import jobtracker.dao.ReportDaoJdbc;
 import jobtracker.dao.ReportDaoJdbc.JobRow;
 import java.util.List;
@@ -19,10 +23,8 @@ public class JobManager {
             throw new IllegalArgumentException("Job title is required");
         }
 
-        // Verify company exists
-        if (!dao.companyExists(job.cuid)) {
-            throw new IllegalArgumentException("Company does not exist");
-        }
+        // An unknown company is caught by the job's foreign key on insert
+        // (ConstraintViolationException, MISSING_PARENT)
 
         // Use provided values or defaults
         String employmentType = job.title != null && job.title.contains("Intern") ? "internship" : "full_time";
@@ -62,15 +64,33 @@ public class JobManager {
         return dao.getJobByJuid(juid);
     }
 
+    /** All rows for ids in one query, plus the ids that matched nothing. */
+    public MultiGetResult<JobRow> getJobsByIds(List<String> juids) {
+        return new MultiGetResult<>(juids, dao.getJobsByJuids(juids));
+    }
+
     public List<JobRow> getAllJobs(int limit, int offset) {
         return dao.listJobs(limit, offset);
     }
 
-    public void deleteJob(String juid) {
+    public Page<JobRow> getJobsPage(int limit, PageCursor after) {
+        return dao.listJobsPage(limit, after);
+    }
+
+    public void streamJobs(int limit, int offset, RowSink<? super JobRow> sink) {
+        dao.listJobs(limit, offset, sink);
+    }
+
+    public String streamJobsPage(int limit, PageCursor after, RowSink<? super JobRow> sink) {
+        return dao.listJobsPage(limit, after, sink);
+    }
+
+    /** False if there was no such job; ConstraintViolationException if applications still point at it. */
+    public boolean deleteJob(String juid) {
         if (juid == null || juid.trim().isEmpty()) {
             throw new IllegalArgumentException("Job ID is required");
         }
-        dao.deleteJob(juid);
+        return dao.deleteJob(juid);
     }
 
     public boolean jobExists(String juid) {
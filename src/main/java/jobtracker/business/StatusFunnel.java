@@ -0,0 +1,22 @@
+package jobtracker.business;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applications per status in pipeline order, for everything or for one user,
+ * read from the precomputed counters. open counts the ones still in progress
+ * (applied through offer); percent is each stage's share of total.
+ */
+public class StatusFunnel {
+    public String uuid; // null for all users
+    public long total;
+    public long open;
+    public List<Stage> stages = new ArrayList<>();
+
+    public static class Stage {
+        public String status;
+        public long count;
+        public double percent;
+    }
+}
@@ -1,5 +1,9 @@
 package jobtracker.business;
 
+import jobtracker.dao.MultiGetResult;
+import jobtracker.dao.Page;
+import jobtracker.dao.PageCursor;
+import jobtracker.dao.RowSink;
 import jobtracker.dao.ReportDaoJdbc;
 import jobtracker.dao.ReportDaoJdbc.UserRow;
 import java.util.List;
@@ -48,6 +52,11 @@ public class UserManager {
         return dao.getUserByUuid(uuid);
     }
 
+    /** All rows for ids in one query, plus the ids that matched nothing. */
+    public MultiGetResult<UserRow> getUsersByIds(List<String> uuids) {
+        return new MultiGetResult<>(uuids, dao.getUsersByUuids(uuids));
+    }
+
     /**
      * Get all users with pagination
      */
@@ -56,13 +65,31 @@ public class UserManager {
     }
 
     /**
-     * Delete user by ID
+     * Get one keyset page of users, newest first (after = null for the first page)
+     */
+    public Page<UserRow> getUsersPage(int limit, PageCursor after) {
+        return dao.listUsersPage(limit, after);
+    }
+
+    /** Like getAllUsers, but hands each row to the sink as it is read */
+    public void streamUsers(int limit, int offset, RowSink<? super UserRow> sink) {
+        dao.listUsers(limit, offset, sink);
+    }
+
+    /** Like getUsersPage, but hands each row to the sink; returns the next cursor */
+    public String streamUsersPage(int limit, PageCursor after, RowSink<? super UserRow> sink) {
+        return dao.listUsersPage(limit, after, sink);
+    }
+
+    /**
+     * Delete user by ID. False if there was no such user; ConstraintViolationException
+     * if applications still point at it.
      */
-    public void deleteUser(String uuid) {
+    public boolean deleteUser(String uuid) {
         if (uuid == null || uuid.trim().isEmpty()) {
             throw new IllegalArgumentException("UUID is required");
         }
-        dao.deleteUser(uuid);
+        return dao.deleteUser(uuid);
     }
 
     /**
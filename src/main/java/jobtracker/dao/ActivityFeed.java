@@ -0,0 +1,62 @@
+package jobtracker.dao;
+
+import jobtracker.dao.ReportDaoJdbc.ActivityRow;
+import jobtracker.db.Db;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process notification of newly written activity rows.
+ *
+ * Every DAO path that inserts activities publishes the rows it wrote, once
+ * they are committed: the direct inserts after their transaction, the
+ * ActivityWriter after each flush. A rolled-back row is never published.
+ * Listeners run on the publishing thread (often a request thread right after
+ * its commit), so they must hand the rows off instead of doing I/O.
+ *
+ * Only this instance's writes show up here. Consumers that need the full
+ * history read it back from the activity table; actuids are time-ordered.
+ */
+public final class ActivityFeed {
+
+    public interface Listener {
+        void onActivities(List<ActivityRow> rows);
+    }
+
+    private static final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private ActivityFeed() {}
+
+    public static void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public static void unsubscribe(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /** Publish once the current transaction commits (right away without one). */
+    static void publishAfterCommit(List<ActivityRow> rows) {
+        if (rows.isEmpty() || listeners.isEmpty()) {
+            return;
+        }
+        Db.afterCommit(() -> publish(rows));
+    }
+
+    /** Publish rows that are already committed. */
+    static void publish(List<ActivityRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<ActivityRow> view = Collections.unmodifiableList(rows);
+        for (Listener listener : listeners) {
+            try {
+                listener.onActivities(view);
+            } catch (RuntimeException e) {
+                System.err.println("Activity listener failed: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package jobtracker.dao;
+
+/**
+ * The ActivityWriter could not take or write an activity row: queue full past
+ * the timeout, flush failed or timed out, journal write failed, or shut down.
+ * The change the row logs is already committed by then; only its activity is
+ * missing, so callers answer 503 rather than pretend everything went in.
+ */
+public class ActivityWriteException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ActivityWriteException(String message) {
+        super(message);
+    }
+
+    public ActivityWriteException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,631 @@
+package jobtracker.dao;
+
+import jobtracker.dao.ReportDaoJdbc.ActivityRow;
+import jobtracker.dao.TableVersions.Table;
+import jobtracker.db.Db;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Group commit for the activity rows the DAO logs on application creates and
+ * status changes.
+ *
+ * DIRECT (the default) keeps the old behaviour: no writer, the DAO inserts each
+ * row itself inside the caller's transaction. In the other modes the DAO hands
+ * the row over once the caller's transaction commits, and one writer thread
+ * inserts rows in batches (one multi-row INSERT and one commit per batch). A batch goes out when batchMax rows are in or flushMillis after its
+ * first row, whichever comes first.
+ *
+ * SYNC: the caller waits until its batch is committed. Concurrent callers share
+ * the INSERT and the commit.
+ * ASYNC: the caller appends the row to a local journal and waits for the fsync
+ * (shared by concurrent callers too), but not for the database. Rows left in
+ * the journal by a crash or a failed flush are inserted on the next start; the
+ * INSERT's ON DUPLICATE KEY no-op makes that replay idempotent.
+ *
+ * A row whose application (or user) was deleted before the flush fails its
+ * foreign key. The writer then redoes the batch row by row, and drops and logs
+ * the rows without a parent. They are not counted in stat_counter and not
+ * published, and the rest of the batch still goes in.
+ *
+ * Either way the activity row is no longer atomic with the change it logs: it
+ * lands shortly after the commit, or not at all if the row cannot be queued.
+ * When the queue is full callers block for up to queueTimeoutMs (backpressure)
+ * and then get an ActivityWriteException, as they do when their flush fails or
+ * the journal cannot be written. The DAO calls write() through
+ * Db.afterCommitOrFail, so that exception reaches the request.
+ *
+ * The writer thread inserts on a dedicated connection, not one from the pool:
+ * SYNC callers hold their request's pooled connection while they wait, and
+ * with as many of them as the pool has connections the writer would otherwise
+ * never get one. close() stops intake and flushes what is queued; Db runs it at
+ * shutdown before the pool closes.
+ */
+public final class ActivityWriter {
+
+    public enum Mode { DIRECT, SYNC, ASYNC }
+
+    /** Counters for the stats endpoint. */
+    public static class Stats {
+        public String mode;
+        public int queued;
+        public int queueCapacity;
+        public int batchMax;
+        public long flushMillis;
+        public long written;
+        public long batches;
+        public int largestBatch;
+        public long failedFlushes;
+        public long replayed;
+        /** Rows dropped because their application or user was gone by the flush. */
+        public long dropped;
+    }
+
+    // Only a duplicate actuid (a replayed row) is a no-op; IGNORE would also swallow foreign key failures
+    private static final String INSERT_SQL = "INSERT INTO activity (actuid, auid, uuid, event_type, old_status, new_status, event_time, details) VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE actuid = actuid";
+    private static final int SYNC_ATTEMPTS = 3;
+    private static final long SYNC_WAIT_MS = 30_000;
+    private static final long RETRY_BACKOFF_MS = 200;
+
+    private static final class Entry {
+        final ActivityRow row;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Entry(ActivityRow row) {
+            this.row = row;
+        }
+    }
+
+    private final Mode mode;
+    private final int batchMax;
+    private final long flushNanos;
+    private final long queueTimeoutMs;
+    private final BlockingQueue<Entry> queue;
+    private final Path journalPath;
+    private final Thread writer;
+
+    // ASYNC only. journalLock orders journal appends with queue offers and truncation;
+    // syncLock lets one caller's fsync cover every append made before it
+    private final ReentrantLock journalLock = new ReentrantLock();
+    private final Object syncLock = new Object();
+    private FileChannel journal;
+    private long appended;
+    private long synced;
+    // Writer thread only: set once a batch is given up, so its lines stay for the next start
+    private boolean keepJournal;
+    // Writer thread only (and the replay before it starts); reopened after a failure
+    private Connection connection;
+
+    private volatile boolean closed;
+
+    // All guarded by this
+    private long written;
+    private long batches;
+    private int largestBatch;
+    private long failedFlushes;
+    private long replayed;
+    private long dropped;
+
+    /**
+     * Configured from JOBTRACKER_ACTIVITY_* environment variables; see README_LAYERS.md.
+     * An unknown JOBTRACKER_ACTIVITY_WRITE_MODE falls back to DIRECT with an error
+     * logged, so the DAO still loads; the REST service checks it at startup with
+     * {@link #modeFromEnvironment()} and refuses to start instead.
+     */
+    public static ActivityWriter fromEnvironment() {
+        Mode mode;
+        try {
+            mode = modeFromEnvironment();
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage() + "; using DIRECT");
+            mode = Mode.DIRECT;
+        }
+        String journal = System.getenv("JOBTRACKER_ACTIVITY_JOURNAL");
+        return new ActivityWriter(
+                mode,
+                Db.intEnv("JOBTRACKER_ACTIVITY_BATCH_MAX", 200),
+                Db.longEnv("JOBTRACKER_ACTIVITY_FLUSH_MS", 5),
+                Db.intEnv("JOBTRACKER_ACTIVITY_QUEUE_MAX", 10_000),
+                Db.longEnv("JOBTRACKER_ACTIVITY_QUEUE_TIMEOUT_MS", 5_000),
+                Paths.get(journal == null || journal.trim().isEmpty() ? "activity-journal.log" : journal.trim()));
+    }
+
+    /**
+     * JOBTRACKER_ACTIVITY_WRITE_MODE, DIRECT when unset.
+     *
+     * @throws IllegalArgumentException naming the valid modes if the value is not one of them
+     */
+    public static Mode modeFromEnvironment() {
+        String mode = System.getenv("JOBTRACKER_ACTIVITY_WRITE_MODE");
+        if (mode == null || mode.trim().isEmpty()) {
+            return Mode.DIRECT;
+        }
+        try {
+            return Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid JOBTRACKER_ACTIVITY_WRITE_MODE: " + mode
+                    + " (expected one of " + Arrays.toString(Mode.values()) + ")");
+        }
+    }
+
+    public ActivityWriter(Mode mode, int batchMax, long flushMillis, int queueCapacity, long queueTimeoutMs, Path journalPath) {
+        this.mode = mode;
+        this.batchMax = Math.max(1, batchMax);
+        this.flushNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, flushMillis));
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.journalPath = journalPath;
+
+        if (mode == Mode.DIRECT) {
+            this.writer = null;
+            return;
+        }
+        if (mode == Mode.ASYNC) {
+            openJournal();
+        }
+        this.writer = new Thread(this::run, "jobtracker-activity-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        Db.beforeShutdown(this::close);
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    /**
+     * Queue row for the next batch. SYNC returns once the batch is committed;
+     * ASYNC once the row is in the journal. Throws ActivityWriteException when
+     * the row could not be queued or written.
+     */
+    public void write(ActivityRow row) {
+        if (mode == Mode.DIRECT) {
+            throw new IllegalStateException("Activity writer is in DIRECT mode");
+        }
+        if (closed) {
+            throw new ActivityWriteException("Activity writer is closed");
+        }
+
+        Entry entry = new Entry(row);
+        if (mode == Mode.ASYNC) {
+            syncJournal(enqueueJournaled(entry));
+            return;
+        }
+
+        enqueue(entry);
+        try {
+            // Bounded: a row queued just as close() finished would otherwise wait forever
+            entry.done.get(SYNC_WAIT_MS, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new ActivityWriteException("Activity flush failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new ActivityWriteException("Timed out waiting for activity flush", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ActivityWriteException("Interrupted while waiting for activity flush", e);
+        }
+    }
+
+    private void enqueue(Entry entry) {
+        boolean queued;
+        try {
+            queued = queue.offer(entry, queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            throw new ActivityWriteException("Activity queue full (" + queue.size() + " rows waiting)");
+        }
+    }
+
+    // -------------------------
+    // WRITER THREAD
+    // -------------------------
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(batchMax);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                long deadline = System.nanoTime() + flushNanos;
+                while (batch.size() < batchMax) {
+                    queue.drainTo(batch, batchMax - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchMax || remaining <= 0) break;
+                    Entry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // close() interrupts a writer stuck retrying; drain what is left and stop
+                closed = true;
+                queue.drainTo(batch);
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Entry> batch) {
+        List<ActivityRow> rows;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                rows = insert(batch);
+                break;
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    failedFlushes++;
+                }
+                // SYNC callers are waiting: give up after a few tries. ASYNC rows are in
+                // the journal, so keep trying until close() and replay them on the next start
+                boolean giveUp = (mode == Mode.SYNC) ? attempt >= SYNC_ATTEMPTS : closed;
+                if (giveUp) {
+                    System.err.println("Activity flush of " + batch.size() + " rows failed: " + e.getMessage());
+                    keepJournal = true;
+                    for (Entry entry : batch) entry.done.completeExceptionally(e);
+                    return;
+                }
+                if (!sleep(RETRY_BACKOFF_MS * Math.min(attempt, 25))) {
+                    closed = true;
+                }
+            }
+        }
+
+        synchronized (this) {
+            written += rows.size();
+            dropped += batch.size() - rows.size();
+            batches++;
+            largestBatch = Math.max(largestBatch, batch.size());
+        }
+        TableVersions.bump(Table.ACTIVITY);
+        ActivityFeed.publish(rows);
+        for (Entry entry : batch) entry.done.complete(null);
+        if (mode == Mode.ASYNC && !keepJournal) {
+            truncateJournalIfDrained();
+        }
+    }
+
+    private List<ActivityRow> insert(List<Entry> batch) {
+        List<ActivityRow> rows = new ArrayList<>(batch.size());
+        for (Entry entry : batch) rows.add(entry.row);
+        return insertRows(rows);
+    }
+
+    /**
+     * One transaction on the dedicated connection; rewriteBatchedStatements turns the
+     * batch into a multi-row INSERT. Returns the rows that went in, and the activity
+     * counters go up by that many. A replayed row that was already in the table is a
+     * no-op but still counted; StatCounters.reconcile() fixes that.
+     */
+    private List<ActivityRow> insertRows(List<ActivityRow> rows) {
+        try {
+            Connection conn = connection();
+            List<ActivityRow> inserted;
+            try (PreparedStatement ps = conn.prepareStatement(INSERT_SQL)) {
+                for (ActivityRow r : rows) {
+                    bind(ps, r);
+                    ps.addBatch();
+                }
+                try {
+                    ps.executeBatch();
+                    inserted = rows;
+                } catch (BatchUpdateException e) {
+                    // A rewritten multi-row INSERT fails as a whole: undo it and go row by
+                    // row, so one row without a parent does not hold up the rest
+                    conn.rollback();
+                    ps.clearBatch();
+                    inserted = insertEach(ps, rows);
+                }
+            }
+            StatCounters.Deltas counters = StatCounters.deltas();
+            for (ActivityRow r : inserted) counters.activities(r.uuid, 1);
+            counters.apply(conn);
+            conn.commit();
+            return inserted;
+        } catch (SQLException e) {
+            // Start the retry on a fresh connection; closing rolls back whatever went in
+            closeConnection();
+            throw new RuntimeException("insertActivities failed", e);
+        } catch (RuntimeException e) {
+            closeConnection();
+            throw e;
+        }
+    }
+
+    /** Drops (and logs) rows whose application or user is gone; any other error is thrown. */
+    private static List<ActivityRow> insertEach(PreparedStatement ps, List<ActivityRow> rows) throws SQLException {
+        List<ActivityRow> inserted = new ArrayList<>(rows.size());
+        for (ActivityRow r : rows) {
+            bind(ps, r);
+            try {
+                ps.executeUpdate();
+                inserted.add(r);
+            } catch (SQLIntegrityConstraintViolationException e) {
+                if (ConstraintViolationException.of("insertActivities failed", e).kind
+                        != ConstraintViolationException.Kind.MISSING_PARENT) {
+                    throw e;
+                }
+                System.err.println("Dropped activity " + r.actuid + ": application " + r.auid + " or its user no longer exists");
+            }
+        }
+        return inserted;
+    }
+
+    private static void bind(PreparedStatement ps, ActivityRow r) throws SQLException {
+        ps.setBytes(1, Ids.toBytes(r.actuid));
+        ps.setBytes(2, Ids.toBytes(r.auid));
+        ps.setBytes(3, Ids.toBytes(r.uuid));
+        ps.setString(4, r.eventType);
+        if (r.oldStatus != null) ps.setString(5, r.oldStatus);
+        else ps.setNull(5, Types.VARCHAR);
+        if (r.newStatus != null) ps.setString(6, r.newStatus);
+        else ps.setNull(6, Types.VARCHAR);
+        ps.setTimestamp(7, r.eventTime);
+        if (r.details != null) ps.setString(8, r.details);
+        else ps.setNull(8, Types.VARCHAR);
+    }
+
+    private Connection connection() throws SQLException {
+        if (connection == null) {
+            connection = Db.openDedicatedConnection();
+            connection.setAutoCommit(false);
+        }
+        return connection;
+    }
+
+    private void closeConnection() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println("Failed to close activity writer connection: " + e.getMessage());
+        }
+        connection = null;
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+
+    /** Stop taking rows and wait (up to 10s) for the queued ones to be written. */
+    public void close() {
+        if (writer == null || closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writer.join(10_000);
+            if (writer.isAlive()) {
+                writer.interrupt();
+                writer.join(1_000);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!writer.isAlive()) {
+            closeConnection();
+        }
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close activity journal: " + e.getMessage());
+            }
+        }
+    }
+
+    // -------------------------
+    // JOURNAL (ASYNC)
+    // -------------------------
+    // One tab-separated line per row. Appended and queued under journalLock, so
+    // once the writer has flushed everything and the queue is empty, every line
+    // in the file is in the database and the file can be cut back to zero.
+
+    private void openJournal() {
+        try {
+            if (Files.exists(journalPath) && Files.size(journalPath) > 0) {
+                try {
+                    replayJournal();
+                } catch (RuntimeException e) {
+                    // Keep the rows for a manual replay rather than refusing to start
+                    Path aside = Paths.get(journalPath + ".unreplayed-" + System.currentTimeMillis());
+                    Files.move(journalPath, aside);
+                    System.err.println("Activity journal replay failed (" + e.getMessage() + "), moved to " + aside);
+                }
+            }
+            journal = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            journal.truncate(0);
+            journal.force(true);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot open activity journal " + journalPath, e);
+        }
+    }
+
+    private void replayJournal() throws IOException {
+        List<ActivityRow> rows = new ArrayList<>();
+        try (BufferedReader in = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                ActivityRow row = decode(line);
+                // A torn last line from a crash mid-append was never acknowledged
+                if (row != null) rows.add(row);
+            }
+        }
+        int inserted = 0;
+        for (int from = 0; from < rows.size(); from += batchMax) {
+            inserted += insertRows(rows.subList(from, Math.min(rows.size(), from + batchMax))).size();
+        }
+        if (!rows.isEmpty()) {
+            TableVersions.bump(Table.ACTIVITY);
+            System.out.println("Replayed " + inserted + " activity rows from " + journalPath);
+        }
+        synchronized (this) {
+            replayed = inserted;
+            dropped += rows.size() - inserted;
+        }
+    }
+
+    /** Append and queue; returns the append's sequence number for syncJournal. */
+    private long enqueueJournaled(Entry entry) {
+        try {
+            if (!journalLock.tryLock(queueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new ActivityWriteException("Activity queue full (" + queue.size() + " rows waiting)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ActivityWriteException("Interrupted while queueing activity", e);
+        }
+        try {
+            enqueue(entry);
+            ByteBuffer line = StandardCharsets.UTF_8.encode(encode(entry.row) + "\n");
+            while (line.hasRemaining()) {
+                journal.write(line);
+            }
+            return ++appended;
+        } catch (IOException e) {
+            // Already queued, so it still gets written unless the process dies first
+            throw new ActivityWriteException("Activity journal write failed", e);
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    private void syncJournal(long seq) {
+        synchronized (syncLock) {
+            if (synced >= seq) {
+                return;
+            }
+            long upTo;
+            journalLock.lock();
+            try {
+                upTo = appended;
+            } finally {
+                journalLock.unlock();
+            }
+            try {
+                journal.force(false);
+            } catch (IOException e) {
+                throw new ActivityWriteException("Activity journal fsync failed", e);
+            }
+            synced = upTo;
+        }
+    }
+
+    private void truncateJournalIfDrained() {
+        journalLock.lock();
+        try {
+            if (queue.isEmpty()) {
+                journal.truncate(0);
+                journal.position(0);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to truncate activity journal: " + e.getMessage());
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    private static String encode(ActivityRow r) {
+        return String.join("\t", escape(r.actuid), escape(r.auid), escape(r.uuid), escape(r.eventType),
+                escape(r.oldStatus), escape(r.newStatus), Long.toString(r.eventTime.getTime()), escape(r.details));
+    }
+
+    private static ActivityRow decode(String line) {
+        String[] f = line.split("\t", -1);
+        if (f.length != 8) {
+            return null;
+        }
+        try {
+            ActivityRow r = new ActivityRow();
+            r.actuid = unescape(f[0]);
+            r.auid = unescape(f[1]);
+            r.uuid = unescape(f[2]);
+            r.eventType = unescape(f[3]);
+            r.oldStatus = unescape(f[4]);
+            r.newStatus = unescape(f[5]);
+            r.eventTime = new Timestamp(Long.parseLong(f[6]));
+            r.details = unescape(f[7]);
+            return r;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String escape(String value) {
+        if (value == null) return "\\N";
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String value) {
+        if (value.equals("\\N")) return null;
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                sb.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    public Stats stats() {
+        Stats s = new Stats();
+        s.mode = mode.name();
+        s.queued = queue.size();
+        s.queueCapacity = queue.size() + queue.remainingCapacity();
+        s.batchMax = batchMax;
+        s.flushMillis = TimeUnit.NANOSECONDS.toMillis(flushNanos);
+        synchronized (this) {
+            s.written = written;
+            s.batches = batches;
+            s.largestBatch = largestBatch;
+            s.failedFlushes = failedFlushes;
+            s.replayed = replayed;
+            s.dropped = dropped;
+        }
+        return s;
+    }
+}
@@ -0,0 +1,28 @@
+package jobtracker.dao;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Outcome of a batch insert. ids is parallel to the input rows and holds null
+ * for every row that was rejected; errors maps those row indexes to the
+ * constraint they broke, which callers turn into their own messages.
+ */
+public class BatchResult {
+    public final List<String> ids;
+    public final Map<Integer, ConstraintViolationException> errors = new TreeMap<>();
+
+    public BatchResult(List<String> ids) {
+        this.ids = ids;
+    }
+
+    void fail(int index, ConstraintViolationException reason) {
+        ids.set(index, null);
+        errors.put(index, reason);
+    }
+
+    public int insertedCount() {
+        return ids.size() - errors.size();
+    }
+}
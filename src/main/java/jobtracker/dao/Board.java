@@ -0,0 +1,23 @@
+package jobtracker.dao;
+
+import jobtracker.dao.ReportDaoJdbc.ApplicationRow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One user's applications as a Kanban board: a column per status in pipeline
+ * order, each with the number of applications in it and the most recent ones
+ * (at most perColumn, newest applied_at first).
+ */
+public class Board {
+    public String uuid;
+    public int perColumn;
+    public final List<Column> columns = new ArrayList<>();
+
+    public static class Column {
+        public String status;
+        public long count;
+        public final List<ApplicationRow> applications = new ArrayList<>();
+    }
+}
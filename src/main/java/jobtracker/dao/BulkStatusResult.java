@@ -0,0 +1,15 @@
+package jobtracker.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of setting one status on many applications: the ids that changed,
+ * those that already had the status, and those that matched nothing. Each in
+ * the order the ids were given, duplicates listed once.
+ */
+public class BulkStatusResult {
+    public final List<String> updated = new ArrayList<>();
+    public final List<String> unchanged = new ArrayList<>();
+    public final List<String> missing = new ArrayList<>();
+}
@@ -0,0 +1,19 @@
+package jobtracker.dao;
+
+import jobtracker.dao.ReportDaoJdbc.ApplicationRow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of application changes since a sync token: rows created or updated
+ * since (in their current state) and the ids of rows deleted since, plus the
+ * token for the next call. hasMore means the next call has more to return
+ * right away; a client catching up keeps calling until it is false.
+ */
+public class ChangeSet {
+    public final List<ApplicationRow> updated = new ArrayList<>();
+    public final List<String> deleted = new ArrayList<>();
+    public String nextToken;
+    public boolean hasMore;
+}
@@ -0,0 +1,63 @@
+package jobtracker.dao;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A write rejected by a unique or foreign key constraint. The DAO lets the
+ * database enforce these instead of checking first, and throws this so callers
+ * can answer 409/404 without parsing driver messages.
+ */
+public class ConstraintViolationException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Kind {
+        /** Unique key already taken (MySQL 1062). */
+        DUPLICATE,
+        /** Row is still referenced by a child row, so it cannot be deleted (1451). */
+        REFERENCED,
+        /** Referenced parent row does not exist (1452). */
+        MISSING_PARENT,
+        /** Any other integrity error, e.g. NOT NULL. */
+        OTHER
+    }
+
+    private static final Pattern FOREIGN_KEY = Pattern.compile("CONSTRAINT `([^`]+)`");
+    private static final Pattern UNIQUE_KEY = Pattern.compile("for key '([^']+)'");
+
+    public final Kind kind;
+    /** Constraint or key name, e.g. "fk_application_job" or "user.email"; null if unknown. */
+    public final String constraint;
+
+    public ConstraintViolationException(String message, Kind kind, String constraint, Throwable cause) {
+        super(message, cause);
+        this.kind = kind;
+        this.constraint = constraint;
+    }
+
+    /** Classify a driver exception; message is what callers see. */
+    public static ConstraintViolationException of(String message, SQLIntegrityConstraintViolationException e) {
+        Kind kind;
+        Pattern name;
+        switch (e.getErrorCode()) {
+            case 1062: kind = Kind.DUPLICATE; name = UNIQUE_KEY; break;
+            case 1451: kind = Kind.REFERENCED; name = FOREIGN_KEY; break;
+            case 1452: kind = Kind.MISSING_PARENT; name = FOREIGN_KEY; break;
+            default: kind = Kind.OTHER; name = null;
+        }
+
+        String constraint = null;
+        if (name != null && e.getMessage() != null) {
+            Matcher m = name.matcher(e.getMessage());
+            if (m.find()) constraint = m.group(1);
+        }
+        return new ConstraintViolationException(message, kind, constraint, e);
+    }
+
+    /** True for a violation of the named constraint or key (matched by suffix, so "email" matches "user.email"). */
+    public boolean on(String constraintName) {
+        return constraint != null && constraint.endsWith(constraintName);
+    }
+}
@@ -0,0 +1,152 @@
+package jobtracker.dao;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache for point lookups by id, used by {@link ReportDaoJdbc}.
+ *
+ * Entries are evicted least-recently-used once maxSize is reached and expire
+ * after ttlMs. Lookups that found nothing are cached too (for negativeTtlMs) so
+ * repeated 404s do not reach the database. Cached rows are shared between
+ * callers and must be treated as read-only.
+ *
+ * A load that overlaps an invalidation is not stored: the row it read may be
+ * older than the write that triggered the invalidation.
+ */
+public final class EntityCache<V> {
+
+    /** Snapshot of one cache's counters, serialized as-is by the stats endpoint. */
+    public static class Stats {
+        public String name;
+        public int size;
+        public int maxSize;
+        public long hits;
+        public long negativeHits;
+        public long misses;
+        public long evictions;
+        public long expirations;
+        public long invalidations;
+    }
+
+    /** Stands in for "no such row" in the map. */
+    private static final Object MISSING = new Object();
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlMs;
+    private final long negativeTtlMs;
+    private final LinkedHashMap<String, Entry> entries;
+
+    // All guarded by this
+    private long generation;
+    private long hits;
+    private long negativeHits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+
+    private static final class Entry {
+        final Object value;
+        final long expiresAt;
+
+        Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public EntityCache(String name, int maxSize, long ttlMs, long negativeTtlMs) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMs = ttlMs;
+        this.negativeTtlMs = negativeTtlMs;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /** False when configured with maxSize 0; get() then always calls the loader. */
+    public boolean enabled() {
+        return maxSize > 0 && ttlMs > 0;
+    }
+
+    /**
+     * The cached value for key, or loader's result (which may be null) on a miss.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(String key, Function<String, V> loader) {
+        if (!enabled() || key == null) {
+            return loader.apply(key);
+        }
+
+        long loadGeneration;
+        synchronized (this) {
+            Entry e = entries.get(key);
+            if (e != null) {
+                if (e.expiresAt > System.currentTimeMillis()) {
+                    if (e.value == MISSING) {
+                        negativeHits++;
+                        return null;
+                    }
+                    hits++;
+                    return (V) e.value;
+                }
+                entries.remove(key);
+                expirations++;
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+
+        V value = loader.apply(key);
+
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                long ttl = (value == null) ? negativeTtlMs : ttlMs;
+                if (ttl > 0) {
+                    entries.put(key, new Entry(value == null ? MISSING : value, System.currentTimeMillis() + ttl));
+                    evictOverflow();
+                }
+            }
+        }
+        return value;
+    }
+
+    public synchronized void invalidate(String key) {
+        generation++;
+        if (entries.remove(key) != null) {
+            invalidations++;
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    public synchronized Stats stats() {
+        Stats s = new Stats();
+        s.name = name;
+        s.size = entries.size();
+        s.maxSize = maxSize;
+        s.hits = hits;
+        s.negativeHits = negativeHits;
+        s.misses = misses;
+        s.evictions = evictions;
+        s.expirations = expirations;
+        s.invalidations = invalidations;
+        return s;
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions++;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package jobtracker.dao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects point lookups from concurrent callers and resolves them together
+ * with one batch query (WHERE id IN (...)), DataLoader style.
+ *
+ * The first caller to arrive opens a batch and waits up to windowMicros for
+ * others to join; the batch closes early once maxBatch distinct keys are in.
+ * That first caller then runs the batch query on its own thread (and so on its
+ * own connection) and hands every waiting caller its row, or null if the id was
+ * not found. If the query fails, every caller in the batch gets the exception.
+ *
+ * No background threads. A window of 0 turns batching off and each get() runs
+ * a batch of one.
+ */
+public final class LookupBatcher<V> {
+
+    /** Loads many ids at once; ids that do not exist are simply left out of the map. */
+    @FunctionalInterface
+    public interface BatchLoader<V> {
+        Map<String, V> load(Collection<String> ids);
+    }
+
+    /** Counters for the stats endpoint. */
+    public static class Stats {
+        public String name;
+        public long windowMicros;
+        public int maxBatch;
+        public long batches;
+        public long keys;
+        public int largestBatch;
+    }
+
+    private static final class Batch<V> {
+        final Map<String, CompletableFuture<V>> waiting = new LinkedHashMap<>();
+        boolean closed;
+    }
+
+    private final String name;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final BatchLoader<V> loader;
+
+    // All guarded by this
+    private Batch<V> open;
+    private long batches;
+    private long keys;
+    private int largestBatch;
+
+    public LookupBatcher(String name, long windowMicros, int maxBatch, BatchLoader<V> loader) {
+        this.name = name;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, windowMicros));
+        this.maxBatch = Math.max(1, maxBatch);
+        this.loader = loader;
+    }
+
+    /** False when configured with a window of 0. */
+    public boolean enabled() {
+        return windowNanos > 0;
+    }
+
+    public V get(String id) {
+        Batch<V> batch;
+        CompletableFuture<V> result;
+        boolean leader = false;
+
+        synchronized (this) {
+            if (open == null) {
+                open = new Batch<>();
+                leader = true;
+            }
+            batch = open;
+            result = batch.waiting.computeIfAbsent(id, k -> new CompletableFuture<>());
+            if (batch.waiting.size() >= maxBatch || windowNanos == 0) {
+                close(batch);
+            }
+        }
+
+        if (leader) {
+            collect(batch);
+            dispatch(batch);
+        }
+        return await(result);
+    }
+
+    /** Wait until the window ends or the batch fills up, then close it. */
+    private synchronized void collect(Batch<V> batch) {
+        long deadline = System.nanoTime() + windowNanos;
+        boolean interrupted = false;
+        while (!batch.closed) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                close(batch);
+                break;
+            }
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void close(Batch<V> batch) {
+        batch.closed = true;
+        if (open == batch) {
+            open = null;
+        }
+        batches++;
+        keys += batch.waiting.size();
+        largestBatch = Math.max(largestBatch, batch.waiting.size());
+        notifyAll();
+    }
+
+    private void dispatch(Batch<V> batch) {
+        // Closed, so no other thread touches batch.waiting any more
+        try {
+            Map<String, V> found = loader.load(new ArrayList<>(batch.waiting.keySet()));
+            for (Map.Entry<String, CompletableFuture<V>> e : batch.waiting.entrySet()) {
+                e.getValue().complete(found.get(e.getKey()));
+            }
+        } catch (RuntimeException | Error e) {
+            for (CompletableFuture<V> f : batch.waiting.values()) {
+                f.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    public synchronized Stats stats() {
+        Stats s = new Stats();
+        s.name = name;
+        s.windowMicros = TimeUnit.NANOSECONDS.toMicros(windowNanos);
+        s.maxBatch = maxBatch;
+        s.batches = batches;
+        s.keys = keys;
+        s.largestBatch = largestBatch;
+        return s;
+    }
+}
@@ -0,0 +1,25 @@
+package jobtracker.dao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of looking up many ids at once: the rows that were found, in the
+ * order their ids were asked for, and the ids that matched nothing.
+ * Duplicate ids are looked up (and listed) once.
+ */
+public class MultiGetResult<T> {
+    public final List<T> found = new ArrayList<>();
+    public final List<String> missing = new ArrayList<>();
+
+    public MultiGetResult(Collection<String> ids, Map<String, T> rows) {
+        for (String id : new LinkedHashSet<>(ids)) {
+            T row = rows.get(id);
+            if (row != null) found.add(row);
+            else missing.add(id);
+        }
+    }
+}
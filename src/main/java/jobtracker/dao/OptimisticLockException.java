@@ -0,0 +1,23 @@
+package jobtracker.dao;
+
+/**
+ * A conditional application update found the row at a different version than
+ * the caller expected, i.e. someone else changed it since the caller read it.
+ * Nothing was written; the caller should re-read and retry.
+ */
+public class OptimisticLockException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public final String auid;
+    public final Integer expectedVersion;
+    /** Version the row was found at, or null when the UPDATE simply matched nothing. */
+    public final Integer currentVersion;
+
+    public OptimisticLockException(String auid, Integer expectedVersion, Integer currentVersion) {
+        super("Application " + auid + " is no longer at version " + expectedVersion);
+        this.auid = auid;
+        this.expectedVersion = expectedVersion;
+        this.currentVersion = currentVersion;
+    }
+}
@@ -0,0 +1,16 @@
+package jobtracker.dao;
+
+import java.util.List;
+
+/**
+ * One keyset page of rows. nextCursor is null on the last page.
+ */
+public class Page<T> {
+    public List<T> items;
+    public String nextCursor;
+
+    public Page(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,46 @@
+package jobtracker.dao;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paged list: the sort key and id of the last row a
+ * client has seen. Travels as an opaque base64url token in the {@code cursor}
+ * query parameter and {@code nextCursor} response field.
+ */
+public final class PageCursor {
+    public final Timestamp sortKey;
+    public final String id;
+
+    public PageCursor(Timestamp sortKey, String id) {
+        this.sortKey = sortKey;
+        this.id = id;
+    }
+
+    public String encode() {
+        String raw = sortKey.getTime() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token from a request. Blank means "first page" and returns null.
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            if (sep <= 0 || sep == raw.length() - 1) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new PageCursor(new Timestamp(Long.parseLong(raw.substring(0, sep))), raw.substring(sep + 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -1,11 +1,24 @@
 package jobtracker.dao;
 
+import jobtracker.dao.TableVersions.Table;
 import jobtracker.db.Db;
 
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 public class ReportDaoJdbc {
 
@@ -30,6 +43,8 @@ public class ReportDaoJdbc {
         public String juid;
         public String cuid;
         public String title;
+        public String employmentType;
+        public String workType;
         public String url;
         public Timestamp createdAt;
     }
@@ -53,11 +68,14 @@ public class ReportDaoJdbc {
         public String source;
         public String notes;
         public Timestamp lastUpdatedAt;
+        // bumped by every update; served as the ETag
+        public Integer version;
     }
 
     public static class ActivityRow {
         public String actuid;
         public String auid;
+        public String uuid; // user uuid
         public String eventType;
         public String oldStatus;
         public String newStatus;
@@ -65,13 +83,285 @@ public class ReportDaoJdbc {
         public String details;
     }
 
+    /** Fields a PATCH sets; status null = keep it, notes/source only when their flag is set (null clears). */
+    public static class ApplicationPatch {
+        public String status;
+        public boolean setNotes;
+        public String notes;
+        public boolean setSource;
+        public String source;
+    }
+
+    // -------------------------
+    // POINT LOOKUP CACHE
+    // -------------------------
+    // getUserByUuid, getCompanyByCuid, getJobByJuid and getApplicationByAuid read
+    // through these (shared by every DAO instance). Every update/delete below evicts
+    // the affected entries, once right away and again after its transaction commits.
+    // Application rows carry the user/company/job names, so a change to any of those
+    // drops the whole application cache. Creates need no eviction: their ids are new.
+    // Tunable with JOBTRACKER_CACHE_MAX_ENTRIES (per cache, 0 = off),
+    // JOBTRACKER_CACHE_TTL_MS and JOBTRACKER_CACHE_NEGATIVE_TTL_MS.
+
+    private static final int CACHE_MAX_ENTRIES = Db.intEnv("JOBTRACKER_CACHE_MAX_ENTRIES", 10_000);
+    private static final long CACHE_TTL_MS = Db.longEnv("JOBTRACKER_CACHE_TTL_MS", 60_000);
+    private static final long CACHE_NEGATIVE_TTL_MS = Db.longEnv("JOBTRACKER_CACHE_NEGATIVE_TTL_MS", 5_000);
+
+    private static final EntityCache<UserRow> userCache = newCache("user");
+    private static final EntityCache<CompanyRow> companyCache = newCache("company");
+    private static final EntityCache<JobRow> jobCache = newCache("job");
+    private static final EntityCache<ApplicationRow> applicationCache = newCache("application");
+
+    private static <V> EntityCache<V> newCache(String name) {
+        return new EntityCache<>(name, CACHE_MAX_ENTRIES, CACHE_TTL_MS, CACHE_NEGATIVE_TTL_MS);
+    }
+
+    public static List<EntityCache.Stats> cacheStats() {
+        List<EntityCache.Stats> out = new ArrayList<>();
+        out.add(userCache.stats());
+        out.add(companyCache.stats());
+        out.add(jobCache.stats());
+        out.add(applicationCache.stats());
+        return out;
+    }
+
+    /** For other DAOs that write the user table (UserDaoJdbc). */
+    static void userChanged(String uuid) {
+        evict(userCache, uuid, true);
+        changed(Table.USER);
+    }
+
+    /** The caller picks the uuid here, so it may have been cached as missing. */
+    static void userCreated(String uuid) {
+        evict(userCache, uuid, false);
+        changed(Table.USER);
+    }
+
+    /**
+     * Cache, then single-flight, then the lookup batcher; inside a transaction
+     * straight to loader on the transaction's connection.
+     */
+    private static <V> V cached(EntityCache<V> cache, String operation, String id, Function<String, V> loader,
+                                LookupBatcher<V> batcher, Table... tables) {
+        // Inside a transaction, go to the database: the transaction may have written
+        // this row, and what it reads back is not committed (or cacheable) yet
+        if (Db.inTransaction()) {
+            return loader.apply(id);
+        }
+        Function<String, V> load = batcher.enabled() ? batcher::get : loader;
+        if (!coalescingEnabled()) {
+            return cache.get(cacheKey(id), load);
+        }
+        // Concurrent misses for the same id share one query
+        return cache.get(cacheKey(id), key -> flights.run(operation,
+                operation + ":" + key + "@" + TableVersions.stamp(tables), () -> load.apply(key)));
+    }
+
+    private static void evict(EntityCache<?> cache, String id, boolean cascadeToApplications) {
+        String key = cacheKey(id);
+        Runnable evict = () -> {
+            cache.invalidate(key);
+            if (cascadeToApplications) applicationCache.invalidateAll();
+        };
+        evict.run();
+        // Again after commit: a reader may have cached the old row in between
+        Db.afterCommit(evict);
+    }
+
+    /**
+     * Cache (and batcher) key for id: the canonical lower-case form, so a lookup
+     * spelled in upper case shares the entry that writes evict. Malformed ids
+     * stay as given; they only ever cache "not found".
+     */
+    private static String cacheKey(String id) {
+        byte[] bytes = Ids.toBytes(id);
+        return bytes == null ? id : Ids.fromBytes(bytes);
+    }
+
+    // -------------------------
+    // READ COALESCING
+    // -------------------------
+    // Concurrent identical reads (same method and arguments) share one query:
+    // the first caller runs it, the others wait for its rows. Used by the point
+    // lookups on a cache miss and by the list methods for pages of up to
+    // JOBTRACKER_COALESCE_MAX_ROWS rows (default 200, 0 = off); bigger pages keep
+    // streaming straight from the ResultSet. Never inside a transaction, which
+    // must see its own writes.
+    // Keys carry the TableVersions stamp of every table the result reads, and each
+    // write below bumps the tables it touches (now and after commit), so a read
+    // issued after a write never joins a query that started before it.
+
+    private static final int COALESCE_MAX_ROWS = Db.intEnv("JOBTRACKER_COALESCE_MAX_ROWS", 200);
+
+    private static final SingleFlight flights = new SingleFlight();
+
+    public static SingleFlight.Stats coalescingStats() {
+        return flights.stats();
+    }
+
+    private static boolean coalescingEnabled() {
+        return COALESCE_MAX_ROWS > 0;
+    }
+
+    /** Record a write to tables, once right away and again after commit. */
+    private static void changed(Table... tables) {
+        TableVersions.bump(tables);
+        Db.afterCommit(() -> TableVersions.bump(tables));
+    }
+
+    /** A list query writing rows to a sink; returns the next cursor or null. */
+    @FunctionalInterface
+    private interface ListQuery<T> {
+        String run(RowSink<? super T> sink);
+    }
+
+    private static <T> String coalesced(String operation, String args, int limit, RowSink<? super T> sink,
+                                        ListQuery<T> query, Table... tables) {
+        if (limit > COALESCE_MAX_ROWS || Db.inTransaction()) {
+            return query.run(sink);
+        }
+
+        String key = operation + ":" + args + "@" + TableVersions.stamp(tables);
+        Page<T> shared = flights.run(operation, key, () -> {
+            List<T> rows = new ArrayList<>();
+            String next = query.run(rows::add);
+            return new Page<>(rows, next);
+        });
+
+        try {
+            for (T row : shared.items) sink.accept(row);
+        } catch (IOException e) {
+            throw new RuntimeException(operation + " failed", e);
+        }
+        return shared.nextCursor;
+    }
+
+    private static String cursorKey(PageCursor after) {
+        return after == null ? "" : after.encode();
+    }
+
+    // -------------------------
+    // LOOKUP BATCHING
+    // -------------------------
+    // Point lookups that miss the cache outside a transaction are collected for up
+    // to JOBTRACKER_LOOKUP_BATCH_WINDOW_US microseconds (default 500, 0 = off) or
+    // JOBTRACKER_LOOKUP_BATCH_MAX distinct ids (default 100) and resolved with one
+    // WHERE id IN (...) query per table; see LookupBatcher.
+
+    private static final long LOOKUP_BATCH_WINDOW_US = Db.longEnv("JOBTRACKER_LOOKUP_BATCH_WINDOW_US", 500);
+    private static final int LOOKUP_BATCH_MAX = Db.intEnv("JOBTRACKER_LOOKUP_BATCH_MAX", 100);
+
+    private static final LookupBatcher<UserRow> userBatcher = newBatcher("user", ReportDaoJdbc::fetchUsers);
+    private static final LookupBatcher<CompanyRow> companyBatcher = newBatcher("company", ReportDaoJdbc::fetchCompanies);
+    private static final LookupBatcher<JobRow> jobBatcher = newBatcher("job", ReportDaoJdbc::fetchJobs);
+    private static final LookupBatcher<ApplicationRow> applicationBatcher = newBatcher("application", ReportDaoJdbc::fetchApplications);
+
+    private static <V> LookupBatcher<V> newBatcher(String name, LookupBatcher.BatchLoader<V> loader) {
+        return new LookupBatcher<>(name, LOOKUP_BATCH_WINDOW_US, LOOKUP_BATCH_MAX, loader);
+    }
+
+    public static List<LookupBatcher.Stats> batchingStats() {
+        List<LookupBatcher.Stats> out = new ArrayList<>();
+        out.add(userBatcher.stats());
+        out.add(companyBatcher.stats());
+        out.add(jobBatcher.stats());
+        out.add(applicationBatcher.stats());
+        return out;
+    }
+
+    // Multi-get: many ids in one IN query per table, bypassing the cache. Keyed by
+    // the ids as given; unknown and malformed ids are left out.
+
+    public Map<String, UserRow> getUsersByUuids(Collection<String> uuids) {
+        return fetchUsers(uuids);
+    }
+
+    public Map<String, CompanyRow> getCompaniesByCuids(Collection<String> cuids) {
+        return fetchCompanies(cuids);
+    }
+
+    public Map<String, JobRow> getJobsByJuids(Collection<String> juids) {
+        return fetchJobs(juids);
+    }
+
+    public Map<String, ApplicationRow> getApplicationsByAuids(Collection<String> auids) {
+        return fetchApplications(auids);
+    }
+
+    /** Upper bound on ids per IN list; longer id lists are queried in chunks. */
+    private static final int MAX_IN_IDS = 500;
+
+    private static Map<String, UserRow> fetchUsers(Collection<String> uuids) {
+        return fetchByIds("fetchUsers", "SELECT uuid, email, password_hash, name, created_at FROM `user` WHERE uuid IN ",
+                uuids, ReportDaoJdbc::mapUser, r -> r.uuid);
+    }
+
+    private static Map<String, CompanyRow> fetchCompanies(Collection<String> cuids) {
+        return fetchByIds("fetchCompanies", "SELECT cuid, name, created_at FROM company WHERE cuid IN ",
+                cuids, ReportDaoJdbc::mapCompany, r -> r.cuid);
+    }
+
+    private static Map<String, JobRow> fetchJobs(Collection<String> juids) {
+        return fetchByIds("fetchJobs", "SELECT juid, cuid, title, employment_type, work_type, job_url AS url, created_at FROM job WHERE juid IN ",
+                juids, ReportDaoJdbc::mapJob, r -> r.juid);
+    }
+
+    private static Map<String, ApplicationRow> fetchApplications(Collection<String> auids) {
+        return fetchByIds("fetchApplications", "SELECT a.auid, a.uuid, a.juid, u.name AS user_name, u.email AS user_email, c.name AS company_name, j.title AS job_title, a.status, a.applied_at, a.source, a.notes, a.last_updated_at, a.version FROM application a JOIN `user` u ON a.uuid = u.uuid JOIN job j ON a.juid = j.juid JOIN company c ON j.cuid = c.cuid WHERE a.auid IN ",
+                auids, ReportDaoJdbc::mapApplicationJoined, r -> r.auid);
+    }
+
+    /**
+     * Rows for ids, keyed by the ids as given (which may differ in case from the
+     * stored form). Malformed and unknown ids are left out.
+     */
+    private static <T> Map<String, T> fetchByIds(String label, String sqlPrefix, Collection<String> ids,
+                                                 RowMapper<T> mapper, Function<T, String> idOf) {
+        List<byte[]> keys = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            byte[] key = Ids.toBytes(id);
+            if (key != null) keys.add(key);
+        }
+
+        Map<String, T> byId = new HashMap<>();
+        if (keys.isEmpty()) return byId;
+
+        try (Connection conn = Db.getConnection()) {
+            for (int from = 0; from < keys.size(); from += MAX_IN_IDS) {
+                List<byte[]> chunk = keys.subList(from, Math.min(keys.size(), from + MAX_IN_IDS));
+                String sql = sqlPrefix + "(" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) ps.setBytes(i + 1, chunk.get(i));
+
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            T row = mapper.map(rs);
+                            byId.put(idOf.apply(row), row);
+                        }
+                    }
+                }
+            }
+
+            Map<String, T> out = new HashMap<>();
+            for (String id : ids) {
+                T row = byId.get(Ids.fromBytes(Ids.toBytes(id)));
+                if (row != null) out.put(id, row);
+            }
+            return out;
+
+        } catch (SQLException e) {
+            throw new RuntimeException(label + " failed", e);
+        }
+    }
+
     // -------------------------
     // EXISTING METHODS (kept)
     // -------------------------
 
     /** Joined view: application + user + job + company (non-paged) */
     public List<ApplicationRow> listApplicationsDetailed(int limit) {
-        String sql = "SELECT a.auid, a.uuid, a.juid, u.name AS user_name, u.email AS user_email, c.name AS company_name, j.title AS job_title, a.status, a.applied_at, a.source, a.notes, a.last_updated_at FROM application a JOIN `user` u ON a.uuid = u.uuid JOIN job j ON a.juid = j.juid JOIN company c ON j.cuid = c.cuid ORDER BY a.applied_at DESC LIMIT ?";
+        String sql = "SELECT a.auid, a.uuid, a.juid, u.name AS user_name, u.email AS user_email, c.name AS company_name, j.title AS job_title, a.status, a.applied_at, a.source, a.notes, a.last_updated_at, a.version FROM application a JOIN `user` u ON a.uuid = u.uuid JOIN job j ON a.juid = j.juid JOIN company c ON j.cuid = c.cuid ORDER BY a.applied_at DESC LIMIT ?";
 
         List<ApplicationRow> out = new ArrayList<>();
         try (Connection conn = Db.getConnection();
@@ -91,13 +381,13 @@ public class ReportDaoJdbc {
 
     /** Activity timeline for one application (non-paged) */
     public List<ActivityRow> listActivityForApplication(String auid) {
-        String sql = "SELECT actuid, auid, event_type, old_status, new_status, event_time, details FROM activity WHERE auid = ? ORDER BY event_time ASC";
+        String sql = "SELECT actuid, auid, uuid, event_type, old_status, new_status, event_time, details FROM activity WHERE auid = ? ORDER BY event_time ASC";
 
         List<ActivityRow> out = new ArrayList<>();
         try (Connection conn = Db.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            ps.setString(1, auid);
+            ps.setBytes(1, Ids.toBytes(auid));
 
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) out.add(mapActivity(rs));
@@ -109,33 +399,48 @@ public class ReportDaoJdbc {
         }
     }
 
-    /** Simple row counts */
+    /** Rows per table, from the counters (see StatCounters) rather than COUNT(*) scans. */
     public List<String> getRowCounts() {
-        String sql = "SELECT 'user' AS table_name, COUNT(*) AS row_count FROM `user` UNION ALL SELECT 'company', COUNT(*) FROM company UNION ALL SELECT 'job', COUNT(*) FROM job UNION ALL SELECT 'application', COUNT(*) FROM application UNION ALL SELECT 'activity', COUNT(*) FROM activity";
-
         List<String> out = new ArrayList<>();
-        try (Connection conn = Db.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
+        for (Map.Entry<String, Long> e : StatCounters.read(null).tables.entrySet()) {
+            out.add(e.getKey() + ": " + e.getValue());
+        }
+        return out;
+    }
 
-            while (rs.next()) {
-                out.add(rs.getString("table_name") + ": " + rs.getInt("row_count"));
-            }
-            return out;
+    /** Table, status and source counts for one user, or for everything when uuid is null. */
+    public StatCounters.Counts getCounts(String uuid) {
+        return StatCounters.read(uuid);
+    }
 
-        } catch (SQLException e) {
-            throw new RuntimeException("getRowCounts failed", e);
-        }
+    /** Recount from the base tables and fix the counters that drifted; returns how many did. */
+    public int reconcileCounts() {
+        return StatCounters.reconcile();
     }
 
     // -------------------------
     // NEW: BROWSE METHODS (paged)
     // -------------------------
+    // Each list method has a RowSink overload that hands rows over as they are
+    // read; the List versions just collect into a list. The REST list routes use
+    // the sink versions to write JSON straight to the response.
 
     public List<UserRow> listUsers(int limit, int offset) {
-        String sql = "SELECT uuid, email, password_hash, name, created_at FROM `user` ORDER BY created_at DESC LIMIT ? OFFSET ?";
-
         List<UserRow> out = new ArrayList<>();
+        listUsers(limit, offset, out::add);
+        return out;
+    }
+
+    public void listUsers(int limit, int offset, RowSink<? super UserRow> sink) {
+        coalesced("listUsers", limit + ":" + offset, limit, sink, s -> {
+            queryUsers(limit, offset, s);
+            return null;
+        }, Table.USER);
+    }
+
+    private void queryUsers(int limit, int offset, RowSink<? super UserRow> sink) {
+        String sql = "SELECT uuid, email, password_hash, name, created_at FROM `user` ORDER BY created_at DESC, uuid DESC LIMIT ? OFFSET ?";
+
         try (Connection conn = Db.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
@@ -143,27 +448,30 @@ public class ReportDaoJdbc {
             ps.setInt(2, offset);
 
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    UserRow r = new UserRow();
-                    r.uuid = rs.getString("uuid");
-                    r.email = rs.getString("email");
-                    r.passwordHash = rs.getString("password_hash");
-                    r.name = rs.getString("name");
-                    r.createdAt = rs.getTimestamp("created_at");
-                    out.add(r);
-                }
+                while (rs.next()) sink.accept(mapUser(rs));
             }
-            return out;
 
-        } catch (SQLException e) {
+        } catch (SQLException | IOException e) {
             throw new RuntimeException("listUsers failed", e);
         }
     }
 
     public List<CompanyRow> listCompanies(int limit, int offset) {
-        String sql = "SELECT cuid, name, created_at FROM company ORDER BY created_at DESC LIMIT ? OFFSET ?";
-
         List<CompanyRow> out = new ArrayList<>();
+        listCompanies(limit, offset, out::add);
+        return out;
+    }
+
+    public void listCompanies(int limit, int offset, RowSink<? super CompanyRow> sink) {
+        coalesced("listCompanies", limit + ":" + offset, limit, sink, s -> {
+            queryCompanies(limit, offset, s);
+            return null;
+        }, Table.COMPANY);
+    }
+
+    private void queryCompanies(int limit, int offset, RowSink<? super CompanyRow> sink) {
+        String sql = "SELECT cuid, name, created_at FROM company ORDER BY created_at DESC, cuid DESC LIMIT ? OFFSET ?";
+
         try (Connection conn = Db.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
@@ -171,25 +479,30 @@ public class ReportDaoJdbc {
             ps.setInt(2, offset);
 
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    CompanyRow r = new CompanyRow();
-                    r.cuid = rs.getString("cuid");
-                    r.name = rs.getString("name");
-                    r.createdAt = rs.getTimestamp("created_at");
-                    out.add(r);
-                }
+                while (rs.next()) sink.accept(mapCompany(rs));
             }
-            return out;
 
-        } catch (SQLException e) {
+        } catch (SQLException | IOException e) {
             throw new RuntimeException("listCompanies failed", e);
         }
     }
 
     public List<JobRow> listJobs(int limit, int offset) {
-        String sql = "SELECT juid, cuid, title, job_url AS url, created_at FROM job ORDER BY created_at DESC LIMIT ? OFFSET ?";
-
         List<JobRow> out = new ArrayList<>();
+        listJobs(limit, offset, out::add);
+        return out;
+    }
+
+    public void listJobs(int limit, int offset, RowSink<? super JobRow> sink) {
+        coalesced("listJobs", limit + ":" + offset, limit, sink, s -> {
+            queryJobs(limit, offset, s);
+            return null;
+        }, Table.JOB);
+    }
+
+    private void queryJobs(int limit, int offset, RowSink<? super JobRow> sink) {
+        String sql = "SELECT juid, cuid, title, employment_type, work_type, job_url AS url, created_at FROM job ORDER BY created_at DESC, juid DESC LIMIT ? OFFSET ?";
+
         try (Connection conn = Db.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
@@ -197,80 +510,678 @@ public class ReportDaoJdbc {
             ps.setInt(2, offset);
 
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    JobRow r = new JobRow();
-                    r.juid = rs.getString("juid");
-                    r.cuid = rs.getString("cuid");
-                    r.title = rs.getString("title");
-                    r.url = rs.getString("url");
-                    r.createdAt = rs.getTimestamp("created_at");
-                    out.add(r);
-                }
+                while (rs.next()) sink.accept(mapJob(rs));
             }
-            return out;
 
-        } catch (SQLException e) {
+        } catch (SQLException | IOException e) {
             throw new RuntimeException("listJobs failed", e);
         }
     }
 
     /** Joined view, but paged */
     public List<ApplicationRow> listApplicationsDetailedPaged(int limit, int offset) {
-        String sql = "SELECT a.auid, a.uuid, a.juid, u.name AS user_name, u.email AS user_email, c.name AS company_name, j.title AS job_title, a.status, a.applied_at, a.source, a.notes, a.last_updated_at FROM application a JOIN `user` u ON a.uuid = u.uuid JOIN job j ON a.juid = j.juid JOIN company c ON j.cuid = c.cuid ORDER BY a.applied_at DESC LIMIT ? OFFSET ?";
+        List<ApplicationRow> out = new ArrayList<>();
+        listApplicationsDetailedPaged(limit, offset, out::add);
+        return out;
+    }
+
+    public void listApplicationsDetailedPaged(int limit, int offset, RowSink<? super ApplicationRow> sink) {
+        coalesced("listApplicationsDetailedPaged", limit + ":" + offset, limit, sink, s -> {
+            queryApplicationsDetailedPaged(limit, offset, s);
+            return null;
+        }, Table.APPLICATION, Table.USER, Table.JOB, Table.COMPANY);
+    }
+
+    private void queryApplicationsDetailedPaged(int limit, int offset, RowSink<? super ApplicationRow> sink) {
+        String sql = "SELECT a.auid, a.uuid, a.juid, u.name AS user_name, u.email AS user_email, c.name AS company_name, j.title AS job_title, a.status, a.applied_at, a.source, a.notes, a.last_updated_at, a.version FROM application a JOIN `user` u ON a.uuid = u.uuid JOIN job j ON a.juid = j.juid JOIN company c ON j.cuid = c.cuid ORDER BY a.applied_at DESC, a.auid DESC LIMIT ? OFFSET ?";
+
+        try (Connection conn = Db.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, limit);
+            ps.setInt(2, offset);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) sink.accept(mapApplicationJoined(rs));
+            }
+
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException("listApplicationsDetailedPaged failed", e);
+        }
+    }
+
+    /** Paged list of activity, optionally filtered by auid */
+    public List<ActivityRow> listActivities(int limit, int offset, String auidFilter) {
+        List<ActivityRow> out = new ArrayList<>();
+        listActivities(limit, offset, auidFilter, out::add);
+        return out;
+    }
+
+    public void listActivities(int limit, int offset, String auidFilter, RowSink<? super ActivityRow> sink) {
+        coalesced("listActivities", limit + ":" + offset + ":" + auidFilter, limit, sink, s -> {
+            queryActivities(limit, offset, auidFilter, s);
+            return null;
+        }, Table.ACTIVITY);
+    }
+
+    private void queryActivities(int limit, int offset, String auidFilter, RowSink<? super ActivityRow> sink) {
+        boolean filtered = (auidFilter != null && !auidFilter.trim().isEmpty());
+
+        String sql = filtered
+                ? "SELECT actuid, auid, uuid, event_type, old_status, new_status, event_time, details FROM activity WHERE auid = ? ORDER BY event_time DESC, actuid DESC LIMIT ? OFFSET ?"
+                : "SELECT actuid, auid, uuid, event_type, old_status, new_status, event_time, details FROM activity ORDER BY event_time DESC, actuid DESC LIMIT ? OFFSET ?";
+
+        try (Connection conn = Db.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            int idx = 1;
+            if (filtered) ps.setBytes(idx++, Ids.toBytes(auidFilter));
+            ps.setInt(idx++, limit);
+            ps.setInt(idx, offset);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) sink.accept(mapActivity(rs));
+            }
+
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException("listActivities failed", e);
+        }
+    }
+
+    // -------------------------
+    // KEYSET (SEEK) PAGING
+    // -------------------------
+    // Each page starts strictly after the cursor's (sort key, id) instead of
+    // skipping OFFSET rows, so a deep page costs the same as the first one and
+    // concurrent inserts cannot shift rows between pages. Backed by the
+    // (sort key, id) composite indexes in schema.sql.
+    // The sink overloads return the next page's cursor (null on the last page).
+
+    public Page<UserRow> listUsersPage(int limit, PageCursor after) {
+        List<UserRow> items = new ArrayList<>();
+        String next = listUsersPage(limit, after, items::add);
+        return new Page<>(items, next);
+    }
+
+    public String listUsersPage(int limit, PageCursor after, RowSink<? super UserRow> sink) {
+        return coalesced("listUsersPage", limit + ":" + cursorKey(after), limit, sink, s -> queryUsersPage(limit, after, s), Table.USER);
+    }
+
+    private String queryUsersPage(int limit, PageCursor after, RowSink<? super UserRow> sink) {
+        String sql = "SELECT uuid, email, password_hash, name, created_at FROM `user`"
+                + (after != null ? " WHERE " + seekAfter("created_at", "uuid") : "")
+                + " ORDER BY created_at DESC, uuid DESC LIMIT ?";
+
+        KeysetSink<UserRow> page = new KeysetSink<>(sink, limit, r -> new PageCursor(r.createdAt, r.uuid));
+        try (Connection conn = Db.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            int idx = bindSeek(ps, 1, after);
+            ps.setInt(idx, limit + 1);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) page.accept(mapUser(rs));
+            }
+            return page.nextCursor();
+
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException("listUsersPage failed", e);
+        }
+    }
+
+    public Page<CompanyRow> listCompaniesPage(int limit, PageCursor after) {
+        List<CompanyRow> items = new ArrayList<>();
+        String next = listCompaniesPage(limit, after, items::add);
+        return new Page<>(items, next);
+    }
+
+    public String listCompaniesPage(int limit, PageCursor after, RowSink<? super CompanyRow> sink) {
+        return coalesced("listCompaniesPage", limit + ":" + cursorKey(after), limit, sink, s -> queryCompaniesPage(limit, after, s), Table.COMPANY);
+    }
+
+    private String queryCompaniesPage(int limit, PageCursor after, RowSink<? super CompanyRow> sink) {
+        String sql = "SELECT cuid, name, created_at FROM company"
+                + (after != null ? " WHERE " + seekAfter("created_at", "cuid") : "")
+                + " ORDER BY created_at DESC, cuid DESC LIMIT ?";
+
+        KeysetSink<CompanyRow> page = new KeysetSink<>(sink, limit, r -> new PageCursor(r.createdAt, r.cuid));
+        try (Connection conn = Db.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            int idx = bindSeek(ps, 1, after);
+            ps.setInt(idx, limit + 1);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) page.accept(mapCompany(rs));
+            }
+            return page.nextCursor();
+
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException("listCompaniesPage failed", e);
+        }
+    }
+
+    public Page<JobRow> listJobsPage(int limit, PageCursor after) {
+        List<JobRow> items = new ArrayList<>();
+        String next = listJobsPage(limit, after, items::add);
+        return new Page<>(items, next);
+    }
+
+    public String listJobsPage(int limit, PageCursor after, RowSink<? super JobRow> sink) {
+        return coalesced("listJobsPage", limit + ":" + cursorKey(after), limit, sink, s -> queryJobsPage(limit, after, s), Table.JOB);
+    }
+
+    private String queryJobsPage(int limit, PageCursor after, RowSink<? super JobRow> sink) {
+        String sql = "SELECT juid, cuid, title, employment_type, work_type, job_url AS url, created_at FROM job"
+                + (after != null ? " WHERE " + seekAfter("created_at", "juid") : "")
+                + " ORDER BY created_at DESC, juid DESC LIMIT ?";
+
+        KeysetSink<JobRow> page = new KeysetSink<>(sink, limit, r -> new PageCursor(r.createdAt, r.juid));
+        try (Connection conn = Db.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            int idx = bindSeek(ps, 1, after);
+            ps.setInt(idx, limit + 1);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) page.accept(mapJob(rs));
+            }
+            return page.nextCursor();
+
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException("listJobsPage failed", e);
+        }
+    }
+
+    /** Joined view, keyset paged on applied_at */
+    public Page<ApplicationRow> listApplicationsDetailedPage(int limit, PageCursor after) {
+        List<ApplicationRow> items = new ArrayList<>();
+        String next = listApplicationsDetailedPage(limit, after, items::add);
+        return new Page<>(items, next);
+    }
+
+    public String listApplicationsDetailedPage(int limit, PageCursor after, RowSink<? super ApplicationRow> sink) {
+        return coalesced("listApplicationsDetailedPage", limit + ":" + cursorKey(after), limit, sink, s -> queryApplicationsDetailedPage(limit, after, s), Table.APPLICATION, Table.USER, Table.JOB, Table.COMPANY);
+    }
+
+    private String queryApplicationsDetailedPage(int limit, PageCursor after, RowSink<? super ApplicationRow> sink) {
+        String sql = "SELECT a.auid, a.uuid, a.juid, u.name AS user_name, u.email AS user_email, c.name AS company_name, j.title AS job_title, a.status, a.applied_at, a.source, a.notes, a.last_updated_at, a.version FROM application a JOIN `user` u ON a.uuid = u.uuid JOIN job j ON a.juid = j.juid JOIN company c ON j.cuid = c.cuid"
+                + (after != null ? " WHERE " + seekAfter("a.applied_at", "a.auid") : "")
+                + " ORDER BY a.applied_at DESC, a.auid DESC LIMIT ?";
+
+        KeysetSink<ApplicationRow> page = new KeysetSink<>(sink, limit, r -> new PageCursor(r.appliedAt, r.auid));
+        try (Connection conn = Db.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            int idx = bindSeek(ps, 1, after);
+            ps.setInt(idx, limit + 1);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) page.accept(mapApplicationJoined(rs));
+            }
+            return page.nextCursor();
+
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException("listApplicationsDetailedPage failed", e);
+        }
+    }
+
+    /** Activity keyset paged on event_time, optionally filtered by auid */
+    public Page<ActivityRow> listActivitiesPage(int limit, PageCursor after, String auidFilter) {
+        List<ActivityRow> items = new ArrayList<>();
+        String next = listActivitiesPage(limit, after, auidFilter, items::add);
+        return new Page<>(items, next);
+    }
+
+    public String listActivitiesPage(int limit, PageCursor after, String auidFilter, RowSink<? super ActivityRow> sink) {
+        return coalesced("listActivitiesPage", limit + ":" + cursorKey(after) + ":" + auidFilter, limit, sink, s -> queryActivitiesPage(limit, after, auidFilter, s), Table.ACTIVITY);
+    }
+
+    private String queryActivitiesPage(int limit, PageCursor after, String auidFilter, RowSink<? super ActivityRow> sink) {
+        boolean filtered = (auidFilter != null && !auidFilter.trim().isEmpty());
+
+        List<String> where = new ArrayList<>();
+        if (filtered) where.add("auid = ?");
+        if (after != null) where.add(seekAfter("event_time", "actuid"));
+
+        String sql = "SELECT actuid, auid, uuid, event_type, old_status, new_status, event_time, details FROM activity"
+                + (where.isEmpty() ? "" : " WHERE " + String.join(" AND ", where))
+                + " ORDER BY event_time DESC, actuid DESC LIMIT ?";
+
+        KeysetSink<ActivityRow> page = new KeysetSink<>(sink, limit, r -> new PageCursor(r.eventTime, r.actuid));
+        try (Connection conn = Db.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            int idx = 1;
+            if (filtered) ps.setBytes(idx++, Ids.toBytes(auidFilter));
+            idx = bindSeek(ps, idx, after);
+            ps.setInt(idx, limit + 1);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) page.accept(mapActivity(rs));
+            }
+            return page.nextCursor();
+
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException("listActivitiesPage failed", e);
+        }
+    }
+
+    /**
+     * Activities with an actuid after the given one, oldest first, optionally
+     * only for one user and/or one application. actuids are time-ordered, so this
+     * is a primary key range scan (or one on idx_activity_uuid, which ends in the
+     * primary key). Used to resume the activity stream from Last-Event-ID; since
+     * actuids are made before the commit, that starts a little before it (see
+     * ActivityStream).
+     */
+    public List<ActivityRow> listActivitiesAfter(String afterActuid, String uuidFilter, String auidFilter, int limit) {
+        List<String> where = new ArrayList<>();
+        where.add("actuid > ?");
+        if (uuidFilter != null) where.add("uuid = ?");
+        if (auidFilter != null) where.add("auid = ?");
+
+        String sql = "SELECT actuid, auid, uuid, event_type, old_status, new_status, event_time, details FROM activity WHERE "
+                + String.join(" AND ", where) + " ORDER BY actuid LIMIT ?";
+
+        List<ActivityRow> out = new ArrayList<>();
+        try (Connection conn = Db.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            int idx = 1;
+            ps.setBytes(idx++, Ids.toBytes(afterActuid));
+            if (uuidFilter != null) ps.setBytes(idx++, Ids.toBytes(uuidFilter));
+            if (auidFilter != null) ps.setBytes(idx++, Ids.toBytes(auidFilter));
+            ps.setInt(idx, limit);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) out.add(mapActivity(rs));
+            }
+            return out;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("listActivitiesAfter failed", e);
+        }
+    }
+
+    /** Rows strictly after (sortKey, id) in (sortKey DESC, id DESC) order. */
+    private static String seekAfter(String sortCol, String idCol) {
+        return "(" + sortCol + " < ? OR (" + sortCol + " = ? AND " + idCol + " < ?))";
+    }
+
+    private static int bindSeek(PreparedStatement ps, int idx, PageCursor after) throws SQLException {
+        if (after == null) return idx;
+        ps.setTimestamp(idx++, after.sortKey);
+        ps.setTimestamp(idx++, after.sortKey);
+        ps.setBytes(idx++, Ids.toBytes(after.id));
+        return idx;
+    }
+
+    /**
+     * Queries fetch limit + 1 rows; only the first limit go to the sink, the extra
+     * row just signals that another page exists.
+     */
+    private static final class KeysetSink<T> implements RowSink<T> {
+        private final RowSink<? super T> target;
+        private final int limit;
+        private final Function<T, PageCursor> cursorOf;
+        private int seen;
+        private T last;
+        private boolean more;
+
+        KeysetSink(RowSink<? super T> target, int limit, Function<T, PageCursor> cursorOf) {
+            this.target = target;
+            this.limit = limit;
+            this.cursorOf = cursorOf;
+        }
+
+        @Override
+        public void accept(T row) throws IOException {
+            if (seen++ < limit) {
+                last = row;
+                target.accept(row);
+            } else {
+                more = true;
+            }
+        }
+
+        String nextCursor() {
+            return more ? cursorOf.apply(last).encode() : null;
+        }
+    }
+
+    // -------------------------
+    // EXPORTS (STREAMED)
+    // -------------------------
+    // One query per export. The driver is put in row-by-row streaming mode, so
+    // memory stays flat no matter how many rows the table has; each row goes to
+    // the sink as it arrives. The connection is busy until the export finishes,
+    // so the sink must not run other queries.
+
+    /**
+     * Every application with its joined user/job/company fields. With since, only
+     * rows with last_updated_at >= since, in last_updated_at order.
+     * Returns the number of rows exported.
+     */
+    public long exportApplications(Timestamp since, RowSink<? super ApplicationRow> sink) {
+        String sql = "SELECT a.auid, a.uuid, a.juid, u.name AS user_name, u.email AS user_email, c.name AS company_name, j.title AS job_title, a.status, a.applied_at, a.source, a.notes, a.last_updated_at, a.version FROM application a JOIN `user` u ON a.uuid = u.uuid JOIN job j ON a.juid = j.juid JOIN company c ON j.cuid = c.cuid"
+                + (since != null ? " WHERE a.last_updated_at >= ? ORDER BY a.last_updated_at, a.auid" : "");
+
+        return export("exportApplications", sql, since, ReportDaoJdbc::mapApplicationJoined, sink);
+    }
+
+    /** Every activity row; with since, only rows with event_time >= since, in event_time order. */
+    public long exportActivities(Timestamp since, RowSink<? super ActivityRow> sink) {
+        String sql = "SELECT actuid, auid, uuid, event_type, old_status, new_status, event_time, details FROM activity"
+                + (since != null ? " WHERE event_time >= ? ORDER BY event_time, actuid" : "");
+
+        return export("exportActivities", sql, since, ReportDaoJdbc::mapActivity, sink);
+    }
+
+    @FunctionalInterface
+    private interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /** Seconds the server waits on a slow export reader before dropping the connection. */
+    private static final int EXPORT_NET_WRITE_TIMEOUT_SEC = 600;
+
+    private static <T> long export(String label, String sql, Timestamp since, RowMapper<T> mapper, RowSink<? super T> sink) {
+        try (Connection conn = Db.getConnection()) {
+            // A streaming read leaves the server writing into the socket at the pace
+            // the HTTP client reads; give slow clients more than the default 60s.
+            try (Statement st = conn.createStatement()) {
+                st.execute("SET SESSION net_write_timeout = " + EXPORT_NET_WRITE_TIMEOUT_SEC);
+            }
+            try (PreparedStatement ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                // MySQL Connector/J streams rows one at a time only for this exact fetch size
+                ps.setFetchSize(Integer.MIN_VALUE);
+                if (since != null) ps.setTimestamp(1, since);
+
+                long count = 0;
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        try {
+                            sink.accept(mapper.map(rs));
+                        } catch (IOException e) {
+                            // Closing a half-read streaming result set reads the rest of it
+                            // off the wire; drop the connection instead so a client that
+                            // went away does not cost a full table scan.
+                            conn.abort(Runnable::run);
+                            throw e;
+                        }
+                        count++;
+                    }
+                }
+                return count;
+            } finally {
+                if (!conn.isClosed()) {
+                    try (Statement st = conn.createStatement()) {
+                        st.execute("SET SESSION net_write_timeout = DEFAULT");
+                    }
+                }
+            }
+
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException(label + " failed", e);
+        }
+    }
+
+    // -------------------------
+    // BOARD
+    // -------------------------
+
+    public static final int BOARD_MAX_PER_COLUMN = 50;
+
+    /**
+     * The user's board in one query: ROW_NUMBER and COUNT over a per-status window
+     * on idx_application_uuid_status_applied_at, then the joins for the top rows
+     * only. Statuses without applications come back as empty columns.
+     */
+    public Board getBoard(String uuid, int perColumn) {
+        if (perColumn < 1 || perColumn > BOARD_MAX_PER_COLUMN) {
+            throw new IllegalArgumentException("n must be between 1 and " + BOARD_MAX_PER_COLUMN);
+        }
+        String sql = "SELECT a.auid, a.uuid, a.juid, u.name AS user_name, u.email AS user_email, c.name AS company_name, j.title AS job_title, a.status, a.applied_at, a.source, a.notes, a.last_updated_at, a.version, r.status_count"
+                + " FROM (SELECT auid, status,"
+                + " ROW_NUMBER() OVER (PARTITION BY status ORDER BY applied_at DESC, auid DESC) AS rn,"
+                + " COUNT(*) OVER (PARTITION BY status) AS status_count"
+                + " FROM application WHERE uuid = ?) r"
+                + " JOIN application a ON a.auid = r.auid JOIN `user` u ON a.uuid = u.uuid JOIN job j ON a.juid = j.juid JOIN company c ON j.cuid = c.cuid"
+                + " WHERE r.rn <= ? ORDER BY r.status, r.rn";
+
+        Board board = new Board();
+        board.uuid = uuid;
+        board.perColumn = perColumn;
+        Map<String, Board.Column> columns = new HashMap<>();
+        for (String status : StatCounters.STATUSES) {
+            Board.Column column = new Board.Column();
+            column.status = status;
+            board.columns.add(column);
+            columns.put(status, column);
+        }
 
-        List<ApplicationRow> out = new ArrayList<>();
         try (Connection conn = Db.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            ps.setInt(1, limit);
-            ps.setInt(2, offset);
+            ps.setBytes(1, Ids.toBytes(uuid));
+            ps.setInt(2, perColumn);
 
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) out.add(mapApplicationJoined(rs));
+                while (rs.next()) {
+                    ApplicationRow app = mapApplicationJoined(rs);
+                    Board.Column column = columns.get(app.status.toLowerCase(Locale.ROOT));
+                    if (column == null) continue;
+                    column.count = rs.getLong("status_count");
+                    column.applications.add(app);
+                }
             }
-            return out;
+            return board;
 
         } catch (SQLException e) {
-            throw new RuntimeException("listApplicationsDetailedPaged failed", e);
+            throw new RuntimeException("getBoard failed", e);
         }
     }
 
-    /** Paged list of activity, optionally filtered by auid */
-    public List<ActivityRow> listActivities(int limit, int offset, String auidFilter) {
-        boolean filtered = (auidFilter != null && !auidFilter.trim().isEmpty());
-
-        String sql = filtered
-                ? "SELECT actuid, auid, event_type, old_status, new_status, event_time, details FROM activity WHERE auid = ? ORDER BY event_time DESC LIMIT ? OFFSET ?"
-                : "SELECT actuid, auid, event_type, old_status, new_status, event_time, details FROM activity ORDER BY event_time DESC LIMIT ? OFFSET ?";
+    // -------------------------
+    // DELTA SYNC
+    // -------------------------
+    // Clients keep a token, the (last_updated_at, auid) of the last change they
+    // got, and ask for what changed after it: applications by last_updated_at and
+    // deleted ones by their tombstone's deleted_at, merged in that order. Both are
+    // index range scans (idx_application_last_updated_at and the tombstone indexes,
+    // or their uuid-first twins with a user filter), so a sync costs O(changes).
+    //
+    // Timestamps come from the caller's clock (or NOW()) before the commit, so a
+    // slow transaction can commit a row dated a little before a token someone else
+    // already got. The token of a sync that has caught up therefore never passes
+    // now - JOBTRACKER_SYNC_SETTLE_MS: the last few seconds are sent again on the
+    // next call, and clients apply changes as upserts (version tells which copy is
+    // newer). Tombstones older than JOBTRACKER_TOMBSTONE_RETENTION_DAYS are purged
+    // hourly by a background thread, in short batches so no DELETE holds locks for
+    // long; a token older than that gets SyncTokenExpiredException.
+
+    private static final long SYNC_SETTLE_MS = Db.longEnv("JOBTRACKER_SYNC_SETTLE_MS", 10_000);
+    private static final long TOMBSTONE_RETENTION_DAYS = Db.longEnv("JOBTRACKER_TOMBSTONE_RETENTION_DAYS", 30);
+    private static final long TOMBSTONE_PURGE_INTERVAL_MS = 3_600_000;
+    private static final int TOMBSTONE_PURGE_BATCH = 1_000;
+    private static final String ZERO_ID = "00000000-0000-0000-0000-000000000000";
+
+    private static final ScheduledExecutorService tombstonePurger = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "tombstone-purge");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Applications changed after the token, oldest change first.
+     *
+     * @param since Token from the previous call, or null for a full sync (no tombstones)
+     * @param uuidFilter Only this user's applications, or null
+     * @param limit Changes per call, at most 500
+     */
+    public ChangeSet listApplicationChanges(PageCursor since, String uuidFilter, int limit) {
+        if (limit > MAX_IN_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_IN_IDS + " changes per call");
+        }
+        long now = System.currentTimeMillis();
+        if (since != null && since.sortKey.getTime() < now - TOMBSTONE_RETENTION_DAYS * 86_400_000L) {
+            throw new SyncTokenExpiredException(TOMBSTONE_RETENTION_DAYS);
+        }
 
-        List<ActivityRow> out = new ArrayList<>();
+        String userFilter = uuidFilter != null ? "uuid = ? AND " : "";
+        String appKeys = "SELECT auid, last_updated_at AS changed_at, 0 AS deleted FROM application"
+                + (since != null ? " WHERE " + userFilter + "(last_updated_at > ? OR (last_updated_at = ? AND auid > ?))"
+                                 : (uuidFilter != null ? " WHERE uuid = ?" : ""))
+                + " ORDER BY last_updated_at, auid LIMIT ?";
+        String tombstoneKeys = "SELECT auid, deleted_at AS changed_at, 1 AS deleted FROM application_tombstone"
+                + " WHERE " + userFilter + "(deleted_at > ? OR (deleted_at = ? AND auid > ?))"
+                + " ORDER BY deleted_at, auid LIMIT ?";
+        String sql = since == null
+                ? appKeys
+                : "SELECT auid, changed_at, deleted FROM ((" + appKeys + ") UNION ALL (" + tombstoneKeys + ")) merged"
+                  + " ORDER BY changed_at, auid LIMIT ?";
+
+        List<PageCursor> positions = new ArrayList<>();
+        List<Boolean> deleted = new ArrayList<>();
         try (Connection conn = Db.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             int idx = 1;
-            if (filtered) ps.setString(idx++, auidFilter);
-            ps.setInt(idx++, limit);
-            ps.setInt(idx, offset);
+            for (int part = 0; part < (since == null ? 1 : 2); part++) {
+                if (uuidFilter != null) ps.setBytes(idx++, Ids.toBytes(uuidFilter));
+                if (since != null) {
+                    ps.setTimestamp(idx++, since.sortKey);
+                    ps.setTimestamp(idx++, since.sortKey);
+                    ps.setBytes(idx++, Ids.toBytes(since.id));
+                }
+                ps.setInt(idx++, limit + 1);
+            }
+            if (since != null) ps.setInt(idx, limit + 1);
 
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) out.add(mapActivity(rs));
+                while (rs.next()) {
+                    positions.add(new PageCursor(rs.getTimestamp("changed_at"), Ids.fromBytes(rs.getBytes("auid"))));
+                    deleted.add(rs.getInt("deleted") == 1);
+                }
             }
-            return out;
 
         } catch (SQLException e) {
-            throw new RuntimeException("listActivities failed", e);
+            throw new RuntimeException("listApplicationChanges failed", e);
+        }
+
+        ChangeSet changes = new ChangeSet();
+        changes.hasMore = positions.size() > limit;
+        int count = Math.min(positions.size(), limit);
+
+        List<String> updatedIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (deleted.get(i)) changes.deleted.add(positions.get(i).id);
+            else updatedIds.add(positions.get(i).id);
+        }
+        // Current state; a row deleted since the key scan is left out (its tombstone comes next time)
+        Map<String, ApplicationRow> rows = fetchApplications(updatedIds);
+        for (String auid : updatedIds) {
+            ApplicationRow row = rows.get(auid);
+            if (row != null) changes.updated.add(row);
+        }
+
+        PageCursor last = count > 0 ? positions.get(count - 1) : since;
+        if (!changes.hasMore) {
+            // Caught up: don't move past rows that may still be committing
+            PageCursor settled = new PageCursor(new Timestamp((now - SYNC_SETTLE_MS) / 1000 * 1000), ZERO_ID);
+            if (last == null || compare(settled, last) < 0) last = settled;
         }
+        changes.nextToken = last.encode();
+        return changes;
+    }
+
+    private static int compare(PageCursor a, PageCursor b) {
+        int byTime = a.sortKey.compareTo(b.sortKey);
+        return byTime != 0 ? byTime : a.id.compareTo(b.id);
+    }
+
+    /** Run purgeTombstones() every hour, first one an hour from now. Failures are logged and retried next time. */
+    public static void scheduleTombstonePurge() {
+        tombstonePurger.scheduleWithFixedDelay(() -> {
+            try {
+                int purged = purgeTombstones();
+                if (purged > 0) {
+                    System.out.println("Purged " + purged + " application tombstones");
+                }
+            } catch (RuntimeException e) {
+                // an exception would cancel the schedule
+                System.err.println("Tombstone purge failed: " + e.getMessage());
+            }
+        }, TOMBSTONE_PURGE_INTERVAL_MS, TOMBSTONE_PURGE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Drop tombstones past the retention, TOMBSTONE_PURGE_BATCH rows per autocommit
+     * DELETE (oldest first, along idx_application_tombstone_deleted_at) until none
+     * are left. Returns the number of rows deleted.
+     */
+    static int purgeTombstones() {
+        String sql = "DELETE FROM application_tombstone WHERE deleted_at < ? ORDER BY deleted_at LIMIT ?";
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis() - TOMBSTONE_RETENTION_DAYS * 86_400_000L);
+
+        int total = 0;
+        int deleted;
+        do {
+            try (Connection conn = Db.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
+
+                ps.setTimestamp(1, cutoff);
+                ps.setInt(2, TOMBSTONE_PURGE_BATCH);
+                deleted = ps.executeUpdate();
+
+            } catch (SQLException e) {
+                throw new RuntimeException("purgeTombstones failed", e);
+            }
+            total += deleted;
+        } while (deleted == TOMBSTONE_PURGE_BATCH);
+        return total;
     }
 
     // -------------------------
     // MAPPERS
     // -------------------------
 
+    private static UserRow mapUser(ResultSet rs) throws SQLException {
+        UserRow r = new UserRow();
+        r.uuid = Ids.fromBytes(rs.getBytes("uuid"));
+        r.email = rs.getString("email");
+        r.passwordHash = rs.getString("password_hash");
+        r.name = rs.getString("name");
+        r.createdAt = rs.getTimestamp("created_at");
+        return r;
+    }
+
+    private static CompanyRow mapCompany(ResultSet rs) throws SQLException {
+        CompanyRow r = new CompanyRow();
+        r.cuid = Ids.fromBytes(rs.getBytes("cuid"));
+        r.name = rs.getString("name");
+        r.createdAt = rs.getTimestamp("created_at");
+        return r;
+    }
+
+    private static JobRow mapJob(ResultSet rs) throws SQLException {
+        JobRow r = new JobRow();
+        r.juid = Ids.fromBytes(rs.getBytes("juid"));
+        r.cuid = Ids.fromBytes(rs.getBytes("cuid"));
+        r.title = rs.getString("title");
+        r.employmentType = rs.getString("employment_type");
+        r.workType = rs.getString("work_type");
+        r.url = rs.getString("url");
+        r.createdAt = rs.getTimestamp("created_at");
+        return r;
+    }
+
     private static ApplicationRow mapApplicationJoined(ResultSet rs) throws SQLException {
         ApplicationRow r = new ApplicationRow();
-        r.auid = rs.getString("auid");
-        r.uuid = rs.getString("uuid");
-        r.juid = rs.getString("juid");
+        r.auid = Ids.fromBytes(rs.getBytes("auid"));
+        r.uuid = Ids.fromBytes(rs.getBytes("uuid"));
+        r.juid = Ids.fromBytes(rs.getBytes("juid"));
 
         r.userName = rs.getString("user_name");
         r.userEmail = rs.getString("user_email");
@@ -282,13 +1193,15 @@ public class ReportDaoJdbc {
         r.source = rs.getString("source");
         r.notes = rs.getString("notes");
         r.lastUpdatedAt = rs.getTimestamp("last_updated_at");
+        r.version = rs.getInt("version");
         return r;
     }
 
     private static ActivityRow mapActivity(ResultSet rs) throws SQLException {
         ActivityRow r = new ActivityRow();
-        r.actuid = rs.getString("actuid");
-        r.auid = rs.getString("auid");
+        r.actuid = Ids.fromBytes(rs.getBytes("actuid"));
+        r.auid = Ids.fromBytes(rs.getBytes("auid"));
+        r.uuid = Ids.fromBytes(rs.getBytes("uuid"));
         r.eventType = rs.getString("event_type");
         r.oldStatus = rs.getString("old_status");
         r.newStatus = rs.getString("new_status");
@@ -297,47 +1210,110 @@ public class ReportDaoJdbc {
         return r;
     }
 
+    // -------------------------
+    // ACTIVITY WRITE-BEHIND
+    // -------------------------
+    // The 'created' and 'status_change' rows logged by createApplication and the
+    // status updates go through ActivityWriter unless JOBTRACKER_ACTIVITY_WRITE_MODE
+    // is DIRECT (the default). Bulk paths (createApplications, updateApplicationStatuses)
+    // already write their activities as one batch and always insert them directly.
+    // When the writer cannot take or write a row, the DAO call throws
+    // ActivityWriteException after its transaction has committed.
+
+    private static final ActivityWriter activityWriter = ActivityWriter.fromEnvironment();
+
+    public static ActivityWriter.Stats activityWriterStats() {
+        return activityWriter.stats();
+    }
+
+    /** Hand the row to the writer once the current transaction commits (right away without one). */
+    private static void writeBehind(ActivityRow row) {
+        // Not Db.afterCommit: that one swallows failures, and a lost row has to be reported
+        Db.afterCommitOrFail(() -> activityWriter.write(row));
+    }
+
+    private static final String INSERT_ACTIVITY_SQL = "INSERT INTO activity (actuid, auid, uuid, event_type, old_status, new_status, event_time, details) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * A new activity row, built in Java so the exact row can be published to
+     * ActivityFeed without reading it back. event_time is a DATETIME, so the
+     * time is cut to whole seconds like NOW() would be. The ids are put in the
+     * form a read would return, whatever case the request spelled them in.
+     */
+    private static ActivityRow newActivity(String auid, String uuid, String eventType, String oldStatus,
+                                           String newStatus, String details) {
+        ActivityRow row = new ActivityRow();
+        row.actuid = Ids.newId();
+        row.auid = Ids.fromBytes(Ids.toBytes(auid));
+        row.uuid = Ids.fromBytes(Ids.toBytes(uuid));
+        row.eventType = eventType;
+        row.oldStatus = oldStatus;
+        row.newStatus = newStatus;
+        row.eventTime = new Timestamp(System.currentTimeMillis() / 1000 * 1000);
+        row.details = details;
+        return row;
+    }
+
+    /** Bind a row to INSERT_ACTIVITY_SQL. */
+    private static void bindActivity(PreparedStatement ps, ActivityRow r) throws SQLException {
+        ps.setBytes(1, Ids.toBytes(r.actuid));
+        ps.setBytes(2, Ids.toBytes(r.auid));
+        ps.setBytes(3, Ids.toBytes(r.uuid));
+        ps.setString(4, r.eventType);
+        if (r.oldStatus != null) ps.setString(5, r.oldStatus);
+        else ps.setNull(5, Types.VARCHAR);
+        if (r.newStatus != null) ps.setString(6, r.newStatus);
+        else ps.setNull(6, Types.VARCHAR);
+        ps.setTimestamp(7, r.eventTime);
+        if (r.details != null) ps.setString(8, r.details);
+        else ps.setNull(8, Types.VARCHAR);
+    }
+
     // -------------------------
     // CRUD: USER OPERATIONS
     // -------------------------
 
     public String createUser(String email, String passwordHash, String name) {
-        String uuid = generateUUID();
+        String uuid = Ids.newId();
         String sql = "INSERT INTO `user` (uuid, email, password_hash, name, created_at) VALUES (?, ?, ?, ?, NOW())";
 
-        try (Connection conn = Db.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        return Db.inTransaction(() -> {
+            try (Connection conn = Db.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            ps.setString(1, uuid);
-            ps.setString(2, email);
-            ps.setString(3, passwordHash);
-            ps.setString(4, name);
+                ps.setBytes(1, Ids.toBytes(uuid));
+                ps.setString(2, email);
+                ps.setString(3, passwordHash);
+                ps.setString(4, name);
 
-            ps.executeUpdate();
-            return uuid;
+                ps.executeUpdate();
+                StatCounters.deltas().row("user", 1).apply();
+                changed(Table.USER);
+                return uuid;
 
-        } catch (SQLException e) {
-            throw new RuntimeException("createUser failed", e);
-        }
+            } catch (SQLIntegrityConstraintViolationException e) {
+                throw ConstraintViolationException.of("createUser failed", e);
+            } catch (SQLException e) {
+                throw new RuntimeException("createUser failed", e);
+            }
+        });
     }
 
     public UserRow getUserByUuid(String uuid) {
+        return cached(userCache, "getUserByUuid", uuid, this::loadUserByUuid, userBatcher, Table.USER);
+    }
+
+    private UserRow loadUserByUuid(String uuid) {
         String sql = "SELECT uuid, email, password_hash, name, created_at FROM `user` WHERE uuid = ?";
 
         try (Connection conn = Db.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            ps.setString(1, uuid);
+            ps.setBytes(1, Ids.toBytes(uuid));
 
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    UserRow r = new UserRow();
-                    r.uuid = rs.getString("uuid");
-                    r.email = rs.getString("email");
-                    r.passwordHash = rs.getString("password_hash");
-                    r.name = rs.getString("name");
-                    r.createdAt = rs.getTimestamp("created_at");
-                    return r;
+                    return mapUser(rs);
                 }
                 return null;
             }
@@ -371,34 +1347,47 @@ public class ReportDaoJdbc {
             ps.setString(1, email);
             ps.setString(2, passwordHash);
             ps.setString(3, name);
-            ps.setString(4, uuid);
+            ps.setBytes(4, Ids.toBytes(uuid));
 
             int rows = ps.executeUpdate();
             if (rows == 0) {
                 throw new RuntimeException("User not found");
             }
+            evict(userCache, uuid, true);
+            changed(Table.USER);
 
         } catch (SQLException e) {
             throw new RuntimeException("updateUser failed", e);
         }
     }
 
-    public void deleteUser(String uuid) {
-        if (hasApplications(uuid)) {
-            throw new RuntimeException("Cannot delete user with existing applications");
-        }
-
+    /**
+     * Returns false if there was no such user. Rows that still reference it make
+     * the DELETE fail with a ConstraintViolationException (REFERENCED).
+     */
+    public boolean deleteUser(String uuid) {
         String sql = "DELETE FROM `user` WHERE uuid = ?";
 
-        try (Connection conn = Db.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setString(1, uuid);
-            ps.executeUpdate();
+        return Db.inTransaction(() -> {
+            try (Connection conn = Db.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
 
-        } catch (SQLException e) {
-            throw new RuntimeException("deleteUser failed", e);
-        }
+                ps.setBytes(1, Ids.toBytes(uuid));
+                int rows = ps.executeUpdate();
+                if (rows > 0) {
+                    StatCounters.deltas().row("user", -1).apply();
+                    StatCounters.dropUser(uuid);
+                }
+                evict(userCache, uuid, false);
+                changed(Table.USER);
+                return rows > 0;
+
+            } catch (SQLIntegrityConstraintViolationException e) {
+                throw ConstraintViolationException.of("Cannot delete user with existing applications", e);
+            } catch (SQLException e) {
+                throw new RuntimeException("deleteUser failed", e);
+            }
+        });
     }
 
     // -------------------------
@@ -407,42 +1396,48 @@ public class ReportDaoJdbc {
 
     public String createCompany(String name, String industry, String locationCity,
                                String locationState, String companyUrl) {
-        String cuid = generateUUID();
+        String cuid = Ids.newId();
         String sql = "INSERT INTO company (cuid, name, industry, location_city, location_state, company_url, created_at) VALUES (?, ?, ?, ?, ?, ?, NOW())";
 
-        try (Connection conn = Db.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setString(1, cuid);
-            ps.setString(2, name);
-            ps.setString(3, industry);
-            ps.setString(4, locationCity);
-            ps.setString(5, locationState);
-            ps.setString(6, companyUrl);
-
-            ps.executeUpdate();
-            return cuid;
-
-        } catch (SQLException e) {
-            throw new RuntimeException("createCompany failed", e);
-        }
+        return Db.inTransaction(() -> {
+            try (Connection conn = Db.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
+
+                ps.setBytes(1, Ids.toBytes(cuid));
+                ps.setString(2, name);
+                ps.setString(3, industry);
+                ps.setString(4, locationCity);
+                ps.setString(5, locationState);
+                ps.setString(6, companyUrl);
+
+                ps.executeUpdate();
+                StatCounters.deltas().row("company", 1).apply();
+                changed(Table.COMPANY);
+                return cuid;
+
+            } catch (SQLIntegrityConstraintViolationException e) {
+                throw ConstraintViolationException.of("createCompany failed", e);
+            } catch (SQLException e) {
+                throw new RuntimeException("createCompany failed", e);
+            }
+        });
     }
 
     public CompanyRow getCompanyByCuid(String cuid) {
+        return cached(companyCache, "getCompanyByCuid", cuid, this::loadCompanyByCuid, companyBatcher, Table.COMPANY);
+    }
+
+    private CompanyRow loadCompanyByCuid(String cuid) {
         String sql = "SELECT cuid, name, created_at FROM company WHERE cuid = ?";
 
         try (Connection conn = Db.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            ps.setString(1, cuid);
+            ps.setBytes(1, Ids.toBytes(cuid));
 
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    CompanyRow r = new CompanyRow();
-                    r.cuid = rs.getString("cuid");
-                    r.name = rs.getString("name");
-                    r.createdAt = rs.getTimestamp("created_at");
-                    return r;
+                    return mapCompany(rs);
                 }
                 return null;
             }
@@ -479,34 +1474,46 @@ public class ReportDaoJdbc {
             ps.setString(3, locationCity);
             ps.setString(4, locationState);
             ps.setString(5, companyUrl);
-            ps.setString(6, cuid);
+            ps.setBytes(6, Ids.toBytes(cuid));
 
             int rows = ps.executeUpdate();
             if (rows == 0) {
                 throw new RuntimeException("Company not found");
             }
+            evict(companyCache, cuid, true);
+            changed(Table.COMPANY);
 
         } catch (SQLException e) {
             throw new RuntimeException("updateCompany failed", e);
         }
     }
 
-    public void deleteCompany(String cuid) {
-        if (companyHasJobs(cuid)) {
-            throw new RuntimeException("Cannot delete company with existing jobs");
-        }
-
+    /**
+     * Returns false if there was no such company. Rows that still reference it make
+     * the DELETE fail with a ConstraintViolationException (REFERENCED).
+     */
+    public boolean deleteCompany(String cuid) {
         String sql = "DELETE FROM company WHERE cuid = ?";
 
-        try (Connection conn = Db.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setString(1, cuid);
-            ps.executeUpdate();
+        return Db.inTransaction(() -> {
+            try (Connection conn = Db.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
 
-        } catch (SQLException e) {
-            throw new RuntimeException("deleteCompany failed", e);
-        }
+                ps.setBytes(1, Ids.toBytes(cuid));
+                int rows = ps.executeUpdate();
+                if (rows > 0) {
+                    StatCounters.deltas().row("company", -1).apply();
+                }
+                evict(companyCache, cuid, false);
+                changed(Table.COMPANY);
+                return rows > 0;
+
+            } catch (SQLIntegrityConstraintViolationException e) {
+                throw ConstraintViolationException.of("Cannot delete company with existing jobs", e);
+            } catch (SQLException e) {
+                throw new RuntimeException("deleteCompany failed", e);
+            }
+        });
     }
 
     // -------------------------
@@ -515,48 +1522,52 @@ public class ReportDaoJdbc {
 
     public String createJob(String cuid, String title, String employmentType, String workType,
                            String jobUrl, Integer salaryMin, Integer salaryMax) {
-        String juid = generateUUID();
+        String juid = Ids.newId();
         String sql = "INSERT INTO job (juid, cuid, title, employment_type, work_type, job_url, salary_min, salary_max, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, NOW())";
 
-        try (Connection conn = Db.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setString(1, juid);
-            ps.setString(2, cuid);
-            ps.setString(3, title);
-            ps.setString(4, employmentType);
-            ps.setString(5, workType);
-            ps.setString(6, jobUrl);
-            if (salaryMin != null) ps.setInt(7, salaryMin);
-            else ps.setNull(7, Types.INTEGER);
-            if (salaryMax != null) ps.setInt(8, salaryMax);
-            else ps.setNull(8, Types.INTEGER);
-
-            ps.executeUpdate();
-            return juid;
-
-        } catch (SQLException e) {
-            throw new RuntimeException("createJob failed", e);
-        }
+        return Db.inTransaction(() -> {
+            try (Connection conn = Db.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
+
+                ps.setBytes(1, Ids.toBytes(juid));
+                ps.setBytes(2, Ids.toBytes(cuid));
+                ps.setString(3, title);
+                ps.setString(4, employmentType);
+                ps.setString(5, workType);
+                ps.setString(6, jobUrl);
+                if (salaryMin != null) ps.setInt(7, salaryMin);
+                else ps.setNull(7, Types.INTEGER);
+                if (salaryMax != null) ps.setInt(8, salaryMax);
+                else ps.setNull(8, Types.INTEGER);
+
+                ps.executeUpdate();
+                StatCounters.deltas().row("job", 1).apply();
+                changed(Table.JOB);
+                return juid;
+
+            } catch (SQLIntegrityConstraintViolationException e) {
+                throw ConstraintViolationException.of("createJob failed", e);
+            } catch (SQLException e) {
+                throw new RuntimeException("createJob failed", e);
+            }
+        });
     }
 
     public JobRow getJobByJuid(String juid) {
-        String sql = "SELECT juid, cuid, title, job_url AS url, created_at FROM job WHERE juid = ?";
+        return cached(jobCache, "getJobByJuid", juid, this::loadJobByJuid, jobBatcher, Table.JOB);
+    }
+
+    private JobRow loadJobByJuid(String juid) {
+        String sql = "SELECT juid, cuid, title, employment_type, work_type, job_url AS url, created_at FROM job WHERE juid = ?";
 
         try (Connection conn = Db.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            ps.setString(1, juid);
+            ps.setBytes(1, Ids.toBytes(juid));
 
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    JobRow r = new JobRow();
-                    r.juid = rs.getString("juid");
-                    r.cuid = rs.getString("cuid");
-                    r.title = rs.getString("title");
-                    r.url = rs.getString("url");
-                    r.createdAt = rs.getTimestamp("created_at");
-                    return r;
+                    return mapJob(rs);
                 }
                 return null;
             }
@@ -571,7 +1582,7 @@ public class ReportDaoJdbc {
         try (Connection conn = Db.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            ps.setString(1, cuid);
+            ps.setBytes(1, Ids.toBytes(cuid));
 
             try (ResultSet rs = ps.executeQuery()) {
                 return rs.next();
@@ -596,34 +1607,46 @@ public class ReportDaoJdbc {
             else ps.setNull(5, Types.INTEGER);
             if (salaryMax != null) ps.setInt(6, salaryMax);
             else ps.setNull(6, Types.INTEGER);
-            ps.setString(7, juid);
+            ps.setBytes(7, Ids.toBytes(juid));
 
             int rows = ps.executeUpdate();
             if (rows == 0) {
                 throw new RuntimeException("Job not found");
             }
+            evict(jobCache, juid, true);
+            changed(Table.JOB);
 
         } catch (SQLException e) {
             throw new RuntimeException("updateJob failed", e);
         }
     }
 
-    public void deleteJob(String juid) {
-        if (jobHasApplications(juid)) {
-            throw new RuntimeException("Cannot delete job with existing applications");
-        }
-
+    /**
+     * Returns false if there was no such job. Rows that still reference it make
+     * the DELETE fail with a ConstraintViolationException (REFERENCED).
+     */
+    public boolean deleteJob(String juid) {
         String sql = "DELETE FROM job WHERE juid = ?";
 
-        try (Connection conn = Db.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setString(1, juid);
-            ps.executeUpdate();
+        return Db.inTransaction(() -> {
+            try (Connection conn = Db.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
 
-        } catch (SQLException e) {
-            throw new RuntimeException("deleteJob failed", e);
-        }
+                ps.setBytes(1, Ids.toBytes(juid));
+                int rows = ps.executeUpdate();
+                if (rows > 0) {
+                    StatCounters.deltas().row("job", -1).apply();
+                }
+                evict(jobCache, juid, false);
+                changed(Table.JOB);
+                return rows > 0;
+
+            } catch (SQLIntegrityConstraintViolationException e) {
+                throw ConstraintViolationException.of("Cannot delete job with existing applications", e);
+            } catch (SQLException e) {
+                throw new RuntimeException("deleteJob failed", e);
+            }
+        });
     }
 
     // -------------------------
@@ -632,41 +1655,54 @@ public class ReportDaoJdbc {
 
     public String createApplication(String uuid, String juid, String status, Timestamp appliedAt,
                                    String source, String notes) {
-        String auid = generateUUID();
+        String auid = Ids.newId();
         String sql = "INSERT INTO application (auid, uuid, juid, status, applied_at, source, notes, last_updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, NOW())";
 
-        try (Connection conn = Db.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setString(1, auid);
-            ps.setString(2, uuid);
-            ps.setString(3, juid);
-            ps.setString(4, status);
-            ps.setTimestamp(5, appliedAt);
-            if (source != null) ps.setString(6, source);
-            else ps.setNull(6, Types.VARCHAR);
-            if (notes != null) ps.setString(7, notes);
-            else ps.setNull(7, Types.VARCHAR);
-
-            ps.executeUpdate();
-
-            // Auto-create Activity record
-            createActivityForApplication(auid, uuid);
-
-            return auid;
-
-        } catch (SQLException e) {
-            throw new RuntimeException("createApplication failed", e);
-        }
+        // Application row and its 'created' activity commit together
+        return Db.inTransaction(() -> {
+            try (Connection conn = Db.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
+
+                ps.setBytes(1, Ids.toBytes(auid));
+                ps.setBytes(2, Ids.toBytes(uuid));
+                ps.setBytes(3, Ids.toBytes(juid));
+                ps.setString(4, status);
+                ps.setTimestamp(5, appliedAt);
+                if (source != null) ps.setString(6, source);
+                else ps.setNull(6, Types.VARCHAR);
+                if (notes != null) ps.setString(7, notes);
+                else ps.setNull(7, Types.VARCHAR);
+
+                ps.executeUpdate();
+                changed(Table.APPLICATION);
+
+                // Auto-create Activity record
+                StatCounters.Deltas counters = StatCounters.deltas().application(uuid, status, source, 1);
+                createActivityForApplication(auid, uuid, counters);
+                counters.apply();
+
+                return auid;
+
+            } catch (SQLIntegrityConstraintViolationException e) {
+                throw ConstraintViolationException.of("createApplication failed", e);
+            } catch (SQLException e) {
+                throw new RuntimeException("createApplication failed", e);
+            }
+        });
     }
 
     public ApplicationRow getApplicationByAuid(String auid) {
-        String sql = "SELECT a.auid, a.uuid, a.juid, u.name AS user_name, u.email AS user_email, c.name AS company_name, j.title AS job_title, a.status, a.applied_at, a.source, a.notes, a.last_updated_at FROM application a JOIN `user` u ON a.uuid = u.uuid JOIN job j ON a.juid = j.juid JOIN company c ON j.cuid = c.cuid WHERE a.auid = ?";
+        return cached(applicationCache, "getApplicationByAuid", auid, this::loadApplicationByAuid, applicationBatcher,
+                Table.APPLICATION, Table.USER, Table.JOB, Table.COMPANY);
+    }
+
+    private ApplicationRow loadApplicationByAuid(String auid) {
+        String sql = "SELECT a.auid, a.uuid, a.juid, u.name AS user_name, u.email AS user_email, c.name AS company_name, j.title AS job_title, a.status, a.applied_at, a.source, a.notes, a.last_updated_at, a.version FROM application a JOIN `user` u ON a.uuid = u.uuid JOIN job j ON a.juid = j.juid JOIN company c ON j.cuid = c.cuid WHERE a.auid = ?";
 
         try (Connection conn = Db.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            ps.setString(1, auid);
+            ps.setBytes(1, Ids.toBytes(auid));
 
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
@@ -685,7 +1721,7 @@ public class ReportDaoJdbc {
         try (Connection conn = Db.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            ps.setString(1, auid);
+            ps.setBytes(1, Ids.toBytes(auid));
 
             try (ResultSet rs = ps.executeQuery()) {
                 return rs.next();
@@ -701,8 +1737,8 @@ public class ReportDaoJdbc {
         try (Connection conn = Db.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            ps.setString(1, uuid);
-            ps.setString(2, juid);
+            ps.setBytes(1, Ids.toBytes(uuid));
+            ps.setBytes(2, Ids.toBytes(juid));
 
             try (ResultSet rs = ps.executeQuery()) {
                 return rs.next();
@@ -713,199 +1749,543 @@ public class ReportDaoJdbc {
     }
 
     public void updateApplicationStatus(String auid, String newStatus, Timestamp lastUpdatedAt) {
-        // Get current status for Activity logging
-        String selectSql = "SELECT status FROM application WHERE auid = ?";
-        String oldStatus;
+        updateApplicationStatus(auid, newStatus, lastUpdatedAt, null);
+    }
 
-        try (Connection conn = Db.getConnection();
-             PreparedStatement ps = conn.prepareStatement(selectSql)) {
+    /**
+     * With expectedVersion null the row is locked for the read and the update
+     * always applies. Otherwise nothing is locked: the UPDATE only matches while
+     * the row is still at expectedVersion, and an OptimisticLockException is thrown
+     * when it has moved on. Either way the status change and its activity commit
+     * together.
+     */
+    public void updateApplicationStatus(String auid, String newStatus, Timestamp lastUpdatedAt, Integer expectedVersion) {
+        String readSql = "SELECT uuid, status, version FROM application WHERE auid = ?"
+                + (expectedVersion == null ? " FOR UPDATE" : "");
+        String updateSql = "UPDATE application SET status = ?, last_updated_at = ?, version = version + 1 WHERE auid = ? AND version = ?";
+
+        Db.inTransaction(() -> {
+            try (Connection conn = Db.getConnection()) {
+                String uuid;
+                String oldStatus;
+                int version;
+
+                try (PreparedStatement ps = conn.prepareStatement(readSql)) {
+                    ps.setBytes(1, Ids.toBytes(auid));
+
+                    try (ResultSet rs = ps.executeQuery()) {
+                        if (!rs.next()) {
+                            throw new RuntimeException("Application not found");
+                        }
+                        uuid = Ids.fromBytes(rs.getBytes("uuid"));
+                        oldStatus = rs.getString("status");
+                        version = rs.getInt("version");
+                    }
+                }
+                if (expectedVersion != null && version != expectedVersion) {
+                    throw new OptimisticLockException(auid, expectedVersion, version);
+                }
 
-            ps.setString(1, auid);
+                try (PreparedStatement ps = conn.prepareStatement(updateSql)) {
+                    ps.setString(1, newStatus);
+                    ps.setTimestamp(2, lastUpdatedAt);
+                    ps.setBytes(3, Ids.toBytes(auid));
+                    ps.setInt(4, version);
 
-            try (ResultSet rs = ps.executeQuery()) {
-                if (!rs.next()) {
-                    throw new RuntimeException("Application not found");
+                    // Only possible without the lock: someone else updated since our read
+                    if (ps.executeUpdate() == 0) {
+                        throw new OptimisticLockException(auid, expectedVersion, null);
+                    }
                 }
-                oldStatus = rs.getString("status");
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to get current status", e);
-        }
+                evict(applicationCache, auid, false);
+                changed(Table.APPLICATION);
 
-        String updateSql = "UPDATE application SET status = ?, last_updated_at = ? WHERE auid = ?";
+                // Auto-create Activity for status change
+                StatCounters.Deltas counters = StatCounters.deltas().statusChange(uuid, oldStatus, newStatus);
+                createActivityForStatusChange(auid, uuid, oldStatus, newStatus, counters);
+                counters.apply();
+                return null;
 
-        try (Connection conn = Db.getConnection();
-             PreparedStatement ps = conn.prepareStatement(updateSql)) {
+            } catch (SQLException e) {
+                throw new RuntimeException("updateApplicationStatus failed", e);
+            }
+        });
+    }
 
-            ps.setString(1, newStatus);
-            ps.setTimestamp(2, lastUpdatedAt);
-            ps.setString(3, auid);
+    public void updateApplicationNotes(String auid, String notes, Timestamp lastUpdatedAt) {
+        updateApplicationNotes(auid, notes, lastUpdatedAt, null);
+    }
 
-            ps.executeUpdate();
+    /** Applies only while the row is at expectedVersion, when one is given. */
+    public void updateApplicationNotes(String auid, String notes, Timestamp lastUpdatedAt, Integer expectedVersion) {
+        updateApplicationText("updateApplicationNotes", "notes", auid, notes, lastUpdatedAt, expectedVersion);
+    }
 
-            // Auto-create Activity for status change
-            try (PreparedStatement ps2 = conn.prepareStatement("SELECT uuid FROM application WHERE auid = ?")) {
-                ps2.setString(1, auid);
-                try (ResultSet rs = ps2.executeQuery()) {
-                    if (rs.next()) {
-                        String uuid = rs.getString("uuid");
-                        createActivityForStatusChange(auid, uuid, oldStatus, newStatus);
-                    }
-                }
-            }
+    public void updateApplicationSource(String auid, String source, Timestamp lastUpdatedAt) {
+        updateApplicationSource(auid, source, lastUpdatedAt, null);
+    }
 
-        } catch (SQLException e) {
-            throw new RuntimeException("updateApplicationStatus failed", e);
-        }
+    /**
+     * Applies only while the row is at expectedVersion, when one is given. Goes
+     * through patchApplication, which reads the old source for the counters.
+     */
+    public void updateApplicationSource(String auid, String source, Timestamp lastUpdatedAt, Integer expectedVersion) {
+        ApplicationPatch patch = new ApplicationPatch();
+        patch.setSource = true;
+        patch.source = source;
+        patchApplication(auid, patch, lastUpdatedAt, expectedVersion);
     }
 
-    public void updateApplicationNotes(String auid, String notes, Timestamp lastUpdatedAt) {
-        String sql = "UPDATE application SET notes = ?, last_updated_at = ? WHERE auid = ?";
+    /** Single-column compare-and-set UPDATE; column is one of our own names, never user input. */
+    private void updateApplicationText(String operation, String column, String auid, String value,
+                                       Timestamp lastUpdatedAt, Integer expectedVersion) {
+        String sql = "UPDATE application SET " + column + " = ?, last_updated_at = ?, version = version + 1 WHERE auid = ?"
+                + (expectedVersion != null ? " AND version = ?" : "");
 
         try (Connection conn = Db.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            if (notes != null) ps.setString(1, notes);
+            if (value != null) ps.setString(1, value);
             else ps.setNull(1, Types.VARCHAR);
             ps.setTimestamp(2, lastUpdatedAt);
-            ps.setString(3, auid);
+            ps.setBytes(3, Ids.toBytes(auid));
+            if (expectedVersion != null) ps.setInt(4, expectedVersion);
 
             int rows = ps.executeUpdate();
             if (rows == 0) {
+                if (expectedVersion != null && applicationExists(auid)) {
+                    throw new OptimisticLockException(auid, expectedVersion, null);
+                }
                 throw new RuntimeException("Application not found");
             }
+            evict(applicationCache, auid, false);
+            changed(Table.APPLICATION);
 
         } catch (SQLException e) {
-            throw new RuntimeException("updateApplicationNotes failed", e);
+            throw new RuntimeException(operation + " failed", e);
         }
     }
 
-    public void updateApplicationSource(String auid, String source, Timestamp lastUpdatedAt) {
-        String sql = "UPDATE application SET source = ?, last_updated_at = ? WHERE auid = ?";
+    /**
+     * Apply whichever of status, notes and source the patch sets as one UPDATE,
+     * plus a status_change activity if the status really changed, all in one
+     * transaction. Version and locking work as in updateApplicationStatus; a
+     * patch that sets neither status nor source (a notes-only patch) reads
+     * nothing first. The status and source counters move with the row.
+     */
+    public void patchApplication(String auid, ApplicationPatch patch, Timestamp lastUpdatedAt, Integer expectedVersion) {
+        String readSql = "SELECT uuid, status, source, version FROM application WHERE auid = ?"
+                + (expectedVersion == null ? " FOR UPDATE" : "");
+
+        StringBuilder set = new StringBuilder("UPDATE application SET ");
+        if (patch.status != null) set.append("status = ?, ");
+        if (patch.setNotes) set.append("notes = ?, ");
+        if (patch.setSource) set.append("source = ?, ");
+        set.append("last_updated_at = ?, version = version + 1 WHERE auid = ?");
+
+        Db.inTransaction(() -> {
+            try (Connection conn = Db.getConnection()) {
+                String uuid = null;
+                String oldStatus = null;
+                String oldSource = null;
+                Integer casVersion = expectedVersion;
+
+                if (patch.status != null || patch.setSource) {
+                    try (PreparedStatement ps = conn.prepareStatement(readSql)) {
+                        ps.setBytes(1, Ids.toBytes(auid));
+
+                        try (ResultSet rs = ps.executeQuery()) {
+                            if (!rs.next()) {
+                                throw new RuntimeException("Application not found");
+                            }
+                            uuid = Ids.fromBytes(rs.getBytes("uuid"));
+                            oldStatus = rs.getString("status");
+                            oldSource = rs.getString("source");
+                            casVersion = rs.getInt("version");
+                        }
+                    }
+                    if (expectedVersion != null && !casVersion.equals(expectedVersion)) {
+                        throw new OptimisticLockException(auid, expectedVersion, casVersion);
+                    }
+                }
 
-        try (Connection conn = Db.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+                String sql = set + (casVersion != null ? " AND version = ?" : "");
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    int i = 1;
+                    if (patch.status != null) ps.setString(i++, patch.status);
+                    if (patch.setNotes) {
+                        if (patch.notes != null) ps.setString(i++, patch.notes);
+                        else ps.setNull(i++, Types.VARCHAR);
+                    }
+                    if (patch.setSource) {
+                        if (patch.source != null) ps.setString(i++, patch.source);
+                        else ps.setNull(i++, Types.VARCHAR);
+                    }
+                    ps.setTimestamp(i++, lastUpdatedAt);
+                    ps.setBytes(i++, Ids.toBytes(auid));
+                    if (casVersion != null) ps.setInt(i, casVersion);
+
+                    if (ps.executeUpdate() == 0) {
+                        if (casVersion != null && applicationExists(auid)) {
+                            throw new OptimisticLockException(auid, expectedVersion, null);
+                        }
+                        throw new RuntimeException("Application not found");
+                    }
+                }
+                evict(applicationCache, auid, false);
+                changed(Table.APPLICATION);
 
-            if (source != null) ps.setString(1, source);
-            else ps.setNull(1, Types.VARCHAR);
-            ps.setTimestamp(2, lastUpdatedAt);
-            ps.setString(3, auid);
+                StatCounters.Deltas counters = StatCounters.deltas();
+                if (patch.status != null && !patch.status.equals(oldStatus)) {
+                    counters.statusChange(uuid, oldStatus, patch.status);
+                    createActivityForStatusChange(auid, uuid, oldStatus, patch.status, counters);
+                }
+                if (patch.setSource) {
+                    counters.sourceChange(uuid, oldSource, patch.source);
+                }
+                counters.apply();
+                return null;
 
-            int rows = ps.executeUpdate();
-            if (rows == 0) {
-                throw new RuntimeException("Application not found");
+            } catch (SQLException e) {
+                throw new RuntimeException("patchApplication failed", e);
             }
+        });
+    }
 
-        } catch (SQLException e) {
-            throw new RuntimeException("updateApplicationSource failed", e);
+    /**
+     * Set newStatus on many applications in one transaction: one locking read for
+     * the old statuses, one UPDATE for the rows that change and one batched
+     * (multi-row) activity INSERT logging each change. Rows already at newStatus
+     * are left alone. At most 500 distinct ids.
+     */
+    public BulkStatusResult updateApplicationStatuses(Collection<String> auids, String newStatus, Timestamp lastUpdatedAt) {
+        // Distinct stored ids; differently spelled duplicates collapse here
+        Set<String> keys = new LinkedHashSet<>();
+        for (String auid : auids) {
+            byte[] key = Ids.toBytes(auid);
+            if (key != null) keys.add(Ids.fromBytes(key));
+        }
+        if (keys.size() > MAX_IN_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_IN_IDS + " applications per bulk update");
         }
-    }
 
-    public void deleteApplication(String auid) {
-        String sql = "DELETE FROM application WHERE auid = ?";
+        String lockSql = "SELECT auid, uuid, status FROM application WHERE auid IN ("
+                + String.join(", ", Collections.nCopies(keys.size(), "?")) + ") FOR UPDATE";
+
+        return Db.inTransaction(() -> {
+            try (Connection conn = Db.getConnection()) {
+                // stored auid -> {uuid, old status}
+                Map<String, String[]> current = new HashMap<>();
+                if (!keys.isEmpty()) {
+                    try (PreparedStatement ps = conn.prepareStatement(lockSql)) {
+                        int i = 1;
+                        for (String auid : keys) ps.setBytes(i++, Ids.toBytes(auid));
+
+                        try (ResultSet rs = ps.executeQuery()) {
+                            while (rs.next()) {
+                                current.put(Ids.fromBytes(rs.getBytes("auid")),
+                                        new String[] { Ids.fromBytes(rs.getBytes("uuid")), rs.getString("status") });
+                            }
+                        }
+                    }
+                }
 
-        try (Connection conn = Db.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+                BulkStatusResult result = new BulkStatusResult();
+                Set<String> seen = new HashSet<>();
+                List<String> changing = new ArrayList<>();
+                for (String auid : auids) {
+                    byte[] key = Ids.toBytes(auid);
+                    String stored = key != null ? Ids.fromBytes(key) : auid;
+                    if (!seen.add(stored)) continue;
+
+                    String[] row = key != null ? current.get(stored) : null;
+                    if (row == null) {
+                        result.missing.add(auid);
+                    } else if (row[1].equalsIgnoreCase(newStatus)) {
+                        result.unchanged.add(auid);
+                    } else {
+                        result.updated.add(auid);
+                        changing.add(stored);
+                    }
+                }
+                if (changing.isEmpty()) {
+                    return result;
+                }
 
-            ps.setString(1, auid);
-            ps.executeUpdate();
+                String updateSql = "UPDATE application SET status = ?, last_updated_at = ?, version = version + 1 WHERE auid IN ("
+                        + String.join(", ", Collections.nCopies(changing.size(), "?")) + ")";
+                try (PreparedStatement ps = conn.prepareStatement(updateSql)) {
+                    ps.setString(1, newStatus);
+                    ps.setTimestamp(2, lastUpdatedAt);
+                    int i = 3;
+                    for (String auid : changing) ps.setBytes(i++, Ids.toBytes(auid));
+                    ps.executeUpdate();
+                }
 
-        } catch (SQLException e) {
-            throw new RuntimeException("deleteApplication failed", e);
-        }
+                List<ActivityRow> activities = new ArrayList<>(changing.size());
+                StatCounters.Deltas counters = StatCounters.deltas();
+                try (PreparedStatement ps = conn.prepareStatement(INSERT_ACTIVITY_SQL)) {
+                    for (String auid : changing) {
+                        String[] row = current.get(auid);
+                        ActivityRow activity = newActivity(auid, row[0], "status_change", row[1], newStatus, "Bulk status update");
+                        bindActivity(ps, activity);
+                        ps.addBatch();
+                        activities.add(activity);
+                        counters.statusChange(row[0], row[1], newStatus).activities(row[0], 1);
+                    }
+                    ps.executeBatch();
+                }
+                counters.apply();
+
+                for (String auid : changing) evict(applicationCache, auid, false);
+                changed(Table.APPLICATION, Table.ACTIVITY);
+                ActivityFeed.publishAfterCommit(activities);
+                return result;
+
+            } catch (SQLException e) {
+                throw new RuntimeException("updateApplicationStatuses failed", e);
+            }
+        });
     }
 
-    // -------------------------
-    // HELPER METHODS
-    // -------------------------
+    /**
+     * Returns false if there was no such application; its activities go with it.
+     * Leaves a tombstone in the same transaction so delta sync can report the delete,
+     * and takes the row and its activities off the counters.
+     */
+    public boolean deleteApplication(String auid) {
+        String lockSql = "SELECT uuid, status, source FROM application WHERE auid = ? FOR UPDATE";
+        String activityCountSql = "SELECT COUNT(*) FROM activity WHERE auid = ?";
+        String sql = "DELETE FROM application WHERE auid = ?";
+        String tombstoneSql = "INSERT INTO application_tombstone (auid, uuid, deleted_at) VALUES (?, ?, NOW())";
+
+        return Db.inTransaction(() -> {
+            try (Connection conn = Db.getConnection()) {
+                byte[] uuid;
+                StatCounters.Deltas counters = StatCounters.deltas();
+                try (PreparedStatement ps = conn.prepareStatement(lockSql)) {
+                    ps.setBytes(1, Ids.toBytes(auid));
+                    try (ResultSet rs = ps.executeQuery()) {
+                        if (!rs.next()) {
+                            return false;
+                        }
+                        uuid = rs.getBytes("uuid");
+                        counters.application(Ids.fromBytes(uuid), rs.getString("status"), rs.getString("source"), -1);
+                    }
+                }
+                // The cascade removes them; new ones cannot reference the locked row meanwhile
+                try (PreparedStatement ps = conn.prepareStatement(activityCountSql)) {
+                    ps.setBytes(1, Ids.toBytes(auid));
+                    try (ResultSet rs = ps.executeQuery()) {
+                        rs.next();
+                        counters.activities(Ids.fromBytes(uuid), -rs.getLong(1));
+                    }
+                }
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    ps.setBytes(1, Ids.toBytes(auid));
+                    ps.executeUpdate();
+                }
+                try (PreparedStatement ps = conn.prepareStatement(tombstoneSql)) {
+                    ps.setBytes(1, Ids.toBytes(auid));
+                    ps.setBytes(2, uuid);
+                    ps.executeUpdate();
+                }
+                counters.apply();
+                evict(applicationCache, auid, false);
+                changed(Table.APPLICATION, Table.ACTIVITY);
+                return true;
 
-    private String generateUUID() {
-        return UUID.randomUUID().toString();
+            } catch (SQLException e) {
+                throw new RuntimeException("deleteApplication failed", e);
+            }
+        });
     }
 
-    public boolean hasApplications(String userUuid) {
-        String sql = "SELECT 1 FROM application WHERE uuid = ? LIMIT 1";
+    // -------------------------
+    // BATCH INSERTS
+    // -------------------------
+    // One connection, one transaction and one JDBC batch per call; the driver
+    // rewrites the batch into multi-row INSERTs (rewriteBatchedStatements, see Db).
+    // Ids are generated up front, so BatchResult.ids lines up with the input list.
+    // A row that breaks a constraint is reported in BatchResult.errors and the
+    // rest of the batch still commits. Any other error fails the whole call.
 
-        try (Connection conn = Db.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+    public BatchResult createUsers(List<UserRow> users) {
+        String sql = "INSERT INTO `user` (uuid, email, password_hash, name, created_at) VALUES (?, ?, ?, ?, NOW())";
 
-            ps.setString(1, userUuid);
+        return Db.inTransaction(() -> {
+            BatchResult result = insertBatch("createUsers", sql, users, (ps, u, id) -> {
+                ps.setBytes(1, Ids.toBytes(id));
+                ps.setString(2, u.email);
+                ps.setString(3, u.passwordHash);
+                ps.setString(4, u.name);
+            });
+            StatCounters.deltas().row("user", result.insertedCount()).apply();
+            changed(Table.USER);
+            return result;
+        });
+    }
 
-            try (ResultSet rs = ps.executeQuery()) {
-                return rs.next();
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException("hasApplications failed", e);
-        }
+    public BatchResult createCompanies(List<CompanyRow> companies) {
+        String sql = "INSERT INTO company (cuid, name, created_at) VALUES (?, ?, NOW())";
+
+        return Db.inTransaction(() -> {
+            BatchResult result = insertBatch("createCompanies", sql, companies, (ps, c, id) -> {
+                ps.setBytes(1, Ids.toBytes(id));
+                ps.setString(2, c.name);
+            });
+            StatCounters.deltas().row("company", result.insertedCount()).apply();
+            changed(Table.COMPANY);
+            return result;
+        });
     }
 
-    public boolean companyHasJobs(String companyCuid) {
-        String sql = "SELECT 1 FROM job WHERE cuid = ? LIMIT 1";
+    /** Rows must carry employmentType and workType (see JobManager for the defaults). */
+    public BatchResult createJobs(List<JobRow> jobs) {
+        String sql = "INSERT INTO job (juid, cuid, title, employment_type, work_type, job_url, created_at) VALUES (?, ?, ?, ?, ?, ?, NOW())";
+
+        return Db.inTransaction(() -> {
+            BatchResult result = insertBatch("createJobs", sql, jobs, (ps, j, id) -> {
+                ps.setBytes(1, Ids.toBytes(id));
+                ps.setBytes(2, Ids.toBytes(j.cuid));
+                ps.setString(3, j.title);
+                ps.setString(4, j.employmentType);
+                ps.setString(5, j.workType);
+                ps.setString(6, j.url);
+            });
+            StatCounters.deltas().row("job", result.insertedCount()).apply();
+            changed(Table.JOB);
+            return result;
+        });
+    }
 
-        try (Connection conn = Db.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+    /** Inserts the applications plus one 'created' activity for each row that went in. */
+    public BatchResult createApplications(List<ApplicationRow> apps) {
+        String sql = "INSERT INTO application (auid, uuid, juid, status, applied_at, source, notes, last_updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, NOW())";
 
-            ps.setString(1, companyCuid);
+        return Db.inTransaction(() -> {
+            BatchResult result = insertBatch("createApplications", sql, apps, (ps, a, id) -> {
+                ps.setBytes(1, Ids.toBytes(id));
+                ps.setBytes(2, Ids.toBytes(a.uuid));
+                ps.setBytes(3, Ids.toBytes(a.juid));
+                ps.setString(4, a.status);
+                ps.setTimestamp(5, a.appliedAt);
+                if (a.source != null) ps.setString(6, a.source);
+                else ps.setNull(6, Types.VARCHAR);
+                if (a.notes != null) ps.setString(7, a.notes);
+                else ps.setNull(7, Types.VARCHAR);
+            });
+
+            List<ActivityRow> activities = new ArrayList<>(apps.size());
+            StatCounters.Deltas counters = StatCounters.deltas();
+            try (Connection conn = Db.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(INSERT_ACTIVITY_SQL)) {
+
+                for (int i = 0; i < apps.size(); i++) {
+                    String auid = result.ids.get(i);
+                    if (auid == null) continue;
+                    ApplicationRow app = apps.get(i);
+                    ActivityRow activity = newActivity(auid, app.uuid, "created", null, null, "Application created");
+                    bindActivity(ps, activity);
+                    ps.addBatch();
+                    activities.add(activity);
+                    counters.application(app.uuid, app.status, app.source, 1).activities(app.uuid, 1);
+                }
+                ps.executeBatch();
 
-            try (ResultSet rs = ps.executeQuery()) {
-                return rs.next();
+            } catch (SQLException e) {
+                throw new RuntimeException("createApplications failed", e);
             }
-        } catch (SQLException e) {
-            throw new RuntimeException("companyHasJobs failed", e);
-        }
+            counters.apply();
+            changed(Table.APPLICATION, Table.ACTIVITY);
+            ActivityFeed.publishAfterCommit(activities);
+            return result;
+        });
+    }
+
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(PreparedStatement ps, T row, String id) throws SQLException;
     }
 
-    public boolean jobHasApplications(String jobJuid) {
-        String sql = "SELECT 1 FROM application WHERE juid = ? LIMIT 1";
+    /** Must run inside a transaction: the fallback path relies on a savepoint. */
+    private static <T> BatchResult insertBatch(String label, String sql, List<T> rows, RowBinder<T> binder) {
+        List<String> ids = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) ids.add(Ids.newId());
+        BatchResult result = new BatchResult(ids);
+        if (rows.isEmpty()) return result;
 
         try (Connection conn = Db.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            ps.setString(1, jobJuid);
+            for (int i = 0; i < rows.size(); i++) {
+                binder.bind(ps, rows.get(i), ids.get(i));
+                ps.addBatch();
+            }
 
-            try (ResultSet rs = ps.executeQuery()) {
-                return rs.next();
+            Savepoint beforeBatch = conn.setSavepoint();
+            try {
+                ps.executeBatch();
+                conn.releaseSavepoint(beforeBatch);
+            } catch (BatchUpdateException e) {
+                // A rewritten multi-row INSERT fails as a whole, so undo whatever part
+                // of the batch went in and replay row by row to find the bad rows.
+                // MySQL only rolls back the failing statement, the transaction goes on.
+                conn.rollback(beforeBatch);
+                ps.clearBatch();
+                for (int i = 0; i < rows.size(); i++) {
+                    binder.bind(ps, rows.get(i), ids.get(i));
+                    try {
+                        ps.executeUpdate();
+                    } catch (SQLIntegrityConstraintViolationException rowError) {
+                        result.fail(i, ConstraintViolationException.of(label + " failed", rowError));
+                    }
+                }
             }
+            return result;
+
         } catch (SQLException e) {
-            throw new RuntimeException("jobHasApplications failed", e);
+            throw new RuntimeException(label + " failed", e);
         }
     }
 
-    private void createActivityForApplication(String auid, String uuid) {
-        String actuid = generateUUID();
-        String sql = "INSERT INTO activity (actuid, auid, uuid, event_type, old_status, new_status, event_time, details) VALUES (?, ?, ?, 'created', NULL, NULL, NOW(), 'Application created')";
-
-        try (Connection conn = Db.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setString(1, actuid);
-            ps.setString(2, auid);
-            ps.setString(3, uuid);
+    // -------------------------
+    // HELPER METHODS
+    // -------------------------
 
-            ps.executeUpdate();
+    private void createActivityForApplication(String auid, String uuid, StatCounters.Deltas counters) {
+        insertActivity("createActivityForApplication",
+                newActivity(auid, uuid, "created", null, null, "Application created"), counters);
+    }
 
-        } catch (SQLException e) {
-            throw new RuntimeException("createActivityForApplication failed", e);
-        }
+    private void createActivityForStatusChange(String auid, String uuid, String oldStatus, String newStatus,
+                                               StatCounters.Deltas counters) {
+        insertActivity("createActivityForStatusChange",
+                newActivity(auid, uuid, "status_change", oldStatus, newStatus, "Status updated via console"), counters);
     }
 
-    private void createActivityForStatusChange(String auid, String uuid, String oldStatus, String newStatus) {
-        String actuid = generateUUID();
-        String sql = "INSERT INTO activity (actuid, auid, uuid, event_type, old_status, new_status, event_time, details) VALUES (?, ?, ?, 'status_change', ?, ?, NOW(), 'Status updated via console')";
+    /**
+     * Insert in the caller's transaction (or hand to the writer) and publish after
+     * commit. A direct insert adds to the caller's counters; the writer counts the
+     * rows it flushes itself.
+     */
+    private void insertActivity(String operation, ActivityRow row, StatCounters.Deltas counters) {
+        if (activityWriter.mode() != ActivityWriter.Mode.DIRECT) {
+            writeBehind(row);
+            return;
+        }
 
         try (Connection conn = Db.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setString(1, actuid);
-            ps.setString(2, auid);
-            ps.setString(3, uuid);
-            ps.setString(4, oldStatus);
-            ps.setString(5, newStatus);
+             PreparedStatement ps = conn.prepareStatement(INSERT_ACTIVITY_SQL)) {
 
+            bindActivity(ps, row);
             ps.executeUpdate();
+            counters.activities(row.uuid, 1);
+            changed(Table.ACTIVITY);
+            ActivityFeed.publishAfterCommit(Collections.singletonList(row));
 
         } catch (SQLException e) {
-            throw new RuntimeException("createActivityForStatusChange failed", e);
+            throw new RuntimeException(operation + " failed", e);
         }
     }
 }
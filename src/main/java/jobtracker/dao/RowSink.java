@@ -0,0 +1,12 @@
+package jobtracker.dao;
+
+import java.io.IOException;
+
+/**
+ * Receives rows one at a time as the DAO reads them, so a caller can write each
+ * row out and drop it instead of collecting the whole result in a list.
+ */
+@FunctionalInterface
+public interface RowSink<T> {
+    void accept(T row) throws IOException;
+}
@@ -0,0 +1,93 @@
+package jobtracker.dao;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads: while a call for a key is running,
+ * further calls with the same key wait for it and get its result (or its
+ * exception) instead of running the query again.
+ *
+ * Results are shared between callers and must be treated as read-only. Keys
+ * must describe everything the result depends on; ReportDaoJdbc adds a
+ * {@link TableVersions} stamp so a call made after a write never joins a call
+ * that started before it.
+ */
+public final class SingleFlight {
+
+    /** Counters for the stats endpoint. */
+    public static class Stats {
+        public int inFlight;
+        public long executed;
+        public long coalesced;
+        public Map<String, Counts> byOperation;
+    }
+
+    public static class Counts {
+        public long executed;     // calls that ran the query
+        public long coalesced;    // calls that shared another call's result
+    }
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicLong[]> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Run loader for key, or join the call already running for it.
+     *
+     * @param operation label the counters are grouped by, e.g. "listJobs"
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T run(String operation, String key, Supplier<T> loader) {
+        AtomicLong[] opCounters = counters.computeIfAbsent(operation, k -> new AtomicLong[]{new AtomicLong(), new AtomicLong()});
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            opCounters[1].incrementAndGet();
+            return (T) await(running);
+        }
+
+        opCounters[0].incrementAndGet();
+        try {
+            T value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    public Stats stats() {
+        Stats s = new Stats();
+        s.inFlight = inFlight.size();
+        s.byOperation = new TreeMap<>();
+        for (Map.Entry<String, AtomicLong[]> e : counters.entrySet()) {
+            Counts c = new Counts();
+            c.executed = e.getValue()[0].get();
+            c.coalesced = e.getValue()[1].get();
+            s.executed += c.executed;
+            s.coalesced += c.coalesced;
+            s.byOperation.put(e.getKey(), c);
+        }
+        return s;
+    }
+}
@@ -0,0 +1,326 @@
+package jobtracker.dao;
+
+import jobtracker.db.Db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Precomputed counts in the stat_counter table: rows per table, applications
+ * per status and per source, for everything (the GLOBAL scope) and per user.
+ *
+ * The DAO write paths add their {@link Deltas} in the same transaction as the
+ * rows they write, so the counts are exactly as current as the data and
+ * reading them is a short primary key range instead of COUNT(*) scans.
+ *
+ * Each counter is spread over SLOTS rows and a transaction adds to one slot
+ * picked at random; otherwise every application write would queue on the
+ * same few global rows. Readers sum the slots. A transaction applies all its
+ * deltas as one statement with the keys sorted, so writers always lock
+ * counter rows in the same order.
+ *
+ * {@link #reconcile()} recomputes everything from the base tables. Every DAO
+ * write, and every ActivityWriter flush, counts the rows it actually wrote in
+ * the same transaction; the writer leaves out rows it drops because their
+ * application was deleted first. Drift comes from writes that bypass the DAO
+ * (seed data, manual SQL, the benchmarks) and from ActivityWriter journal
+ * replays: a replayed row that was already in the table is a no-op insert but
+ * is counted again.
+ */
+public final class StatCounters {
+
+    /** Counts for one scope; every known name is present, zero if never counted. */
+    public static class Counts {
+        public String uuid; // null for the global scope
+        public Map<String, Long> tables = new LinkedHashMap<>();
+        public Map<String, Long> statuses = new LinkedHashMap<>();
+        public Map<String, Long> sources = new LinkedHashMap<>();
+    }
+
+    static final String TABLE = "table";
+    static final String STATUS = "status";
+    static final String SOURCE = "source";
+
+    /** application.status values in pipeline order (see chk_application_status). */
+    public static final List<String> STATUSES = Collections.unmodifiableList(Arrays.asList(
+            "applied", "phone_screen", "interview", "offer", "rejected", "withdrawn"));
+    /** Counts the applications whose source is NULL. */
+    public static final String NO_SOURCE = "none";
+    /** application.source values (see chk_application_source), then NO_SOURCE. */
+    public static final List<String> SOURCES = Collections.unmodifiableList(Arrays.asList(
+            "linkedin", "handshake", "referral", "company_site", "other", NO_SOURCE));
+
+    private static final List<String> GLOBAL_TABLES = Arrays.asList("user", "company", "job", "application", "activity");
+    private static final List<String> USER_TABLES = Arrays.asList("application", "activity");
+
+    private static final String GLOBAL = "00000000-0000-0000-0000-000000000000";
+    private static final int SLOTS = 16;
+    private static final long RECONCILE_HOURS = Db.longEnv("JOBTRACKER_COUNTER_RECONCILE_HOURS", 24);
+
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "stat-counter-reconcile");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Same rows the migration (006_stat_counters.sql) fills the table with, all in slot 0
+    private static final String RECOMPUTE_SQL =
+            "SELECT UUID_TO_BIN('" + GLOBAL + "') AS scope, 'table' AS kind, 'user' AS name, COUNT(*) AS value FROM `user`"
+            + " UNION ALL SELECT UUID_TO_BIN('" + GLOBAL + "'), 'table', 'company', COUNT(*) FROM company"
+            + " UNION ALL SELECT UUID_TO_BIN('" + GLOBAL + "'), 'table', 'job', COUNT(*) FROM job"
+            + " UNION ALL SELECT UUID_TO_BIN('" + GLOBAL + "'), 'table', 'application', COUNT(*) FROM application"
+            + " UNION ALL SELECT UUID_TO_BIN('" + GLOBAL + "'), 'table', 'activity', COUNT(*) FROM activity"
+            + " UNION ALL SELECT UUID_TO_BIN('" + GLOBAL + "'), 'status', LOWER(status), COUNT(*) FROM application GROUP BY LOWER(status)"
+            + " UNION ALL SELECT UUID_TO_BIN('" + GLOBAL + "'), 'source', COALESCE(source, 'none'), COUNT(*) FROM application GROUP BY COALESCE(source, 'none')"
+            + " UNION ALL SELECT uuid, 'table', 'application', COUNT(*) FROM application GROUP BY uuid"
+            + " UNION ALL SELECT uuid, 'table', 'activity', COUNT(*) FROM activity GROUP BY uuid"
+            + " UNION ALL SELECT uuid, 'status', LOWER(status), COUNT(*) FROM application GROUP BY uuid, LOWER(status)"
+            + " UNION ALL SELECT uuid, 'source', COALESCE(source, 'none'), COUNT(*) FROM application GROUP BY uuid, COALESCE(source, 'none')";
+
+    private StatCounters() {}
+
+    /**
+     * Counter changes made by one transaction. Deltas for the same counter
+     * add up; apply() writes them all with one upsert.
+     */
+    static final class Deltas {
+        // "scope|kind|name" -> delta; sorted so every writer locks in the same order
+        private final Map<String, Long> byKey = new TreeMap<>();
+
+        /** The same delta globally and, when uuid is not null, for that user. */
+        Deltas add(String uuid, String kind, String name, long delta) {
+            // Statuses are matched case-insensitively on the way in (and by the column collation)
+            name = name.toLowerCase(Locale.ROOT);
+            byKey.merge(GLOBAL + "|" + kind + "|" + name, delta, Long::sum);
+            if (uuid != null) {
+                byKey.merge(uuid + "|" + kind + "|" + name, delta, Long::sum);
+            }
+            return this;
+        }
+
+        /** A table row that is not tied to a user (user, company, job). */
+        Deltas row(String table, long delta) {
+            return add(null, TABLE, table, delta);
+        }
+
+        Deltas activities(String uuid, long delta) {
+            return add(uuid, TABLE, "activity", delta);
+        }
+
+        /** An application row appearing (+1) or going away (-1), with its status and source. */
+        Deltas application(String uuid, String status, String source, long delta) {
+            add(uuid, TABLE, "application", delta);
+            add(uuid, STATUS, status, delta);
+            return add(uuid, SOURCE, sourceName(source), delta);
+        }
+
+        Deltas statusChange(String uuid, String oldStatus, String newStatus) {
+            if (!Objects.equals(oldStatus, newStatus)) {
+                add(uuid, STATUS, oldStatus, -1);
+                add(uuid, STATUS, newStatus, 1);
+            }
+            return this;
+        }
+
+        Deltas sourceChange(String uuid, String oldSource, String newSource) {
+            if (!sourceName(oldSource).equals(sourceName(newSource))) {
+                add(uuid, SOURCE, sourceName(oldSource), -1);
+                add(uuid, SOURCE, sourceName(newSource), 1);
+            }
+            return this;
+        }
+
+        /** Upsert into one random slot on the current transaction's connection. */
+        void apply() {
+            try (Connection conn = Db.getConnection()) {
+                apply(conn);
+            } catch (SQLException e) {
+                throw new RuntimeException("applyCounterDeltas failed", e);
+            }
+        }
+
+        /** Same, on a connection the caller manages (and commits). */
+        void apply(Connection conn) throws SQLException {
+            byKey.values().removeIf(delta -> delta == 0);
+            if (byKey.isEmpty()) {
+                return;
+            }
+
+            String sql = "INSERT INTO stat_counter (scope, kind, name, slot, value) VALUES "
+                    + String.join(", ", Collections.nCopies(byKey.size(), "(?, ?, ?, ?, ?)"))
+                    + " ON DUPLICATE KEY UPDATE value = value + VALUES(value)";
+            int slot = ThreadLocalRandom.current().nextInt(SLOTS);
+
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                int i = 1;
+                for (Map.Entry<String, Long> e : byKey.entrySet()) {
+                    String[] key = e.getKey().split("\\|", 3);
+                    ps.setBytes(i++, Ids.toBytes(key[0]));
+                    ps.setString(i++, key[1]);
+                    ps.setString(i++, key[2]);
+                    ps.setInt(i++, slot);
+                    ps.setLong(i++, e.getValue());
+                }
+                ps.executeUpdate();
+                byKey.clear();
+            }
+        }
+    }
+
+    static Deltas deltas() {
+        return new Deltas();
+    }
+
+    private static String sourceName(String source) {
+        return source != null ? source : NO_SOURCE;
+    }
+
+    /** Remove a deleted user's counters (all zero: the user had no applications left). */
+    static void dropUser(String uuid) {
+        String sql = "DELETE FROM stat_counter WHERE scope = ?";
+
+        try (Connection conn = Db.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setBytes(1, Ids.toBytes(uuid));
+            ps.executeUpdate();
+
+        } catch (SQLException e) {
+            throw new RuntimeException("dropUserCounters failed", e);
+        }
+    }
+
+    /** Counts for one user, or the global ones when uuid is null. */
+    static Counts read(String uuid) {
+        String sql = "SELECT kind, name, SUM(value) AS value FROM stat_counter WHERE scope = ? GROUP BY kind, name";
+
+        Counts counts = new Counts();
+        counts.uuid = uuid;
+        for (String table : uuid == null ? GLOBAL_TABLES : USER_TABLES) counts.tables.put(table, 0L);
+        for (String status : STATUSES) counts.statuses.put(status, 0L);
+        for (String source : SOURCES) counts.sources.put(source, 0L);
+
+        try (Connection conn = Db.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setBytes(1, Ids.toBytes(uuid != null ? uuid : GLOBAL));
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String kind = rs.getString("kind");
+                    Map<String, Long> target = TABLE.equals(kind) ? counts.tables
+                            : STATUS.equals(kind) ? counts.statuses : counts.sources;
+                    target.merge(rs.getString("name").toLowerCase(Locale.ROOT), rs.getLong("value"), Long::sum);
+                }
+            }
+            return counts;
+
+        } catch (SQLException e) {
+            throw new RuntimeException("readCounters failed", e);
+        }
+    }
+
+    /**
+     * Recompute every counter from the base tables and fix the ones that are
+     * off, in one transaction. Locking the whole counter table first stops the
+     * DAO writers at their counter update, so the recount sees either all of a
+     * write or none of it. Returns the number of counters corrected.
+     */
+    static int reconcile() {
+        String lockSql = "SELECT scope, kind, name, value FROM stat_counter FOR UPDATE";
+        String deleteSql = "DELETE FROM stat_counter WHERE scope = ? AND kind = ? AND name = ?";
+        String insertSql = "INSERT INTO stat_counter (scope, kind, name, slot, value) VALUES (?, ?, ?, 0, ?)";
+
+        return Db.inTransaction(() -> {
+            try (Connection conn = Db.getConnection()) {
+                Map<String, Long> stored = sums(conn, lockSql);
+                Map<String, Long> actual = sums(conn, RECOMPUTE_SQL);
+
+                Map<String, Long> wrong = new HashMap<>();
+                for (Map.Entry<String, Long> e : actual.entrySet()) {
+                    if (!e.getValue().equals(stored.getOrDefault(e.getKey(), 0L))) wrong.put(e.getKey(), e.getValue());
+                }
+                for (Map.Entry<String, Long> e : stored.entrySet()) {
+                    if (e.getValue() != 0 && !actual.containsKey(e.getKey())) wrong.put(e.getKey(), 0L);
+                }
+                if (wrong.isEmpty()) {
+                    return 0;
+                }
+
+                try (PreparedStatement delete = conn.prepareStatement(deleteSql);
+                     PreparedStatement insert = conn.prepareStatement(insertSql)) {
+                    for (Map.Entry<String, Long> e : wrong.entrySet()) {
+                        String[] key = e.getKey().split("\\|", 3);
+                        delete.setBytes(1, Ids.toBytes(key[0]));
+                        delete.setString(2, key[1]);
+                        delete.setString(3, key[2]);
+                        delete.addBatch();
+
+                        insert.setBytes(1, Ids.toBytes(key[0]));
+                        insert.setString(2, key[1]);
+                        insert.setString(3, key[2]);
+                        insert.setLong(4, e.getValue());
+                        insert.addBatch();
+                    }
+                    delete.executeBatch();
+                    insert.executeBatch();
+                }
+                return wrong.size();
+
+            } catch (SQLException e) {
+                throw new RuntimeException("reconcileCounters failed", e);
+            }
+        });
+    }
+
+    /**
+     * Run reconcile() every JOBTRACKER_COUNTER_RECONCILE_HOURS (default 24, 0 turns
+     * it off), first one period from now. Failures are logged and retried next time.
+     */
+    public static void scheduleReconcile() {
+        if (RECONCILE_HOURS <= 0) {
+            return;
+        }
+        scheduler.scheduleAtFixedRate(() -> {
+            try {
+                int fixed = reconcile();
+                if (fixed > 0) {
+                    System.out.println("Reconciled " + fixed + " stat counters");
+                }
+            } catch (RuntimeException e) {
+                // an exception would cancel the schedule
+                System.err.println("Stat counter reconcile failed: " + e.getMessage());
+            }
+        }, RECONCILE_HOURS, RECONCILE_HOURS, TimeUnit.HOURS);
+    }
+
+    /** "scope|kind|name" -> value summed over the rows (slots) a query returns. */
+    private static Map<String, Long> sums(Connection conn, String sql) throws SQLException {
+        Map<String, Long> out = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+
+            while (rs.next()) {
+                String key = Ids.fromBytes(rs.getBytes("scope")) + "|" + rs.getString("kind") + "|"
+                        + rs.getString("name").toLowerCase(Locale.ROOT);
+                out.merge(key, rs.getLong("value"), Long::sum);
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,14 @@
+package jobtracker.dao;
+
+/**
+ * A delta-sync token is older than the tombstone retention, so deletions since
+ * then may already be purged. The client has to start over with a full sync.
+ */
+public class SyncTokenExpiredException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SyncTokenExpiredException(long retentionDays) {
+        super("Sync token is older than " + retentionDays + " days; start over without since");
+    }
+}
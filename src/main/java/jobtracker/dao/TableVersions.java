@@ -0,0 +1,62 @@
+package jobtracker.dao;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-process write counters, one per table. Every DAO write path bumps the
+ * tables it changes, once when it writes and again after its transaction
+ * commits, so a reader that takes a stamp after a write sees a different stamp
+ * than one taken before it.
+ *
+ * The counters start at zero on each start and are not shared between service
+ * instances; they say "something changed here", not how many rows. Each table
+ * also remembers the wall-clock time of its last write (the start time until
+ * there is one), for Last-Modified.
+ */
+public final class TableVersions {
+
+    public enum Table { USER, COMPANY, JOB, APPLICATION, ACTIVITY }
+
+    private static final AtomicLongArray versions = new AtomicLongArray(Table.values().length);
+    private static final AtomicLongArray changedAt = new AtomicLongArray(Table.values().length);
+
+    static {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < changedAt.length(); i++) {
+            changedAt.set(i, now);
+        }
+    }
+
+    private TableVersions() {}
+
+    static void bump(Table... tables) {
+        long now = System.currentTimeMillis();
+        for (Table t : tables) {
+            versions.incrementAndGet(t.ordinal());
+            changedAt.accumulateAndGet(t.ordinal(), now, Math::max);
+        }
+    }
+
+    public static long get(Table table) {
+        return versions.get(table.ordinal());
+    }
+
+    /** Compact token for the current versions of the given tables, e.g. "3.0.12". */
+    public static String stamp(Table... tables) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < tables.length; i++) {
+            if (i > 0) sb.append('.');
+            sb.append(versions.get(tables[i].ordinal()));
+        }
+        return sb.toString();
+    }
+
+    /** Epoch millis of the latest write to any of the given tables. */
+    public static long lastChanged(Table... tables) {
+        long latest = 0;
+        for (Table t : tables) {
+            latest = Math.max(latest, changedAt.get(t.ordinal()));
+        }
+        return latest;
+    }
+}
@@ -12,20 +12,26 @@ public class UserDaoJdbc implements UserDao {
     @Override
     public void create(User u) {
         String sql = "INSERT INTO `user` (uuid, email, password_hash, name) VALUES (?, ?, ?, ?)";
-        try (Connection c = Db.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-
-            ps.setString(1, u.uuid);
-            ps.setString(2, u.email);
-            ps.setString(3, u.passwordHash);
-            ps.setString(4, u.name);
-            ps.executeUpdate();
-
-        } catch (SQLIntegrityConstraintViolationException e) {
-            throw new RuntimeException("User create failed (duplicate email or uuid): " + u.email, e);
-        } catch (SQLException e) {
-            throw new RuntimeException("User create failed", e);
-        }
+        // Row and user counter commit together
+        Db.inTransaction(() -> {
+            try (Connection c = Db.getConnection();
+                 PreparedStatement ps = c.prepareStatement(sql)) {
+
+                ps.setBytes(1, Ids.toBytes(u.uuid));
+                ps.setString(2, u.email);
+                ps.setString(3, u.passwordHash);
+                ps.setString(4, u.name);
+                ps.executeUpdate();
+                StatCounters.deltas().row("user", 1).apply();
+                ReportDaoJdbc.userCreated(u.uuid);
+                return null;
+
+            } catch (SQLIntegrityConstraintViolationException e) {
+                throw ConstraintViolationException.of("User create failed (duplicate email or uuid): " + u.email, e);
+            } catch (SQLException e) {
+                throw new RuntimeException("User create failed", e);
+            }
+        });
     }
 
     @Override
@@ -34,7 +40,7 @@ public class UserDaoJdbc implements UserDao {
         try (Connection c = Db.getConnection();
              PreparedStatement ps = c.prepareStatement(sql)) {
 
-            ps.setString(1, uuid);
+            ps.setBytes(1, Ids.toBytes(uuid));
             try (ResultSet rs = ps.executeQuery()) {
                 if (!rs.next()) return Optional.empty();
                 return Optional.of(map(rs));
@@ -85,13 +91,14 @@ public class UserDaoJdbc implements UserDao {
             ps.setString(1, u.email);
             ps.setString(2, u.passwordHash);
             ps.setString(3, u.name);
-            ps.setString(4, u.uuid);
+            ps.setBytes(4, Ids.toBytes(u.uuid));
 
             int updated = ps.executeUpdate();
             if (updated == 0) throw new RuntimeException("User update failed: uuid not found " + u.uuid);
+            ReportDaoJdbc.userChanged(u.uuid);
 
         } catch (SQLIntegrityConstraintViolationException e) {
-            throw new RuntimeException("User update failed (duplicate email): " + u.email, e);
+            throw ConstraintViolationException.of("User update failed (duplicate email): " + u.email, e);
         } catch (SQLException e) {
             throw new RuntimeException("User update failed", e);
         }
@@ -100,20 +107,29 @@ public class UserDaoJdbc implements UserDao {
     @Override
     public void delete(String uuid) {
         String sql = "DELETE FROM `user` WHERE uuid = ?";
-        try (Connection c = Db.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-
-            ps.setString(1, uuid);
-            ps.executeUpdate();
-
-        } catch (SQLException e) {
-            throw new RuntimeException("User delete failed (may be blocked by FK constraints)", e);
-        }
+        Db.inTransaction(() -> {
+            try (Connection c = Db.getConnection();
+                 PreparedStatement ps = c.prepareStatement(sql)) {
+
+                ps.setBytes(1, Ids.toBytes(uuid));
+                if (ps.executeUpdate() > 0) {
+                    StatCounters.deltas().row("user", -1).apply();
+                    StatCounters.dropUser(uuid);
+                }
+                ReportDaoJdbc.userChanged(uuid);
+                return null;
+
+            } catch (SQLIntegrityConstraintViolationException e) {
+                throw ConstraintViolationException.of("User delete failed (blocked by FK constraints)", e);
+            } catch (SQLException e) {
+                throw new RuntimeException("User delete failed", e);
+            }
+        });
     }
 
     private static User map(ResultSet rs) throws SQLException {
         User u = new User();
-        u.uuid = rs.getString("uuid");
+        u.uuid = Ids.fromBytes(rs.getBytes("uuid"));
         u.email = rs.getString("email");
         u.passwordHash = rs.getString("password_hash");
         u.name = rs.getString("name");
@@ -0,0 +1,396 @@
+package jobtracker.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded JDBC connection pool used by {@link Db}.
+ *
+ * Callers get a proxy connection; closing it hands the physical connection back
+ * to the pool instead of tearing down the socket. At most maxSize connections
+ * are checked out at once, callers past that wait up to acquireTimeoutMs.
+ * A housekeeping thread evicts connections idle longer than idleTimeoutMs (never
+ * going below minSize) and reports connections held longer than the leak threshold.
+ */
+public final class ConnectionPool {
+
+    /** Upper bounds (ms) of the acquire latency histogram buckets; the last bucket is open ended. */
+    private static final long[] LATENCY_BUCKETS_MS = {1, 5, 10, 50, 100, 500, 1000};
+
+    /** Connections idle for less than this are handed out without an isValid() round-trip. */
+    private static final long VALIDATION_BYPASS_MS = 500;
+
+    public static final class Config {
+        public int minSize = 2;
+        public int maxSize = 10;
+        public long acquireTimeoutMs = 5_000;
+        public long idleTimeoutMs = 10 * 60_000;
+        public long leakThresholdMs = 60_000;   // 0 disables leak detection
+        public int validationTimeoutSec = 2;
+        public long housekeepingIntervalMs = 30_000;
+    }
+
+    /** Point-in-time snapshot of the pool, serialized as-is by the stats endpoint. */
+    public static class PoolStats {
+        public int active;
+        public int idle;
+        public int total;
+        public int waiters;
+        public int minSize;
+        public int maxSize;
+        public long acquired;
+        public long acquireTimeouts;
+        public long created;
+        public long destroyed;
+        public long leaksDetected;
+        public Map<String, Long> acquireLatencyMs;
+    }
+
+    private final String url;
+    private final Properties connectionProps;
+    private final Config config;
+
+    private final Semaphore permits;
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final Set<PooledConnection> active = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong acquireTimeouts = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong destroyed = new AtomicLong();
+    private final AtomicLong leaksDetected = new AtomicLong();
+    private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKETS_MS.length + 1);
+
+    private volatile boolean closed;
+
+    public ConnectionPool(String url, Properties connectionProps, Config config) {
+        if (config.minSize < 0 || config.maxSize < 1 || config.minSize > config.maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + config.minSize + ", max=" + config.maxSize);
+        }
+        this.url = url;
+        this.connectionProps = connectionProps;
+        this.config = config;
+        this.permits = new Semaphore(config.maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "jobtracker-db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep,
+                config.housekeepingIntervalMs, config.housekeepingIntervalMs, TimeUnit.MILLISECONDS);
+
+        fillToMinimum();
+    }
+
+    // -------------------------
+    // ACQUIRE / RELEASE
+    // -------------------------
+
+    public Connection acquire() {
+        if (closed) {
+            throw new RuntimeException("Connection pool is closed");
+        }
+
+        long start = System.nanoTime();
+        waiters.incrementAndGet();
+        boolean permitted;
+        try {
+            permitted = permits.tryAcquire(config.acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a database connection", e);
+        } finally {
+            waiters.decrementAndGet();
+        }
+
+        if (!permitted) {
+            acquireTimeouts.incrementAndGet();
+            throw new RuntimeException("Timed out after " + config.acquireTimeoutMs
+                    + "ms waiting for a database connection (pool max " + config.maxSize + ")");
+        }
+
+        try {
+            PooledConnection pc = takeValidIdle();
+            if (pc == null) {
+                pc = open();
+            }
+            pc.borrowedAt = System.currentTimeMillis();
+            pc.borrowSite = config.leakThresholdMs > 0 ? new Throwable("Connection acquired here") : null;
+            pc.leakReported = false;
+            active.add(pc);
+
+            acquired.incrementAndGet();
+            recordLatency(System.nanoTime() - start);
+            return pc.newHandle();
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledConnection takeValidIdle() {
+        while (true) {
+            PooledConnection pc;
+            synchronized (idle) {
+                pc = idle.pollFirst();
+            }
+            if (pc == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() - pc.lastReturnedAt < VALIDATION_BYPASS_MS || isValid(pc)) {
+                return pc;
+            }
+            destroy(pc);
+        }
+    }
+
+    private boolean isValid(PooledConnection pc) {
+        try {
+            return pc.physical.isValid(config.validationTimeoutSec);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(PooledConnection pc) {
+        active.remove(pc);
+        try {
+            if (closed || pc.physical.isClosed()) {
+                destroy(pc);
+                return;
+            }
+            // Leave the connection the way a fresh one would be
+            if (!pc.physical.getAutoCommit()) {
+                pc.physical.rollback();
+                pc.physical.setAutoCommit(true);
+            }
+            pc.lastReturnedAt = System.currentTimeMillis();
+            synchronized (idle) {
+                idle.offerFirst(pc);
+            }
+        } catch (SQLException e) {
+            destroy(pc);
+        } finally {
+            permits.release();
+        }
+    }
+
+    // -------------------------
+    // PHYSICAL CONNECTIONS
+    // -------------------------
+
+    private PooledConnection open() {
+        try {
+            Connection physical = DriverManager.getConnection(url, connectionProps);
+            created.incrementAndGet();
+            return new PooledConnection(physical);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to connect to database", e);
+        }
+    }
+
+    private void destroy(PooledConnection pc) {
+        destroyed.incrementAndGet();
+        try {
+            pc.physical.close();
+        } catch (SQLException ignored) {
+            // already broken, nothing more to do
+        }
+    }
+
+    private void fillToMinimum() {
+        while (!closed && totalConnections() < config.minSize && permits.tryAcquire()) {
+            try {
+                PooledConnection pc = open();
+                pc.lastReturnedAt = System.currentTimeMillis();
+                synchronized (idle) {
+                    idle.offerLast(pc);
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Connection pool could not pre-open connection: " + e.getMessage());
+                return;
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+
+            // Evict from the tail: those are the connections that sat unused the longest
+            while (true) {
+                PooledConnection victim = null;
+                synchronized (idle) {
+                    PooledConnection oldest = idle.peekLast();
+                    if (oldest != null && totalConnections() > config.minSize
+                            && now - oldest.lastReturnedAt > config.idleTimeoutMs) {
+                        victim = idle.pollLast();
+                    }
+                }
+                if (victim == null) break;
+                destroy(victim);
+            }
+
+            if (config.leakThresholdMs > 0) {
+                for (PooledConnection pc : active) {
+                    if (!pc.leakReported && now - pc.borrowedAt > config.leakThresholdMs) {
+                        pc.leakReported = true;
+                        leaksDetected.incrementAndGet();
+                        System.err.println("Possible connection leak: connection held for "
+                                + (now - pc.borrowedAt) + "ms");
+                        if (pc.borrowSite != null) pc.borrowSite.printStackTrace();
+                    }
+                }
+            }
+
+            fillToMinimum();
+        } catch (RuntimeException e) {
+            System.err.println("Connection pool housekeeping failed: " + e.getMessage());
+        }
+    }
+
+    private int totalConnections() {
+        synchronized (idle) {
+            return idle.size() + active.size();
+        }
+    }
+
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        synchronized (idle) {
+            PooledConnection pc;
+            while ((pc = idle.pollFirst()) != null) {
+                destroy(pc);
+            }
+        }
+    }
+
+    // -------------------------
+    // METRICS
+    // -------------------------
+
+    private void recordLatency(long nanos) {
+        long ms = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int bucket = 0;
+        while (bucket < LATENCY_BUCKETS_MS.length && ms > LATENCY_BUCKETS_MS[bucket]) {
+            bucket++;
+        }
+        latencyHistogram.incrementAndGet(bucket);
+    }
+
+    public PoolStats stats() {
+        PoolStats s = new PoolStats();
+        synchronized (idle) {
+            s.idle = idle.size();
+            s.active = active.size();
+        }
+        s.total = s.idle + s.active;
+        s.waiters = waiters.get();
+        s.minSize = config.minSize;
+        s.maxSize = config.maxSize;
+        s.acquired = acquired.get();
+        s.acquireTimeouts = acquireTimeouts.get();
+        s.created = created.get();
+        s.destroyed = destroyed.get();
+        s.leaksDetected = leaksDetected.get();
+
+        s.acquireLatencyMs = new LinkedHashMap<>();
+        for (int i = 0; i < LATENCY_BUCKETS_MS.length; i++) {
+            s.acquireLatencyMs.put("<=" + LATENCY_BUCKETS_MS[i], latencyHistogram.get(i));
+        }
+        s.acquireLatencyMs.put(">" + LATENCY_BUCKETS_MS[LATENCY_BUCKETS_MS.length - 1],
+                latencyHistogram.get(LATENCY_BUCKETS_MS.length));
+        return s;
+    }
+
+    // -------------------------
+    // POOLED CONNECTION + PROXY HANDLE
+    // -------------------------
+
+    private final class PooledConnection {
+        final Connection physical;
+        volatile long borrowedAt;
+        volatile long lastReturnedAt;
+        volatile Throwable borrowSite;
+        volatile boolean leakReported;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new Handle(this));
+        }
+    }
+
+    /**
+     * One handle per checkout, so a stale reference cannot touch the
+     * physical connection once it is back in the pool.
+     */
+    private final class Handle implements InvocationHandler {
+        private volatile PooledConnection pc;
+
+        Handle(PooledConnection pc) {
+            this.pc = pc;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            synchronized (this) {
+                if ("close".equals(name)) {
+                    if (pc != null) {
+                        PooledConnection returning = pc;
+                        pc = null;
+                        release(returning);
+                    }
+                    return null;
+                }
+                if ("isClosed".equals(name)) {
+                    return pc == null || pc.physical.isClosed();
+                }
+            }
+            if ("equals".equals(name)) return proxy == args[0];
+            if ("hashCode".equals(name)) return System.identityHashCode(proxy);
+            if ("toString".equals(name)) return "PooledConnection@" + Integer.toHexString(System.identityHashCode(proxy));
+
+            PooledConnection current = pc;
+            if (current == null) {
+                throw new SQLException("Connection is closed");
+            }
+            try {
+                return method.invoke(current.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -2,6 +2,10 @@ package jobtracker.db;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public final class Db {
 
@@ -18,13 +22,186 @@ public final class Db {
         }
     }
 
+    // Declared before pool: createPool() registers the hook that runs these
+    private static final List<Runnable> shutdownActions = new CopyOnWriteArrayList<>();
+    private static final ConnectionPool pool = createPool();
+
     private Db() {}
 
+    /** A block of work run by {@link #inTransaction(Work)}. */
+    @FunctionalInterface
+    public interface Work<T> {
+        T run() throws Exception;
+    }
+
+    /**
+     * Borrow a connection. Inside a unit of work this is the connection bound
+     * to the current thread; otherwise a pooled connection that closing returns.
+     */
     public static Connection getConnection() {
+        UnitOfWork uow = UnitOfWork.current();
+        return uow != null ? uow.connection() : pool.acquire();
+    }
+
+    /**
+     * Bind one connection to the current thread until the returned unit of work
+     * is closed. The REST service opens one per request.
+     */
+    public static UnitOfWork beginUnitOfWork() {
+        return UnitOfWork.begin(pool);
+    }
+
+    /**
+     * Run work as a single transaction on the current thread's connection.
+     * Joins an enclosing transaction if there is one; otherwise commits when the
+     * work returns and rolls back if it throws or called {@link #setRollbackOnly()}.
+     */
+    public static <T> T inTransaction(Work<T> work) {
+        UnitOfWork uow = UnitOfWork.current();
+        boolean ownScope = (uow == null);
+        if (ownScope) {
+            uow = beginUnitOfWork();
+        }
+
         try {
-            return DriverManager.getConnection(url, user, password);
+            uow.beginTransaction();
+            boolean success = false;
+            try {
+                T result = work.run();
+                success = true;
+                return result;
+            } finally {
+                uow.endTransaction(success);
+            }
+        } catch (RuntimeException e) {
+            throw e;
         } catch (Exception e) {
-            throw new RuntimeException("Failed to connect to database", e);
+            throw new RuntimeException("Transaction failed", e);
+        } finally {
+            if (ownScope) {
+                uow.close();
+            }
+        }
+    }
+
+    /** True when the current thread is inside {@link #inTransaction(Work)}. */
+    public static boolean inTransaction() {
+        UnitOfWork uow = UnitOfWork.current();
+        return uow != null && uow.inTransaction();
+    }
+
+    /** Make the enclosing transaction roll back instead of committing. */
+    public static void setRollbackOnly() {
+        UnitOfWork uow = UnitOfWork.current();
+        if (uow == null) {
+            throw new IllegalStateException("No transaction in progress");
+        }
+        uow.setRollbackOnly();
+    }
+
+    /**
+     * Run action once the current transaction commits, or right away when no
+     * transaction is open. Dropped if the transaction rolls back.
+     */
+    public static void afterCommit(Runnable action) {
+        UnitOfWork uow = UnitOfWork.current();
+        if (uow != null && uow.inTransaction()) {
+            uow.afterCommit(action);
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Run action once the current transaction commits, or right away when no
+     * transaction is open. Unlike {@link #afterCommit(Runnable)} an exception from
+     * it is not swallowed: it comes out of the outermost inTransaction (which has
+     * committed by then), so the caller can report that the follow-up failed.
+     */
+    public static void afterCommitOrFail(Runnable action) {
+        UnitOfWork uow = UnitOfWork.current();
+        if (uow != null && uow.inTransaction()) {
+            uow.afterCommitOrFail(action);
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * A connection of its own, outside the pool, for a background thread that
+     * must not compete with request threads for pooled connections (which may be
+     * the very ones waiting on it). The caller closes it.
+     */
+    public static Connection openDedicatedConnection() {
+        try {
+            return DriverManager.getConnection(url, connectionProps());
+        } catch (SQLException e) {
+            throw new RuntimeException("openDedicatedConnection failed", e);
+        }
+    }
+
+    /**
+     * Run action at JVM shutdown, before the pool closes (e.g. to flush writes
+     * that are still buffered). Actions run in registration order.
+     */
+    public static void beforeShutdown(Runnable action) {
+        shutdownActions.add(action);
+    }
+
+    public static ConnectionPool.PoolStats poolStats() {
+        return pool.stats();
+    }
+
+    /**
+     * Pool sizing is tunable through optional environment variables:
+     * JOBTRACKER_DB_POOL_MIN, JOBTRACKER_DB_POOL_MAX, JOBTRACKER_DB_POOL_ACQUIRE_TIMEOUT_MS,
+     * JOBTRACKER_DB_POOL_IDLE_TIMEOUT_MS and JOBTRACKER_DB_POOL_LEAK_THRESHOLD_MS (0 = off).
+     */
+    private static ConnectionPool createPool() {
+        ConnectionPool.Config config = new ConnectionPool.Config();
+        config.minSize = intEnv("JOBTRACKER_DB_POOL_MIN", config.minSize);
+        config.maxSize = intEnv("JOBTRACKER_DB_POOL_MAX", config.maxSize);
+        config.acquireTimeoutMs = longEnv("JOBTRACKER_DB_POOL_ACQUIRE_TIMEOUT_MS", config.acquireTimeoutMs);
+        config.idleTimeoutMs = longEnv("JOBTRACKER_DB_POOL_IDLE_TIMEOUT_MS", config.idleTimeoutMs);
+        config.leakThresholdMs = longEnv("JOBTRACKER_DB_POOL_LEAK_THRESHOLD_MS", config.leakThresholdMs);
+
+        ConnectionPool created = new ConnectionPool(url, connectionProps(), config);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            for (Runnable action : shutdownActions) {
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Shutdown action failed: " + e.getMessage());
+                }
+            }
+            created.close();
+        }, "jobtracker-db-pool-shutdown"));
+        return created;
+    }
+
+    private static Properties connectionProps() {
+        Properties props = new Properties();
+        props.setProperty("user", user);
+        props.setProperty("password", password);
+        // Let the DAO's JDBC batches go out as multi-row INSERTs
+        props.setProperty("rewriteBatchedStatements", "true");
+        return props;
+    }
+
+    /** Optional integer setting from the environment, fallback when unset. */
+    public static int intEnv(String name, int fallback) {
+        return (int) longEnv(name, fallback);
+    }
+
+    public static long longEnv(String name, long fallback) {
+        String value = System.getenv(name);
+        if (value == null || value.trim().isEmpty()) {
+            return fallback;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid value for " + name + ": " + value, e);
         }
     }
-}
\ No newline at end of file
+}
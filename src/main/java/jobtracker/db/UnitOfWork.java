@@ -0,0 +1,192 @@
+package jobtracker.db;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One pooled connection bound to the current thread for the length of a unit
+ * of work (normally one REST request).
+ *
+ * While a unit of work is open, every {@link Db#getConnection()} on the thread
+ * gets the same physical connection, so the DAO's per-method try-with-resources
+ * blocks stop churning through the pool. The connection is only borrowed on
+ * first use, and {@link Db#inTransaction} runs a block as one transaction on it.
+ */
+public final class UnitOfWork implements AutoCloseable {
+
+    private static final ThreadLocal<UnitOfWork> current = new ThreadLocal<>();
+
+    private final ConnectionPool pool;
+    private Connection connection;
+    private Connection view;
+    private int transactionDepth;
+    private boolean rollbackOnly;
+    private final List<Runnable> afterCommit = new ArrayList<>();
+    private final List<Runnable> afterCommitOrFail = new ArrayList<>();
+
+    private UnitOfWork(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    static UnitOfWork begin(ConnectionPool pool) {
+        UnitOfWork stale = current.get();
+        if (stale != null) {
+            // A previous request on this thread died without ending its scope
+            System.err.println("Closing unit of work left open on " + Thread.currentThread().getName());
+            stale.close();
+        }
+        UnitOfWork uow = new UnitOfWork(pool);
+        current.set(uow);
+        return uow;
+    }
+
+    static UnitOfWork current() {
+        return current.get();
+    }
+
+    /**
+     * The bound connection. Callers may close() it as usual; that is a no-op
+     * until the unit of work itself ends.
+     */
+    Connection connection() {
+        if (connection == null) {
+            connection = pool.acquire();
+            view = nonClosingView(connection);
+        }
+        return view;
+    }
+
+    boolean inTransaction() {
+        return transactionDepth > 0;
+    }
+
+    void beginTransaction() throws SQLException {
+        if (transactionDepth == 0) {
+            connection();
+            connection.setAutoCommit(false);
+            rollbackOnly = false;
+        }
+        transactionDepth++;
+    }
+
+    /** Ends one level of transaction; only the outermost level commits or rolls back. */
+    void endTransaction(boolean success) throws SQLException {
+        if (!success) {
+            rollbackOnly = true;
+        }
+        if (--transactionDepth > 0) {
+            return;
+        }
+        boolean committed = false;
+        try {
+            if (rollbackOnly) {
+                connection.rollback();
+            } else {
+                connection.commit();
+                committed = true;
+            }
+        } finally {
+            rollbackOnly = false;
+            connection.setAutoCommit(true);
+            List<Runnable> actions = new ArrayList<>(afterCommit);
+            List<Runnable> required = new ArrayList<>(afterCommitOrFail);
+            afterCommit.clear();
+            afterCommitOrFail.clear();
+            if (committed) {
+                runAll(actions);
+                runRequired(required);
+            }
+        }
+    }
+
+    /** Runs every action, then rethrows the first failure so the caller sees it. */
+    private static void runRequired(List<Runnable> actions) {
+        RuntimeException first = null;
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                if (first == null) first = e;
+            }
+        }
+        if (first != null) {
+            throw first;
+        }
+    }
+
+    private static void runAll(List<Runnable> actions) {
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                // The transaction is already committed; one failing hook must not hide that
+                System.err.println("After-commit action failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /** Queue an action to run once the outermost transaction has committed. */
+    void afterCommit(Runnable action) {
+        if (transactionDepth == 0) {
+            throw new IllegalStateException("No transaction in progress");
+        }
+        afterCommit.add(action);
+    }
+
+    /** Like afterCommit, but a failure propagates out of the outermost transaction. */
+    void afterCommitOrFail(Runnable action) {
+        if (transactionDepth == 0) {
+            throw new IllegalStateException("No transaction in progress");
+        }
+        afterCommitOrFail.add(action);
+    }
+
+    void setRollbackOnly() {
+        if (transactionDepth == 0) {
+            throw new IllegalStateException("No transaction in progress");
+        }
+        rollbackOnly = true;
+    }
+
+    @Override
+    public void close() {
+        if (current.get() == this) {
+            current.remove();
+        }
+        if (connection == null) {
+            return;
+        }
+        try {
+            // Returning to the pool rolls back anything left uncommitted
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println("Failed to release unit of work connection: " + e.getMessage());
+        } finally {
+            connection = null;
+            view = null;
+            transactionDepth = 0;
+            afterCommit.clear();
+            afterCommitOrFail.clear();
+        }
+    }
+
+    private static Connection nonClosingView(Connection target) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName())) {
+                        return null;
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,21 @@
+-- 001_keyset_indexes.sql
+-- Composite (sort key, id) indexes for keyset paging on existing databases.
+-- Fresh installs get these from schema.sql.
+
+USE job_tracker;
+
+CREATE INDEX idx_user_created_at ON `user`(created_at, uuid);
+CREATE INDEX idx_company_created_at ON company(created_at, cuid);
+CREATE INDEX idx_job_created_at ON job(created_at, juid);
+
+-- Widen the single-column indexes to carry the id tiebreaker.
+-- idx_activity_auid is covered by the new (auid, event_time, actuid) index,
+-- which is created first so fk_activity_application always has an index.
+CREATE INDEX idx_activity_auid_event_time ON activity(auid, event_time, actuid);
+DROP INDEX idx_activity_auid ON activity;
+
+DROP INDEX idx_application_applied_at ON application;
+CREATE INDEX idx_application_applied_at ON application(applied_at, auid);
+
+DROP INDEX idx_activity_event_time ON activity;
+CREATE INDEX idx_activity_event_time ON activity(event_time, actuid);
@@ -0,0 +1,115 @@
+-- 002_binary_uuid_keys.sql
+-- Convert CHAR(36) id columns to BINARY(16) on an existing database.
+-- Existing ids keep their value (UUID_TO_BIN without the swap flag), new rows
+-- get time-ordered ids from jobtracker.dao.Ids. Run with the service stopped.
+-- Fresh installs get the BINARY(16) layout from schema.sql.
+
+USE job_tracker;
+
+-- Foreign keys and the indexes that contain id columns are rebuilt at the end
+ALTER TABLE activity DROP FOREIGN KEY fk_activity_application, DROP FOREIGN KEY fk_activity_user;
+ALTER TABLE application DROP FOREIGN KEY fk_application_user, DROP FOREIGN KEY fk_application_job;
+ALTER TABLE job DROP FOREIGN KEY fk_job_company;
+
+ALTER TABLE `user` DROP INDEX idx_user_created_at;
+ALTER TABLE company DROP INDEX idx_company_created_at;
+ALTER TABLE job DROP INDEX idx_job_cuid, DROP INDEX idx_job_created_at;
+ALTER TABLE application
+  DROP INDEX uq_application_user_job,
+  DROP INDEX idx_application_uuid,
+  DROP INDEX idx_application_juid,
+  DROP INDEX idx_application_applied_at;
+ALTER TABLE activity
+  DROP INDEX idx_activity_uuid,
+  DROP INDEX idx_activity_event_time,
+  DROP INDEX idx_activity_auid_event_time;
+
+-- 1) user
+ALTER TABLE `user` ADD COLUMN uuid_bin BINARY(16) NULL;
+UPDATE `user` SET uuid_bin = UUID_TO_BIN(uuid);
+ALTER TABLE `user` DROP PRIMARY KEY, DROP COLUMN uuid;
+ALTER TABLE `user` CHANGE uuid_bin uuid BINARY(16) NOT NULL FIRST, ADD PRIMARY KEY (uuid);
+
+-- 2) company
+ALTER TABLE company ADD COLUMN cuid_bin BINARY(16) NULL;
+UPDATE company SET cuid_bin = UUID_TO_BIN(cuid);
+ALTER TABLE company DROP PRIMARY KEY, DROP COLUMN cuid;
+ALTER TABLE company CHANGE cuid_bin cuid BINARY(16) NOT NULL FIRST, ADD PRIMARY KEY (cuid);
+
+-- 3) job
+ALTER TABLE job ADD COLUMN juid_bin BINARY(16) NULL, ADD COLUMN cuid_bin BINARY(16) NULL;
+UPDATE job SET juid_bin = UUID_TO_BIN(juid), cuid_bin = UUID_TO_BIN(cuid);
+ALTER TABLE job DROP PRIMARY KEY, DROP COLUMN juid, DROP COLUMN cuid;
+ALTER TABLE job
+  CHANGE juid_bin juid BINARY(16) NOT NULL FIRST,
+  CHANGE cuid_bin cuid BINARY(16) NOT NULL AFTER juid,
+  ADD PRIMARY KEY (juid);
+
+-- 4) application
+ALTER TABLE application
+  ADD COLUMN auid_bin BINARY(16) NULL,
+  ADD COLUMN uuid_bin BINARY(16) NULL,
+  ADD COLUMN juid_bin BINARY(16) NULL;
+UPDATE application SET auid_bin = UUID_TO_BIN(auid), uuid_bin = UUID_TO_BIN(uuid), juid_bin = UUID_TO_BIN(juid);
+ALTER TABLE application DROP PRIMARY KEY, DROP COLUMN auid, DROP COLUMN uuid, DROP COLUMN juid;
+ALTER TABLE application
+  CHANGE auid_bin auid BINARY(16) NOT NULL FIRST,
+  CHANGE uuid_bin uuid BINARY(16) NOT NULL AFTER auid,
+  CHANGE juid_bin juid BINARY(16) NOT NULL AFTER uuid,
+  ADD PRIMARY KEY (auid);
+
+-- 5) activity
+ALTER TABLE activity
+  ADD COLUMN actuid_bin BINARY(16) NULL,
+  ADD COLUMN auid_bin BINARY(16) NULL,
+  ADD COLUMN uuid_bin BINARY(16) NULL;
+UPDATE activity SET actuid_bin = UUID_TO_BIN(actuid), auid_bin = UUID_TO_BIN(auid), uuid_bin = UUID_TO_BIN(uuid);
+ALTER TABLE activity DROP PRIMARY KEY, DROP COLUMN actuid, DROP COLUMN auid, DROP COLUMN uuid;
+ALTER TABLE activity
+  CHANGE actuid_bin actuid BINARY(16) NOT NULL FIRST,
+  CHANGE auid_bin auid BINARY(16) NOT NULL AFTER actuid,
+  CHANGE uuid_bin uuid BINARY(16) NOT NULL AFTER auid,
+  ADD PRIMARY KEY (actuid);
+
+-- Rebuild indexes (same definitions as schema.sql)
+CREATE INDEX idx_user_created_at ON `user`(created_at, uuid);
+CREATE INDEX idx_company_created_at ON company(created_at, cuid);
+
+CREATE INDEX idx_job_cuid ON job(cuid);
+CREATE INDEX idx_job_created_at ON job(created_at, juid);
+
+ALTER TABLE application ADD CONSTRAINT uq_application_user_job UNIQUE (uuid, juid);
+CREATE INDEX idx_application_uuid ON application(uuid);
+CREATE INDEX idx_application_juid ON application(juid);
+CREATE INDEX idx_application_applied_at ON application(applied_at, auid);
+
+CREATE INDEX idx_activity_uuid ON activity(uuid);
+CREATE INDEX idx_activity_event_time ON activity(event_time, actuid);
+CREATE INDEX idx_activity_auid_event_time ON activity(auid, event_time, actuid);
+
+-- Restore foreign keys
+ALTER TABLE job
+  ADD CONSTRAINT fk_job_company
+    FOREIGN KEY (cuid) REFERENCES company(cuid)
+    ON DELETE RESTRICT
+    ON UPDATE CASCADE;
+
+ALTER TABLE application
+  ADD CONSTRAINT fk_application_user
+    FOREIGN KEY (uuid) REFERENCES `user`(uuid)
+    ON DELETE RESTRICT
+    ON UPDATE CASCADE,
+  ADD CONSTRAINT fk_application_job
+    FOREIGN KEY (juid) REFERENCES job(juid)
+    ON DELETE RESTRICT
+    ON UPDATE CASCADE;
+
+ALTER TABLE activity
+  ADD CONSTRAINT fk_activity_application
+    FOREIGN KEY (auid) REFERENCES application(auid)
+    ON DELETE CASCADE
+    ON UPDATE CASCADE,
+  ADD CONSTRAINT fk_activity_user
+    FOREIGN KEY (uuid) REFERENCES `user`(uuid)
+    ON DELETE RESTRICT
+    ON UPDATE CASCADE;
@@ -0,0 +1,7 @@
+-- 003_export_indexes.sql
+-- Index behind incremental application exports (GET /api/export/applications?since=).
+-- Fresh installs get this from schema.sql.
+
+USE job_tracker;
+
+CREATE INDEX idx_application_last_updated_at ON application(last_updated_at, auid);
@@ -0,0 +1,8 @@
+-- 004_application_version.sql
+-- Row version for optimistic concurrency on application updates (ETag / If-Match).
+-- Every UPDATE bumps it; conditional updates only apply while it still matches.
+-- Fresh installs get this from schema.sql.
+
+USE job_tracker;
+
+ALTER TABLE application ADD COLUMN version INT NOT NULL DEFAULT 0 AFTER last_updated_at;
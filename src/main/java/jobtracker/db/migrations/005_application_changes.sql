@@ -0,0 +1,20 @@
+-- 005_application_changes.sql
+-- Delta sync (GET /api/applications/changes?since=): deleted applications leave a
+-- tombstone so clients can drop them, and a per-user (last_updated_at, auid) index
+-- lets a single user's changes be read without scanning their other rows.
+-- Fresh installs get this from schema.sql.
+
+USE job_tracker;
+
+CREATE TABLE application_tombstone (
+  auid BINARY(16) PRIMARY KEY,
+  uuid BINARY(16) NOT NULL,
+  deleted_at DATETIME NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE INDEX idx_application_tombstone_deleted_at ON application_tombstone(deleted_at, auid);
+CREATE INDEX idx_application_tombstone_uuid_deleted_at ON application_tombstone(uuid, deleted_at, auid);
+
+-- idx_application_uuid is a prefix of the new index, which also serves fk_application_user
+CREATE INDEX idx_application_uuid_last_updated_at ON application(uuid, last_updated_at, auid);
+DROP INDEX idx_application_uuid ON application;
@@ -0,0 +1,31 @@
+-- 006_stat_counters.sql
+-- Precomputed counts for GET /api/stats/counts and /api/stats/funnel: rows per table,
+-- applications per status and per source, globally (scope = all-zero id) and per user.
+-- The DAO keeps them current in the same transaction as each write, spreading every
+-- counter over up to 16 slot rows that readers sum (see jobtracker.dao.StatCounters).
+-- Fresh installs get the table from schema.sql and the counts from seed.sql.
+
+USE job_tracker;
+
+CREATE TABLE stat_counter (
+  scope BINARY(16) NOT NULL,
+  kind VARCHAR(10) NOT NULL,
+  name VARCHAR(50) NOT NULL,
+  slot TINYINT UNSIGNED NOT NULL,
+  value BIGINT NOT NULL DEFAULT 0,
+  PRIMARY KEY (scope, kind, name, slot)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- Same recount as StatCounters.reconcile() (POST /api/stats/counts/reconcile)
+INSERT INTO stat_counter (scope, kind, name, slot, value)
+SELECT UUID_TO_BIN('00000000-0000-0000-0000-000000000000'), 'table', 'user', 0, COUNT(*) FROM `user`
+UNION ALL SELECT UUID_TO_BIN('00000000-0000-0000-0000-000000000000'), 'table', 'company', 0, COUNT(*) FROM company
+UNION ALL SELECT UUID_TO_BIN('00000000-0000-0000-0000-000000000000'), 'table', 'job', 0, COUNT(*) FROM job
+UNION ALL SELECT UUID_TO_BIN('00000000-0000-0000-0000-000000000000'), 'table', 'application', 0, COUNT(*) FROM application
+UNION ALL SELECT UUID_TO_BIN('00000000-0000-0000-0000-000000000000'), 'table', 'activity', 0, COUNT(*) FROM activity
+UNION ALL SELECT UUID_TO_BIN('00000000-0000-0000-0000-000000000000'), 'status', LOWER(status), 0, COUNT(*) FROM application GROUP BY LOWER(status)
+UNION ALL SELECT UUID_TO_BIN('00000000-0000-0000-0000-000000000000'), 'source', COALESCE(source, 'none'), 0, COUNT(*) FROM application GROUP BY COALESCE(source, 'none')
+UNION ALL SELECT uuid, 'table', 'application', 0, COUNT(*) FROM application GROUP BY uuid
+UNION ALL SELECT uuid, 'table', 'activity', 0, COUNT(*) FROM activity GROUP BY uuid
+UNION ALL SELECT uuid, 'status', LOWER(status), 0, COUNT(*) FROM application GROUP BY uuid, LOWER(status)
+UNION ALL SELECT uuid, 'source', COALESCE(source, 'none'), 0, COUNT(*) FROM application GROUP BY uuid, COALESCE(source, 'none');
@@ -0,0 +1,9 @@
+-- 007_application_board_index.sql
+-- Kanban board (GET /api/users/{uuid}/board): one user's applications ranked per
+-- status by applied_at. The window functions read this index in order and never
+-- touch the other users' rows or the table itself.
+-- Fresh installs get this from schema.sql.
+
+USE job_tracker;
+
+CREATE INDEX idx_application_uuid_status_applied_at ON application(uuid, status, applied_at, auid);
@@ -1,5 +1,9 @@
 -- schema.sql
 -- Job Application Tracker (MySQL 8.0)
+--
+-- Ids are time-ordered UUIDs stored as BINARY(16); the DAO converts them to and
+-- from the usual string form (see jobtracker.dao.Ids). In a mysql shell use
+-- BIN_TO_UUID(col) to read them and UUID_TO_BIN('...') to match them.
 
 CREATE DATABASE IF NOT EXISTS job_tracker
   DEFAULT CHARACTER SET utf8mb4
@@ -9,6 +13,8 @@ USE job_tracker;
 
 SET FOREIGN_KEY_CHECKS = 0;
 
+DROP TABLE IF EXISTS stat_counter;
+DROP TABLE IF EXISTS application_tombstone;
 DROP TABLE IF EXISTS activity;
 DROP TABLE IF EXISTS application;
 DROP TABLE IF EXISTS job;
@@ -19,7 +25,7 @@ SET FOREIGN_KEY_CHECKS = 1;
 
 -- 1) user
 CREATE TABLE `user` (
-  uuid CHAR(36) PRIMARY KEY,
+  uuid BINARY(16) PRIMARY KEY,
   email VARCHAR(255) NOT NULL UNIQUE,
   password_hash VARCHAR(255) NOT NULL,
   name VARCHAR(100) NOT NULL,
@@ -28,7 +34,7 @@ CREATE TABLE `user` (
 
 -- 2) company
 CREATE TABLE company (
-  cuid CHAR(36) PRIMARY KEY,
+  cuid BINARY(16) PRIMARY KEY,
   name VARCHAR(150) NOT NULL,
   industry VARCHAR(100) NULL,
   location_city VARCHAR(100) NULL,
@@ -40,8 +46,8 @@ CREATE TABLE company (
 
 -- 3) job
 CREATE TABLE job (
-  juid CHAR(36) PRIMARY KEY,
-  cuid CHAR(36) NOT NULL,
+  juid BINARY(16) PRIMARY KEY,
+  cuid BINARY(16) NOT NULL,
   title VARCHAR(150) NOT NULL,
   employment_type VARCHAR(30) NOT NULL,
   work_type VARCHAR(30) NOT NULL,
@@ -70,14 +76,15 @@ CREATE TABLE job (
 
 -- 4) application
 CREATE TABLE application (
-  auid CHAR(36) PRIMARY KEY,
-  uuid CHAR(36) NOT NULL,
-  juid CHAR(36) NOT NULL,
+  auid BINARY(16) PRIMARY KEY,
+  uuid BINARY(16) NOT NULL,
+  juid BINARY(16) NOT NULL,
   status VARCHAR(30) NOT NULL,
   applied_at DATETIME NOT NULL,
   source VARCHAR(50) NULL,
   notes TEXT NULL,
   last_updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  version INT NOT NULL DEFAULT 0,
 
   CONSTRAINT fk_application_user
     FOREIGN KEY (uuid) REFERENCES `user`(uuid)
@@ -101,9 +108,9 @@ CREATE TABLE application (
 
 -- 5) activity
 CREATE TABLE activity (
-  actuid CHAR(36) PRIMARY KEY,
-  auid CHAR(36) NOT NULL,
-  uuid CHAR(36) NOT NULL,
+  actuid BINARY(16) PRIMARY KEY,
+  auid BINARY(16) NOT NULL,
+  uuid BINARY(16) NOT NULL,
   event_type VARCHAR(40) NOT NULL,
   old_status VARCHAR(30) NULL,
   new_status VARCHAR(30) NULL,
@@ -135,15 +142,49 @@ CREATE TABLE activity (
   )
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 
+-- 6) application_tombstone (deleted applications, for delta sync)
+CREATE TABLE application_tombstone (
+  auid BINARY(16) PRIMARY KEY,
+  uuid BINARY(16) NOT NULL,
+  deleted_at DATETIME NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- 7) stat_counter (precomputed counts, see jobtracker.dao.StatCounters)
+-- scope is a user's uuid, or the all-zero id for the global counts; kind is
+-- 'table', 'status' or 'source'. Each counter is the SUM over its slot rows.
+CREATE TABLE stat_counter (
+  scope BINARY(16) NOT NULL,
+  kind VARCHAR(10) NOT NULL,
+  name VARCHAR(50) NOT NULL,
+  slot TINYINT UNSIGNED NOT NULL,
+  value BIGINT NOT NULL DEFAULT 0,
+  PRIMARY KEY (scope, kind, name, slot)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
 -- Indexes for common joins/lookups
 CREATE INDEX idx_job_cuid ON job(cuid);
 
-CREATE INDEX idx_application_uuid ON application(uuid);
 CREATE INDEX idx_application_juid ON application(juid);
 CREATE INDEX idx_application_status ON application(status);
-CREATE INDEX idx_application_applied_at ON application(applied_at);
 
-CREATE INDEX idx_activity_auid ON activity(auid);
 CREATE INDEX idx_activity_uuid ON activity(uuid);
 CREATE INDEX idx_activity_event_type ON activity(event_type);
-CREATE INDEX idx_activity_event_time ON activity(event_time);
+
+-- Keyset paging: (sort key, id) matches each list's ORDER BY ... DESC, id DESC
+CREATE INDEX idx_user_created_at ON `user`(created_at, uuid);
+CREATE INDEX idx_company_created_at ON company(created_at, cuid);
+CREATE INDEX idx_job_created_at ON job(created_at, juid);
+CREATE INDEX idx_application_applied_at ON application(applied_at, auid);
+CREATE INDEX idx_activity_event_time ON activity(event_time, actuid);
+CREATE INDEX idx_activity_auid_event_time ON activity(auid, event_time, actuid);
+
+-- Incremental exports (?since=) scan application by last_updated_at
+CREATE INDEX idx_application_last_updated_at ON application(last_updated_at, auid);
+
+-- Delta sync (?since= token) over applications and their tombstones, globally or per user
+CREATE INDEX idx_application_uuid_last_updated_at ON application(uuid, last_updated_at, auid);
+CREATE INDEX idx_application_tombstone_deleted_at ON application_tombstone(deleted_at, auid);
+CREATE INDEX idx_application_tombstone_uuid_deleted_at ON application_tombstone(uuid, deleted_at, auid);
+
+-- Kanban board: one user's applications ranked per status, newest first
+CREATE INDEX idx_application_uuid_status_applied_at ON application(uuid, status, applied_at, auid);
@@ -1,171 +1,188 @@
 -- seed.sql
 -- Deterministic seed data (no UUID() usage)
+-- Ids are BINARY(16) columns, so literals go through UUID_TO_BIN
 
 USE job_tracker;
 
 -- USERS (10)
 INSERT INTO `user` (uuid, email, password_hash, name, created_at) VALUES
-('11111111-1111-1111-1111-111111111111','joshua.gould@example.com','$2b$12$y3v0QeGkQ0n2wC9m9kZ6Ue7y0Q0Ww2Qh0FQe1pJr8x9aQmK1lZ0aW','Joshua Gould','2026-01-05 09:15:00'),
-('11111111-1111-1111-1111-111111111112','maya.patel@example.com','$2b$12$Qx8nXvZK0kHkQm1Jb8iY9e2aZyWgk1c0t8QmPp6r2s1vV7t0nQ8yS','Maya Patel','2026-01-06 10:22:00'),
-('11111111-1111-1111-1111-111111111113','liam.johnson@example.com','$2b$12$6bq3tqf9Jp0wQmVQv2mZ4eVxXq5z7kKc2v8qQmPp1r2s3t4u5v6w','Liam Johnson','2026-01-06 11:05:00'),
-('11111111-1111-1111-1111-111111111114','sofia.ramirez@example.com','$2b$12$Gm2pQv9xk0mQw1Zz8yY7tT6rR5eE4wW3qQ2pP1oO0iI9uU8yY7tT','Sofia Ramirez','2026-01-07 08:40:00'),
-('11111111-1111-1111-1111-111111111115','noah.brown@example.com','$2b$12$Zz1qQmPp9vV7tT6rR5eE4wW3qQ2pP1oO0iI9uU8yY7tT6rR5eE','Noah Brown','2026-01-07 12:10:00'),
-('11111111-1111-1111-1111-111111111116','ava.chen@example.com','$2b$12$kKc2v8qQmPp1r2s3t4u5v6w7x8y9z0A1b2c3d4e5f6g7h8i9j0k','Ava Chen','2026-01-08 14:55:00'),
-('11111111-1111-1111-1111-111111111117','ethan.nguyen@example.com','$2b$12$wW3qQ2pP1oO0iI9uU8yY7tT6rR5eE4wW3qQ2pP1oO0iI9uU8yY','Ethan Nguyen','2026-01-09 09:30:00'),
-('11111111-1111-1111-1111-111111111118','olivia.king@example.com','$2b$12$1r2s3t4u5v6w7x8y9z0A1b2c3d4e5f6g7h8i9j0k1l2m3n4o5p','Olivia King','2026-01-10 16:20:00'),
-('11111111-1111-1111-1111-111111111119','jack.wilson@example.com','$2b$12$9z0A1b2c3d4e5f6g7h8i9j0k1l2m3n4o5p6q7r8s9t0u1v2w3x','Jack Wilson','2026-01-11 13:05:00'),
-('11111111-1111-1111-1111-111111111120','grace.lee@example.com','$2b$12$7h8i9j0k1l2m3n4o5p6q7r8s9t0u1v2w3x4y5z6A7b8c9d0e1f','Grace Lee','2026-01-12 18:45:00');
+(UUID_TO_BIN('11111111-1111-1111-1111-111111111111'),'joshua.gould@example.com','$2b$12$y3v0QeGkQ0n2wC9m9kZ6Ue7y0Q0Ww2Qh0FQe1pJr8x9aQmK1lZ0aW','Joshua Gould','2026-01-05 09:15:00'),
+(UUID_TO_BIN('11111111-1111-1111-1111-111111111112'),'maya.patel@example.com','$2b$12$Qx8nXvZK0kHkQm1Jb8iY9e2aZyWgk1c0t8QmPp6r2s1vV7t0nQ8yS','Maya Patel','2026-01-06 10:22:00'),
+(UUID_TO_BIN('11111111-1111-1111-1111-111111111113'),'liam.johnson@example.com','$2b$12$6bq3tqf9Jp0wQmVQv2mZ4eVxXq5z7kKc2v8qQmPp1r2s3t4u5v6w','Liam Johnson','2026-01-06 11:05:00'),
+(UUID_TO_BIN('11111111-1111-1111-1111-111111111114'),'sofia.ramirez@example.com','$2b$12$Gm2pQv9xk0mQw1Zz8yY7tT6rR5eE4wW3qQ2pP1oO0iI9uU8yY7tT','Sofia Ramirez','2026-01-07 08:40:00'),
+(UUID_TO_BIN('11111111-1111-1111-1111-111111111115'),'noah.brown@example.com','$2b$12$Zz1qQmPp9vV7tT6rR5eE4wW3qQ2pP1oO0iI9uU8yY7tT6rR5eE','Noah Brown','2026-01-07 12:10:00'),
+(UUID_TO_BIN('11111111-1111-1111-1111-111111111116'),'ava.chen@example.com','$2b$12$kKc2v8qQmPp1r2s3t4u5v6w7x8y9z0A1b2c3d4e5f6g7h8i9j0k','Ava Chen','2026-01-08 14:55:00'),
+(UUID_TO_BIN('11111111-1111-1111-1111-111111111117'),'ethan.nguyen@example.com','$2b$12$wW3qQ2pP1oO0iI9uU8yY7tT6rR5eE4wW3qQ2pP1oO0iI9uU8yY','Ethan Nguyen','2026-01-09 09:30:00'),
+(UUID_TO_BIN('11111111-1111-1111-1111-111111111118'),'olivia.king@example.com','$2b$12$1r2s3t4u5v6w7x8y9z0A1b2c3d4e5f6g7h8i9j0k1l2m3n4o5p','Olivia King','2026-01-10 16:20:00'),
+(UUID_TO_BIN('11111111-1111-1111-1111-111111111119'),'jack.wilson@example.com','$2b$12$9z0A1b2c3d4e5f6g7h8i9j0k1l2m3n4o5p6q7r8s9t0u1v2w3x','Jack Wilson','2026-01-11 13:05:00'),
+(UUID_TO_BIN('11111111-1111-1111-1111-111111111120'),'grace.lee@example.com','$2b$12$7h8i9j0k1l2m3n4o5p6q7r8s9t0u1v2w3x4y5z6A7b8c9d0e1f','Grace Lee','2026-01-12 18:45:00');
 
 -- COMPANIES (15)
 INSERT INTO company (cuid, name, industry, location_city, location_state, company_url, created_at) VALUES
-('22222222-2222-2222-2222-222222222201','Palmetto Analytics','Data & AI','Columbia','SC','https://palmetto-analytics.example','2026-01-03 09:00:00'),
-('22222222-2222-2222-2222-222222222202','Carolina FinTech Lab','Financial Services','Charlotte','NC','https://carolina-fintech.example','2026-01-03 09:05:00'),
-('22222222-2222-2222-2222-222222222203','Midlands Health Systems','Healthcare','Columbia','SC','https://midlands-health.example','2026-01-03 09:10:00'),
-('22222222-2222-2222-2222-222222222204','Blue Ridge Cyber','Cybersecurity','Greenville','SC','https://blueridge-cyber.example','2026-01-03 09:15:00'),
-('22222222-2222-2222-2222-222222222205','Southeastern Logistics','Logistics','Atlanta','GA','https://se-logistics.example','2026-01-03 09:20:00'),
-('22222222-2222-2222-2222-222222222206','Oceanview Retail Tech','E-commerce','Jacksonville','FL','https://oceanview-retailtech.example','2026-01-03 09:25:00'),
-('22222222-2222-2222-2222-222222222207','Piedmont Cloud Works','Cloud','Raleigh','NC','https://piedmont-cloud.example','2026-01-03 09:30:00'),
-('22222222-2222-2222-2222-222222222208','Harbor Insurance Group','Insurance','Richmond','VA','https://harbor-insurance.example','2026-01-03 09:35:00'),
-('22222222-2222-2222-2222-222222222209','Magnolia Media Systems','Media','Nashville','TN','https://magnolia-media.example','2026-01-03 09:40:00'),
-('22222222-2222-2222-2222-222222222210','Ironworks Manufacturing','Manufacturing','Spartanburg','SC','https://ironworks-mfg.example','2026-01-03 09:45:00'),
-('22222222-2222-2222-2222-222222222211','Lakeside EdTech','Education','Durham','NC','https://lakeside-edtech.example','2026-01-03 09:50:00'),
-('22222222-2222-2222-2222-222222222212','Crescent Energy Software','Energy','Houston','TX','https://crescent-energy-sw.example','2026-01-03 09:55:00'),
-('22222222-2222-2222-2222-222222222213','Summit Payments','Payments','Austin','TX','https://summit-payments.example','2026-01-03 10:00:00'),
-('22222222-2222-2222-2222-222222222214','Red Clay Robotics','Robotics','Pittsburgh','PA','https://redclay-robotics.example','2026-01-03 10:05:00'),
-('22222222-2222-2222-2222-222222222215','Evergreen GovTech','Public Sector','Washington','DC','https://evergreen-govtech.example','2026-01-03 10:10:00');
+(UUID_TO_BIN('22222222-2222-2222-2222-222222222201'),'Palmetto Analytics','Data & AI','Columbia','SC','https://palmetto-analytics.example','2026-01-03 09:00:00'),
+(UUID_TO_BIN('22222222-2222-2222-2222-222222222202'),'Carolina FinTech Lab','Financial Services','Charlotte','NC','https://carolina-fintech.example','2026-01-03 09:05:00'),
+(UUID_TO_BIN('22222222-2222-2222-2222-222222222203'),'Midlands Health Systems','Healthcare','Columbia','SC','https://midlands-health.example','2026-01-03 09:10:00'),
+(UUID_TO_BIN('22222222-2222-2222-2222-222222222204'),'Blue Ridge Cyber','Cybersecurity','Greenville','SC','https://blueridge-cyber.example','2026-01-03 09:15:00'),
+(UUID_TO_BIN('22222222-2222-2222-2222-222222222205'),'Southeastern Logistics','Logistics','Atlanta','GA','https://se-logistics.example','2026-01-03 09:20:00'),
+(UUID_TO_BIN('22222222-2222-2222-2222-222222222206'),'Oceanview Retail Tech','E-commerce','Jacksonville','FL','https://oceanview-retailtech.example','2026-01-03 09:25:00'),
+(UUID_TO_BIN('22222222-2222-2222-2222-222222222207'),'Piedmont Cloud Works','Cloud','Raleigh','NC','https://piedmont-cloud.example','2026-01-03 09:30:00'),
+(UUID_TO_BIN('22222222-2222-2222-2222-222222222208'),'Harbor Insurance Group','Insurance','Richmond','VA','https://harbor-insurance.example','2026-01-03 09:35:00'),
+(UUID_TO_BIN('22222222-2222-2222-2222-222222222209'),'Magnolia Media Systems','Media','Nashville','TN','https://magnolia-media.example','2026-01-03 09:40:00'),
+(UUID_TO_BIN('22222222-2222-2222-2222-222222222210'),'Ironworks Manufacturing','Manufacturing','Spartanburg','SC','https://ironworks-mfg.example','2026-01-03 09:45:00'),
+(UUID_TO_BIN('22222222-2222-2222-2222-222222222211'),'Lakeside EdTech','Education','Durham','NC','https://lakeside-edtech.example','2026-01-03 09:50:00'),
+(UUID_TO_BIN('22222222-2222-2222-2222-222222222212'),'Crescent Energy Software','Energy','Houston','TX','https://crescent-energy-sw.example','2026-01-03 09:55:00'),
+(UUID_TO_BIN('22222222-2222-2222-2222-222222222213'),'Summit Payments','Payments','Austin','TX','https://summit-payments.example','2026-01-03 10:00:00'),
+(UUID_TO_BIN('22222222-2222-2222-2222-222222222214'),'Red Clay Robotics','Robotics','Pittsburgh','PA','https://redclay-robotics.example','2026-01-03 10:05:00'),
+(UUID_TO_BIN('22222222-2222-2222-2222-222222222215'),'Evergreen GovTech','Public Sector','Washington','DC','https://evergreen-govtech.example','2026-01-03 10:10:00');
 
 -- JOBS (30)
 INSERT INTO job (juid, cuid, title, employment_type, work_type, job_url, salary_min, salary_max, created_at) VALUES
-('33333333-3333-3333-3333-333333333301','22222222-2222-2222-2222-222222222201','Software Engineering Intern','internship','hybrid','https://palmetto-analytics.example/jobs/se-intern',22,35,'2026-01-08 08:00:00'),
-('33333333-3333-3333-3333-333333333302','22222222-2222-2222-2222-222222222201','Data Engineering Intern','internship','remote','https://palmetto-analytics.example/jobs/de-intern',24,38,'2026-01-08 08:05:00'),
-('33333333-3333-3333-3333-333333333303','22222222-2222-2222-2222-222222222202','Backend Developer Intern','internship','remote','https://carolina-fintech.example/careers/backend-intern',25,40,'2026-01-08 08:10:00'),
-('33333333-3333-3333-3333-333333333304','22222222-2222-2222-2222-222222222202','Junior Software Engineer','full_time','hybrid','https://carolina-fintech.example/careers/jr-swe',80000,105000,'2026-01-08 08:15:00'),
-('33333333-3333-3333-3333-333333333305','22222222-2222-2222-2222-222222222203','IT Support Specialist','full_time','on_site','https://midlands-health.example/careers/it-support',42000,55000,'2026-01-08 08:20:00'),
-('33333333-3333-3333-3333-333333333306','22222222-2222-2222-2222-222222222203','Software Engineer I','full_time','hybrid','https://midlands-health.example/careers/swe1',78000,98000,'2026-01-08 08:25:00'),
-('33333333-3333-3333-3333-333333333307','22222222-2222-2222-2222-222222222204','Cybersecurity Intern','internship','on_site','https://blueridge-cyber.example/jobs/cyber-intern',20,30,'2026-01-08 08:30:00'),
-('33333333-3333-3333-3333-333333333308','22222222-2222-2222-2222-222222222204','SOC Analyst (Contract)','contract','remote','https://blueridge-cyber.example/jobs/soc-analyst-contract',35,55,'2026-01-08 08:35:00'),
-('33333333-3333-3333-3333-333333333309','22222222-2222-2222-2222-222222222205','Systems Engineer','full_time','on_site','https://se-logistics.example/careers/systems-engineer',75000,95000,'2026-01-08 08:40:00'),
-('33333333-3333-3333-3333-333333333310','22222222-2222-2222-2222-222222222205','Software Engineer (Logistics)','full_time','hybrid','https://se-logistics.example/careers/swe-logistics',85000,115000,'2026-01-08 08:45:00'),
-('33333333-3333-3333-3333-333333333311','22222222-2222-2222-2222-222222222206','Frontend Developer Intern','internship','remote','https://oceanview-retailtech.example/jobs/frontend-intern',22,34,'2026-01-08 08:50:00'),
-('33333333-3333-3333-3333-333333333312','22222222-2222-2222-2222-222222222206','Full Stack Engineer','full_time','remote','https://oceanview-retailtech.example/jobs/fullstack',90000,125000,'2026-01-08 08:55:00'),
-('33333333-3333-3333-3333-333333333313','22222222-2222-2222-2222-222222222207','Cloud Platform Intern','internship','hybrid','https://piedmont-cloud.example/careers/cloud-intern',26,42,'2026-01-08 09:00:00'),
-('33333333-3333-3333-3333-333333333314','22222222-2222-2222-2222-222222222207','DevOps Engineer','full_time','remote','https://piedmont-cloud.example/careers/devops',95000,135000,'2026-01-08 09:05:00'),
-('33333333-3333-3333-3333-333333333315','22222222-2222-2222-2222-222222222208','Data Analyst Intern','internship','hybrid','https://harbor-insurance.example/jobs/da-intern',21,33,'2026-01-08 09:10:00'),
-('33333333-3333-3333-3333-333333333316','22222222-2222-2222-2222-222222222208','Software Engineer (Claims)','full_time','hybrid','https://harbor-insurance.example/jobs/swe-claims',88000,118000,'2026-01-08 09:15:00'),
-('33333333-3333-3333-3333-333333333317','22222222-2222-2222-2222-222222222209','Backend Engineer','full_time','on_site','https://magnolia-media.example/careers/backend',87000,112000,'2026-01-08 09:20:00'),
-('33333333-3333-3333-3333-333333333318','22222222-2222-2222-2222-222222222209','QA Automation Intern','internship','remote','https://magnolia-media.example/careers/qa-intern',20,32,'2026-01-08 09:25:00'),
-('33333333-3333-3333-3333-333333333319','22222222-2222-2222-2222-222222222210','Manufacturing Systems Developer','full_time','on_site','https://ironworks-mfg.example/careers/ms-dev',80000,103000,'2026-01-08 09:30:00'),
-('33333333-3333-3333-3333-333333333320','22222222-2222-2222-2222-222222222210','Controls Software Intern','internship','on_site','https://ironworks-mfg.example/careers/controls-intern',19,28,'2026-01-08 09:35:00'),
-('33333333-3333-3333-3333-333333333321','22222222-2222-2222-2222-222222222211','EdTech Platform Intern','internship','remote','https://lakeside-edtech.example/jobs/platform-intern',22,36,'2026-01-08 09:40:00'),
-('33333333-3333-3333-3333-333333333322','22222222-2222-2222-2222-222222222211','Software Engineer (Learning Tools)','full_time','hybrid','https://lakeside-edtech.example/jobs/swe-learning',82000,110000,'2026-01-08 09:45:00'),
-('33333333-3333-3333-3333-333333333323','22222222-2222-2222-2222-222222222212','Backend Engineer (Energy)','full_time','hybrid','https://crescent-energy-sw.example/careers/backend',92000,125000,'2026-01-08 09:50:00'),
-('33333333-3333-3333-3333-333333333324','22222222-2222-2222-2222-222222222212','Data Pipeline Engineer (Contract)','contract','remote','https://crescent-energy-sw.example/careers/pipeline-contract',45,80,'2026-01-08 09:55:00'),
-('33333333-3333-3333-3333-333333333325','22222222-2222-2222-2222-222222222213','Payments Software Intern','internship','hybrid','https://summit-payments.example/jobs/payments-intern',24,39,'2026-01-08 10:00:00'),
-('33333333-3333-3333-3333-333333333326','22222222-2222-2222-2222-222222222213','Fraud Data Engineer','full_time','remote','https://summit-payments.example/jobs/fraud-de',98000,140000,'2026-01-08 10:05:00'),
-('33333333-3333-3333-3333-333333333327','22222222-2222-2222-2222-222222222214','Robotics Software Intern','internship','on_site','https://redclay-robotics.example/careers/robotics-intern',23,37,'2026-01-08 10:10:00'),
-('33333333-3333-3333-3333-333333333328','22222222-2222-2222-2222-222222222214','Embedded C++ Engineer','full_time','on_site','https://redclay-robotics.example/careers/embedded',95000,130000,'2026-01-08 10:15:00'),
-('33333333-3333-3333-3333-333333333329','22222222-2222-2222-2222-222222222215','GovTech Software Intern','internship','hybrid','https://evergreen-govtech.example/jobs/govtech-intern',23,36,'2026-01-08 10:20:00'),
-('33333333-3333-3333-3333-333333333330','22222222-2222-2222-2222-222222222215','Security Engineer','full_time','remote','https://evergreen-govtech.example/jobs/security-engineer',105000,155000,'2026-01-08 10:25:00');
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333301'),UUID_TO_BIN('22222222-2222-2222-2222-222222222201'),'Software Engineering Intern','internship','hybrid','https://palmetto-analytics.example/jobs/se-intern',22,35,'2026-01-08 08:00:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333302'),UUID_TO_BIN('22222222-2222-2222-2222-222222222201'),'Data Engineering Intern','internship','remote','https://palmetto-analytics.example/jobs/de-intern',24,38,'2026-01-08 08:05:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333303'),UUID_TO_BIN('22222222-2222-2222-2222-222222222202'),'Backend Developer Intern','internship','remote','https://carolina-fintech.example/careers/backend-intern',25,40,'2026-01-08 08:10:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333304'),UUID_TO_BIN('22222222-2222-2222-2222-222222222202'),'Junior Software Engineer','full_time','hybrid','https://carolina-fintech.example/careers/jr-swe',80000,105000,'2026-01-08 08:15:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333305'),UUID_TO_BIN('22222222-2222-2222-2222-222222222203'),'IT Support Specialist','full_time','on_site','https://midlands-health.example/careers/it-support',42000,55000,'2026-01-08 08:20:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333306'),UUID_TO_BIN('22222222-2222-2222-2222-222222222203'),'Software Engineer I','full_time','hybrid','https://midlands-health.example/careers/swe1',78000,98000,'2026-01-08 08:25:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333307'),UUID_TO_BIN('22222222-2222-2222-2222-222222222204'),'Cybersecurity Intern','internship','on_site','https://blueridge-cyber.example/jobs/cyber-intern',20,30,'2026-01-08 08:30:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333308'),UUID_TO_BIN('22222222-2222-2222-2222-222222222204'),'SOC Analyst (Contract)','contract','remote','https://blueridge-cyber.example/jobs/soc-analyst-contract',35,55,'2026-01-08 08:35:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333309'),UUID_TO_BIN('22222222-2222-2222-2222-222222222205'),'Systems Engineer','full_time','on_site','https://se-logistics.example/careers/systems-engineer',75000,95000,'2026-01-08 08:40:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333310'),UUID_TO_BIN('22222222-2222-2222-2222-222222222205'),'Software Engineer (Logistics)','full_time','hybrid','https://se-logistics.example/careers/swe-logistics',85000,115000,'2026-01-08 08:45:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333311'),UUID_TO_BIN('22222222-2222-2222-2222-222222222206'),'Frontend Developer Intern','internship','remote','https://oceanview-retailtech.example/jobs/frontend-intern',22,34,'2026-01-08 08:50:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333312'),UUID_TO_BIN('22222222-2222-2222-2222-222222222206'),'Full Stack Engineer','full_time','remote','https://oceanview-retailtech.example/jobs/fullstack',90000,125000,'2026-01-08 08:55:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333313'),UUID_TO_BIN('22222222-2222-2222-2222-222222222207'),'Cloud Platform Intern','internship','hybrid','https://piedmont-cloud.example/careers/cloud-intern',26,42,'2026-01-08 09:00:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333314'),UUID_TO_BIN('22222222-2222-2222-2222-222222222207'),'DevOps Engineer','full_time','remote','https://piedmont-cloud.example/careers/devops',95000,135000,'2026-01-08 09:05:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333315'),UUID_TO_BIN('22222222-2222-2222-2222-222222222208'),'Data Analyst Intern','internship','hybrid','https://harbor-insurance.example/jobs/da-intern',21,33,'2026-01-08 09:10:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333316'),UUID_TO_BIN('22222222-2222-2222-2222-222222222208'),'Software Engineer (Claims)','full_time','hybrid','https://harbor-insurance.example/jobs/swe-claims',88000,118000,'2026-01-08 09:15:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333317'),UUID_TO_BIN('22222222-2222-2222-2222-222222222209'),'Backend Engineer','full_time','on_site','https://magnolia-media.example/careers/backend',87000,112000,'2026-01-08 09:20:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333318'),UUID_TO_BIN('22222222-2222-2222-2222-222222222209'),'QA Automation Intern','internship','remote','https://magnolia-media.example/careers/qa-intern',20,32,'2026-01-08 09:25:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333319'),UUID_TO_BIN('22222222-2222-2222-2222-222222222210'),'Manufacturing Systems Developer','full_time','on_site','https://ironworks-mfg.example/careers/ms-dev',80000,103000,'2026-01-08 09:30:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333320'),UUID_TO_BIN('22222222-2222-2222-2222-222222222210'),'Controls Software Intern','internship','on_site','https://ironworks-mfg.example/careers/controls-intern',19,28,'2026-01-08 09:35:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333321'),UUID_TO_BIN('22222222-2222-2222-2222-222222222211'),'EdTech Platform Intern','internship','remote','https://lakeside-edtech.example/jobs/platform-intern',22,36,'2026-01-08 09:40:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333322'),UUID_TO_BIN('22222222-2222-2222-2222-222222222211'),'Software Engineer (Learning Tools)','full_time','hybrid','https://lakeside-edtech.example/jobs/swe-learning',82000,110000,'2026-01-08 09:45:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333323'),UUID_TO_BIN('22222222-2222-2222-2222-222222222212'),'Backend Engineer (Energy)','full_time','hybrid','https://crescent-energy-sw.example/careers/backend',92000,125000,'2026-01-08 09:50:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333324'),UUID_TO_BIN('22222222-2222-2222-2222-222222222212'),'Data Pipeline Engineer (Contract)','contract','remote','https://crescent-energy-sw.example/careers/pipeline-contract',45,80,'2026-01-08 09:55:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333325'),UUID_TO_BIN('22222222-2222-2222-2222-222222222213'),'Payments Software Intern','internship','hybrid','https://summit-payments.example/jobs/payments-intern',24,39,'2026-01-08 10:00:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333326'),UUID_TO_BIN('22222222-2222-2222-2222-222222222213'),'Fraud Data Engineer','full_time','remote','https://summit-payments.example/jobs/fraud-de',98000,140000,'2026-01-08 10:05:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333327'),UUID_TO_BIN('22222222-2222-2222-2222-222222222214'),'Robotics Software Intern','internship','on_site','https://redclay-robotics.example/careers/robotics-intern',23,37,'2026-01-08 10:10:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333328'),UUID_TO_BIN('22222222-2222-2222-2222-222222222214'),'Embedded C++ Engineer','full_time','on_site','https://redclay-robotics.example/careers/embedded',95000,130000,'2026-01-08 10:15:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333329'),UUID_TO_BIN('22222222-2222-2222-2222-222222222215'),'GovTech Software Intern','internship','hybrid','https://evergreen-govtech.example/jobs/govtech-intern',23,36,'2026-01-08 10:20:00'),
+(UUID_TO_BIN('33333333-3333-3333-3333-333333333330'),UUID_TO_BIN('22222222-2222-2222-2222-222222222215'),'Security Engineer','full_time','remote','https://evergreen-govtech.example/jobs/security-engineer',105000,155000,'2026-01-08 10:25:00');
 
 -- APPLICATIONS (35)  (unique(uuid, juid) enforced)
 INSERT INTO application (auid, uuid, juid, status, applied_at, source, notes, last_updated_at) VALUES
-('44444444-4444-4444-4444-444444444401','11111111-1111-1111-1111-111111111111','33333333-3333-3333-3333-333333333301','applied','2026-01-10 09:00:00','linkedin','Applied to SE intern role.','2026-01-10 09:00:00'),
-('44444444-4444-4444-4444-444444444402','11111111-1111-1111-1111-111111111111','33333333-3333-3333-3333-333333333303','phone_screen','2026-01-11 11:20:00','company_site','Recruiter reached out, scheduled phone screen.','2026-01-13 14:10:00'),
-('44444444-4444-4444-4444-444444444403','11111111-1111-1111-1111-111111111111','33333333-3333-3333-3333-333333333313','interview','2026-01-12 15:45:00','linkedin','Moving to technical interview.','2026-01-18 10:00:00'),
-('44444444-4444-4444-4444-444444444404','11111111-1111-1111-1111-111111111111','33333333-3333-3333-3333-333333333329','applied','2026-01-14 08:05:00','handshake','GovTech intern application submitted.','2026-01-14 08:05:00'),
-('44444444-4444-4444-4444-444444444405','11111111-1111-1111-1111-111111111111','33333333-3333-3333-3333-333333333325','rejected','2026-01-15 17:30:00','linkedin','Auto rejection email.','2026-01-20 09:12:00'),
-
-('44444444-4444-4444-4444-444444444406','11111111-1111-1111-1111-111111111112','33333333-3333-3333-3333-333333333302','applied','2026-01-10 10:10:00','referral','Referred by classmate.','2026-01-10 10:10:00'),
-('44444444-4444-4444-4444-444444444407','11111111-1111-1111-1111-111111111112','33333333-3333-3333-3333-333333333315','phone_screen','2026-01-11 09:35:00','linkedin','Phone screen set for next week.','2026-01-16 09:00:00'),
-('44444444-4444-4444-4444-444444444408','11111111-1111-1111-1111-111111111112','33333333-3333-3333-3333-333333333321','applied','2026-01-13 12:00:00','handshake','Submitted portfolio and transcript.','2026-01-13 12:00:00'),
-
-('44444444-4444-4444-4444-444444444409','11111111-1111-1111-1111-111111111113','33333333-3333-3333-3333-333333333311','applied','2026-01-10 13:20:00','linkedin','Frontend intern: attached projects.','2026-01-10 13:20:00'),
-('44444444-4444-4444-4444-444444444410','11111111-1111-1111-1111-111111111113','33333333-3333-3333-3333-333333333318','interview','2026-01-12 09:15:00','company_site','Interview scheduled for QA intern.','2026-01-17 16:30:00'),
-('44444444-4444-4444-4444-444444444411','11111111-1111-1111-1111-111111111113','33333333-3333-3333-3333-333333333327','applied','2026-01-14 14:00:00','other','Applied via campus event QR code.','2026-01-14 14:00:00'),
-
-('44444444-4444-4444-4444-444444444412','11111111-1111-1111-1111-111111111114','33333333-3333-3333-3333-333333333307','phone_screen','2026-01-10 08:30:00','linkedin','Cyber intern screen scheduled.','2026-01-14 11:00:00'),
-('44444444-4444-4444-4444-444444444413','11111111-1111-1111-1111-111111111114','33333333-3333-3333-3333-333333333308','applied','2026-01-11 16:05:00','company_site','Contract SOC analyst application.','2026-01-11 16:05:00'),
-('44444444-4444-4444-4444-444444444414','11111111-1111-1111-1111-111111111114','33333333-3333-3333-3333-333333333330','applied','2026-01-15 09:50:00','referral','Referral from alumni.','2026-01-15 09:50:00'),
-
-('44444444-4444-4444-4444-444444444415','11111111-1111-1111-1111-111111111115','33333333-3333-3333-3333-333333333310','applied','2026-01-10 17:40:00','linkedin','Logistics SWE role.','2026-01-10 17:40:00'),
-('44444444-4444-4444-4444-444444444416','11111111-1111-1111-1111-111111111115','33333333-3333-3333-3333-333333333314','phone_screen','2026-01-12 10:30:00','company_site','DevOps role - recruiter pinged.','2026-01-16 13:30:00'),
-('44444444-4444-4444-4444-444444444417','11111111-1111-1111-1111-111111111115','33333333-3333-3333-3333-333333333312','rejected','2026-01-13 18:05:00','linkedin','Rejected after resume review.','2026-01-19 08:00:00'),
-
-('44444444-4444-4444-4444-444444444418','11111111-1111-1111-1111-111111111116','33333333-3333-3333-3333-333333333304','applied','2026-01-10 09:10:00','handshake','Applied to jr SWE.','2026-01-10 09:10:00'),
-('44444444-4444-4444-4444-444444444419','11111111-1111-1111-1111-111111111116','33333333-3333-3333-3333-333333333306','phone_screen','2026-01-11 10:00:00','company_site','Phone screen requested.','2026-01-14 09:20:00'),
-('44444444-4444-4444-4444-444444444420','11111111-1111-1111-1111-111111111116','33333333-3333-3333-3333-333333333322','applied','2026-01-15 12:15:00','linkedin','Learning tools role.','2026-01-15 12:15:00'),
-
-('44444444-4444-4444-4444-444444444421','11111111-1111-1111-1111-111111111117','33333333-3333-3333-3333-333333333309','applied','2026-01-10 11:55:00','other','Applied via recruiter email.','2026-01-10 11:55:00'),
-('44444444-4444-4444-4444-444444444422','11111111-1111-1111-1111-111111111117','33333333-3333-3333-3333-333333333316','interview','2026-01-12 14:25:00','linkedin','Interview panel scheduled.','2026-01-18 15:00:00'),
-('44444444-4444-4444-4444-444444444423','11111111-1111-1111-1111-111111111117','33333333-3333-3333-3333-333333333323','applied','2026-01-14 09:05:00','company_site','Energy backend engineer.','2026-01-14 09:05:00'),
-('44444444-4444-4444-4444-444444444424','11111111-1111-1111-1111-111111111117','33333333-3333-3333-3333-333333333326','phone_screen','2026-01-15 16:10:00','referral','Referral from teammate.','2026-01-20 13:00:00'),
-
-('44444444-4444-4444-4444-444444444425','11111111-1111-1111-1111-111111111118','33333333-3333-3333-3333-333333333302','applied','2026-01-10 12:40:00','linkedin','Data engineering intern.','2026-01-10 12:40:00'),
-('44444444-4444-4444-4444-444444444426','11111111-1111-1111-1111-111111111118','33333333-3333-3333-3333-333333333313','phone_screen','2026-01-11 15:00:00','handshake','Cloud intern phone screen set.','2026-01-16 15:30:00'),
-('44444444-4444-4444-4444-444444444427','11111111-1111-1111-1111-111111111118','33333333-3333-3333-3333-333333333315','applied','2026-01-13 09:00:00','linkedin','DA intern.','2026-01-13 09:00:00'),
-
-('44444444-4444-4444-4444-444444444428','11111111-1111-1111-1111-111111111119','33333333-3333-3333-3333-333333333320','applied','2026-01-10 07:55:00','company_site','Controls intern.','2026-01-10 07:55:00'),
-('44444444-4444-4444-4444-444444444429','11111111-1111-1111-1111-111111111119','33333333-3333-3333-3333-333333333327','phone_screen','2026-01-12 13:10:00','linkedin','Robotics intern screen.','2026-01-15 10:00:00'),
-('44444444-4444-4444-4444-444444444430','11111111-1111-1111-1111-111111111119','33333333-3333-3333-3333-333333333328','applied','2026-01-14 10:30:00','referral','Embedded role via referral.','2026-01-14 10:30:00'),
-
-('44444444-4444-4444-4444-444444444431','11111111-1111-1111-1111-111111111120','33333333-3333-3333-3333-333333333305','applied','2026-01-10 09:35:00','handshake','IT support role.','2026-01-10 09:35:00'),
-('44444444-4444-4444-4444-444444444432','11111111-1111-1111-1111-111111111120','33333333-3333-3333-3333-333333333306','applied','2026-01-11 14:00:00','linkedin','SWE I.','2026-01-11 14:00:00'),
-('44444444-4444-4444-4444-444444444433','11111111-1111-1111-1111-111111111120','33333333-3333-3333-3333-333333333317','phone_screen','2026-01-12 12:05:00','company_site','Backend engineer screen.','2026-01-16 12:00:00'),
-('44444444-4444-4444-4444-444444444434','11111111-1111-1111-1111-111111111120','33333333-3333-3333-3333-333333333321','applied','2026-01-15 08:45:00','other','Applied at virtual fair.','2026-01-15 08:45:00'),
-('44444444-4444-4444-4444-444444444435','11111111-1111-1111-1111-111111111120','33333333-3333-3333-3333-333333333325','applied','2026-01-16 16:20:00','linkedin','Payments intern.','2026-01-16 16:20:00');
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444401'),UUID_TO_BIN('11111111-1111-1111-1111-111111111111'),UUID_TO_BIN('33333333-3333-3333-3333-333333333301'),'applied','2026-01-10 09:00:00','linkedin','Applied to SE intern role.','2026-01-10 09:00:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444402'),UUID_TO_BIN('11111111-1111-1111-1111-111111111111'),UUID_TO_BIN('33333333-3333-3333-3333-333333333303'),'phone_screen','2026-01-11 11:20:00','company_site','Recruiter reached out, scheduled phone screen.','2026-01-13 14:10:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444403'),UUID_TO_BIN('11111111-1111-1111-1111-111111111111'),UUID_TO_BIN('33333333-3333-3333-3333-333333333313'),'interview','2026-01-12 15:45:00','linkedin','Moving to technical interview.','2026-01-18 10:00:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444404'),UUID_TO_BIN('11111111-1111-1111-1111-111111111111'),UUID_TO_BIN('33333333-3333-3333-3333-333333333329'),'applied','2026-01-14 08:05:00','handshake','GovTech intern application submitted.','2026-01-14 08:05:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444405'),UUID_TO_BIN('11111111-1111-1111-1111-111111111111'),UUID_TO_BIN('33333333-3333-3333-3333-333333333325'),'rejected','2026-01-15 17:30:00','linkedin','Auto rejection email.','2026-01-20 09:12:00'),
+
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444406'),UUID_TO_BIN('11111111-1111-1111-1111-111111111112'),UUID_TO_BIN('33333333-3333-3333-3333-333333333302'),'applied','2026-01-10 10:10:00','referral','Referred by classmate.','2026-01-10 10:10:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444407'),UUID_TO_BIN('11111111-1111-1111-1111-111111111112'),UUID_TO_BIN('33333333-3333-3333-3333-333333333315'),'phone_screen','2026-01-11 09:35:00','linkedin','Phone screen set for next week.','2026-01-16 09:00:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444408'),UUID_TO_BIN('11111111-1111-1111-1111-111111111112'),UUID_TO_BIN('33333333-3333-3333-3333-333333333321'),'applied','2026-01-13 12:00:00','handshake','Submitted portfolio and transcript.','2026-01-13 12:00:00'),
+
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444409'),UUID_TO_BIN('11111111-1111-1111-1111-111111111113'),UUID_TO_BIN('33333333-3333-3333-3333-333333333311'),'applied','2026-01-10 13:20:00','linkedin','Frontend intern: attached projects.','2026-01-10 13:20:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444410'),UUID_TO_BIN('11111111-1111-1111-1111-111111111113'),UUID_TO_BIN('33333333-3333-3333-3333-333333333318'),'interview','2026-01-12 09:15:00','company_site','Interview scheduled for QA intern.','2026-01-17 16:30:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444411'),UUID_TO_BIN('11111111-1111-1111-1111-111111111113'),UUID_TO_BIN('33333333-3333-3333-3333-333333333327'),'applied','2026-01-14 14:00:00','other','Applied via campus event QR code.','2026-01-14 14:00:00'),
+
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444412'),UUID_TO_BIN('11111111-1111-1111-1111-111111111114'),UUID_TO_BIN('33333333-3333-3333-3333-333333333307'),'phone_screen','2026-01-10 08:30:00','linkedin','Cyber intern screen scheduled.','2026-01-14 11:00:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444413'),UUID_TO_BIN('11111111-1111-1111-1111-111111111114'),UUID_TO_BIN('33333333-3333-3333-3333-333333333308'),'applied','2026-01-11 16:05:00','company_site','Contract SOC analyst application.','2026-01-11 16:05:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444414'),UUID_TO_BIN('11111111-1111-1111-1111-111111111114'),UUID_TO_BIN('33333333-3333-3333-3333-333333333330'),'applied','2026-01-15 09:50:00','referral','Referral from alumni.','2026-01-15 09:50:00'),
+
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444415'),UUID_TO_BIN('11111111-1111-1111-1111-111111111115'),UUID_TO_BIN('33333333-3333-3333-3333-333333333310'),'applied','2026-01-10 17:40:00','linkedin','Logistics SWE role.','2026-01-10 17:40:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444416'),UUID_TO_BIN('11111111-1111-1111-1111-111111111115'),UUID_TO_BIN('33333333-3333-3333-3333-333333333314'),'phone_screen','2026-01-12 10:30:00','company_site','DevOps role - recruiter pinged.','2026-01-16 13:30:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444417'),UUID_TO_BIN('11111111-1111-1111-1111-111111111115'),UUID_TO_BIN('33333333-3333-3333-3333-333333333312'),'rejected','2026-01-13 18:05:00','linkedin','Rejected after resume review.','2026-01-19 08:00:00'),
+
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444418'),UUID_TO_BIN('11111111-1111-1111-1111-111111111116'),UUID_TO_BIN('33333333-3333-3333-3333-333333333304'),'applied','2026-01-10 09:10:00','handshake','Applied to jr SWE.','2026-01-10 09:10:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444419'),UUID_TO_BIN('11111111-1111-1111-1111-111111111116'),UUID_TO_BIN('33333333-3333-3333-3333-333333333306'),'phone_screen','2026-01-11 10:00:00','company_site','Phone screen requested.','2026-01-14 09:20:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444420'),UUID_TO_BIN('11111111-1111-1111-1111-111111111116'),UUID_TO_BIN('33333333-3333-3333-3333-333333333322'),'applied','2026-01-15 12:15:00','linkedin','Learning tools role.','2026-01-15 12:15:00'),
+
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444421'),UUID_TO_BIN('11111111-1111-1111-1111-111111111117'),UUID_TO_BIN('33333333-3333-3333-3333-333333333309'),'applied','2026-01-10 11:55:00','other','Applied via recruiter email.','2026-01-10 11:55:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444422'),UUID_TO_BIN('11111111-1111-1111-1111-111111111117'),UUID_TO_BIN('33333333-3333-3333-3333-333333333316'),'interview','2026-01-12 14:25:00','linkedin','Interview panel scheduled.','2026-01-18 15:00:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444423'),UUID_TO_BIN('11111111-1111-1111-1111-111111111117'),UUID_TO_BIN('33333333-3333-3333-3333-333333333323'),'applied','2026-01-14 09:05:00','company_site','Energy backend engineer.','2026-01-14 09:05:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444424'),UUID_TO_BIN('11111111-1111-1111-1111-111111111117'),UUID_TO_BIN('33333333-3333-3333-3333-333333333326'),'phone_screen','2026-01-15 16:10:00','referral','Referral from teammate.','2026-01-20 13:00:00'),
+
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444425'),UUID_TO_BIN('11111111-1111-1111-1111-111111111118'),UUID_TO_BIN('33333333-3333-3333-3333-333333333302'),'applied','2026-01-10 12:40:00','linkedin','Data engineering intern.','2026-01-10 12:40:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444426'),UUID_TO_BIN('11111111-1111-1111-1111-111111111118'),UUID_TO_BIN('33333333-3333-3333-3333-333333333313'),'phone_screen','2026-01-11 15:00:00','handshake','Cloud intern phone screen set.','2026-01-16 15:30:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444427'),UUID_TO_BIN('11111111-1111-1111-1111-111111111118'),UUID_TO_BIN('33333333-3333-3333-3333-333333333315'),'applied','2026-01-13 09:00:00','linkedin','DA intern.','2026-01-13 09:00:00'),
+
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444428'),UUID_TO_BIN('11111111-1111-1111-1111-111111111119'),UUID_TO_BIN('33333333-3333-3333-3333-333333333320'),'applied','2026-01-10 07:55:00','company_site','Controls intern.','2026-01-10 07:55:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444429'),UUID_TO_BIN('11111111-1111-1111-1111-111111111119'),UUID_TO_BIN('33333333-3333-3333-3333-333333333327'),'phone_screen','2026-01-12 13:10:00','linkedin','Robotics intern screen.','2026-01-15 10:00:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444430'),UUID_TO_BIN('11111111-1111-1111-1111-111111111119'),UUID_TO_BIN('33333333-3333-3333-3333-333333333328'),'applied','2026-01-14 10:30:00','referral','Embedded role via referral.','2026-01-14 10:30:00'),
+
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444431'),UUID_TO_BIN('11111111-1111-1111-1111-111111111120'),UUID_TO_BIN('33333333-3333-3333-3333-333333333305'),'applied','2026-01-10 09:35:00','handshake','IT support role.','2026-01-10 09:35:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444432'),UUID_TO_BIN('11111111-1111-1111-1111-111111111120'),UUID_TO_BIN('33333333-3333-3333-3333-333333333306'),'applied','2026-01-11 14:00:00','linkedin','SWE I.','2026-01-11 14:00:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444433'),UUID_TO_BIN('11111111-1111-1111-1111-111111111120'),UUID_TO_BIN('33333333-3333-3333-3333-333333333317'),'phone_screen','2026-01-12 12:05:00','company_site','Backend engineer screen.','2026-01-16 12:00:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444434'),UUID_TO_BIN('11111111-1111-1111-1111-111111111120'),UUID_TO_BIN('33333333-3333-3333-3333-333333333321'),'applied','2026-01-15 08:45:00','other','Applied at virtual fair.','2026-01-15 08:45:00'),
+(UUID_TO_BIN('44444444-4444-4444-4444-444444444435'),UUID_TO_BIN('11111111-1111-1111-1111-111111111120'),UUID_TO_BIN('33333333-3333-3333-3333-333333333325'),'applied','2026-01-16 16:20:00','linkedin','Payments intern.','2026-01-16 16:20:00');
 
 -- ACTIVITY (40)
 -- 35 "created" activities (one per application)
 INSERT INTO activity (actuid, auid, uuid, event_type, old_status, new_status, event_time, details) VALUES
-('55555555-5555-5555-5555-555555555401','44444444-4444-4444-4444-444444444401','11111111-1111-1111-1111-111111111111','created',NULL,NULL,'2026-01-10 09:00:30','Application record created.'),
-('55555555-5555-5555-5555-555555555402','44444444-4444-4444-4444-444444444402','11111111-1111-1111-1111-111111111111','created',NULL,NULL,'2026-01-11 11:20:30','Application record created.'),
-('55555555-5555-5555-5555-555555555403','44444444-4444-4444-4444-444444444403','11111111-1111-1111-1111-111111111111','created',NULL,NULL,'2026-01-12 15:45:30','Application record created.'),
-('55555555-5555-5555-5555-555555555404','44444444-4444-4444-4444-444444444404','11111111-1111-1111-1111-111111111111','created',NULL,NULL,'2026-01-14 08:05:30','Application record created.'),
-('55555555-5555-5555-5555-555555555405','44444444-4444-4444-4444-444444444405','11111111-1111-1111-1111-111111111111','created',NULL,NULL,'2026-01-15 17:30:30','Application record created.'),
-
-('55555555-5555-5555-5555-555555555406','44444444-4444-4444-4444-444444444406','11111111-1111-1111-1111-111111111112','created',NULL,NULL,'2026-01-10 10:10:30','Application record created.'),
-('55555555-5555-5555-5555-555555555407','44444444-4444-4444-4444-444444444407','11111111-1111-1111-1111-111111111112','created',NULL,NULL,'2026-01-11 09:35:30','Application record created.'),
-('55555555-5555-5555-5555-555555555408','44444444-4444-4444-4444-444444444408','11111111-1111-1111-1111-111111111112','created',NULL,NULL,'2026-01-13 12:00:30','Application record created.'),
-
-('55555555-5555-5555-5555-555555555409','44444444-4444-4444-4444-444444444409','11111111-1111-1111-1111-111111111113','created',NULL,NULL,'2026-01-10 13:20:30','Application record created.'),
-('55555555-5555-5555-5555-555555555410','44444444-4444-4444-4444-444444444410','11111111-1111-1111-1111-111111111113','created',NULL,NULL,'2026-01-12 09:15:30','Application record created.'),
-('55555555-5555-5555-5555-555555555411','44444444-4444-4444-4444-444444444411','11111111-1111-1111-1111-111111111113','created',NULL,NULL,'2026-01-14 14:00:30','Application record created.'),
-
-('55555555-5555-5555-5555-555555555412','44444444-4444-4444-4444-444444444412','11111111-1111-1111-1111-111111111114','created',NULL,NULL,'2026-01-10 08:30:30','Application record created.'),
-('55555555-5555-5555-5555-555555555413','44444444-4444-4444-4444-444444444413','11111111-1111-1111-1111-111111111114','created',NULL,NULL,'2026-01-11 16:05:30','Application record created.'),
-('55555555-5555-5555-5555-555555555414','44444444-4444-4444-4444-444444444414','11111111-1111-1111-1111-111111111114','created',NULL,NULL,'2026-01-15 09:50:30','Application record created.'),
-
-('55555555-5555-5555-5555-555555555415','44444444-4444-4444-4444-444444444415','11111111-1111-1111-1111-111111111115','created',NULL,NULL,'2026-01-10 17:40:30','Application record created.'),
-('55555555-5555-5555-5555-555555555416','44444444-4444-4444-4444-444444444416','11111111-1111-1111-1111-111111111115','created',NULL,NULL,'2026-01-12 10:30:30','Application record created.'),
-('55555555-5555-5555-5555-555555555417','44444444-4444-4444-4444-444444444417','11111111-1111-1111-1111-111111111115','created',NULL,NULL,'2026-01-13 18:05:30','Application record created.'),
-
-('55555555-5555-5555-5555-555555555418','44444444-4444-4444-4444-444444444418','11111111-1111-1111-1111-111111111116','created',NULL,NULL,'2026-01-10 09:10:30','Application record created.'),
-('55555555-5555-5555-5555-555555555419','44444444-4444-4444-4444-444444444419','11111111-1111-1111-1111-111111111116','created',NULL,NULL,'2026-01-11 10:00:30','Application record created.'),
-('55555555-5555-5555-5555-555555555420','44444444-4444-4444-4444-444444444420','11111111-1111-1111-1111-111111111116','created',NULL,NULL,'2026-01-15 12:15:30','Application record created.'),
-
-('55555555-5555-5555-5555-555555555421','44444444-4444-4444-4444-444444444421','11111111-1111-1111-1111-111111111117','created',NULL,NULL,'2026-01-10 11:55:30','Application record created.'),
-('55555555-5555-5555-5555-555555555422','44444444-4444-4444-4444-444444444422','11111111-1111-1111-1111-111111111117','created',NULL,NULL,'2026-01-12 14:25:30','Application record created.'),
-('55555555-5555-5555-5555-555555555423','44444444-4444-4444-4444-444444444423','11111111-1111-1111-1111-111111111117','created',NULL,NULL,'2026-01-14 09:05:30','Application record created.'),
-('55555555-5555-5555-5555-555555555424','44444444-4444-4444-4444-444444444424','11111111-1111-1111-1111-111111111117','created',NULL,NULL,'2026-01-15 16:10:30','Application record created.'),
-
-('55555555-5555-5555-5555-555555555425','44444444-4444-4444-4444-444444444425','11111111-1111-1111-1111-111111111118','created',NULL,NULL,'2026-01-10 12:40:30','Application record created.'),
-('55555555-5555-5555-5555-555555555426','44444444-4444-4444-4444-444444444426','11111111-1111-1111-1111-111111111118','created',NULL,NULL,'2026-01-11 15:00:30','Application record created.'),
-('55555555-5555-5555-5555-555555555427','44444444-4444-4444-4444-444444444427','11111111-1111-1111-1111-111111111118','created',NULL,NULL,'2026-01-13 09:00:30','Application record created.'),
-
-('55555555-5555-5555-5555-555555555428','44444444-4444-4444-4444-444444444428','11111111-1111-1111-1111-111111111119','created',NULL,NULL,'2026-01-10 07:55:30','Application record created.'),
-('55555555-5555-5555-5555-555555555429','44444444-4444-4444-4444-444444444429','11111111-1111-1111-1111-111111111119','created',NULL,NULL,'2026-01-12 13:10:30','Application record created.'),
-('55555555-5555-5555-5555-555555555430','44444444-4444-4444-4444-444444444430','11111111-1111-1111-1111-111111111119','created',NULL,NULL,'2026-01-14 10:30:30','Application record created.'),
-
-('55555555-5555-5555-5555-555555555431','44444444-4444-4444-4444-444444444431','11111111-1111-1111-1111-111111111120','created',NULL,NULL,'2026-01-10 09:35:30','Application record created.'),
-('55555555-5555-5555-5555-555555555432','44444444-4444-4444-4444-444444444432','11111111-1111-1111-1111-111111111120','created',NULL,NULL,'2026-01-11 14:00:30','Application record created.'),
-('55555555-5555-5555-5555-555555555433','44444444-4444-4444-4444-444444444433','11111111-1111-1111-1111-111111111120','created',NULL,NULL,'2026-01-12 12:05:30','Application record created.'),
-('55555555-5555-5555-5555-555555555434','44444444-4444-4444-4444-444444444434','11111111-1111-1111-1111-111111111120','created',NULL,NULL,'2026-01-15 08:45:30','Application record created.'),
-('55555555-5555-5555-5555-555555555435','44444444-4444-4444-4444-444444444435','11111111-1111-1111-1111-111111111120','created',NULL,NULL,'2026-01-16 16:20:30','Application record created.');
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555401'),UUID_TO_BIN('44444444-4444-4444-4444-444444444401'),UUID_TO_BIN('11111111-1111-1111-1111-111111111111'),'created',NULL,NULL,'2026-01-10 09:00:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555402'),UUID_TO_BIN('44444444-4444-4444-4444-444444444402'),UUID_TO_BIN('11111111-1111-1111-1111-111111111111'),'created',NULL,NULL,'2026-01-11 11:20:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555403'),UUID_TO_BIN('44444444-4444-4444-4444-444444444403'),UUID_TO_BIN('11111111-1111-1111-1111-111111111111'),'created',NULL,NULL,'2026-01-12 15:45:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555404'),UUID_TO_BIN('44444444-4444-4444-4444-444444444404'),UUID_TO_BIN('11111111-1111-1111-1111-111111111111'),'created',NULL,NULL,'2026-01-14 08:05:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555405'),UUID_TO_BIN('44444444-4444-4444-4444-444444444405'),UUID_TO_BIN('11111111-1111-1111-1111-111111111111'),'created',NULL,NULL,'2026-01-15 17:30:30','Application record created.'),
+
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555406'),UUID_TO_BIN('44444444-4444-4444-4444-444444444406'),UUID_TO_BIN('11111111-1111-1111-1111-111111111112'),'created',NULL,NULL,'2026-01-10 10:10:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555407'),UUID_TO_BIN('44444444-4444-4444-4444-444444444407'),UUID_TO_BIN('11111111-1111-1111-1111-111111111112'),'created',NULL,NULL,'2026-01-11 09:35:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555408'),UUID_TO_BIN('44444444-4444-4444-4444-444444444408'),UUID_TO_BIN('11111111-1111-1111-1111-111111111112'),'created',NULL,NULL,'2026-01-13 12:00:30','Application record created.'),
+
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555409'),UUID_TO_BIN('44444444-4444-4444-4444-444444444409'),UUID_TO_BIN('11111111-1111-1111-1111-111111111113'),'created',NULL,NULL,'2026-01-10 13:20:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555410'),UUID_TO_BIN('44444444-4444-4444-4444-444444444410'),UUID_TO_BIN('11111111-1111-1111-1111-111111111113'),'created',NULL,NULL,'2026-01-12 09:15:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555411'),UUID_TO_BIN('44444444-4444-4444-4444-444444444411'),UUID_TO_BIN('11111111-1111-1111-1111-111111111113'),'created',NULL,NULL,'2026-01-14 14:00:30','Application record created.'),
+
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555412'),UUID_TO_BIN('44444444-4444-4444-4444-444444444412'),UUID_TO_BIN('11111111-1111-1111-1111-111111111114'),'created',NULL,NULL,'2026-01-10 08:30:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555413'),UUID_TO_BIN('44444444-4444-4444-4444-444444444413'),UUID_TO_BIN('11111111-1111-1111-1111-111111111114'),'created',NULL,NULL,'2026-01-11 16:05:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555414'),UUID_TO_BIN('44444444-4444-4444-4444-444444444414'),UUID_TO_BIN('11111111-1111-1111-1111-111111111114'),'created',NULL,NULL,'2026-01-15 09:50:30','Application record created.'),
+
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555415'),UUID_TO_BIN('44444444-4444-4444-4444-444444444415'),UUID_TO_BIN('11111111-1111-1111-1111-111111111115'),'created',NULL,NULL,'2026-01-10 17:40:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555416'),UUID_TO_BIN('44444444-4444-4444-4444-444444444416'),UUID_TO_BIN('11111111-1111-1111-1111-111111111115'),'created',NULL,NULL,'2026-01-12 10:30:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555417'),UUID_TO_BIN('44444444-4444-4444-4444-444444444417'),UUID_TO_BIN('11111111-1111-1111-1111-111111111115'),'created',NULL,NULL,'2026-01-13 18:05:30','Application record created.'),
+
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555418'),UUID_TO_BIN('44444444-4444-4444-4444-444444444418'),UUID_TO_BIN('11111111-1111-1111-1111-111111111116'),'created',NULL,NULL,'2026-01-10 09:10:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555419'),UUID_TO_BIN('44444444-4444-4444-4444-444444444419'),UUID_TO_BIN('11111111-1111-1111-1111-111111111116'),'created',NULL,NULL,'2026-01-11 10:00:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555420'),UUID_TO_BIN('44444444-4444-4444-4444-444444444420'),UUID_TO_BIN('11111111-1111-1111-1111-111111111116'),'created',NULL,NULL,'2026-01-15 12:15:30','Application record created.'),
+
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555421'),UUID_TO_BIN('44444444-4444-4444-4444-444444444421'),UUID_TO_BIN('11111111-1111-1111-1111-111111111117'),'created',NULL,NULL,'2026-01-10 11:55:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555422'),UUID_TO_BIN('44444444-4444-4444-4444-444444444422'),UUID_TO_BIN('11111111-1111-1111-1111-111111111117'),'created',NULL,NULL,'2026-01-12 14:25:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555423'),UUID_TO_BIN('44444444-4444-4444-4444-444444444423'),UUID_TO_BIN('11111111-1111-1111-1111-111111111117'),'created',NULL,NULL,'2026-01-14 09:05:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555424'),UUID_TO_BIN('44444444-4444-4444-4444-444444444424'),UUID_TO_BIN('11111111-1111-1111-1111-111111111117'),'created',NULL,NULL,'2026-01-15 16:10:30','Application record created.'),
+
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555425'),UUID_TO_BIN('44444444-4444-4444-4444-444444444425'),UUID_TO_BIN('11111111-1111-1111-1111-111111111118'),'created',NULL,NULL,'2026-01-10 12:40:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555426'),UUID_TO_BIN('44444444-4444-4444-4444-444444444426'),UUID_TO_BIN('11111111-1111-1111-1111-111111111118'),'created',NULL,NULL,'2026-01-11 15:00:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555427'),UUID_TO_BIN('44444444-4444-4444-4444-444444444427'),UUID_TO_BIN('11111111-1111-1111-1111-111111111118'),'created',NULL,NULL,'2026-01-13 09:00:30','Application record created.'),
+
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555428'),UUID_TO_BIN('44444444-4444-4444-4444-444444444428'),UUID_TO_BIN('11111111-1111-1111-1111-111111111119'),'created',NULL,NULL,'2026-01-10 07:55:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555429'),UUID_TO_BIN('44444444-4444-4444-4444-444444444429'),UUID_TO_BIN('11111111-1111-1111-1111-111111111119'),'created',NULL,NULL,'2026-01-12 13:10:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555430'),UUID_TO_BIN('44444444-4444-4444-4444-444444444430'),UUID_TO_BIN('11111111-1111-1111-1111-111111111119'),'created',NULL,NULL,'2026-01-14 10:30:30','Application record created.'),
+
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555431'),UUID_TO_BIN('44444444-4444-4444-4444-444444444431'),UUID_TO_BIN('11111111-1111-1111-1111-111111111120'),'created',NULL,NULL,'2026-01-10 09:35:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555432'),UUID_TO_BIN('44444444-4444-4444-4444-444444444432'),UUID_TO_BIN('11111111-1111-1111-1111-111111111120'),'created',NULL,NULL,'2026-01-11 14:00:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555433'),UUID_TO_BIN('44444444-4444-4444-4444-444444444433'),UUID_TO_BIN('11111111-1111-1111-1111-111111111120'),'created',NULL,NULL,'2026-01-12 12:05:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555434'),UUID_TO_BIN('44444444-4444-4444-4444-444444444434'),UUID_TO_BIN('11111111-1111-1111-1111-111111111120'),'created',NULL,NULL,'2026-01-15 08:45:30','Application record created.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555435'),UUID_TO_BIN('44444444-4444-4444-4444-444444444435'),UUID_TO_BIN('11111111-1111-1111-1111-111111111120'),'created',NULL,NULL,'2026-01-16 16:20:30','Application record created.');
 
 -- 5 extra activities (status_change / note_added / interview_scheduled / followup_set)
 INSERT INTO activity (actuid, auid, uuid, event_type, old_status, new_status, event_time, details) VALUES
-('55555555-5555-5555-5555-555555555436','44444444-4444-4444-4444-444444444402','11111111-1111-1111-1111-111111111111','status_change','applied','phone_screen','2026-01-13 14:10:00','Recruiter scheduled phone screen.'),
-('55555555-5555-5555-5555-555555555437','44444444-4444-4444-4444-444444444403','11111111-1111-1111-1111-111111111111','interview_scheduled',NULL,NULL,'2026-01-18 10:00:00','Technical interview scheduled for next week.'),
-('55555555-5555-5555-5555-555555555438','44444444-4444-4444-4444-444444444416','11111111-1111-1111-1111-111111111115','status_change','applied','phone_screen','2026-01-16 13:30:00','Recruiter moved application to phone screen.'),
-('55555555-5555-5555-5555-555555555439','44444444-4444-4444-4444-444444444410','11111111-1111-1111-1111-111111111113','note_added',NULL,NULL,'2026-01-15 09:00:00','Added prep notes: focus on automation frameworks and CI.'),
-('55555555-5555-5555-5555-555555555440','44444444-4444-4444-4444-444444444424','11111111-1111-1111-1111-111111111117','followup_set',NULL,NULL,'2026-01-20 13:05:00','Set follow-up reminder for recruiter email.');
\ No newline at end of file
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555436'),UUID_TO_BIN('44444444-4444-4444-4444-444444444402'),UUID_TO_BIN('11111111-1111-1111-1111-111111111111'),'status_change','applied','phone_screen','2026-01-13 14:10:00','Recruiter scheduled phone screen.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555437'),UUID_TO_BIN('44444444-4444-4444-4444-444444444403'),UUID_TO_BIN('11111111-1111-1111-1111-111111111111'),'interview_scheduled',NULL,NULL,'2026-01-18 10:00:00','Technical interview scheduled for next week.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555438'),UUID_TO_BIN('44444444-4444-4444-4444-444444444416'),UUID_TO_BIN('11111111-1111-1111-1111-111111111115'),'status_change','applied','phone_screen','2026-01-16 13:30:00','Recruiter moved application to phone screen.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555439'),UUID_TO_BIN('44444444-4444-4444-4444-444444444410'),UUID_TO_BIN('11111111-1111-1111-1111-111111111113'),'note_added',NULL,NULL,'2026-01-15 09:00:00','Added prep notes: focus on automation frameworks and CI.'),
+(UUID_TO_BIN('55555555-5555-5555-5555-555555555440'),UUID_TO_BIN('44444444-4444-4444-4444-444444444424'),UUID_TO_BIN('11111111-1111-1111-1111-111111111117'),'followup_set',NULL,NULL,'2026-01-20 13:05:00','Set follow-up reminder for recruiter email.');
+
+-- STAT COUNTERS (the seed rows above bypass the DAO, so count them once here;
+-- same recount as migrations/006_stat_counters.sql)
+DELETE FROM stat_counter;
+INSERT INTO stat_counter (scope, kind, name, slot, value)
+SELECT UUID_TO_BIN('00000000-0000-0000-0000-000000000000'), 'table', 'user', 0, COUNT(*) FROM `user`
+UNION ALL SELECT UUID_TO_BIN('00000000-0000-0000-0000-000000000000'), 'table', 'company', 0, COUNT(*) FROM company
+UNION ALL SELECT UUID_TO_BIN('00000000-0000-0000-0000-000000000000'), 'table', 'job', 0, COUNT(*) FROM job
+UNION ALL SELECT UUID_TO_BIN('00000000-0000-0000-0000-000000000000'), 'table', 'application', 0, COUNT(*) FROM application
+UNION ALL SELECT UUID_TO_BIN('00000000-0000-0000-0000-000000000000'), 'table', 'activity', 0, COUNT(*) FROM activity
+UNION ALL SELECT UUID_TO_BIN('00000000-0000-0000-0000-000000000000'), 'status', LOWER(status), 0, COUNT(*) FROM application GROUP BY LOWER(status)
+UNION ALL SELECT UUID_TO_BIN('00000000-0000-0000-0000-000000000000'), 'source', COALESCE(source, 'none'), 0, COUNT(*) FROM application GROUP BY COALESCE(source, 'none')
+UNION ALL SELECT uuid, 'table', 'application', 0, COUNT(*) FROM application GROUP BY uuid
+UNION ALL SELECT uuid, 'table', 'activity', 0, COUNT(*) FROM activity GROUP BY uuid
+UNION ALL SELECT uuid, 'status', LOWER(status), 0, COUNT(*) FROM application GROUP BY uuid, LOWER(status)
+UNION ALL SELECT uuid, 'source', COALESCE(source, 'none'), 0, COUNT(*) FROM application GROUP BY uuid, COALESCE(source, 'none');
@@ -0,0 +1,359 @@
+package jobtracker.service;
+
+import jobtracker.dao.ActivityFeed;
+import jobtracker.dao.Ids;
+import jobtracker.dao.ReportDaoJdbc.ActivityRow;
+import jobtracker.db.Db;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import spark.Request;
+import spark.Response;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Server-Sent Events for GET /api/activities/stream: every new activity row
+ * is pushed to each connected client whose filter (user uuid and/or auid)
+ * matches it.
+ *
+ * Open streams hold no thread. The request goes async with no timeout and all
+ * writes are non-blocking (WriteListener). One dispatcher thread takes the rows
+ * {@link ActivityFeed} publishes, serializes each event once and queues it on
+ * the matching connections, which write their queue whenever the socket can
+ * take more. A client that falls MAX_PENDING events behind is dropped; its
+ * EventSource reconnects and resumes from Last-Event-ID. The same thread sends
+ * a comment line every JOBTRACKER_SSE_HEARTBEAT_MS (default 15s) so proxies
+ * keep idle streams open and dead ones get noticed.
+ *
+ * Event ids are actuids. A client that reconnects first gets the activities
+ * after its Last-Event-ID from the table (at most REPLAY_MAX; past that it
+ * gets a "reset" event and should reload through GET /api/activities). Rows
+ * published while that query runs are held back and deduplicated against it,
+ * so nothing falls between the replay and the live events.
+ *
+ * An actuid is made before its transaction commits (with the ActivityWriter,
+ * a batch later), so rows do not become visible in actuid order: one with a
+ * lower id than the Last-Event-ID may commit after the client saw it. The
+ * replay therefore starts JOBTRACKER_SSE_REPLAY_OVERLAP_MS (default 30s) before
+ * the Last-Event-ID was made and may send events the client already has;
+ * clients drop events whose id they have seen.
+ *
+ * Only writes made through this instance are pushed live. With several
+ * instances behind a load balancer, a client sees the others' writes only when
+ * it reconnects.
+ */
+public final class ActivityStream {
+
+    /** Loads the activities with an actuid after the given one, oldest first. */
+    @FunctionalInterface
+    public interface Replay {
+        List<ActivityRow> after(String actuid, int limit);
+    }
+
+    /** Counters for the stats endpoint. */
+    public static class Stats {
+        public int clients;
+        public int maxClients;
+        public long opened;
+        public long events;
+        public long dropped;
+    }
+
+    private static final int MAX_CLIENTS = Db.intEnv("JOBTRACKER_SSE_MAX_CLIENTS", 10_000);
+    private static final long HEARTBEAT_MS = Math.max(1_000, Db.longEnv("JOBTRACKER_SSE_HEARTBEAT_MS", 15_000));
+    private static final int MAX_PENDING = 1_000;
+    private static final int REPLAY_MAX = 1_000;
+    private static final long REPLAY_OVERLAP_MS = Db.longEnv("JOBTRACKER_SSE_REPLAY_OVERLAP_MS", 30_000);
+    // Room for the overlap on top of REPLAY_MAX new rows
+    private static final int REPLAY_LIMIT = 2 * REPLAY_MAX;
+    private static final long RETRY_MS = 3_000;
+
+    private static final Gson gson = RowTypeAdapters.register(new GsonBuilder()).create();
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(UTF_8);
+    // Empty id: the browser forgets the old Last-Event-ID
+    private static final byte[] RESET = ("event: reset\nid:\ndata: {\"reason\":\"more than " + REPLAY_MAX
+            + " missed events, reload through GET /api/activities\"}\n\n").getBytes(UTF_8);
+
+    private static final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private static final AtomicLong opened = new AtomicLong();
+    private static final AtomicLong events = new AtomicLong();
+    private static final AtomicLong dropped = new AtomicLong();
+
+    private static final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "activity-stream");
+        t.setDaemon(true);
+        return t;
+    });
+
+    static {
+        ActivityFeed.subscribe(rows -> {
+            if (!clients.isEmpty()) {
+                dispatcher.execute(() -> broadcast(rows));
+            }
+        });
+        dispatcher.scheduleAtFixedRate(ActivityStream::heartbeat, HEARTBEAT_MS, HEARTBEAT_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private ActivityStream() {}
+
+    /**
+     * Turn the request into an event stream. The route should return "" right
+     * after; the connection stays open once the route is done.
+     *
+     * @param uuidFilter Only this user's activities, or null
+     * @param auidFilter Only this application's activities, or null
+     * @param lastEventId actuid to resume after, or null for live events only
+     * @param replay Reads the activities after lastEventId (same filters)
+     * @return false, with the response untouched, when MAX_CLIENTS streams are open
+     */
+    public static boolean open(Request req, Response res, String uuidFilter, String auidFilter,
+                               String lastEventId, Replay replay) throws IOException {
+        if (clients.size() >= MAX_CLIENTS) {
+            return false;
+        }
+
+        AsyncContext async = req.raw().startAsync();
+        async.setTimeout(0);
+        HttpServletResponse raw = res.raw();
+        raw.setStatus(200);
+        raw.setContentType("text/event-stream;charset=UTF-8");
+        raw.setHeader("Cache-Control", "no-cache");
+        raw.setHeader("X-Accel-Buffering", "no");
+        raw.getOutputStream().write(("retry: " + RETRY_MS + "\n\n").getBytes(UTF_8));
+        raw.flushBuffer();
+
+        // Registered before the replay query, so rows committed meanwhile are held, not missed
+        Client client = new Client(async, raw.getOutputStream(), uuidFilter, auidFilter);
+        clients.add(client);
+        opened.incrementAndGet();
+
+        List<ActivityRow> missed = Collections.emptyList();
+        if (lastEventId != null) {
+            try {
+                String from = Ids.floor(Ids.millis(lastEventId) - REPLAY_OVERLAP_MS);
+                missed = replay.after(from, REPLAY_LIMIT + 1);
+            } catch (RuntimeException e) {
+                // The 200 is out already; closing makes the client retry
+                System.err.println("Activity stream replay failed: " + e.getMessage());
+                client.close();
+                return true;
+            }
+        }
+        client.start(missed, lastEventId);
+        return true;
+    }
+
+    public static Stats stats() {
+        Stats s = new Stats();
+        s.clients = clients.size();
+        s.maxClients = MAX_CLIENTS;
+        s.opened = opened.get();
+        s.events = events.get();
+        s.dropped = dropped.get();
+        return s;
+    }
+
+    private static void broadcast(List<ActivityRow> rows) {
+        try {
+            for (ActivityRow row : rows) {
+                byte[] frame = null;
+                for (Client client : clients) {
+                    if (!client.matches(row)) continue;
+                    if (frame == null) frame = frame(row);
+                    client.send(row, frame);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Activity stream broadcast failed: " + e.getMessage());
+        }
+    }
+
+    private static void heartbeat() {
+        try {
+            for (Client client : clients) client.heartbeat();
+        } catch (RuntimeException e) {
+            // an exception would cancel the schedule
+            System.err.println("Activity stream heartbeat failed: " + e.getMessage());
+        }
+    }
+
+    private static byte[] frame(ActivityRow row) {
+        return ("id: " + row.actuid + "\nevent: activity\ndata: " + gson.toJson(row) + "\n\n").getBytes(UTF_8);
+    }
+
+    /** One open stream. All state is guarded by the instance lock. */
+    private static final class Client implements WriteListener, AsyncListener {
+        private final AsyncContext async;
+        private final ServletOutputStream out;
+        private final String uuid;
+        private final String auid;
+        private final ArrayDeque<byte[]> pending = new ArrayDeque<>();
+
+        // Live rows that arrived before the replay went out; null once it has
+        private List<ActivityRow> held = new ArrayList<>();
+        // Ids the replay sent; a row can still be published after the replay read it.
+        // Kept for at least one heartbeat interval, long after any such row has come through
+        private Set<String> replayed;
+        private boolean replayFresh;
+        private boolean unflushed;
+        private boolean closed;
+
+        Client(AsyncContext async, ServletOutputStream out, String uuid, String auid) {
+            this.async = async;
+            this.out = out;
+            this.uuid = uuid;
+            this.auid = auid;
+            async.addListener(this);
+            out.setWriteListener(this);
+        }
+
+        boolean matches(ActivityRow row) {
+            return (uuid == null || uuid.equals(row.uuid)) && (auid == null || auid.equals(row.auid));
+        }
+
+        synchronized void start(List<ActivityRow> missed, String lastEventId) {
+            if (closed) return;
+
+            int newer = 0;
+            for (ActivityRow row : missed) {
+                // Canonical ids sort as strings the way their bytes do
+                if (row.actuid.compareTo(lastEventId) > 0) newer++;
+            }
+            if (missed.size() > REPLAY_LIMIT || newer > REPLAY_MAX) {
+                queue(RESET);
+            } else {
+                replayed = new HashSet<>();
+                replayFresh = true;
+                for (ActivityRow row : missed) {
+                    if (!row.actuid.equals(lastEventId)) queue(frame(row));
+                    replayed.add(row.actuid);
+                }
+            }
+            for (ActivityRow row : held) {
+                if (replayed == null || !replayed.contains(row.actuid)) {
+                    queue(frame(row));
+                }
+            }
+            held = null;
+            pump();
+        }
+
+        synchronized void send(ActivityRow row, byte[] frame) {
+            if (closed) return;
+
+            if (held != null) {
+                held.add(row);
+                return;
+            }
+            if (replayed != null && replayed.contains(row.actuid)) {
+                return;
+            }
+            queue(frame);
+            events.incrementAndGet();
+            pump();
+        }
+
+        synchronized void heartbeat() {
+            if (closed || held != null) return;
+
+            if (replayFresh) replayFresh = false;
+            else replayed = null;
+            queue(HEARTBEAT);
+            pump();
+        }
+
+        private void queue(byte[] frame) {
+            if (closed) return;
+
+            if (pending.size() >= MAX_PENDING) {
+                dropped.incrementAndGet();
+                close();
+                return;
+            }
+            pending.add(frame);
+        }
+
+        /** Write until the socket would block; onWritePossible picks up from there. */
+        private void pump() {
+            if (closed) return;
+
+            try {
+                while (out.isReady()) {
+                    byte[] next = pending.poll();
+                    if (next != null) {
+                        out.write(next);
+                        unflushed = true;
+                    } else if (unflushed) {
+                        unflushed = false;
+                        out.flush();
+                    } else {
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        synchronized void close() {
+            if (closed) return;
+
+            closed = true;
+            pending.clear();
+            clients.remove(this);
+            try {
+                async.complete();
+            } catch (IllegalStateException e) {
+                // already completed
+            }
+        }
+
+        @Override
+        public synchronized void onWritePossible() {
+            pump();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            close();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
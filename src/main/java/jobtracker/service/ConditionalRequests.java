@@ -0,0 +1,171 @@
+package jobtracker.service;
+
+import jobtracker.dao.ReportDaoJdbc.ApplicationRow;
+import jobtracker.dao.TableVersions;
+import jobtracker.dao.TableVersions.Table;
+import jobtracker.db.Db;
+import spark.Request;
+import spark.Response;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+
+/**
+ * Utility class for HTTP validators: ETag / Last-Modified on GET responses,
+ * If-None-Match / If-Modified-Since (304) and If-Match (412) on the way in.
+ *
+ * Applications carry a version column, so their ETag is strong ("v3-1a2b3c",
+ * the suffix covering the joined user/job/company names) and usable with
+ * If-Match. Everything else, lists included, gets a weak ETag built from the
+ * {@link TableVersions} counters of the tables behind it. That tag is known
+ * before any query runs, so a poll that sends it back is answered 304 without
+ * touching the database or writing any JSON.
+ *
+ * TableVersions only sees writes made through this instance, so table tags
+ * also roll over every JOBTRACKER_CACHE_TTL_MS: with several instances a
+ * client picks up another instance's write no later than it would through the
+ * entity cache.
+ */
+public class ConditionalRequests {
+
+    private static final long WINDOW_MS = Math.max(1, Db.longEnv("JOBTRACKER_CACHE_TTL_MS", 60_000));
+    // Keeps tags from before a restart (when the counters were at the same values) from matching
+    private static final String INSTANCE = Long.toString(System.currentTimeMillis(), 36);
+    private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneOffset.UTC);
+
+    /**
+     * Weak ETag for a response read from the given tables.
+     *
+     * @param tables Every table the response reads, joins included
+     * @return e.g. W/"kq3v2x1c.3.0.12.29140021"
+     */
+    public static String tableTag(Table... tables) {
+        long window = System.currentTimeMillis() / WINDOW_MS;
+        return "W/\"" + INSTANCE + "." + TableVersions.stamp(tables) + "." + window + "\"";
+    }
+
+    /**
+     * Last-Modified for a response read from the given tables: the last write
+     * to any of them, but no earlier than the start of the current window.
+     */
+    public static long tableLastModified(Table... tables) {
+        long windowStart = System.currentTimeMillis() / WINDOW_MS * WINDOW_MS;
+        return Math.max(TableVersions.lastChanged(tables), windowStart);
+    }
+
+    /**
+     * Strong ETag for an application.
+     *
+     * @param app Application as returned by GET /api/applications/{auid}
+     * @return e.g. "v3-1a2b3c"
+     */
+    public static String applicationTag(ApplicationRow app) {
+        int joined = Objects.hash(app.userName, app.userEmail, app.companyName, app.jobTitle);
+        return "\"v" + (app.version == null ? 0 : app.version) + "-" + Integer.toHexString(joined) + "\"";
+    }
+
+    /**
+     * Set ETag and Last-Modified on the response and check the request's
+     * If-None-Match (or, without it, If-Modified-Since) against them.
+     * When the client already has this version, sets 304 and returns true;
+     * the route should then return "" instead of a body.
+     *
+     * @param req Spark Request object
+     * @param res Spark Response object
+     * @param etag Current ETag
+     * @param lastModifiedMillis Current Last-Modified, or 0 if unknown
+     * @return true if the response is a 304
+     */
+    public static boolean notModified(Request req, Response res, String etag, long lastModifiedMillis) {
+        res.header("ETag", etag);
+        res.header("Cache-Control", "no-cache");
+        if (lastModifiedMillis > 0) {
+            res.header("Last-Modified", HTTP_DATE.format(Instant.ofEpochMilli(lastModifiedMillis)));
+        }
+
+        boolean match;
+        String ifNoneMatch = req.headers("If-None-Match");
+        if (ifNoneMatch != null) {
+            match = anyTagMatches(ifNoneMatch, etag);
+        } else {
+            match = lastModifiedMillis > 0 && notModifiedSince(req.headers("If-Modified-Since"), lastModifiedMillis);
+        }
+
+        if (match) {
+            res.status(304);
+        }
+        return match;
+    }
+
+    /**
+     * {@link #notModified(Request, Response, String, long)} with the table tag and
+     * Last-Modified. Only for routes that call it before reading; a route that must
+     * read first (to answer 404) takes tableTag/tableLastModified before the read,
+     * or a write committing in between would get the old body the new tag.
+     */
+    public static boolean notModified(Request req, Response res, Table... tables) {
+        return notModified(req, res, tableTag(tables), tableLastModified(tables));
+    }
+
+    /**
+     * The application version named by an If-Match header.
+     * Returns null when the header is absent or "*" (update unconditionally).
+     * Weak tags and anything we did not issue parse to -1, which no row has,
+     * so the update fails with 412 as RFC 9110 asks.
+     *
+     * @param req Spark Request object
+     * @return Expected version, or null for none
+     */
+    public static Integer expectedVersion(Request req) {
+        String header = req.headers("If-Match");
+        if (header == null || header.trim().isEmpty() || header.trim().equals("*")) {
+            return null;
+        }
+        String tag = header.trim().replace("\"", "");
+        if (!tag.startsWith("v")) {
+            return -1;
+        }
+        int end = 1;
+        while (end < tag.length() && Character.isDigit(tag.charAt(end))) {
+            end++;
+        }
+        try {
+            return Integer.parseInt(tag.substring(1, end));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /** Weak comparison against a comma-separated If-None-Match list. */
+    private static boolean anyTagMatches(String header, String etag) {
+        String current = opaque(etag);
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaque(tag).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    /** HTTP dates have whole seconds; an unparsable date counts as modified. */
+    private static boolean notModifiedSince(String header, long lastModifiedMillis) {
+        if (header == null) {
+            return false;
+        }
+        try {
+            long since = ZonedDateTime.parse(header.trim(), HTTP_DATE).toEpochSecond();
+            return lastModifiedMillis / 1000 <= since;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+}
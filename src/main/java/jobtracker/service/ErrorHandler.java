@@ -53,6 +53,21 @@ public class ErrorHandler {
         return ResponseBuilder.error(message, "CONFLICT");
     }
 
+    /**
+     * Handle a failed precondition (If-Match no longer matches the resource).
+     * Sets HTTP status to 412 and returns error JSON.
+     *
+     * @param res Spark Response object
+     * @param message Description of the mismatch
+     * @return JSON error response
+     *
+     * Example: application was updated by another client since it was read
+     */
+    public static String preconditionFailed(Response res, String message) {
+        res.status(412);
+        return ResponseBuilder.error(message, "PRECONDITION_FAILED");
+    }
+
     /**
      * Handle an internal server error (unexpected exception).
      * Sets HTTP status to 500 and returns error JSON.
@@ -1,12 +1,41 @@
 package jobtracker.service;
 
 import jobtracker.business.*;
+import jobtracker.dao.ActivityWriteException;
+import jobtracker.dao.ActivityWriter;
+import jobtracker.dao.BatchResult;
+import jobtracker.dao.ConstraintViolationException;
+import jobtracker.dao.Ids;
+import jobtracker.dao.OptimisticLockException;
+import jobtracker.dao.PageCursor;
+import jobtracker.dao.StatCounters;
+import jobtracker.dao.SyncTokenExpiredException;
 import jobtracker.dao.ReportDaoJdbc;
 import jobtracker.dao.ReportDaoJdbc.*;
+import jobtracker.dao.TableVersions.Table;
+import jobtracker.db.Db;
+import jobtracker.db.UnitOfWork;
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import spark.Request;
 import spark.Response;
-
+import spark.Route;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletRequestWrapper;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
 
 import static spark.Spark.*;
@@ -31,9 +60,17 @@ import static spark.Spark.*;
  * API ENDPOINTS SUMMARY
  * ============================================================================
  *
+ * Timestamps are ISO-8601 local date-times in both directions, e.g. "2024-01-01T10:00:00".
+ *
+ * LIST ENDPOINTS accept either offset paging (?limit=10&offset=0, returns an array)
+ * or keyset paging (?limit=10&cursor=, returns {"items":[...],"nextCursor":"..."};
+ * pass nextCursor back as cursor for the next page, null means no more rows).
+ *
  * USER ENDPOINTS:
  *   POST   /api/users                           - Create user
  *   GET    /api/users/{uuid}                    - Get user by ID
+ *   GET    /api/users/{uuid}/board?n=5          - Applications by status: count + newest n each
+ *   POST   /api/users/batch                     - Get many users by ID ({"ids":[...]})
  *   GET    /api/users?limit=10&offset=0         - List all users (paginated)
  *   DELETE /api/users/{uuid}                    - Delete user
  *   GET    /api/users/email/{email}/exists      - Check if email exists
@@ -41,6 +78,7 @@ import static spark.Spark.*;
  * COMPANY ENDPOINTS:
  *   POST   /api/companies                       - Create company
  *   GET    /api/companies/{cuid}                - Get company by ID
+ *   POST   /api/companies/batch                 - Get many companies by ID ({"ids":[...]})
  *   GET    /api/companies?limit=10&offset=0     - List all companies (paginated)
  *   DELETE /api/companies/{cuid}                - Delete company
  *   GET    /api/companies/name/{name}/exists    - Check if company name exists
@@ -48,32 +86,64 @@ import static spark.Spark.*;
  * JOB ENDPOINTS:
  *   POST   /api/jobs                            - Create job
  *   GET    /api/jobs/{juid}                     - Get job by ID
+ *   POST   /api/jobs/batch                      - Get many jobs by ID ({"ids":[...]})
  *   GET    /api/jobs?limit=10&offset=0          - List all jobs (paginated)
  *   DELETE /api/jobs/{juid}                     - Delete job
  *   GET    /api/jobs/{juid}/exists              - Check if job exists
  *
  * APPLICATION ENDPOINTS:
  *   POST   /api/applications                    - Create application
+ *   POST   /api/applications/bulk               - Bulk import applications (NDJSON in, NDJSON out)
+ *   GET    /api/applications/changes?since=     - Applications changed/deleted since a sync token
  *   GET    /api/applications/{auid}             - Get application by ID
+ *   GET    /api/applications/{auid}/full        - Application with job, company and activities
+ *   POST   /api/applications/batch              - Get many applications by ID ({"ids":[...]})
  *   GET    /api/applications?limit=10&offset=0  - List all applications (paginated)
  *   DELETE /api/applications/{auid}             - Delete application
  *   PUT    /api/applications/{auid}/status      - Update application status
  *   PUT    /api/applications/{auid}/notes       - Update application notes
  *   PUT    /api/applications/{auid}/source      - Update application source
+ *   PATCH  /api/applications/{auid}             - Update any of status, notes, source at once
+ *   PUT    /api/applications/status/bulk        - Set one status on many applications
  *   GET    /api/applications/{auid}/exists      - Check if application exists
  *   GET    /api/applications/user/{uuid}/job/{juid}/exists - Check duplicate application
  *
+ *   GET /api/applications/{auid} sends an ETag ("v<version>-..."). The PUT routes accept
+ *   If-Match with that ETag and answer 412 if the application changed in between.
+ *
  * ACTIVITY ENDPOINTS:
  *   GET    /api/activities/application/{auid}   - Get activities for application
  *   GET    /api/activities?limit=10&offset=0&auid={filter} - List all activities
+ *   GET    /api/activities/stream?uuid=&auid=   - Live feed of new activities (Server-Sent Events)
  *   GET    /api/activities/{actuid}             - Get activity by ID
  *   PUT    /api/activities/{actuid}/details     - Update activity details
  *
+ * EXPORT ENDPOINTS (NDJSON, streamed):
+ *   GET    /api/export/applications?since=...  - All applications, or those updated since
+ *   GET    /api/export/activities?since=...    - All activities, or those since
+ *
+ * The GET-by-id and list routes (not the exports) send ETag and Last-Modified and
+ * answer If-None-Match / If-Modified-Since with 304 Not Modified (see ConditionalRequests).
+ *
+ * STATS ENDPOINTS:
+ *   GET    /api/stats/pool                      - Connection pool metrics
+ *   GET    /api/stats/cache                     - Entity cache metrics
+ *   GET    /api/stats/coalescing                - Read coalescing (single-flight) metrics
+ *   GET    /api/stats/batching                  - Point lookup batching metrics
+ *   GET    /api/stats/activity-writer           - Activity write-behind (group commit) metrics
+ *   GET    /api/stats/activity-stream           - Activity event stream metrics
+ *   GET    /api/stats/counts?uuid=              - Row counts per table, status and source
+ *   GET    /api/stats/funnel?uuid=              - Applications per status, in pipeline order
+ *   POST   /api/stats/counts/reconcile          - Recount everything and fix drifted counters
+ *
  * ============================================================================
  */
 public class JobTrackerRestService {
 
-    private static final Gson gson = new Gson();
+    private static final String UNIT_OF_WORK = "jobtracker.unitOfWork";
+    private static final int BULK_CHUNK_SIZE = 500;
+    private static final int MAX_BATCH_IDS = 500;
+    private static final Gson gson = RowTypeAdapters.register(new GsonBuilder()).create();
     private static final UserManager userMgr = new UserManager();
     private static final CompanyManager companyMgr = new CompanyManager();
     private static final JobManager jobMgr = new JobManager();
@@ -81,6 +151,14 @@ public class JobTrackerRestService {
     private static final ActivityManager activityMgr = new ActivityManager();
 
     public static void main(String[] args) {
+        // A mistyped write mode would otherwise run as DIRECT; refuse to start instead
+        try {
+            ActivityWriter.modeFromEnvironment();
+        } catch (IllegalArgumentException e) {
+            System.err.println("✗ " + e.getMessage());
+            System.exit(1);
+        }
+
         // Configure server
         port(8080);
 
@@ -94,6 +172,22 @@ public class JobTrackerRestService {
             System.err.println("✗ Database connection failed!");
             System.exit(1);
         }
+        StatCounters.scheduleReconcile();
+        ReportDaoJdbc.scheduleTombstonePurge();
+
+        // =====================================================================
+        // REQUEST SCOPE
+        // =====================================================================
+
+        // Every manager/DAO call made while handling one request shares a single
+        // pooled connection; it is borrowed on first use and returned here.
+        before("/api/*", (req, res) -> req.attribute(UNIT_OF_WORK, Db.beginUnitOfWork()));
+        afterAfter("/api/*", (req, res) -> {
+            UnitOfWork uow = req.attribute(UNIT_OF_WORK);
+            if (uow != null) {
+                uow.close();
+            }
+        });
 
         // =====================================================================
         // USER ENDPOINTS
@@ -123,14 +217,16 @@ public class JobTrackerRestService {
                     return ErrorHandler.badRequest(res, "Name is required");
                 }
 
-                if (userMgr.emailExists(user.email)) {
-                    return ErrorHandler.conflict(res, "Email already exists");
-                }
-
-                res.status(201);
+                // No emailExists pre-check: the unique key on email decides
                 res.type("application/json");
                 String uuid = userMgr.saveUser(user);
+                res.status(201);
                 return ResponseBuilder.success(uuid);
+            } catch (ConstraintViolationException e) {
+                if (e.kind == ConstraintViolationException.Kind.DUPLICATE) {
+                    return ErrorHandler.conflict(res, "Email already exists");
+                }
+                return ErrorHandler.internalError(res, e);
             } catch (Exception e) {
                 return ErrorHandler.internalError(res, e);
             }
@@ -139,7 +235,7 @@ public class JobTrackerRestService {
         /**
          * GET /api/users/{uuid} - Get user by UUID
          * Returns: User object with all fields
-         * Status: 200 Success | 404 Not Found | 500 Error
+         * Status: 200 Success | 304 Not Modified | 404 Not Found | 500 Error
          *
          * curl http://localhost:8080/api/users/550e8400-e29b-41d4-a716-446655440000
          */
@@ -147,12 +243,18 @@ public class JobTrackerRestService {
             try {
                 res.type("application/json");
                 String uuid = req.params(":uuid");
+                // Validators first: a write committing after the read then changes the tag
+                String etag = ConditionalRequests.tableTag(Table.USER);
+                long lastModified = ConditionalRequests.tableLastModified(Table.USER);
                 UserRow user = userMgr.getUserById(uuid);
 
                 if (user == null) {
                     return ErrorHandler.notFound(res, "User not found: " + uuid);
                 }
 
+                if (ConditionalRequests.notModified(req, res, etag, lastModified)) {
+                    return "";
+                }
                 return ResponseBuilder.success(user);
             } catch (Exception e) {
                 return ErrorHandler.internalError(res, e);
@@ -160,12 +262,67 @@ public class JobTrackerRestService {
         });
 
         /**
-         * GET /api/users?limit=10&offset=0 - List all users (paginated)
-         * Query params: limit (default 10), offset (default 0)
-         * Returns: Array of users
+         * GET /api/users/{uuid}/board - Kanban board of the user's applications
+         * Query params: n (default 5, 1-50) - applications per column
+         * Returns: {uuid, perColumn, columns: [{status, count, applications: [...]}]}, one
+         *          column per status in pipeline order, newest applied_at first
+         * Status: 200 Success | 304 Not Modified | 400 Bad Request | 404 Not Found | 500 Error
+         *
+         * curl "http://localhost:8080/api/users/550e8400-e29b-41d4-a716-446655440000/board?n=3"
+         */
+        get("/api/users/:uuid/board", (req, res) -> {
+            try {
+                res.type("application/json");
+                String uuid = req.params(":uuid");
+                int n = Integer.parseInt(req.queryParamOrDefault("n", "5"));
+                if (n < 1 || n > ReportDaoJdbc.BOARD_MAX_PER_COLUMN) {
+                    return ErrorHandler.badRequest(res, "n must be between 1 and " + ReportDaoJdbc.BOARD_MAX_PER_COLUMN);
+                }
+                if (userMgr.getUserById(uuid) == null) {
+                    return ErrorHandler.notFound(res, "User not found: " + uuid);
+                }
+
+                if (ConditionalRequests.notModified(req, res, Table.APPLICATION, Table.USER, Table.JOB, Table.COMPANY)) {
+                    return "";
+                }
+                return ResponseBuilder.success(appMgr.getBoard(uuid, n));
+            } catch (NumberFormatException e) {
+                return ErrorHandler.badRequest(res, "Invalid n format");
+            } catch (Exception e) {
+                return ErrorHandler.internalError(res, e);
+            }
+        });
+
+        /**
+         * POST /api/users/batch - Get many users by ID in one call
+         * Request body: {"ids":["...","..."]} (at most 500 ids)
+         * Returns: {"found":[...],"missing":["..."]}, found in request order
          * Status: 200 Success | 400 Bad Request | 500 Error
          *
+         * curl -X POST http://localhost:8080/api/users/batch \
+         *   -H "Content-Type: application/json" \
+         *   -d '{"ids":["550e8400-e29b-41d4-a716-446655440000"]}'
+         */
+        post("/api/users/batch", (req, res) -> {
+            try {
+                res.type("application/json");
+                List<String> ids = parseIdList(req);
+                return ResponseBuilder.success(userMgr.getUsersByIds(ids));
+            } catch (IllegalArgumentException e) {
+                return ErrorHandler.badRequest(res, e.getMessage());
+            } catch (Exception e) {
+                return ErrorHandler.internalError(res, e);
+            }
+        });
+
+        /**
+         * GET /api/users?limit=10&offset=0 - List all users (paginated)
+         * Query params: limit (default 10), offset (default 0), cursor (keyset paging)
+         * Returns: Array of users, or {"items":[...],"nextCursor":"..."} when cursor is given
+         * Status: 200 Success | 304 Not Modified | 400 Bad Request | 500 Error
+         *
          * curl "http://localhost:8080/api/users?limit=20&offset=0"
+         * curl "http://localhost:8080/api/users?limit=20&cursor="   (keyset: first page, then pass nextCursor)
          */
         get("/api/users", (req, res) -> {
             try {
@@ -176,9 +333,22 @@ public class JobTrackerRestService {
                 if (limit < 1 || offset < 0) {
                     return ErrorHandler.badRequest(res, "limit must be >= 1, offset must be >= 0");
                 }
+                if (ConditionalRequests.notModified(req, res, Table.USER)) {
+                    return "";
+                }
+
+                // Keyset mode: any cursor param (empty for the first page) returns {items, nextCursor}
+                if (req.queryParams("cursor") != null) {
+                    PageCursor after;
+                    try {
+                        after = PageCursor.decode(req.queryParams("cursor"));
+                    } catch (IllegalArgumentException e) {
+                        return ErrorHandler.badRequest(res, "Invalid cursor");
+                    }
+                    return ResponseBuilder.streamPage(res, sink -> userMgr.streamUsersPage(limit, after, sink));
+                }
 
-                List<UserRow> users = userMgr.getAllUsers(limit, offset);
-                return ResponseBuilder.success(users);
+                return ResponseBuilder.streamList(res, sink -> userMgr.streamUsers(limit, offset, sink));
             } catch (NumberFormatException e) {
                 return ErrorHandler.badRequest(res, "Invalid limit or offset format");
             } catch (Exception e) {
@@ -189,7 +359,7 @@ public class JobTrackerRestService {
         /**
          * DELETE /api/users/{uuid} - Delete user
          * Returns: Empty response
-         * Status: 204 No Content | 404 Not Found | 500 Error
+         * Status: 204 No Content | 404 Not Found | 409 Conflict (has applications) | 500 Error
          *
          * curl -X DELETE http://localhost:8080/api/users/550e8400-e29b-41d4-a716-446655440000
          */
@@ -198,13 +368,14 @@ public class JobTrackerRestService {
                 res.type("application/json");
                 String uuid = req.params(":uuid");
 
-                if (userMgr.getUserById(uuid) == null) {
+                if (!userMgr.deleteUser(uuid)) {
                     return ErrorHandler.notFound(res, "User not found: " + uuid);
                 }
 
-                userMgr.deleteUser(uuid);
                 res.status(204);
                 return "";
+            } catch (ConstraintViolationException e) {
+                return ErrorHandler.conflict(res, "Cannot delete user with existing applications");
             } catch (Exception e) {
                 return ErrorHandler.internalError(res, e);
             }
@@ -250,14 +421,16 @@ public class JobTrackerRestService {
                     return ErrorHandler.badRequest(res, "Company name is required");
                 }
 
-                if (companyMgr.companyNameExists(company.name)) {
-                    return ErrorHandler.conflict(res, "Company name already exists");
-                }
-
-                res.status(201);
+                // No companyNameExists pre-check: the unique key on name decides
                 res.type("application/json");
                 String cuid = companyMgr.saveCompany(company);
+                res.status(201);
                 return ResponseBuilder.success(cuid);
+            } catch (ConstraintViolationException e) {
+                if (e.kind == ConstraintViolationException.Kind.DUPLICATE) {
+                    return ErrorHandler.conflict(res, "Company name already exists");
+                }
+                return ErrorHandler.internalError(res, e);
             } catch (Exception e) {
                 return ErrorHandler.internalError(res, e);
             }
@@ -266,7 +439,7 @@ public class JobTrackerRestService {
         /**
          * GET /api/companies/{cuid} - Get company by ID
          * Returns: Company object
-         * Status: 200 Success | 404 Not Found | 500 Error
+         * Status: 200 Success | 304 Not Modified | 404 Not Found | 500 Error
          *
          * curl http://localhost:8080/api/companies/550e8400-e29b-41d4-a716-446655440000
          */
@@ -274,24 +447,52 @@ public class JobTrackerRestService {
             try {
                 res.type("application/json");
                 String cuid = req.params(":cuid");
+                String etag = ConditionalRequests.tableTag(Table.COMPANY);
+                long lastModified = ConditionalRequests.tableLastModified(Table.COMPANY);
                 CompanyRow company = companyMgr.getCompanyById(cuid);
 
                 if (company == null) {
                     return ErrorHandler.notFound(res, "Company not found: " + cuid);
                 }
 
+                if (ConditionalRequests.notModified(req, res, etag, lastModified)) {
+                    return "";
+                }
                 return ResponseBuilder.success(company);
             } catch (Exception e) {
                 return ErrorHandler.internalError(res, e);
             }
         });
 
+        /**
+         * POST /api/companies/batch - Get many companies by ID in one call
+         * Request body: {"ids":["...","..."]} (at most 500 ids)
+         * Returns: {"found":[...],"missing":["..."]}, found in request order
+         * Status: 200 Success | 400 Bad Request | 500 Error
+         *
+         * curl -X POST http://localhost:8080/api/companies/batch \
+         *   -H "Content-Type: application/json" \
+         *   -d '{"ids":["550e8400-e29b-41d4-a716-446655440000"]}'
+         */
+        post("/api/companies/batch", (req, res) -> {
+            try {
+                res.type("application/json");
+                List<String> ids = parseIdList(req);
+                return ResponseBuilder.success(companyMgr.getCompaniesByIds(ids));
+            } catch (IllegalArgumentException e) {
+                return ErrorHandler.badRequest(res, e.getMessage());
+            } catch (Exception e) {
+                return ErrorHandler.internalError(res, e);
+            }
+        });
+
         /**
          * GET /api/companies?limit=10&offset=0 - List companies (paginated)
          * Returns: Array of companies
-         * Status: 200 Success | 400 Bad Request | 500 Error
+         * Status: 200 Success | 304 Not Modified | 400 Bad Request | 500 Error
          *
          * curl "http://localhost:8080/api/companies?limit=20&offset=0"
+         * curl "http://localhost:8080/api/companies?limit=20&cursor="   (keyset: first page, then pass nextCursor)
          */
         get("/api/companies", (req, res) -> {
             try {
@@ -302,9 +503,22 @@ public class JobTrackerRestService {
                 if (limit < 1 || offset < 0) {
                     return ErrorHandler.badRequest(res, "limit must be >= 1, offset must be >= 0");
                 }
+                if (ConditionalRequests.notModified(req, res, Table.COMPANY)) {
+                    return "";
+                }
+
+                // Keyset mode: any cursor param (empty for the first page) returns {items, nextCursor}
+                if (req.queryParams("cursor") != null) {
+                    PageCursor after;
+                    try {
+                        after = PageCursor.decode(req.queryParams("cursor"));
+                    } catch (IllegalArgumentException e) {
+                        return ErrorHandler.badRequest(res, "Invalid cursor");
+                    }
+                    return ResponseBuilder.streamPage(res, sink -> companyMgr.streamCompaniesPage(limit, after, sink));
+                }
 
-                List<CompanyRow> companies = companyMgr.getAllCompanies(limit, offset);
-                return ResponseBuilder.success(companies);
+                return ResponseBuilder.streamList(res, sink -> companyMgr.streamCompanies(limit, offset, sink));
             } catch (NumberFormatException e) {
                 return ErrorHandler.badRequest(res, "Invalid limit or offset format");
             } catch (Exception e) {
@@ -323,18 +537,14 @@ public class JobTrackerRestService {
                 res.type("application/json");
                 String cuid = req.params(":cuid");
 
-                if (companyMgr.getCompanyById(cuid) == null) {
+                if (!companyMgr.deleteCompany(cuid)) {
                     return ErrorHandler.notFound(res, "Company not found: " + cuid);
                 }
 
-                companyMgr.deleteCompany(cuid);
                 res.status(204);
                 return "";
-            } catch (RuntimeException e) {
-                if (e.getMessage().contains("Cannot delete company")) {
-                    return ErrorHandler.conflict(res, "Cannot delete company with existing jobs");
-                }
-                return ErrorHandler.internalError(res, e);
+            } catch (ConstraintViolationException e) {
+                return ErrorHandler.conflict(res, "Cannot delete company with existing jobs");
             } catch (Exception e) {
                 return ErrorHandler.internalError(res, e);
             }
@@ -383,14 +593,18 @@ public class JobTrackerRestService {
                     return ErrorHandler.badRequest(res, "Job title is required");
                 }
 
-                if (companyMgr.getCompanyById(job.cuid) == null) {
-                    return ErrorHandler.notFound(res, "Company not found: " + job.cuid);
-                }
-
-                res.status(201);
                 res.type("application/json");
-                String juid = jobMgr.saveJob(job);
-                return ResponseBuilder.success(juid);
+                try {
+                    String juid = jobMgr.saveJob(job);
+                    res.status(201);
+                    return ResponseBuilder.success(juid);
+                } catch (ConstraintViolationException e) {
+                    // An unknown company fails the insert on fk_job_company
+                    if (e.kind == ConstraintViolationException.Kind.MISSING_PARENT) {
+                        return ErrorHandler.notFound(res, "Company not found: " + job.cuid);
+                    }
+                    throw e;
+                }
             } catch (Exception e) {
                 return ErrorHandler.internalError(res, e);
             }
@@ -399,7 +613,7 @@ public class JobTrackerRestService {
         /**
          * GET /api/jobs/{juid} - Get job by ID
          * Returns: Job object
-         * Status: 200 Success | 404 Not Found | 500 Error
+         * Status: 200 Success | 304 Not Modified | 404 Not Found | 500 Error
          *
          * curl http://localhost:8080/api/jobs/550e8400-e29b-41d4-a716-446655440000
          */
@@ -407,24 +621,52 @@ public class JobTrackerRestService {
             try {
                 res.type("application/json");
                 String juid = req.params(":juid");
+                String etag = ConditionalRequests.tableTag(Table.JOB);
+                long lastModified = ConditionalRequests.tableLastModified(Table.JOB);
                 JobRow job = jobMgr.getJobById(juid);
 
                 if (job == null) {
                     return ErrorHandler.notFound(res, "Job not found: " + juid);
                 }
 
+                if (ConditionalRequests.notModified(req, res, etag, lastModified)) {
+                    return "";
+                }
                 return ResponseBuilder.success(job);
             } catch (Exception e) {
                 return ErrorHandler.internalError(res, e);
             }
         });
 
+        /**
+         * POST /api/jobs/batch - Get many jobs by ID in one call
+         * Request body: {"ids":["...","..."]} (at most 500 ids)
+         * Returns: {"found":[...],"missing":["..."]}, found in request order
+         * Status: 200 Success | 400 Bad Request | 500 Error
+         *
+         * curl -X POST http://localhost:8080/api/jobs/batch \
+         *   -H "Content-Type: application/json" \
+         *   -d '{"ids":["550e8400-e29b-41d4-a716-446655440000"]}'
+         */
+        post("/api/jobs/batch", (req, res) -> {
+            try {
+                res.type("application/json");
+                List<String> ids = parseIdList(req);
+                return ResponseBuilder.success(jobMgr.getJobsByIds(ids));
+            } catch (IllegalArgumentException e) {
+                return ErrorHandler.badRequest(res, e.getMessage());
+            } catch (Exception e) {
+                return ErrorHandler.internalError(res, e);
+            }
+        });
+
         /**
          * GET /api/jobs?limit=10&offset=0 - List jobs (paginated)
          * Returns: Array of jobs
-         * Status: 200 Success | 400 Bad Request | 500 Error
+         * Status: 200 Success | 304 Not Modified | 400 Bad Request | 500 Error
          *
          * curl "http://localhost:8080/api/jobs?limit=20&offset=0"
+         * curl "http://localhost:8080/api/jobs?limit=20&cursor="   (keyset: first page, then pass nextCursor)
          */
         get("/api/jobs", (req, res) -> {
             try {
@@ -435,9 +677,22 @@ public class JobTrackerRestService {
                 if (limit < 1 || offset < 0) {
                     return ErrorHandler.badRequest(res, "limit must be >= 1, offset must be >= 0");
                 }
+                if (ConditionalRequests.notModified(req, res, Table.JOB)) {
+                    return "";
+                }
 
-                List<JobRow> jobs = jobMgr.getAllJobs(limit, offset);
-                return ResponseBuilder.success(jobs);
+                // Keyset mode: any cursor param (empty for the first page) returns {items, nextCursor}
+                if (req.queryParams("cursor") != null) {
+                    PageCursor after;
+                    try {
+                        after = PageCursor.decode(req.queryParams("cursor"));
+                    } catch (IllegalArgumentException e) {
+                        return ErrorHandler.badRequest(res, "Invalid cursor");
+                    }
+                    return ResponseBuilder.streamPage(res, sink -> jobMgr.streamJobsPage(limit, after, sink));
+                }
+
+                return ResponseBuilder.streamList(res, sink -> jobMgr.streamJobs(limit, offset, sink));
             } catch (NumberFormatException e) {
                 return ErrorHandler.badRequest(res, "Invalid limit or offset format");
             } catch (Exception e) {
@@ -456,18 +711,14 @@ public class JobTrackerRestService {
                 res.type("application/json");
                 String juid = req.params(":juid");
 
-                if (jobMgr.getJobById(juid) == null) {
+                if (!jobMgr.deleteJob(juid)) {
                     return ErrorHandler.notFound(res, "Job not found: " + juid);
                 }
 
-                jobMgr.deleteJob(juid);
                 res.status(204);
                 return "";
-            } catch (RuntimeException e) {
-                if (e.getMessage().contains("Cannot delete job")) {
-                    return ErrorHandler.conflict(res, "Cannot delete job with existing applications");
-                }
-                return ErrorHandler.internalError(res, e);
+            } catch (ConstraintViolationException e) {
+                return ErrorHandler.conflict(res, "Cannot delete job with existing applications");
             } catch (Exception e) {
                 return ErrorHandler.internalError(res, e);
             }
@@ -505,7 +756,7 @@ public class JobTrackerRestService {
          *   -H "Content-Type: application/json" \
          *   -d '{"uuid":"...","juid":"...","status":"applied","source":"LinkedIn"}'
          */
-        post("/api/applications", (req, res) -> {
+        post("/api/applications", transactional((req, res) -> {
             try {
                 ApplicationRow app = gson.fromJson(req.body(), ApplicationRow.class);
 
@@ -519,21 +770,130 @@ public class JobTrackerRestService {
                     return ErrorHandler.badRequest(res, "Status is required");
                 }
 
-                if (userMgr.getUserById(app.uuid) == null) {
-                    return ErrorHandler.notFound(res, "User not found: " + app.uuid);
-                }
-                if (jobMgr.getJobById(app.juid) == null) {
-                    return ErrorHandler.notFound(res, "Job not found: " + app.juid);
+                res.type("application/json");
+                try {
+                    String auid = appMgr.saveApplication(app);
+                    res.status(201);
+                    return ResponseBuilder.success(auid);
+                } catch (ConstraintViolationException e) {
+                    String message = applicationRejected(e, app);
+                    if (message == null) {
+                        throw e;
+                    }
+                    return e.kind == ConstraintViolationException.Kind.DUPLICATE
+                        ? ErrorHandler.conflict(res, message)
+                        : ErrorHandler.notFound(res, message);
                 }
+            } catch (Exception e) {
+                return ErrorHandler.internalError(res, e);
+            }
+        }));
 
-                if (appMgr.userJobApplicationExists(app.uuid, app.juid)) {
-                    return ErrorHandler.conflict(res, "User already applied to this job");
+        /**
+         * POST /api/applications/bulk - Bulk import applications from NDJSON
+         * Request: one application object per line, same fields as POST /api/applications
+         *          (appliedAt is kept when given, otherwise the import time is used)
+         * Returns: NDJSON, one result per input line in order - {"line":1,"auid":"..."} or
+         *          {"line":2,"error":"..."} - then a final {"inserted":n,"failed":m}
+         * Status: 200 Success (per-row errors are reported inline) | 500 Error
+         *
+         * Rows are written in transactions of BULK_CHUNK_SIZE together with their
+         * 'created' activities, and each chunk's results are flushed as soon as it commits.
+         * The body is read as it arrives, never held in memory as a whole.
+         *
+         * curl -X POST http://localhost:8080/api/applications/bulk \
+         *   -H "Content-Type: application/x-ndjson" \
+         *   --data-binary @applications.ndjson
+         */
+        post("/api/applications/bulk", (req, res) -> {
+            int inserted = 0;
+            int processed = 0;
+            Writer out = null;
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(streamingBody(req), StandardCharsets.UTF_8))) {
+                out = ndjsonWriter(res);
+
+                List<BulkLine> chunk = new ArrayList<>();
+                int valid = 0;
+                int lineNo = 0;
+                String line;
+                while ((line = in.readLine()) != null) {
+                    lineNo++;
+                    if (line.trim().isEmpty()) {
+                        continue;
+                    }
+
+                    BulkLine entry = new BulkLine(lineNo);
+                    try {
+                        entry.row = gson.fromJson(line, ApplicationRow.class);
+                        if (entry.row == null) {
+                            throw new IllegalArgumentException("Empty row");
+                        }
+                        entry.row.auid = null;
+                        appMgr.validateNewApplication(entry.row);
+                        valid++;
+                    } catch (JsonParseException | IllegalArgumentException e) {
+                        entry.row = null;
+                        entry.error = e.getMessage();
+                    }
+                    chunk.add(entry);
+
+                    if (valid == BULK_CHUNK_SIZE) {
+                        inserted += writeBulkChunk(chunk, out);
+                        processed += chunk.size();
+                        chunk.clear();
+                        valid = 0;
+                    }
                 }
+                inserted += writeBulkChunk(chunk, out);
+                processed += chunk.size();
 
-                res.status(201);
+                out.write(gson.toJson(new BulkSummary(inserted, processed - inserted)));
+                out.write('\n');
+                out.flush();
+                return "";
+            } catch (Exception e) {
+                return streamFailed(res, out, e, "Import aborted after " + processed
+                        + " rows (" + inserted + " inserted)");
+            }
+        });
+
+        /**
+         * GET /api/applications/changes?since={token}&uuid={user}&limit=100 - Delta sync
+         * Query params: since (token from the last call; absent or empty = full sync),
+         *               uuid (optional, only this user's applications; pass it on every call),
+         *               limit (default 100, at most 500)
+         * Returns: {"updated":[...applications...],"deleted":["auid",...],"nextToken":"...","hasMore":false}
+         * Status: 200 Success | 400 Bad Request | 410 Gone (token expired, full sync needed) | 500 Error
+         *
+         * Apply updated as upserts and deleted as removals, store nextToken, and call
+         * again right away while hasMore is true. Changes from the last few seconds can
+         * come again on the next call.
+         *
+         * curl "http://localhost:8080/api/applications/changes"
+         * curl "http://localhost:8080/api/applications/changes?since=MTcwNDEwMzIwMDAwMDo..."
+         */
+        get("/api/applications/changes", (req, res) -> {
+            try {
                 res.type("application/json");
-                String auid = appMgr.saveApplication(app);
-                return ResponseBuilder.success(auid);
+                int limit = Integer.parseInt(req.queryParamOrDefault("limit", "100"));
+                if (limit < 1 || limit > MAX_BATCH_IDS) {
+                    return ErrorHandler.badRequest(res, "limit must be between 1 and " + MAX_BATCH_IDS);
+                }
+                String uuid = optionalId(req.queryParams("uuid"), "uuid");
+
+                PageCursor since;
+                try {
+                    since = PageCursor.decode(req.queryParams("since"));
+                } catch (IllegalArgumentException e) {
+                    return ErrorHandler.badRequest(res, "Invalid since token");
+                }
+                return ResponseBuilder.success(appMgr.getApplicationChanges(since, uuid, limit));
+            } catch (NumberFormatException e) {
+                return ErrorHandler.badRequest(res, "Invalid limit format");
+            } catch (SyncTokenExpiredException e) {
+                return ErrorHandler.error(res, 410, e.getMessage());
+            } catch (IllegalArgumentException e) {
+                return ErrorHandler.badRequest(res, e.getMessage());
             } catch (Exception e) {
                 return ErrorHandler.internalError(res, e);
             }
@@ -542,7 +902,8 @@ public class JobTrackerRestService {
         /**
          * GET /api/applications/{auid} - Get application by ID
          * Returns: Application object with user/company/job details
-         * Status: 200 Success | 404 Not Found | 500 Error
+         * Headers: ETag - current version, for If-Match on the PUT routes
+         * Status: 200 Success | 304 Not Modified | 404 Not Found | 500 Error
          *
          * curl http://localhost:8080/api/applications/550e8400-e29b-41d4-a716-446655440000
          */
@@ -556,18 +917,46 @@ public class JobTrackerRestService {
                     return ErrorHandler.notFound(res, "Application not found: " + auid);
                 }
 
+                Timestamp modified = app.lastUpdatedAt;
+                if (ConditionalRequests.notModified(req, res, ConditionalRequests.applicationTag(app),
+                        modified != null ? modified.getTime() : 0)) {
+                    return "";
+                }
                 return ResponseBuilder.success(app);
             } catch (Exception e) {
                 return ErrorHandler.internalError(res, e);
             }
         });
 
+        /**
+         * POST /api/applications/batch - Get many applications by ID in one call
+         * Request body: {"ids":["...","..."]} (at most 500 ids)
+         * Returns: {"found":[...],"missing":["..."]}, found in request order
+         * Status: 200 Success | 400 Bad Request | 500 Error
+         *
+         * curl -X POST http://localhost:8080/api/applications/batch \
+         *   -H "Content-Type: application/json" \
+         *   -d '{"ids":["550e8400-e29b-41d4-a716-446655440000"]}'
+         */
+        post("/api/applications/batch", (req, res) -> {
+            try {
+                res.type("application/json");
+                List<String> ids = parseIdList(req);
+                return ResponseBuilder.success(appMgr.getApplicationsByIds(ids));
+            } catch (IllegalArgumentException e) {
+                return ErrorHandler.badRequest(res, e.getMessage());
+            } catch (Exception e) {
+                return ErrorHandler.internalError(res, e);
+            }
+        });
+
         /**
          * GET /api/applications?limit=10&offset=0 - List applications (paginated)
          * Returns: Array of applications with full details
-         * Status: 200 Success | 400 Bad Request | 500 Error
+         * Status: 200 Success | 304 Not Modified | 400 Bad Request | 500 Error
          *
          * curl "http://localhost:8080/api/applications?limit=20&offset=0"
+         * curl "http://localhost:8080/api/applications?limit=20&cursor="   (keyset: first page, then pass nextCursor)
          */
         get("/api/applications", (req, res) -> {
             try {
@@ -578,9 +967,22 @@ public class JobTrackerRestService {
                 if (limit < 1 || offset < 0) {
                     return ErrorHandler.badRequest(res, "limit must be >= 1, offset must be >= 0");
                 }
+                if (ConditionalRequests.notModified(req, res, Table.APPLICATION, Table.USER, Table.JOB, Table.COMPANY)) {
+                    return "";
+                }
 
-                List<ApplicationRow> apps = appMgr.getAllApplications(limit, offset);
-                return ResponseBuilder.success(apps);
+                // Keyset mode: any cursor param (empty for the first page) returns {items, nextCursor}
+                if (req.queryParams("cursor") != null) {
+                    PageCursor after;
+                    try {
+                        after = PageCursor.decode(req.queryParams("cursor"));
+                    } catch (IllegalArgumentException e) {
+                        return ErrorHandler.badRequest(res, "Invalid cursor");
+                    }
+                    return ResponseBuilder.streamPage(res, sink -> appMgr.streamApplicationsPage(limit, after, sink));
+                }
+
+                return ResponseBuilder.streamList(res, sink -> appMgr.streamApplications(limit, offset, sink));
             } catch (NumberFormatException e) {
                 return ErrorHandler.badRequest(res, "Invalid limit or offset format");
             } catch (Exception e) {
@@ -599,11 +1001,10 @@ public class JobTrackerRestService {
                 res.type("application/json");
                 String auid = req.params(":auid");
 
-                if (appMgr.getApplicationById(auid) == null) {
+                if (!appMgr.deleteApplication(auid)) {
                     return ErrorHandler.notFound(res, "Application not found: " + auid);
                 }
 
-                appMgr.deleteApplication(auid);
                 res.status(204);
                 return "";
             } catch (Exception e) {
@@ -615,7 +1016,8 @@ public class JobTrackerRestService {
          * PUT /api/applications/{auid}/status - Update application status
          * Request: {"status":"phone_screen"} (valid: applied, phone_screen, interview, offer, rejected, withdrawn)
          * Returns: Updated application object
-         * Status: 200 Success | 400 Bad Request | 404 Not Found | 500 Error
+         * Headers: If-Match (optional) - ETag from GET; the update only applies while it still matches
+         * Status: 200 Success | 400 Bad Request | 404 Not Found | 412 Precondition Failed | 500 Error
          *
          * curl -X PUT http://localhost:8080/api/applications/550e8400-e29b-41d4-a716-446655440000/status \
          *   -H "Content-Type: application/json" \
@@ -636,8 +1038,13 @@ public class JobTrackerRestService {
                     return ErrorHandler.badRequest(res, "Status is required");
                 }
 
-                ApplicationRow updated = appMgr.updateApplicationStatus(auid, update.status);
+                ApplicationRow updated = appMgr.updateApplicationStatus(auid, update.status, ConditionalRequests.expectedVersion(req));
+                res.header("ETag", ConditionalRequests.applicationTag(updated));
                 return ResponseBuilder.success(updated);
+            } catch (OptimisticLockException e) {
+                return ErrorHandler.preconditionFailed(res, "Application was modified: " + e.auid);
+            } catch (ActivityWriteException e) {
+                return activityNotLogged(res, e);
             } catch (Exception e) {
                 return ErrorHandler.internalError(res, e);
             }
@@ -647,7 +1054,8 @@ public class JobTrackerRestService {
          * PUT /api/applications/{auid}/notes - Update application notes
          * Request: {"notes":"Good candidate"}
          * Returns: Empty response
-         * Status: 204 No Content | 404 Not Found | 500 Error
+         * Headers: If-Match (optional) - ETag from GET; the update only applies while it still matches
+         * Status: 204 No Content | 404 Not Found | 412 Precondition Failed | 500 Error
          *
          * curl -X PUT http://localhost:8080/api/applications/550e8400-e29b-41d4-a716-446655440000/notes \
          *   -H "Content-Type: application/json" \
@@ -663,9 +1071,11 @@ public class JobTrackerRestService {
                 }
 
                 TextUpdate update = gson.fromJson(req.body(), TextUpdate.class);
-                appMgr.updateApplicationNotes(auid, update.text);
+                appMgr.updateApplicationNotes(auid, update.text, ConditionalRequests.expectedVersion(req));
                 res.status(204);
                 return "";
+            } catch (OptimisticLockException e) {
+                return ErrorHandler.preconditionFailed(res, "Application was modified: " + e.auid);
             } catch (Exception e) {
                 return ErrorHandler.internalError(res, e);
             }
@@ -675,7 +1085,8 @@ public class JobTrackerRestService {
          * PUT /api/applications/{auid}/source - Update application source
          * Request: {"source":"LinkedIn"}
          * Returns: Empty response
-         * Status: 204 No Content | 404 Not Found | 500 Error
+         * Headers: If-Match (optional) - ETag from GET; the update only applies while it still matches
+         * Status: 204 No Content | 404 Not Found | 412 Precondition Failed | 500 Error
          *
          * curl -X PUT http://localhost:8080/api/applications/550e8400-e29b-41d4-a716-446655440000/source \
          *   -H "Content-Type: application/json" \
@@ -691,9 +1102,109 @@ public class JobTrackerRestService {
                 }
 
                 TextUpdate update = gson.fromJson(req.body(), TextUpdate.class);
-                appMgr.updateApplicationSource(auid, update.text);
+                appMgr.updateApplicationSource(auid, update.text, ConditionalRequests.expectedVersion(req));
                 res.status(204);
                 return "";
+            } catch (OptimisticLockException e) {
+                return ErrorHandler.preconditionFailed(res, "Application was modified: " + e.auid);
+            } catch (Exception e) {
+                return ErrorHandler.internalError(res, e);
+            }
+        });
+
+        /**
+         * PATCH /api/applications/{auid} - Update status, notes and/or source in one go
+         * Request: any subset of {"status":"interview","notes":"...","source":"referral"};
+         *          null clears notes/source
+         * Headers: If-Match (optional) - ETag from GET; the update only applies while it still matches
+         * Returns: Updated application object
+         * Status: 200 Success | 400 Bad Request | 404 Not Found | 412 Precondition Failed | 500 Error
+         *
+         * curl -X PATCH http://localhost:8080/api/applications/550e8400-e29b-41d4-a716-446655440000 \
+         *   -H "Content-Type: application/json" \
+         *   -d '{"status":"interview","notes":"Onsite on Friday"}'
+         */
+        patch("/api/applications/:auid", (req, res) -> {
+            try {
+                res.type("application/json");
+                String auid = req.params(":auid");
+
+                if (appMgr.getApplicationById(auid) == null) {
+                    return ErrorHandler.notFound(res, "Application not found: " + auid);
+                }
+
+                ApplicationRow updated = appMgr.patchApplication(auid, parsePatch(req), ConditionalRequests.expectedVersion(req));
+                res.header("ETag", ConditionalRequests.applicationTag(updated));
+                return ResponseBuilder.success(updated);
+            } catch (IllegalArgumentException e) {
+                return ErrorHandler.badRequest(res, e.getMessage());
+            } catch (OptimisticLockException e) {
+                return ErrorHandler.preconditionFailed(res, "Application was modified: " + e.auid);
+            } catch (ActivityWriteException e) {
+                return activityNotLogged(res, e);
+            } catch (Exception e) {
+                return ErrorHandler.internalError(res, e);
+            }
+        });
+
+        /**
+         * PUT /api/applications/status/bulk - Set one status on many applications
+         * Request: {"auids":["...","..."],"status":"rejected"} (at most 500 ids)
+         * Returns: {"updated":[...],"unchanged":[...],"missing":[...]}
+         *          - unchanged already had the status, missing matched nothing
+         * Status: 200 Success | 400 Bad Request | 500 Error
+         *
+         * curl -X PUT http://localhost:8080/api/applications/status/bulk \
+         *   -H "Content-Type: application/json" \
+         *   -d '{"auids":["550e8400-e29b-41d4-a716-446655440000"],"status":"rejected"}'
+         */
+        put("/api/applications/status/bulk", (req, res) -> {
+            try {
+                res.type("application/json");
+                BulkStatusUpdate update;
+                try {
+                    update = gson.fromJson(req.body(), BulkStatusUpdate.class);
+                } catch (JsonParseException e) {
+                    return ErrorHandler.badRequest(res, "Invalid JSON body");
+                }
+                if (update == null || update.auids == null || update.auids.isEmpty()) {
+                    return ErrorHandler.badRequest(res, "auids is required");
+                }
+                if (update.auids.size() > MAX_BATCH_IDS) {
+                    return ErrorHandler.badRequest(res, "At most " + MAX_BATCH_IDS + " ids per request");
+                }
+                if (update.auids.contains(null)) {
+                    return ErrorHandler.badRequest(res, "auids must not contain null");
+                }
+
+                return ResponseBuilder.success(appMgr.updateApplicationStatuses(update.auids, update.status));
+            } catch (IllegalArgumentException e) {
+                return ErrorHandler.badRequest(res, e.getMessage());
+            } catch (Exception e) {
+                return ErrorHandler.internalError(res, e);
+            }
+        });
+
+        /**
+         * GET /api/applications/{auid}/full - Application with job, company and activities
+         * Returns: {"application":{...},"job":{...},"company":{...},"activities":[...]}
+         *          - what GET /api/applications/{auid}, /api/jobs/{juid}, /api/companies/{cuid}
+         *          and /api/activities/application/{auid} return, in one round trip
+         * Status: 200 Success | 404 Not Found | 500 Error
+         *
+         * curl http://localhost:8080/api/applications/550e8400-e29b-41d4-a716-446655440000/full
+         */
+        get("/api/applications/:auid/full", (req, res) -> {
+            try {
+                res.type("application/json");
+                String auid = req.params(":auid");
+                ApplicationDetail detail = appMgr.getApplicationDetail(auid);
+
+                if (detail == null) {
+                    return ErrorHandler.notFound(res, "Application not found: " + auid);
+                }
+
+                return ResponseBuilder.success(detail);
             } catch (Exception e) {
                 return ErrorHandler.internalError(res, e);
             }
@@ -743,7 +1254,7 @@ public class JobTrackerRestService {
         /**
          * GET /api/activities/application/{auid} - Get all activities for an application
          * Returns: Array of activity records
-         * Status: 200 Success | 500 Error
+         * Status: 200 Success | 304 Not Modified | 500 Error
          *
          * curl http://localhost:8080/api/activities/application/550e8400-e29b-41d4-a716-446655440000
          */
@@ -751,6 +1262,9 @@ public class JobTrackerRestService {
             try {
                 res.type("application/json");
                 String auid = req.params(":auid");
+                if (ConditionalRequests.notModified(req, res, Table.ACTIVITY)) {
+                    return "";
+                }
                 List<ActivityRow> activities = activityMgr.getActivityByApplicationId(auid);
                 return ResponseBuilder.success(activities);
             } catch (Exception e) {
@@ -760,12 +1274,13 @@ public class JobTrackerRestService {
 
         /**
          * GET /api/activities?limit=10&offset=0&auid={filter} - List activities (paginated, optional filter)
-         * Query params: limit (default 10), offset (default 0), auid (optional application id filter)
-         * Returns: Array of activities
-         * Status: 200 Success | 400 Bad Request | 500 Error
+         * Query params: limit (default 10), offset (default 0), auid (optional application id filter), cursor (keyset paging)
+         * Returns: Array of activities, or {"items":[...],"nextCursor":"..."} when cursor is given
+         * Status: 200 Success | 304 Not Modified | 400 Bad Request | 500 Error
          *
          * curl "http://localhost:8080/api/activities?limit=20&offset=0"
          * curl "http://localhost:8080/api/activities?limit=10&offset=0&auid=550e8400-e29b-41d4-a716-446655440000"
+         * curl "http://localhost:8080/api/activities?limit=20&cursor="   (keyset: first page, then pass nextCursor)
          */
         get("/api/activities", (req, res) -> {
             try {
@@ -777,9 +1292,22 @@ public class JobTrackerRestService {
                 if (limit < 1 || offset < 0) {
                     return ErrorHandler.badRequest(res, "limit must be >= 1, offset must be >= 0");
                 }
+                if (ConditionalRequests.notModified(req, res, Table.ACTIVITY)) {
+                    return "";
+                }
 
-                List<ActivityRow> activities = activityMgr.getAllActivities(limit, offset, auidFilter);
-                return ResponseBuilder.success(activities);
+                // Keyset mode: any cursor param (empty for the first page) returns {items, nextCursor}
+                if (req.queryParams("cursor") != null) {
+                    PageCursor after;
+                    try {
+                        after = PageCursor.decode(req.queryParams("cursor"));
+                    } catch (IllegalArgumentException e) {
+                        return ErrorHandler.badRequest(res, "Invalid cursor");
+                    }
+                    return ResponseBuilder.streamPage(res, sink -> activityMgr.streamActivitiesPage(limit, after, auidFilter, sink));
+                }
+
+                return ResponseBuilder.streamList(res, sink -> activityMgr.streamActivities(limit, offset, auidFilter, sink));
             } catch (NumberFormatException e) {
                 return ErrorHandler.badRequest(res, "Invalid limit or offset format");
             } catch (Exception e) {
@@ -787,10 +1315,47 @@ public class JobTrackerRestService {
             }
         });
 
+        /**
+         * GET /api/activities/stream?uuid={user}&auid={application} - Live activity feed (Server-Sent Events)
+         * Query params: uuid, auid (optional filters, may be combined)
+         * Headers: Last-Event-ID (optional, an actuid) replays what came after it; ?lastEventId= works too.
+         *          The replay starts 30s early (rows commit out of id order), so drop events whose id you have seen
+         * Returns: text/event-stream with one "activity" event per new row (id = actuid, data = activity JSON);
+         *          a "reset" event if more than 1000 events were missed (reload through GET /api/activities)
+         * Status: 200 Success | 400 Bad Request | 503 Too many open streams
+         *
+         * Replaces polling GET /api/activities. The connection stays open and holds no
+         * server thread while idle (see ActivityStream).
+         *
+         * curl -N "http://localhost:8080/api/activities/stream?uuid=550e8400-e29b-41d4-a716-446655440000"
+         */
+        get("/api/activities/stream", (req, res) -> {
+            try {
+                String uuid = optionalId(req.queryParams("uuid"), "uuid");
+                String auid = optionalId(req.queryParams("auid"), "auid");
+                String lastEventId = req.headers("Last-Event-ID");
+                if (lastEventId == null) {
+                    lastEventId = req.queryParams("lastEventId");
+                }
+                lastEventId = optionalId(lastEventId, "Last-Event-ID");
+
+                boolean opened = ActivityStream.open(req, res, uuid, auid, lastEventId,
+                        (after, limit) -> activityMgr.getActivitiesAfter(after, uuid, auid, limit));
+                if (!opened) {
+                    return ErrorHandler.error(res, 503, "Too many activity streams open, retry later");
+                }
+                return "";
+            } catch (IllegalArgumentException e) {
+                return ErrorHandler.badRequest(res, e.getMessage());
+            } catch (Exception e) {
+                return ErrorHandler.internalError(res, e);
+            }
+        });
+
         /**
          * GET /api/activities/{actuid} - Get activity by ID
          * Returns: Activity object
-         * Status: 200 Success | 404 Not Found | 500 Error
+         * Status: 200 Success | 304 Not Modified | 404 Not Found | 500 Error
          *
          * curl http://localhost:8080/api/activities/550e8400-e29b-41d4-a716-446655440000
          */
@@ -798,12 +1363,17 @@ public class JobTrackerRestService {
             try {
                 res.type("application/json");
                 String actuid = req.params(":actuid");
+                String etag = ConditionalRequests.tableTag(Table.ACTIVITY);
+                long lastModified = ConditionalRequests.tableLastModified(Table.ACTIVITY);
                 ActivityRow activity = activityMgr.getActivityById(actuid);
 
                 if (activity == null) {
                     return ErrorHandler.notFound(res, "Activity not found: " + actuid);
                 }
 
+                if (ConditionalRequests.notModified(req, res, etag, lastModified)) {
+                    return "";
+                }
                 return ResponseBuilder.success(activity);
             } catch (Exception e) {
                 return ErrorHandler.internalError(res, e);
@@ -838,6 +1408,256 @@ public class JobTrackerRestService {
             }
         });
 
+        // =====================================================================
+        // EXPORT ENDPOINTS
+        // =====================================================================
+
+        /**
+         * GET /api/export/applications?since=2024-01-01T00:00:00 - Export all applications
+         * Returns: NDJSON, one application per line with user/company/job details;
+         *          since (optional) limits it to rows with lastUpdatedAt >= since, oldest first
+         * Status: 200 Success | 400 Bad Request | 500 Error
+         *
+         * Runs one streaming query and writes each row as it is read, so memory use
+         * does not grow with the table. If the export fails part way, the last line
+         * is an {"error":...} object.
+         *
+         * curl "http://localhost:8080/api/export/applications" > applications.ndjson
+         * curl "http://localhost:8080/api/export/applications?since=2024-06-01"
+         */
+        get("/api/export/applications", (req, res) -> {
+            Timestamp since;
+            try {
+                since = parseSince(req.queryParams("since"));
+            } catch (IllegalArgumentException e) {
+                return ErrorHandler.badRequest(res, "Invalid since (expected yyyy-MM-dd or yyyy-MM-ddTHH:mm:ss)");
+            }
+
+            Writer out = null;
+            try {
+                out = ndjsonWriter(res);
+                Writer w = out;
+                appMgr.exportApplications(since, row -> {
+                    w.write(gson.toJson(row));
+                    w.write('\n');
+                });
+                out.flush();
+                return "";
+            } catch (Exception e) {
+                return streamFailed(res, out, e, "Export failed");
+            }
+        });
+
+        /**
+         * GET /api/export/activities?since=2024-01-01T00:00:00 - Export all activities
+         * Returns: NDJSON, one activity per line;
+         *          since (optional) limits it to rows with eventTime >= since, oldest first
+         * Status: 200 Success | 400 Bad Request | 500 Error
+         *
+         * curl "http://localhost:8080/api/export/activities?since=2024-06-01T00:00:00"
+         */
+        get("/api/export/activities", (req, res) -> {
+            Timestamp since;
+            try {
+                since = parseSince(req.queryParams("since"));
+            } catch (IllegalArgumentException e) {
+                return ErrorHandler.badRequest(res, "Invalid since (expected yyyy-MM-dd or yyyy-MM-ddTHH:mm:ss)");
+            }
+
+            Writer out = null;
+            try {
+                out = ndjsonWriter(res);
+                Writer w = out;
+                activityMgr.exportActivities(since, row -> {
+                    w.write(gson.toJson(row));
+                    w.write('\n');
+                });
+                out.flush();
+                return "";
+            } catch (Exception e) {
+                return streamFailed(res, out, e, "Export failed");
+            }
+        });
+
+        // =====================================================================
+        // STATS ENDPOINTS
+        // =====================================================================
+
+        /**
+         * GET /api/stats/pool - Connection pool metrics
+         * Returns: active/idle/total connections, waiters, counters and acquire latency histogram
+         * Status: 200 Success | 500 Error
+         *
+         * curl http://localhost:8080/api/stats/pool
+         */
+        get("/api/stats/pool", (req, res) -> {
+            try {
+                res.type("application/json");
+                return ResponseBuilder.success(Db.poolStats());
+            } catch (Exception e) {
+                return ErrorHandler.internalError(res, e);
+            }
+        });
+
+        /**
+         * GET /api/stats/cache - Point lookup cache metrics
+         * Returns: per cache (user, company, job, application) size, hits, negative hits,
+         *          misses, evictions, expirations and invalidations
+         * Status: 200 Success | 500 Error
+         *
+         * curl http://localhost:8080/api/stats/cache
+         */
+        get("/api/stats/cache", (req, res) -> {
+            try {
+                res.type("application/json");
+                return ResponseBuilder.success(ReportDaoJdbc.cacheStats());
+            } catch (Exception e) {
+                return ErrorHandler.internalError(res, e);
+            }
+        });
+
+        /**
+         * GET /api/stats/coalescing - Read coalescing metrics
+         * Returns: reads in flight, queries executed and calls served from another
+         *          caller's in-flight query, in total and per DAO method
+         * Status: 200 Success | 500 Error
+         *
+         * curl http://localhost:8080/api/stats/coalescing
+         */
+        get("/api/stats/coalescing", (req, res) -> {
+            try {
+                res.type("application/json");
+                return ResponseBuilder.success(ReportDaoJdbc.coalescingStats());
+            } catch (Exception e) {
+                return ErrorHandler.internalError(res, e);
+            }
+        });
+
+        /**
+         * GET /api/stats/batching - Point lookup batching metrics
+         * Returns: per table (user, company, job, application) window, max batch size,
+         *          batches run, ids looked up and the largest batch so far
+         * Status: 200 Success | 500 Error
+         *
+         * curl http://localhost:8080/api/stats/batching
+         */
+        get("/api/stats/batching", (req, res) -> {
+            try {
+                res.type("application/json");
+                return ResponseBuilder.success(ReportDaoJdbc.batchingStats());
+            } catch (Exception e) {
+                return ErrorHandler.internalError(res, e);
+            }
+        });
+
+        /**
+         * GET /api/stats/activity-writer - Activity write-behind metrics
+         * Returns: mode (DIRECT, SYNC or ASYNC), rows queued, batch settings, rows and
+         *          batches written, largest batch, failed flushes, rows replayed from the journal
+         * Status: 200 Success | 500 Error
+         *
+         * curl http://localhost:8080/api/stats/activity-writer
+         */
+        get("/api/stats/activity-writer", (req, res) -> {
+            try {
+                res.type("application/json");
+                return ResponseBuilder.success(ReportDaoJdbc.activityWriterStats());
+            } catch (Exception e) {
+                return ErrorHandler.internalError(res, e);
+            }
+        });
+
+        /**
+         * GET /api/stats/activity-stream - Activity event stream metrics
+         * Returns: open streams, the limit, streams opened so far, live events queued,
+         *          streams dropped for falling too far behind
+         * Status: 200 Success | 500 Error
+         *
+         * curl http://localhost:8080/api/stats/activity-stream
+         */
+        get("/api/stats/activity-stream", (req, res) -> {
+            try {
+                res.type("application/json");
+                return ResponseBuilder.success(ActivityStream.stats());
+            } catch (Exception e) {
+                return ErrorHandler.internalError(res, e);
+            }
+        });
+
+        /**
+         * GET /api/stats/counts - Precomputed row counts
+         * Query params: uuid (optional) - one user's counts instead of everyone's
+         * Returns: {uuid, tables, statuses, sources}; tables has user, company, job,
+         *          application and activity (only the last two for a user), sources
+         *          counts a missing source as "none"
+         * Status: 200 Success | 400 Bad Request | 404 Not Found | 500 Error
+         *
+         * Kept up to date by every write, so reading is constant time.
+         *
+         * curl http://localhost:8080/api/stats/counts
+         * curl "http://localhost:8080/api/stats/counts?uuid=550e8400-e29b-41d4-a716-446655440000"
+         */
+        get("/api/stats/counts", (req, res) -> {
+            try {
+                res.type("application/json");
+                String uuid = optionalId(req.queryParams("uuid"), "uuid");
+                if (uuid != null && userMgr.getUserById(uuid) == null) {
+                    return ErrorHandler.notFound(res, "User not found: " + uuid);
+                }
+                return ResponseBuilder.success(appMgr.getCounts(uuid));
+            } catch (IllegalArgumentException e) {
+                return ErrorHandler.badRequest(res, e.getMessage());
+            } catch (Exception e) {
+                return ErrorHandler.internalError(res, e);
+            }
+        });
+
+        /**
+         * GET /api/stats/funnel - Applications per status
+         * Query params: uuid (optional) - one user's applications instead of everyone's
+         * Returns: {uuid, total, open, stages: [{status, count, percent}]} with the stages
+         *          in pipeline order (applied ... offer, then rejected and withdrawn)
+         * Status: 200 Success | 400 Bad Request | 404 Not Found | 500 Error
+         *
+         * curl http://localhost:8080/api/stats/funnel
+         * curl "http://localhost:8080/api/stats/funnel?uuid=550e8400-e29b-41d4-a716-446655440000"
+         */
+        get("/api/stats/funnel", (req, res) -> {
+            try {
+                res.type("application/json");
+                String uuid = optionalId(req.queryParams("uuid"), "uuid");
+                if (uuid != null && userMgr.getUserById(uuid) == null) {
+                    return ErrorHandler.notFound(res, "User not found: " + uuid);
+                }
+                return ResponseBuilder.success(appMgr.getStatusFunnel(uuid));
+            } catch (IllegalArgumentException e) {
+                return ErrorHandler.badRequest(res, e.getMessage());
+            } catch (Exception e) {
+                return ErrorHandler.internalError(res, e);
+            }
+        });
+
+        /**
+         * POST /api/stats/counts/reconcile - Recount from the tables
+         * Returns: {"corrected": n}, the number of counters that were off and got fixed
+         * Status: 200 Success | 500 Error
+         *
+         * Scans every table, so it is slow on big databases; writes wait for it. Also
+         * runs every JOBTRACKER_COUNTER_RECONCILE_HOURS (default 24, 0 = off).
+         *
+         * curl -X POST http://localhost:8080/api/stats/counts/reconcile
+         */
+        post("/api/stats/counts/reconcile", (req, res) -> {
+            try {
+                res.type("application/json");
+                JsonObject result = new JsonObject();
+                result.addProperty("corrected", appMgr.reconcileCounts());
+                return ResponseBuilder.success(result);
+            } catch (Exception e) {
+                return ErrorHandler.internalError(res, e);
+            }
+        });
+
         // Server startup message
         System.out.println("\n╔════════════════════════════════════════════════════════════╗");
         System.out.println("║          Job Tracker REST API Service Started              ║");
@@ -845,6 +1665,216 @@ public class JobTrackerRestService {
         System.out.println("╚════════════════════════════════════════════════════════════╝\n");
     }
 
+    /**
+     * Run a route as one transaction on the request's connection.
+     * Commits on success; rolls back if the route throws or answers with an error status.
+     */
+    private static Route transactional(Route route) {
+        return (req, res) -> {
+            try {
+                return Db.inTransaction(() -> {
+                    Object body = route.handle(req, res);
+                    if (res.status() >= 400) {
+                        Db.setRollbackOnly();
+                    }
+                    return body;
+                });
+            } catch (ActivityWriteException e) {
+                // Thrown after the commit, once the route's own response was built
+                return activityNotLogged(res, e);
+            }
+        };
+    }
+
+    /** 503 for a change that committed but whose activity row could not be written. */
+    private static String activityNotLogged(Response res, ActivityWriteException e) {
+        res.type("application/json");
+        return ErrorHandler.error(res, 503, "Change saved, but its activity could not be logged: " + e.getMessage());
+    }
+
+    /** Start a 200 NDJSON response written straight to the servlet output stream. */
+    private static Writer ndjsonWriter(Response res) throws IOException {
+        res.status(200);
+        res.type("application/x-ndjson");
+        return new BufferedWriter(new OutputStreamWriter(res.raw().getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Error handling for streamed responses. Before anything reached the client
+     * this is a normal 500; once the 200 is out, the error becomes the last line.
+     */
+    private static String streamFailed(Response res, Writer out, Exception e, String message) {
+        if (out == null || !res.raw().isCommitted()) {
+            res.raw().resetBuffer();
+            return ErrorHandler.internalError(res, e);
+        }
+        e.printStackTrace();
+        try {
+            out.write(ResponseBuilder.error(message + ": " + e.getMessage(), "INTERNAL_ERROR"));
+            out.write('\n');
+            out.flush();
+        } catch (IOException ignored) {
+            // client went away
+        }
+        return "";
+    }
+
+    /**
+     * The ids of a multi-get body, {"ids":[...]}.
+     * Throws IllegalArgumentException when the body is malformed, empty or too long.
+     */
+    private static List<String> parseIdList(Request req) {
+        IdList body;
+        try {
+            body = gson.fromJson(req.body(), IdList.class);
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException("Invalid JSON body");
+        }
+        if (body == null || body.ids == null || body.ids.isEmpty()) {
+            throw new IllegalArgumentException("ids is required");
+        }
+        if (body.ids.size() > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_IDS + " ids per request");
+        }
+        if (body.ids.contains(null)) {
+            throw new IllegalArgumentException("ids must not contain null");
+        }
+        return body.ids;
+    }
+
+    /**
+     * A PATCH body as an ApplicationPatch. A key that is present sets the field,
+     * even to null (clears notes/source); status may not be null.
+     * Throws IllegalArgumentException when the body is not a JSON object of strings.
+     */
+    private static ApplicationPatch parsePatch(Request req) {
+        JsonObject body;
+        try {
+            body = gson.fromJson(req.body(), JsonObject.class);
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException("Invalid JSON body");
+        }
+        if (body == null) {
+            throw new IllegalArgumentException("Request body is required");
+        }
+
+        ApplicationPatch patch = new ApplicationPatch();
+        if (body.has("status")) {
+            patch.status = patchString(body, "status");
+            if (patch.status == null) {
+                throw new IllegalArgumentException("status cannot be null");
+            }
+        }
+        if (body.has("notes")) {
+            patch.setNotes = true;
+            patch.notes = patchString(body, "notes");
+        }
+        if (body.has("source")) {
+            patch.setSource = true;
+            patch.source = patchString(body, "source");
+        }
+        return patch;
+    }
+
+    private static String patchString(JsonObject body, String name) {
+        JsonElement value = body.get(name);
+        if (value.isJsonNull()) {
+            return null;
+        }
+        if (!value.isJsonPrimitive() || !value.getAsJsonPrimitive().isString()) {
+            throw new IllegalArgumentException(name + " must be a string or null");
+        }
+        return value.getAsString();
+    }
+
+    /**
+     * An optional id parameter in canonical (lower-case) form; null when absent or blank.
+     * Throws IllegalArgumentException when it is not a valid id.
+     */
+    private static String optionalId(String value, String name) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        byte[] key = Ids.toBytes(value.trim());
+        if (key == null) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+        return Ids.fromBytes(key);
+    }
+
+    /** Accepts yyyy-MM-dd, yyyy-MM-dd HH:mm:ss or yyyy-MM-ddTHH:mm:ss; null when absent. */
+    private static Timestamp parseSince(String since) {
+        if (since == null || since.trim().isEmpty()) {
+            return null;
+        }
+        String value = since.trim().replace('T', ' ');
+        if (value.length() == 10) {
+            value += " 00:00:00";
+        }
+        return Timestamp.valueOf(value);
+    }
+
+    /**
+     * What POST /api/applications and the bulk import say about an insert that
+     * broke a constraint: unknown user/job and duplicates are caught by the
+     * foreign keys and uq_application_user_job. Null for any other constraint.
+     */
+    private static String applicationRejected(ConstraintViolationException e, ApplicationRow app) {
+        if (e.kind == ConstraintViolationException.Kind.DUPLICATE) {
+            return "User already applied to this job";
+        }
+        if (e.kind == ConstraintViolationException.Kind.MISSING_PARENT) {
+            return e.on("fk_application_user") ? "User not found: " + app.uuid : "Job not found: " + app.juid;
+        }
+        return null;
+    }
+
+    /**
+     * Insert the valid rows of one chunk in a single transaction and write one
+     * result line per entry, in input order. Returns the number of rows inserted.
+     */
+    private static int writeBulkChunk(List<BulkLine> chunk, Writer out) throws IOException {
+        List<ApplicationRow> rows = new ArrayList<>();
+        for (BulkLine entry : chunk) {
+            if (entry.row != null) rows.add(entry.row);
+        }
+        BatchResult result = rows.isEmpty() ? null : appMgr.saveApplications(rows);
+
+        int i = 0;
+        for (BulkLine entry : chunk) {
+            BulkResult line = new BulkResult(entry.line);
+            if (entry.row == null) {
+                line.error = entry.error;
+            } else {
+                ConstraintViolationException rejected = result.errors.get(i);
+                if (rejected == null) {
+                    line.auid = result.ids.get(i);
+                } else {
+                    String message = applicationRejected(rejected, entry.row);
+                    line.error = message != null ? message : "Application rejected by the database";
+                }
+                i++;
+            }
+            out.write(gson.toJson(line));
+            out.write('\n');
+        }
+        out.flush();
+        return result == null ? 0 : result.insertedCount();
+    }
+
+    /**
+     * The request body as it arrives on the socket. Spark's request wrapper copies
+     * the whole body into memory the first time it is read (unless the upload is
+     * chunked), so read from the container's request underneath it instead.
+     */
+    private static InputStream streamingBody(Request req) throws IOException {
+        ServletRequest raw = req.raw();
+        while (raw instanceof ServletRequestWrapper) {
+            raw = ((ServletRequestWrapper) raw).getRequest();
+        }
+        return raw.getInputStream();
+    }
+
     /**
      * Helper classes for JSON deserialization
      */
@@ -852,7 +1882,47 @@ public class JobTrackerRestService {
         public String status;
     }
 
+    static class BulkStatusUpdate {
+        public List<String> auids;
+        public String status;
+    }
+
     static class TextUpdate {
         public String text;
     }
+
+    static class IdList {
+        public List<String> ids;
+    }
+
+    /** One parsed line of a bulk import: the row to insert, or why it was rejected. */
+    static class BulkLine {
+        final int line;
+        ApplicationRow row;
+        String error;
+
+        BulkLine(int line) {
+            this.line = line;
+        }
+    }
+
+    static class BulkResult {
+        public int line;
+        public String auid;
+        public String error;
+
+        BulkResult(int line) {
+            this.line = line;
+        }
+    }
+
+    static class BulkSummary {
+        public int inserted;
+        public int failed;
+
+        BulkSummary(int inserted, int failed) {
+            this.inserted = inserted;
+            this.failed = failed;
+        }
+    }
 }
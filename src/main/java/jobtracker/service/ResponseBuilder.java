@@ -2,15 +2,25 @@ package jobtracker.service;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
+import jobtracker.dao.RowSink;
+import spark.Response;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Utility class for building JSON responses for the REST API.
  * Provides consistent JSON serialization across all endpoints.
  *
  * Uses Gson for JSON conversion with nice formatting for readability.
+ * Row DTOs are written by the hand-written adapters in {@link RowTypeAdapters}.
  */
 public class ResponseBuilder {
-    private static final Gson gson = new GsonBuilder()
+    private static final Gson gson = RowTypeAdapters.register(new GsonBuilder())
             .serializeNulls()
             .create();
 
@@ -58,6 +68,85 @@ public class ResponseBuilder {
         return toJson(new ErrorResponse(message, errorCode));
     }
 
+    /**
+     * Feeds rows to a sink, e.g. {@code sink -> userMgr.streamUsers(limit, offset, sink)}.
+     */
+    @FunctionalInterface
+    public interface RowSource {
+        void writeTo(RowSink<Object> sink);
+    }
+
+    /**
+     * Feeds one keyset page of rows to a sink and returns the next cursor.
+     */
+    @FunctionalInterface
+    public interface PageSource {
+        String writeTo(RowSink<Object> sink);
+    }
+
+    /**
+     * Write a JSON array straight to the response as the rows are read, instead
+     * of building a List and then the whole JSON String in memory.
+     * Same output as success(list). Returns the (empty) body for Spark.
+     *
+     * @param res Spark Response object
+     * @param source Produces the rows
+     * @return Empty string, the JSON has already been written
+     */
+    public static String streamList(Response res, RowSource source) throws IOException {
+        return stream(res, json -> {
+            json.beginArray();
+            source.writeTo(row -> gson.toJson(row, row.getClass(), json));
+            json.endArray();
+        });
+    }
+
+    /**
+     * Streamed version of success(page): {"items":[...],"nextCursor":"..."}.
+     *
+     * @param res Spark Response object
+     * @param source Produces the page's rows and its next cursor
+     * @return Empty string, the JSON has already been written
+     */
+    public static String streamPage(Response res, PageSource source) throws IOException {
+        return stream(res, json -> {
+            json.beginObject();
+            json.name("items");
+            json.beginArray();
+            String nextCursor = source.writeTo(row -> gson.toJson(row, row.getClass(), json));
+            json.endArray();
+            json.name("nextCursor").value(nextCursor);
+            json.endObject();
+        });
+    }
+
+    private interface JsonBody {
+        void write(JsonWriter json) throws IOException;
+    }
+
+    /**
+     * An error before anything reached the client is rethrown with the buffer
+     * cleared, so the route can answer with a normal error response. Once the
+     * response is committed the JSON is left unterminated, so a client can never
+     * mistake a cut-off list for a complete one.
+     */
+    private static String stream(Response res, JsonBody body) throws IOException {
+        Writer out = new BufferedWriter(new OutputStreamWriter(res.raw().getOutputStream(), StandardCharsets.UTF_8));
+        JsonWriter json = gson.newJsonWriter(out);
+        try {
+            body.write(json);
+            json.flush();
+            return "";
+        } catch (IOException | RuntimeException e) {
+            if (!res.raw().isCommitted()) {
+                res.raw().resetBuffer();
+                throw e;
+            }
+            e.printStackTrace();
+            return "";
+        }
+    }
+
     /**
      * Simple error response structure for JSON serialization.
      */
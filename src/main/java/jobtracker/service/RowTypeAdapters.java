@@ -0,0 +1,303 @@
+package jobtracker.service;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import jobtracker.dao.ReportDaoJdbc.ActivityRow;
+import jobtracker.dao.ReportDaoJdbc.ApplicationRow;
+import jobtracker.dao.ReportDaoJdbc.CompanyRow;
+import jobtracker.dao.ReportDaoJdbc.JobRow;
+import jobtracker.dao.ReportDaoJdbc.UserRow;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Hand-written Gson adapters for the row DTOs, so serializing a row is a
+ * straight run of JsonWriter calls instead of reflective field access.
+ *
+ * Field names and order match the DTO declarations, so the JSON is the same as
+ * before, except that Timestamps are written as ISO-8601 local date-times
+ * ("2024-01-01T10:00:00") instead of Gson's locale-dependent default.
+ * Reading accepts that format, "yyyy-MM-dd HH:mm:ss" or a bare date; unknown
+ * fields are skipped. Null fields follow the Gson instance's serializeNulls setting.
+ *
+ * Keep these in step with the DTOs in ReportDaoJdbc when fields are added.
+ */
+public final class RowTypeAdapters {
+
+    private RowTypeAdapters() {}
+
+    /** Register every adapter on the builder; returns it for chaining. */
+    public static GsonBuilder register(GsonBuilder builder) {
+        return builder
+                .registerTypeAdapter(Timestamp.class, new TimestampAdapter().nullSafe())
+                .registerTypeAdapter(UserRow.class, new UserRowAdapter().nullSafe())
+                .registerTypeAdapter(CompanyRow.class, new CompanyRowAdapter().nullSafe())
+                .registerTypeAdapter(JobRow.class, new JobRowAdapter().nullSafe())
+                .registerTypeAdapter(ApplicationRow.class, new ApplicationRowAdapter().nullSafe())
+                .registerTypeAdapter(ActivityRow.class, new ActivityRowAdapter().nullSafe());
+    }
+
+    // -------------------------
+    // TIMESTAMPS
+    // -------------------------
+
+    static final class TimestampAdapter extends TypeAdapter<Timestamp> {
+        @Override
+        public void write(JsonWriter out, Timestamp value) throws IOException {
+            out.value(formatTimestamp(value));
+        }
+
+        @Override
+        public Timestamp read(JsonReader in) throws IOException {
+            return parseTimestamp(in.nextString());
+        }
+    }
+
+    /** yyyy-MM-ddTHH:mm:ss; DATETIME columns have no fractional seconds to lose. */
+    static String formatTimestamp(Timestamp ts) {
+        if (ts == null) {
+            return null;
+        }
+        LocalDateTime t = ts.toLocalDateTime();
+        char[] buf = new char[19];
+        digits(buf, 0, t.getYear(), 4);
+        buf[4] = '-';
+        digits(buf, 5, t.getMonthValue(), 2);
+        buf[7] = '-';
+        digits(buf, 8, t.getDayOfMonth(), 2);
+        buf[10] = 'T';
+        digits(buf, 11, t.getHour(), 2);
+        buf[13] = ':';
+        digits(buf, 14, t.getMinute(), 2);
+        buf[16] = ':';
+        digits(buf, 17, t.getSecond(), 2);
+        return new String(buf);
+    }
+
+    private static void digits(char[] buf, int pos, int value, int width) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    static Timestamp parseTimestamp(String value) {
+        String s = value.trim();
+        try {
+            if (s.length() == 10) {
+                return Timestamp.valueOf(LocalDate.parse(s).atStartOfDay());
+            }
+            return Timestamp.valueOf(LocalDateTime.parse(s.replace(' ', 'T')));
+        } catch (DateTimeParseException e) {
+            throw new JsonParseException("Invalid timestamp (expected yyyy-MM-ddTHH:mm:ss): " + value, e);
+        }
+    }
+
+    // -------------------------
+    // ROW ADAPTERS
+    // -------------------------
+
+    static final class UserRowAdapter extends TypeAdapter<UserRow> {
+        @Override
+        public void write(JsonWriter out, UserRow r) throws IOException {
+            out.beginObject();
+            out.name("uuid").value(r.uuid);
+            out.name("email").value(r.email);
+            out.name("passwordHash").value(r.passwordHash);
+            out.name("name").value(r.name);
+            out.name("createdAt").value(formatTimestamp(r.createdAt));
+            out.endObject();
+        }
+
+        @Override
+        public UserRow read(JsonReader in) throws IOException {
+            UserRow r = new UserRow();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) continue;
+                switch (name) {
+                    case "uuid": r.uuid = in.nextString(); break;
+                    case "email": r.email = in.nextString(); break;
+                    case "passwordHash": r.passwordHash = in.nextString(); break;
+                    case "name": r.name = in.nextString(); break;
+                    case "createdAt": r.createdAt = parseTimestamp(in.nextString()); break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            return r;
+        }
+    }
+
+    static final class CompanyRowAdapter extends TypeAdapter<CompanyRow> {
+        @Override
+        public void write(JsonWriter out, CompanyRow r) throws IOException {
+            out.beginObject();
+            out.name("cuid").value(r.cuid);
+            out.name("name").value(r.name);
+            out.name("createdAt").value(formatTimestamp(r.createdAt));
+            out.endObject();
+        }
+
+        @Override
+        public CompanyRow read(JsonReader in) throws IOException {
+            CompanyRow r = new CompanyRow();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) continue;
+                switch (name) {
+                    case "cuid": r.cuid = in.nextString(); break;
+                    case "name": r.name = in.nextString(); break;
+                    case "createdAt": r.createdAt = parseTimestamp(in.nextString()); break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            return r;
+        }
+    }
+
+    static final class JobRowAdapter extends TypeAdapter<JobRow> {
+        @Override
+        public void write(JsonWriter out, JobRow r) throws IOException {
+            out.beginObject();
+            out.name("juid").value(r.juid);
+            out.name("cuid").value(r.cuid);
+            out.name("title").value(r.title);
+            out.name("employmentType").value(r.employmentType);
+            out.name("workType").value(r.workType);
+            out.name("url").value(r.url);
+            out.name("createdAt").value(formatTimestamp(r.createdAt));
+            out.endObject();
+        }
+
+        @Override
+        public JobRow read(JsonReader in) throws IOException {
+            JobRow r = new JobRow();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) continue;
+                switch (name) {
+                    case "juid": r.juid = in.nextString(); break;
+                    case "cuid": r.cuid = in.nextString(); break;
+                    case "title": r.title = in.nextString(); break;
+                    case "employmentType": r.employmentType = in.nextString(); break;
+                    case "workType": r.workType = in.nextString(); break;
+                    case "url": r.url = in.nextString(); break;
+                    case "createdAt": r.createdAt = parseTimestamp(in.nextString()); break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            return r;
+        }
+    }
+
+    static final class ApplicationRowAdapter extends TypeAdapter<ApplicationRow> {
+        @Override
+        public void write(JsonWriter out, ApplicationRow r) throws IOException {
+            out.beginObject();
+            out.name("auid").value(r.auid);
+            out.name("uuid").value(r.uuid);
+            out.name("juid").value(r.juid);
+            out.name("userName").value(r.userName);
+            out.name("userEmail").value(r.userEmail);
+            out.name("companyName").value(r.companyName);
+            out.name("jobTitle").value(r.jobTitle);
+            out.name("status").value(r.status);
+            out.name("appliedAt").value(formatTimestamp(r.appliedAt));
+            out.name("source").value(r.source);
+            out.name("notes").value(r.notes);
+            out.name("lastUpdatedAt").value(formatTimestamp(r.lastUpdatedAt));
+            out.name("version").value(r.version);
+            out.endObject();
+        }
+
+        @Override
+        public ApplicationRow read(JsonReader in) throws IOException {
+            ApplicationRow r = new ApplicationRow();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) continue;
+                switch (name) {
+                    case "auid": r.auid = in.nextString(); break;
+                    case "uuid": r.uuid = in.nextString(); break;
+                    case "juid": r.juid = in.nextString(); break;
+                    case "userName": r.userName = in.nextString(); break;
+                    case "userEmail": r.userEmail = in.nextString(); break;
+                    case "companyName": r.companyName = in.nextString(); break;
+                    case "jobTitle": r.jobTitle = in.nextString(); break;
+                    case "status": r.status = in.nextString(); break;
+                    case "appliedAt": r.appliedAt = parseTimestamp(in.nextString()); break;
+                    case "source": r.source = in.nextString(); break;
+                    case "notes": r.notes = in.nextString(); break;
+                    case "lastUpdatedAt": r.lastUpdatedAt = parseTimestamp(in.nextString()); break;
+                    case "version": r.version = in.nextInt(); break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            return r;
+        }
+    }
+
+    static final class ActivityRowAdapter extends TypeAdapter<ActivityRow> {
+        @Override
+        public void write(JsonWriter out, ActivityRow r) throws IOException {
+            out.beginObject();
+            out.name("actuid").value(r.actuid);
+            out.name("auid").value(r.auid);
+            out.name("uuid").value(r.uuid);
+            out.name("eventType").value(r.eventType);
+            out.name("oldStatus").value(r.oldStatus);
+            out.name("newStatus").value(r.newStatus);
+            out.name("eventTime").value(formatTimestamp(r.eventTime));
+            out.name("details").value(r.details);
+            out.endObject();
+        }
+
+        @Override
+        public ActivityRow read(JsonReader in) throws IOException {
+            ActivityRow r = new ActivityRow();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (skipNull(in)) continue;
+                switch (name) {
+                    case "actuid": r.actuid = in.nextString(); break;
+                    case "auid": r.auid = in.nextString(); break;
+                    case "uuid": r.uuid = in.nextString(); break;
+                    case "eventType": r.eventType = in.nextString(); break;
+                    case "oldStatus": r.oldStatus = in.nextString(); break;
+                    case "newStatus": r.newStatus = in.nextString(); break;
+                    case "eventTime": r.eventTime = parseTimestamp(in.nextString()); break;
+                    case "details": r.details = in.nextString(); break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            return r;
+        }
+    }
+
+    /** Consume a JSON null; the field then keeps its default, as with reflective Gson. */
+    private static boolean skipNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,155 @@
+package jobtracker.testing;
+
+import jobtracker.dao.ActivityWriter;
+import jobtracker.dao.Ids;
+import jobtracker.dao.ReportDaoJdbc;
+import jobtracker.dao.ReportDaoJdbc.ActivityRow;
+import jobtracker.db.Db;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Activity insert throughput under concurrency: one autocommit INSERT per row
+ * (DIRECT, what the DAO does by default) vs {@link ActivityWriter} group commit
+ * in SYNC and ASYNC mode.
+ *
+ * Creates a scratch user, company, job and application, has many threads log
+ * status_change activities against it, and reports rows/sec, average latency
+ * per write and the batches the writer used. Deleting the scratch application
+ * afterwards takes its activities with it.
+ *
+ * The last run (SYNC-TX) writes the way the DAO does: from the commit hook of a
+ * transaction that still holds a pooled connection, with at least twice as many
+ * threads as the pool has connections. The writer has to keep flushing there
+ * (it has its own connection); any lost row fails the run.
+ *
+ * Run with: mvn compile exec:java -Dexec.mainClass=jobtracker.testing.ActivityWriterBenchmark -Dexec.args="32 200"
+ *           (threads, rows per thread)
+ *
+ * Requires: JOBTRACKER_DB_* environment variables pointing at a scratch database
+ */
+public class ActivityWriterBenchmark {
+
+    private static final String DIRECT_SQL = "INSERT INTO activity (actuid, auid, uuid, event_type, old_status, new_status, event_time, details) VALUES (?, ?, ?, 'status_change', 'applied', 'interview', NOW(), 'benchmark')";
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int rowsPerThread = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        ReportDaoJdbc dao = new ReportDaoJdbc();
+        String stamp = Long.toString(System.currentTimeMillis());
+        String uuid = dao.createUser("activity-bench-" + stamp + "@example.com", "hash", "Activity Bench");
+        String cuid = dao.createCompany("ActivityBench-" + stamp, null, null, null, null);
+        String juid = dao.createJob(cuid, "Benchmark Engineer", null, null, null, null, null);
+        String auid = dao.createApplication(uuid, juid, "applied", new Timestamp(System.currentTimeMillis()), null, null);
+        Path journal = Files.createTempFile("activity-bench", ".log");
+
+        try {
+            System.out.println(threads + " threads x " + rowsPerThread + " rows\n");
+
+            run("DIRECT", threads, rowsPerThread, () -> insertDirect(auid, uuid));
+
+            for (ActivityWriter.Mode mode : new ActivityWriter.Mode[] { ActivityWriter.Mode.SYNC, ActivityWriter.Mode.ASYNC }) {
+                ActivityWriter writer = new ActivityWriter(mode, 200, 5, 10_000, 5_000, journal);
+                run(mode.name(), threads, rowsPerThread, () -> writer.write(row(auid, uuid)));
+                writer.close();
+
+                ActivityWriter.Stats stats = writer.stats();
+                System.out.printf("         %d batches, avg %.1f rows, largest %d%n",
+                        stats.batches, stats.batches == 0 ? 0 : (double) stats.written / stats.batches, stats.largestBatch);
+            }
+
+            int txThreads = Math.max(threads, 2 * Db.poolStats().maxSize);
+            ActivityWriter writer = new ActivityWriter(ActivityWriter.Mode.SYNC, 200, 5, 10_000, 5_000, journal);
+            run("SYNC-TX", txThreads, rowsPerThread, () -> writeInTransaction(writer, auid, uuid));
+            writer.close();
+
+            ActivityWriter.Stats stats = writer.stats();
+            System.out.printf("         %d threads (pool max %d), %d rows written, %d failed flushes%n",
+                    txThreads, Db.poolStats().maxSize, stats.written, stats.failedFlushes);
+            if (stats.written != (long) txThreads * rowsPerThread) {
+                throw new IllegalStateException("SYNC-TX lost rows: " + stats.written + " of " + (long) txThreads * rowsPerThread);
+            }
+        } finally {
+            dao.deleteApplication(auid);
+            dao.deleteJob(juid);
+            dao.deleteCompany(cuid);
+            dao.deleteUser(uuid);
+            Files.deleteIfExists(journal);
+        }
+    }
+
+    private static void run(String label, int threads, int rowsPerThread, Runnable write) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    long busy = 0;
+                    for (int i = 0; i < rowsPerThread; i++) {
+                        long t0 = System.nanoTime();
+                        write.run();
+                        busy += System.nanoTime() - t0;
+                    }
+                    return busy;
+                }));
+            }
+            long busy = 0;
+            for (Future<Long> f : futures) busy += f.get();
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            int rows = threads * rowsPerThread;
+            System.out.printf("%-8s %10.0f rows/sec   %8.3f ms per write%n",
+                    label, rows / seconds, busy / 1_000_000.0 / rows);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void insertDirect(String auid, String uuid) {
+        try (Connection conn = Db.getConnection();
+             PreparedStatement ps = conn.prepareStatement(DIRECT_SQL)) {
+            ps.setBytes(1, Ids.toBytes(Ids.newId()));
+            ps.setBytes(2, Ids.toBytes(auid));
+            ps.setBytes(3, Ids.toBytes(uuid));
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("insertDirect failed", e);
+        }
+    }
+
+    private static void writeInTransaction(ActivityWriter writer, String auid, String uuid) {
+        Db.inTransaction(() -> {
+            try (Connection conn = Db.getConnection();
+                 PreparedStatement ps = conn.prepareStatement("SELECT 1")) {
+                ps.executeQuery().close();
+            }
+            Db.afterCommitOrFail(() -> writer.write(row(auid, uuid)));
+            return null;
+        });
+    }
+
+    private static ActivityRow row(String auid, String uuid) {
+        ActivityRow r = new ActivityRow();
+        r.actuid = Ids.newId();
+        r.auid = auid;
+        r.uuid = uuid;
+        r.eventType = "status_change";
+        r.oldStatus = "applied";
+        r.newStatus = "interview";
+        r.eventTime = new Timestamp(System.currentTimeMillis());
+        r.details = "benchmark";
+        return r;
+    }
+}
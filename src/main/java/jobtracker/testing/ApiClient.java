@@ -1,17 +1,24 @@
 package jobtracker.testing;
 
 import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.util.EntityUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 /**
  * HTTP client for testing REST API endpoints
  * Handles all HTTP requests (GET, POST, PUT, DELETE) with JSON support
@@ -29,9 +36,17 @@ public class ApiClient {
      * GET request to an endpoint
      */
     public ApiResponse get(String path) {
+        return get(path, Collections.emptyMap());
+    }
+
+    /**
+     * GET request with extra request headers (e.g. If-None-Match)
+     */
+    public ApiResponse get(String path, Map<String, String> headers) {
         try {
             HttpGet request = new HttpGet(baseUrl + path);
             request.setHeader("Content-Type", "application/json");
+            headers.forEach(request::setHeader);
             HttpResponse response = httpClient.execute(request);
             return new ApiResponse(response);
         } catch (Exception e) {
@@ -54,13 +69,60 @@ public class ApiClient {
         }
     }
 
+    /**
+     * GET an NDJSON endpoint; returns one JSON object per response line
+     */
+    public List<JsonObject> getNdjson(String path) {
+        try {
+            HttpGet request = new HttpGet(baseUrl + path);
+            HttpResponse response = httpClient.execute(request);
+            return parseNdjson(response);
+        } catch (Exception e) {
+            throw new RuntimeException("GET request failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * POST an NDJSON body; returns one JSON object per response line
+     */
+    public List<JsonObject> postNdjson(String path, String ndjsonBody) {
+        try {
+            HttpPost request = new HttpPost(baseUrl + path);
+            request.setHeader("Content-Type", "application/x-ndjson");
+            request.setEntity(new StringEntity(ndjsonBody, "UTF-8"));
+            HttpResponse response = httpClient.execute(request);
+            return parseNdjson(response);
+        } catch (Exception e) {
+            throw new RuntimeException("POST request failed: " + e.getMessage(), e);
+        }
+    }
+
+    private static List<JsonObject> parseNdjson(HttpResponse response) throws Exception {
+        String body = response.getEntity() != null ? EntityUtils.toString(response.getEntity(), "UTF-8") : "";
+        List<JsonObject> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.trim().isEmpty()) {
+                lines.add(JsonParser.parseString(line).getAsJsonObject());
+            }
+        }
+        return lines;
+    }
+
     /**
      * PUT request with JSON body
      */
     public ApiResponse put(String path, String jsonBody) {
+        return put(path, jsonBody, Collections.emptyMap());
+    }
+
+    /**
+     * PUT request with JSON body and extra request headers (e.g. If-Match)
+     */
+    public ApiResponse put(String path, String jsonBody, Map<String, String> headers) {
         try {
             HttpPut request = new HttpPut(baseUrl + path);
             request.setHeader("Content-Type", "application/json");
+            headers.forEach(request::setHeader);
             request.setEntity(new StringEntity(jsonBody));
             HttpResponse response = httpClient.execute(request);
             return new ApiResponse(response);
@@ -69,6 +131,21 @@ public class ApiClient {
         }
     }
 
+    /**
+     * PATCH request with JSON body
+     */
+    public ApiResponse patch(String path, String jsonBody) {
+        try {
+            HttpPatch request = new HttpPatch(baseUrl + path);
+            request.setHeader("Content-Type", "application/json");
+            request.setEntity(new StringEntity(jsonBody));
+            HttpResponse response = httpClient.execute(request);
+            return new ApiResponse(response);
+        } catch (Exception e) {
+            throw new RuntimeException("PATCH request failed: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * DELETE request
      */
@@ -90,8 +167,10 @@ public class ApiClient {
         private final int statusCode;
         private final String body;
         private final JsonElement bodyJson;
+        private final HttpResponse response;
 
         public ApiResponse(HttpResponse response) throws Exception {
+            this.response = response;
             this.statusCode = response.getStatusLine().getStatusCode();
             this.body = response.getEntity() != null ? EntityUtils.toString(response.getEntity()) : "";
             try {
@@ -105,6 +184,11 @@ public class ApiClient {
             return statusCode;
         }
 
+        /** First value of a response header, or null */
+        public String getHeader(String name) {
+            return response.getFirstHeader(name) != null ? response.getFirstHeader(name).getValue() : null;
+        }
+
         public String getBody() {
             return body;
         }
@@ -6,8 +6,16 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Comprehensive automated test suite runner for all JobTrackerRestService endpoints.
@@ -58,6 +66,9 @@ public class EndpointTestSuiteRunner {
             testJobEndpoints();
             testApplicationEndpoints();
             testActivityEndpoints();
+            testConcurrentStatusUpdates();
+            testBulkApplicationImport();
+            testKeysetPagination();
 
             // Print results summary
             printTestSummary();
@@ -100,6 +111,15 @@ public class EndpointTestSuiteRunner {
 
             if (userId[0] == null) return;
 
+            // Duplicate email is rejected by the unique key, no pre-check
+            test("POST /api/users duplicate email (Conflict)", () -> {
+                String json = String.format(
+                    "{\"email\":\"%s\",\"passwordHash\":\"hash123\",\"name\":\"Other User\"}",
+                    email
+                );
+                return client.post("/api/users", json).getStatusCode() == 409;
+            });
+
             // GET /api/users/{uuid} - Retrieve single user
             test("GET /api/users/{uuid} (Retrieve user)", () -> {
                 ApiClient.ApiResponse resp = client.get("/api/users/" + userId[0]);
@@ -109,6 +129,35 @@ public class EndpointTestSuiteRunner {
                        obj.get("email").getAsString().equals(email);
             });
 
+            test("GET /api/users/{uuid} with If-None-Match (Write in between changes the tag)", () -> {
+                return conditionalGetSeesWrite("/api/users/" + userId[0], () -> {
+                    String other = client.post("/api/users", String.format(
+                        "{\"email\":\"etag-test-%d@example.com\",\"passwordHash\":\"hash123\",\"name\":\"ETag Test User\"}",
+                        System.currentTimeMillis())).getAsString();
+                    client.delete("/api/users/" + other);
+                });
+            });
+
+            // POST /api/users/batch - Multi-get with one known and one unknown id
+            test("POST /api/users/batch (Multi-get users)", () -> {
+                String unknown = "00000000-0000-7000-8000-000000000000";
+                String json = String.format("{\"ids\":[\"%s\",\"%s\"]}", userId[0], unknown);
+                ApiClient.ApiResponse resp = client.post("/api/users/batch", json);
+                if (!resp.isSuccess()) return false;
+                JsonObject obj = resp.getJson().getAsJsonObject();
+                JsonArray found = obj.getAsJsonArray("found");
+                JsonArray missing = obj.getAsJsonArray("missing");
+                return found.size() == 1
+                    && found.get(0).getAsJsonObject().get("uuid").getAsString().equals(userId[0])
+                    && missing.size() == 1
+                    && missing.get(0).getAsString().equals(unknown);
+            });
+
+            test("POST /api/users/batch without ids (Bad request)", () -> {
+                ApiClient.ApiResponse resp = client.post("/api/users/batch", "{\"ids\":[]}");
+                return resp.getStatusCode() == 400;
+            });
+
             // GET /api/users?limit=10&offset=0 - List users
             test("GET /api/users?limit=10&offset=0 (List users)", () -> {
                 ApiClient.ApiResponse resp = client.get("/api/users?limit=10&offset=0");
@@ -179,6 +228,14 @@ public class EndpointTestSuiteRunner {
                        obj.get("name").getAsString().equals(companyName);
             });
 
+            test("GET /api/companies/{cuid} with If-None-Match (Write in between changes the tag)", () -> {
+                return conditionalGetSeesWrite("/api/companies/" + companyId[0], () -> {
+                    String other = client.post("/api/companies", String.format(
+                        "{\"name\":\"ETagTestCorp-%d\"}", System.currentTimeMillis())).getAsString();
+                    client.delete("/api/companies/" + other);
+                });
+            });
+
             // GET /api/companies?limit=10&offset=0 - List companies
             test("GET /api/companies?limit=10&offset=0 (List companies)", () -> {
                 ApiClient.ApiResponse resp = client.get("/api/companies?limit=10&offset=0");
@@ -247,6 +304,15 @@ public class EndpointTestSuiteRunner {
 
             if (jobId[0] == null) return;
 
+            test("POST /api/jobs unknown company (Not found)", () -> {
+                String jobJson = "{\"cuid\":\"00000000-0000-7000-8000-000000000000\",\"title\":\"Ghost Job\"}";
+                return client.post("/api/jobs", jobJson).getStatusCode() == 404;
+            });
+
+            test("DELETE /api/companies/{cuid} with jobs (Conflict)", () -> {
+                return client.delete("/api/companies/" + companyId[0]).getStatusCode() == 409;
+            });
+
             // GET /api/jobs/{juid} - Retrieve single job
             test("GET /api/jobs/{juid} (Retrieve job)", () -> {
                 ApiClient.ApiResponse resp = client.get("/api/jobs/" + jobId[0]);
@@ -255,6 +321,14 @@ public class EndpointTestSuiteRunner {
                 return obj.get("juid").getAsString().equals(jobId[0]);
             });
 
+            test("GET /api/jobs/{juid} with If-None-Match (Write in between changes the tag)", () -> {
+                return conditionalGetSeesWrite("/api/jobs/" + jobId[0], () -> {
+                    String other = client.post("/api/jobs", String.format(
+                        "{\"cuid\":\"%s\",\"title\":\"ETag Engineer\"}", companyId[0])).getAsString();
+                    client.delete("/api/jobs/" + other);
+                });
+            });
+
             // GET /api/jobs?limit=10&offset=0 - List jobs
             test("GET /api/jobs?limit=10&offset=0 (List jobs)", () -> {
                 ApiClient.ApiResponse resp = client.get("/api/jobs?limit=10&offset=0");
@@ -263,6 +337,39 @@ public class EndpointTestSuiteRunner {
                 return arr.size() > 0;
             });
 
+            // Identical concurrent list calls may share one query; all must see the same page
+            test("GET /api/jobs?limit=10&offset=0 x16 in parallel (Coalesced reads agree)", () -> {
+                int threads = 16;
+                ExecutorService pool = Executors.newFixedThreadPool(threads);
+                List<Future<String>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    futures.add(pool.submit(() -> {
+                        ApiClient.ApiResponse resp = new ApiClient(API_BASE).get("/api/jobs?limit=10&offset=0");
+                        return resp.isSuccess() ? resp.getBody() : null;
+                    }));
+                }
+                List<String> bodies = new ArrayList<>();
+                for (Future<String> f : futures) bodies.add(f.get());
+                pool.shutdown();
+
+                ApiClient.ApiResponse stats = client.get("/api/stats/coalescing");
+                if (!stats.isSuccess() || !stats.getJson().getAsJsonObject().has("byOperation")) return false;
+                return bodies.get(0) != null && bodies.stream().allMatch(bodies.get(0)::equals);
+            });
+
+            // A read right after a write must not be served a result from before it
+            test("POST /api/jobs then GET /api/jobs (New job on first page)", () -> {
+                String jobJson = String.format("{\"cuid\":\"%s\",\"title\":\"Coalescing Check\"}", companyId[0]);
+                String juid = client.post("/api/jobs", jobJson).getAsString();
+                if (juid == null) return false;
+                try {
+                    ApiClient.ApiResponse resp = client.get("/api/jobs?limit=10&offset=0");
+                    return resp.isSuccess() && resp.getBody().contains(juid);
+                } finally {
+                    client.delete("/api/jobs/" + juid);
+                }
+            });
+
             // GET /api/jobs/{juid}/exists - Check job exists
             test("GET /api/jobs/{juid}/exists (Check job exists)", () -> {
                 ApiClient.ApiResponse resp = client.get("/api/jobs/" + jobId[0] + "/exists");
@@ -307,6 +414,7 @@ public class EndpointTestSuiteRunner {
         final String[] companyId = {null};
         final String[] jobId = {null};
         final String[] appId = {null};
+        final String[] syncToken = {null};
 
         try {
             // Setup: Create user
@@ -352,6 +460,18 @@ public class EndpointTestSuiteRunner {
 
             if (appId[0] == null) return;
 
+            test("POST /api/applications same user and job (Conflict)", () -> {
+                String appJson = String.format(
+                    "{\"uuid\":\"%s\",\"juid\":\"%s\",\"status\":\"applied\"}",
+                    userId[0], jobId[0]
+                );
+                return client.post("/api/applications", appJson).getStatusCode() == 409;
+            });
+
+            test("DELETE /api/users/{uuid} with applications (Conflict)", () -> {
+                return client.delete("/api/users/" + userId[0]).getStatusCode() == 409;
+            });
+
             // GET /api/applications/{auid} - Retrieve single application
             test("GET /api/applications/{auid} (Retrieve application)", () -> {
                 ApiClient.ApiResponse resp = client.get("/api/applications/" + appId[0]);
@@ -360,6 +480,45 @@ public class EndpointTestSuiteRunner {
                 return obj.get("auid").getAsString().equals(appId[0]);
             });
 
+            // GET /api/applications/{auid}/full - Composite detail in one call
+            test("GET /api/applications/{auid}/full (Application + job + company + activities)", () -> {
+                ApiClient.ApiResponse resp = client.get("/api/applications/" + appId[0] + "/full");
+                if (!resp.isSuccess()) return false;
+                JsonObject obj = resp.getJson().getAsJsonObject();
+                return obj.getAsJsonObject("application").get("auid").getAsString().equals(appId[0])
+                    && obj.getAsJsonObject("job").get("juid").getAsString().equals(jobId[0])
+                    && obj.getAsJsonObject("company").get("cuid").getAsString().equals(companyId[0])
+                    && obj.getAsJsonArray("activities").size() >= 1;
+            });
+
+            test("GET /api/applications/{auid}/full (Latency vs four separate calls)", () -> {
+                int rounds = 50;
+
+                long fourCalls = System.nanoTime();
+                for (int i = 0; i < rounds; i++) {
+                    JsonObject app = client.get("/api/applications/" + appId[0]).getJson().getAsJsonObject();
+                    client.get("/api/activities/application/" + appId[0]);
+                    JsonObject job = client.get("/api/jobs/" + app.get("juid").getAsString()).getJson().getAsJsonObject();
+                    client.get("/api/companies/" + job.get("cuid").getAsString());
+                }
+                fourCalls = System.nanoTime() - fourCalls;
+
+                long oneCall = System.nanoTime();
+                for (int i = 0; i < rounds; i++) {
+                    client.get("/api/applications/" + appId[0] + "/full");
+                }
+                oneCall = System.nanoTime() - oneCall;
+
+                print(String.format("           four calls: %.2f ms   /full: %.2f ms   (avg over %d rounds)",
+                    fourCalls / 1_000_000.0 / rounds, oneCall / 1_000_000.0 / rounds, rounds));
+                return true;
+            });
+
+            test("GET /api/applications/{auid}/full (Unknown id returns 404)", () -> {
+                ApiClient.ApiResponse resp = client.get("/api/applications/00000000-0000-7000-8000-000000000000/full");
+                return resp.getStatusCode() == 404;
+            });
+
             // GET /api/applications?limit=10&offset=0 - List applications
             test("GET /api/applications?limit=10&offset=0 (List applications)", () -> {
                 ApiClient.ApiResponse resp = client.get("/api/applications?limit=10&offset=0");
@@ -405,7 +564,194 @@ public class EndpointTestSuiteRunner {
                 return resp.getStatusCode() == 204;
             });
 
+            // The GET above cached the application; the updates must have evicted it
+            test("GET /api/applications/{auid} (Reflects updates, not a cached copy)", () -> {
+                ApiClient.ApiResponse resp = client.get("/api/applications/" + appId[0]);
+                JsonObject app = resp.getJson().getAsJsonObject();
+                return "referral".equals(app.get("source").getAsString())
+                    && "Great candidate, proceed to interview".equals(app.get("notes").getAsString());
+            });
+
+            // PATCH /api/applications/{auid} - Several fields, one activity
+            test("PATCH /api/applications/{auid} (Status, notes and source at once)", () -> {
+                int before = client.get("/api/activities/application/" + appId[0]).getJson().getAsJsonArray().size();
+
+                ApiClient.ApiResponse resp = client.patch("/api/applications/" + appId[0],
+                    "{\"status\":\"interview\",\"notes\":\"Onsite on Friday\",\"source\":\"handshake\"}");
+                if (resp.getStatusCode() != 200) return false;
+                JsonObject app = resp.getJson().getAsJsonObject();
+
+                int after = client.get("/api/activities/application/" + appId[0]).getJson().getAsJsonArray().size();
+                return "interview".equals(app.get("status").getAsString())
+                    && "Onsite on Friday".equals(app.get("notes").getAsString())
+                    && "handshake".equals(app.get("source").getAsString())
+                    && after == before + 1;
+            });
+
+            test("PATCH /api/applications/{auid} notes only (No status activity)", () -> {
+                int before = client.get("/api/activities/application/" + appId[0]).getJson().getAsJsonArray().size();
+                ApiClient.ApiResponse resp = client.patch("/api/applications/" + appId[0], "{\"notes\":null}");
+                int after = client.get("/api/activities/application/" + appId[0]).getJson().getAsJsonArray().size();
+                return resp.getStatusCode() == 200
+                    && resp.getJson().getAsJsonObject().get("notes").isJsonNull()
+                    && "interview".equals(resp.getJson().getAsJsonObject().get("status").getAsString())
+                    && after == before;
+            });
+
+            test("PATCH /api/applications/{auid} empty or invalid body (Bad request)", () -> {
+                return client.patch("/api/applications/" + appId[0], "{}").getStatusCode() == 400
+                    && client.patch("/api/applications/" + appId[0], "{\"status\":\"hired\"}").getStatusCode() == 400;
+            });
+
+            // If-Match: a stale ETag is refused, the current one goes through
+            test("PUT /api/applications/{auid}/notes with stale If-Match (Precondition failed)", () -> {
+                String etag = client.get("/api/applications/" + appId[0]).getHeader("ETag");
+                if (etag == null) return false;
+
+                // Someone else updates the application in between
+                client.put("/api/applications/" + appId[0] + "/notes", "{\"text\":\"Edited elsewhere\"}");
+
+                ApiClient.ApiResponse resp = client.put("/api/applications/" + appId[0] + "/notes",
+                    "{\"text\":\"Lost update\"}", Collections.singletonMap("If-Match", etag));
+                String notes = client.get("/api/applications/" + appId[0]).getJson().getAsJsonObject()
+                    .get("notes").getAsString();
+                return resp.getStatusCode() == 412 && notes.equals("Edited elsewhere");
+            });
+
+            test("PUT /api/applications/{auid}/status with current If-Match (Update applies)", () -> {
+                String etag = client.get("/api/applications/" + appId[0]).getHeader("ETag");
+                ApiClient.ApiResponse resp = client.put("/api/applications/" + appId[0] + "/status",
+                    "{\"status\":\"interview\"}", Collections.singletonMap("If-Match", etag));
+                if (!resp.isSuccess()) return false;
+
+                // The new ETag works for the next conditional update, the old one no longer does
+                String next = resp.getHeader("ETag");
+                ApiClient.ApiResponse stale = client.put("/api/applications/" + appId[0] + "/status",
+                    "{\"status\":\"offer\"}", Collections.singletonMap("If-Match", etag));
+                return next != null && !next.equals(etag) && stale.getStatusCode() == 412;
+            });
+
+            // Conditional GET: polling with the ETag gets a 304 until something changes
+            test("GET /api/applications/{auid} with If-None-Match (Not modified, then modified)", () -> {
+                ApiClient.ApiResponse first = client.get("/api/applications/" + appId[0]);
+                String etag = first.getHeader("ETag");
+                if (etag == null || first.getHeader("Last-Modified") == null) return false;
+
+                ApiClient.ApiResponse unchanged = client.get("/api/applications/" + appId[0],
+                    Collections.singletonMap("If-None-Match", etag));
+                if (unchanged.getStatusCode() != 304 || !unchanged.getBody().isEmpty()) return false;
+
+                client.put("/api/applications/" + appId[0] + "/notes", "{\"text\":\"Changed since last poll\"}");
+                ApiClient.ApiResponse changed = client.get("/api/applications/" + appId[0],
+                    Collections.singletonMap("If-None-Match", etag));
+                return changed.getStatusCode() == 200 && !etag.equals(changed.getHeader("ETag"));
+            });
+
+            test("GET /api/applications?limit=10 with If-None-Match (List not modified, then modified)", () -> {
+                String etag = client.get("/api/applications?limit=10&offset=0").getHeader("ETag");
+                if (etag == null) return false;
+
+                int unchanged = client.get("/api/applications?limit=10&offset=0",
+                    Collections.singletonMap("If-None-Match", etag)).getStatusCode();
+
+                client.put("/api/applications/" + appId[0] + "/source", "{\"text\":\"other\"}");
+                int changed = client.get("/api/applications?limit=10&offset=0",
+                    Collections.singletonMap("If-None-Match", etag)).getStatusCode();
+                return unchanged == 304 && changed == 200;
+            });
+
+            test("GET /api/stats/cache (Cache counters)", () -> {
+                ApiClient.ApiResponse resp = client.get("/api/stats/cache");
+                return resp.isSuccess() && resp.getJson().getAsJsonArray().size() == 4;
+            });
+
+            test("GET /api/stats/batching (Lookup batching counters)", () -> {
+                ApiClient.ApiResponse resp = client.get("/api/stats/batching");
+                return resp.isSuccess() && resp.getJson().getAsJsonArray().size() == 4;
+            });
+
+            test("GET /api/stats/activity-writer (Activity write-behind counters)", () -> {
+                ApiClient.ApiResponse resp = client.get("/api/stats/activity-writer");
+                return resp.isSuccess() && resp.getJson().getAsJsonObject().has("mode");
+            });
+
+            test("GET /api/activities/stream (Rejects malformed filter)", () -> {
+                ApiClient.ApiResponse resp = client.get("/api/activities/stream?uuid=not-an-id");
+                return resp.getStatusCode() == 400;
+            });
+
+            test("GET /api/stats/activity-stream (Activity stream counters)", () -> {
+                ApiClient.ApiResponse resp = client.get("/api/stats/activity-stream");
+                return resp.isSuccess() && resp.getJson().getAsJsonObject().has("clients");
+            });
+
             // DELETE /api/applications/{auid} - Delete application
+            test("GET /api/applications/changes (Full sync for one user)", () -> {
+                ApiClient.ApiResponse resp = client.get("/api/applications/changes?uuid=" + userId[0]);
+                if (!resp.isSuccess()) return false;
+                JsonObject body = resp.getJson().getAsJsonObject();
+                JsonArray updated = body.getAsJsonArray("updated");
+                syncToken[0] = body.get("nextToken").getAsString();
+                return updated.size() == 1
+                    && updated.get(0).getAsJsonObject().get("auid").getAsString().equals(appId[0])
+                    && !body.get("hasMore").getAsBoolean();
+            });
+
+            test("GET /api/applications/changes (Rejects malformed token)", () -> {
+                ApiClient.ApiResponse resp = client.get("/api/applications/changes?since=%21%21");
+                return resp.getStatusCode() == 400;
+            });
+
+            test("GET /api/stats/counts?uuid= (Counters follow the user's application)", () -> {
+                ApiClient.ApiResponse resp = client.get("/api/stats/counts?uuid=" + userId[0]);
+                if (!resp.isSuccess()) return false;
+                JsonObject body = resp.getJson().getAsJsonObject();
+                long statuses = 0;
+                for (String status : body.getAsJsonObject("statuses").keySet()) {
+                    statuses += body.getAsJsonObject("statuses").get(status).getAsLong();
+                }
+                return body.getAsJsonObject("tables").get("application").getAsLong() == 1
+                    && statuses == 1
+                    && body.getAsJsonObject("sources").get("other").getAsLong() == 1;
+            });
+
+            test("GET /api/stats/funnel?uuid= (Stages in pipeline order)", () -> {
+                ApiClient.ApiResponse resp = client.get("/api/stats/funnel?uuid=" + userId[0]);
+                if (!resp.isSuccess()) return false;
+                JsonObject body = resp.getJson().getAsJsonObject();
+                JsonArray stages = body.getAsJsonArray("stages");
+                return body.get("total").getAsLong() == 1
+                    && stages.size() == 6
+                    && stages.get(0).getAsJsonObject().get("status").getAsString().equals("applied");
+            });
+
+            test("GET /api/users/{uuid}/board (One column per status, application in its column)", () -> {
+                ApiClient.ApiResponse resp = client.get("/api/users/" + userId[0] + "/board?n=3");
+                if (!resp.isSuccess()) return false;
+                JsonArray columns = resp.getJson().getAsJsonObject().getAsJsonArray("columns");
+                long total = 0;
+                boolean found = false;
+                for (int i = 0; i < columns.size(); i++) {
+                    JsonObject column = columns.get(i).getAsJsonObject();
+                    total += column.get("count").getAsLong();
+                    JsonArray apps = column.getAsJsonArray("applications");
+                    if (apps.size() == 1 && apps.get(0).getAsJsonObject().get("auid").getAsString().equals(appId[0])) {
+                        found = true;
+                    }
+                }
+                return columns.size() == 6 && total == 1 && found;
+            });
+
+            test("GET /api/users/{uuid}/board?n=0 (Rejects bad column size)", () -> {
+                ApiClient.ApiResponse resp = client.get("/api/users/" + userId[0] + "/board?n=0");
+                return resp.getStatusCode() == 400;
+            });
+
+            test("GET /api/stats/funnel (Rejects malformed uuid)", () -> {
+                ApiClient.ApiResponse resp = client.get("/api/stats/funnel?uuid=not-an-id");
+                return resp.getStatusCode() == 400;
+            });
+
             test("DELETE /api/applications/{auid} (Delete application)", () -> {
                 ApiClient.ApiResponse resp = client.delete("/api/applications/" + appId[0]);
                 if (resp.getStatusCode() != 204) return false;
@@ -415,6 +761,27 @@ public class EndpointTestSuiteRunner {
                 return verify.getStatusCode() == 404;
             });
 
+            test("GET /api/applications/changes?since= (Reports the delete)", () -> {
+                if (syncToken[0] == null) return false;
+                ApiClient.ApiResponse resp = client.get("/api/applications/changes?uuid=" + userId[0] + "&since=" + syncToken[0]);
+                if (!resp.isSuccess()) return false;
+                JsonObject body = resp.getJson().getAsJsonObject();
+                JsonArray deleted = body.getAsJsonArray("deleted");
+                return body.getAsJsonArray("updated").size() == 0
+                    && deleted.size() == 1 && deleted.get(0).getAsString().equals(appId[0]);
+            });
+
+            test("GET /api/stats/counts?uuid= (Delete takes the application off the counters)", () -> {
+                ApiClient.ApiResponse resp = client.get("/api/stats/counts?uuid=" + userId[0]);
+                return resp.isSuccess()
+                    && resp.getJson().getAsJsonObject().getAsJsonObject("tables").get("application").getAsLong() == 0;
+            });
+
+            test("POST /api/stats/counts/reconcile (Recount from the tables)", () -> {
+                ApiClient.ApiResponse resp = client.post("/api/stats/counts/reconcile", "");
+                return resp.isSuccess() && resp.getJson().getAsJsonObject().has("corrected");
+            });
+
         } finally {
             try {
                 if (appId[0] != null) {
@@ -570,6 +937,394 @@ public class EndpointTestSuiteRunner {
         }
     }
 
+    /**
+     * Fire parallel PUT /api/applications/{auid}/status calls at one application and
+     * check the activity log: one status_change per successful PUT, and every
+     * old_status must be the status the previous transition left behind.
+     */
+    private static void testConcurrentStatusUpdates() {
+        section("CONCURRENT STATUS UPDATES");
+
+        final String[] userId = {null};
+        final String[] companyId = {null};
+        final String[] jobId = {null};
+        final String[] appId = {null};
+
+        try {
+            // Setup: user, company, job and one application to fight over
+            String userJson = String.format(
+                "{\"email\":\"race-test-%d@example.com\",\"passwordHash\":\"hash123\",\"name\":\"Race Test User\"}",
+                System.currentTimeMillis()
+            );
+            userId[0] = client.post("/api/users", userJson).getAsString();
+
+            String compJson = String.format("{\"name\":\"RaceTestCorp-%d\"}", System.currentTimeMillis());
+            companyId[0] = client.post("/api/companies", compJson).getAsString();
+
+            String jobJson = String.format("{\"cuid\":\"%s\",\"title\":\"Race Engineer\"}", companyId[0]);
+            jobId[0] = client.post("/api/jobs", jobJson).getAsString();
+
+            if (userId[0] == null || companyId[0] == null || jobId[0] == null) return;
+
+            String appJson = String.format(
+                "{\"uuid\":\"%s\",\"juid\":\"%s\",\"status\":\"applied\"}",
+                userId[0], jobId[0]
+            );
+            appId[0] = client.post("/api/applications", appJson).getAsString();
+
+            if (appId[0] == null) return;
+
+            test("PUT /api/applications/{auid}/status x40 in parallel (No lost or mis-attributed changes)", () -> {
+                String[] statuses = {"phone_screen", "interview", "offer", "rejected", "withdrawn", "applied"};
+                int threads = 8;
+                int updatesPerThread = 5;
+
+                ExecutorService pool = Executors.newFixedThreadPool(threads);
+                AtomicInteger succeeded = new AtomicInteger();
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    final int offset = t;
+                    futures.add(pool.submit(() -> {
+                        ApiClient threadClient = new ApiClient(API_BASE);
+                        for (int i = 0; i < updatesPerThread; i++) {
+                            String status = statuses[(offset + i) % statuses.length];
+                            ApiClient.ApiResponse resp = threadClient.put(
+                                "/api/applications/" + appId[0] + "/status",
+                                "{\"status\":\"" + status + "\"}"
+                            );
+                            if (resp.isSuccess()) succeeded.incrementAndGet();
+                        }
+                    }));
+                }
+                for (Future<?> f : futures) f.get();
+                pool.shutdown();
+
+                ApiClient.ApiResponse appResp = client.get("/api/applications/" + appId[0]);
+                String finalStatus = appResp.getJson().getAsJsonObject().get("status").getAsString();
+
+                ApiClient.ApiResponse actResp = client.get("/api/activities/application/" + appId[0]);
+                JsonArray activities = actResp.getJson().getAsJsonArray();
+
+                // Every transition moves one unit from old_status to new_status. If each
+                // old_status is the status really replaced, the log is a single chain from
+                // 'applied' to the final status: balanced everywhere except the two ends.
+                Map<String, Integer> balance = new LinkedHashMap<>();
+                int transitions = 0;
+                for (int i = 0; i < activities.size(); i++) {
+                    JsonObject act = activities.get(i).getAsJsonObject();
+                    if (!"status_change".equals(act.get("eventType").getAsString())) continue;
+                    transitions++;
+                    balance.merge(act.get("oldStatus").getAsString(), -1, Integer::sum);
+                    balance.merge(act.get("newStatus").getAsString(), 1, Integer::sum);
+                }
+                balance.merge("applied", 1, Integer::sum);
+                balance.merge(finalStatus, -1, Integer::sum);
+
+                boolean chained = balance.values().stream().allMatch(v -> v == 0);
+                if (transitions != succeeded.get() || !chained) {
+                    print("           transitions=" + transitions + " succeeded=" + succeeded.get()
+                        + " balance=" + balance);
+                }
+                return succeeded.get() == threads * updatesPerThread
+                    && transitions == succeeded.get()
+                    && chained;
+            });
+
+        } finally {
+            try {
+                if (appId[0] != null) client.delete("/api/applications/" + appId[0]);
+                if (jobId[0] != null) client.delete("/api/jobs/" + jobId[0]);
+                if (companyId[0] != null) client.delete("/api/companies/" + companyId[0]);
+                if (userId[0] != null) client.delete("/api/users/" + userId[0]);
+            } catch (Exception ignored) {}
+        }
+    }
+
+    /**
+     * Test POST /api/applications/bulk: per-line results in input order, bad lines
+     * rejected without affecting the rest, 'created' activity logged per inserted row
+     */
+    private static void testBulkApplicationImport() {
+        section("BULK APPLICATION IMPORT");
+
+        final String[] userId = {null};
+        final String[] companyId = {null};
+        final String[] jobIds = {null, null};
+        final List<String> appIds = new ArrayList<>();
+
+        try {
+            String userJson = String.format(
+                "{\"email\":\"bulk-test-%d@example.com\",\"passwordHash\":\"hash123\",\"name\":\"Bulk Test User\"}",
+                System.currentTimeMillis()
+            );
+            userId[0] = client.post("/api/users", userJson).getAsString();
+
+            String compJson = String.format("{\"name\":\"BulkTestCorp-%d\"}", System.currentTimeMillis());
+            companyId[0] = client.post("/api/companies", compJson).getAsString();
+
+            for (int i = 0; i < jobIds.length; i++) {
+                String jobJson = String.format("{\"cuid\":\"%s\",\"title\":\"Bulk Engineer %d\"}", companyId[0], i);
+                jobIds[i] = client.post("/api/jobs", jobJson).getAsString();
+            }
+
+            if (userId[0] == null || companyId[0] == null || jobIds[0] == null || jobIds[1] == null) return;
+
+            test("POST /api/applications/bulk (Valid rows inserted, bad rows reported per line)", () -> {
+                String body = String.join("\n",
+                    String.format("{\"uuid\":\"%s\",\"juid\":\"%s\",\"status\":\"applied\",\"source\":\"Import\"}", userId[0], jobIds[0]),
+                    String.format("{\"uuid\":\"%s\",\"juid\":\"%s\",\"status\":\"not_a_status\"}", userId[0], jobIds[1]),
+                    "{not json",
+                    "",
+                    String.format("{\"uuid\":\"%s\",\"juid\":\"%s\",\"status\":\"interview\"}", userId[0], jobIds[1]),
+                    String.format("{\"uuid\":\"%s\",\"juid\":\"%s\",\"status\":\"applied\"}", userId[0], jobIds[0])
+                ) + "\n";
+
+                List<JsonObject> lines = client.postNdjson("/api/applications/bulk", body);
+                if (lines.size() != 6) {
+                    print("           unexpected response: " + lines);
+                    return false;
+                }
+                for (int i = 0; i < 5; i++) {
+                    JsonObject line = lines.get(i);
+                    if (line.has("auid")) appIds.add(line.get("auid").getAsString());
+                }
+
+                JsonObject summary = lines.get(5);
+                boolean ok = lines.get(0).get("line").getAsInt() == 1 && lines.get(0).has("auid")
+                    && lines.get(1).get("line").getAsInt() == 2 && lines.get(1).has("error")
+                    && lines.get(2).get("line").getAsInt() == 3 && lines.get(2).has("error")
+                    && lines.get(3).get("line").getAsInt() == 5 && lines.get(3).has("auid")
+                    && lines.get(4).get("line").getAsInt() == 6
+                    && "User already applied to this job".equals(lines.get(4).get("error").getAsString())
+                    && summary.get("inserted").getAsInt() == 2
+                    && summary.get("failed").getAsInt() == 3;
+                if (!ok) print("           response: " + lines);
+                return ok;
+            });
+
+            test("GET /api/activities/application/{auid} (Bulk rows have 'created' activity)", () -> {
+                if (appIds.isEmpty()) return false;
+                for (String auid : appIds) {
+                    JsonArray activities = client.get("/api/activities/application/" + auid).getJson().getAsJsonArray();
+                    if (activities.size() != 1
+                        || !"created".equals(activities.get(0).getAsJsonObject().get("eventType").getAsString())) {
+                        return false;
+                    }
+                }
+                return true;
+            });
+
+            test("GET /api/export/applications?since= (Streams recently updated rows as NDJSON)", () -> {
+                if (appIds.isEmpty()) return false;
+                String since = LocalDateTime.now().minusHours(1).withNano(0).toString();
+                List<JsonObject> rows = client.getNdjson("/api/export/applications?since=" + since);
+                long found = rows.stream()
+                    .filter(r -> r.has("auid") && appIds.contains(r.get("auid").getAsString()))
+                    .count();
+                return found == appIds.size() && rows.stream().noneMatch(r -> r.has("error"));
+            });
+
+            test("PUT /api/applications/status/bulk (One status for many applications)", () -> {
+                if (appIds.isEmpty()) return false;
+                String unknown = "00000000-0000-7000-8000-000000000000";
+                StringBuilder ids = new StringBuilder();
+                for (String auid : appIds) ids.append('"').append(auid).append("\",");
+                ids.append('"').append(unknown).append('"');
+
+                String body = "{\"auids\":[" + ids + "],\"status\":\"rejected\"}";
+                JsonObject first = client.put("/api/applications/status/bulk", body).getJson().getAsJsonObject();
+                JsonObject again = client.put("/api/applications/status/bulk", body).getJson().getAsJsonObject();
+
+                boolean ok = first.getAsJsonArray("updated").size() == appIds.size()
+                    && first.getAsJsonArray("missing").size() == 1
+                    && again.getAsJsonArray("updated").size() == 0
+                    && again.getAsJsonArray("unchanged").size() == appIds.size();
+
+                // Each changed application got exactly one status_change activity, with its old status
+                for (String auid : appIds) {
+                    JsonArray activities = client.get("/api/activities/application/" + auid).getJson().getAsJsonArray();
+                    long changes = 0;
+                    for (int i = 0; i < activities.size(); i++) {
+                        JsonObject a = activities.get(i).getAsJsonObject();
+                        if ("status_change".equals(a.get("eventType").getAsString())
+                            && "applied".equals(a.get("oldStatus").getAsString())
+                            && "rejected".equals(a.get("newStatus").getAsString())) changes++;
+                    }
+                    ok &= changes == 1
+                        && "rejected".equals(client.get("/api/applications/" + auid).getJson().getAsJsonObject()
+                            .get("status").getAsString());
+                }
+                return ok;
+            });
+
+            test("PUT /api/applications/status/bulk invalid status (Bad request)", () -> {
+                return client.put("/api/applications/status/bulk",
+                    "{\"auids\":[\"" + "00000000-0000-7000-8000-000000000000" + "\"],\"status\":\"hired\"}").getStatusCode() == 400;
+            });
+
+            test("GET /api/export/activities?since=bad (Invalid since)", () -> {
+                return client.get("/api/export/activities?since=yesterday").getStatusCode() == 400;
+            });
+
+        } finally {
+            try {
+                for (String auid : appIds) client.delete("/api/applications/" + auid);
+                for (String juid : jobIds) if (juid != null) client.delete("/api/jobs/" + juid);
+                if (companyId[0] != null) client.delete("/api/companies/" + companyId[0]);
+                if (userId[0] != null) client.delete("/api/users/" + userId[0]);
+            } catch (Exception ignored) {}
+        }
+    }
+
+    /**
+     * Test keyset paging (?cursor=) on /api/users and /api/applications: walking to
+     * the end sees every row once even with inserts between pages, the last page
+     * has no nextCursor, and a malformed cursor is a 400.
+     */
+    private static void testKeysetPagination() {
+        section("KEYSET PAGINATION");
+
+        final List<String> userIds = new ArrayList<>();
+        final String[] companyId = {null};
+        final List<String> jobIds = new ArrayList<>();
+        final List<String> appIds = new ArrayList<>();
+        final long stamp = System.currentTimeMillis();
+
+        try {
+            // Created back to back, so most share a created_at second and only the id breaks the tie
+            for (int i = 0; i < 5; i++) {
+                String userJson = String.format(
+                    "{\"email\":\"page-test-%d-%d@example.com\",\"passwordHash\":\"hash123\",\"name\":\"Page Test User\"}",
+                    stamp, i
+                );
+                userIds.add(client.post("/api/users", userJson).getAsString());
+            }
+
+            String compJson = String.format("{\"name\":\"PageTestCorp-%d\"}", stamp);
+            companyId[0] = client.post("/api/companies", compJson).getAsString();
+            for (int i = 0; i < 5; i++) {
+                String jobJson = String.format("{\"cuid\":\"%s\",\"title\":\"Page Engineer %d\"}", companyId[0], i);
+                jobIds.add(client.post("/api/jobs", jobJson).getAsString());
+            }
+
+            if (userIds.contains(null) || companyId[0] == null || jobIds.contains(null)) return;
+
+            // Same applied_at (far ahead, so they sort first) for all four
+            for (int i = 0; i < 4; i++) {
+                String appJson = String.format(
+                    "{\"uuid\":\"%s\",\"juid\":\"%s\",\"status\":\"applied\",\"appliedAt\":\"2099-06-01T10:00:00\"}",
+                    userIds.get(0), jobIds.get(i)
+                );
+                appIds.add(client.post("/api/applications", appJson).getAsString());
+            }
+            if (appIds.contains(null)) return;
+
+            test("GET /api/users?cursor= (Walk to the end, no duplicates or skips)", () -> {
+                final String[] late = {null};
+                List<String> seen = walkPages("/api/users", "uuid", () -> {
+                    // Newer than every row already paged past, so it must not show up later
+                    String userJson = String.format(
+                        "{\"email\":\"page-test-%d-late@example.com\",\"passwordHash\":\"hash123\",\"name\":\"Page Test User\"}",
+                        stamp
+                    );
+                    late[0] = client.post("/api/users", userJson).getAsString();
+                    userIds.add(late[0]);
+                });
+                if (seen == null) return false;
+                boolean ok = seen.size() == new HashSet<>(seen).size()
+                    && seen.containsAll(userIds.subList(0, 5))
+                    && !seen.contains(late[0]);
+                if (!ok) print("           seen " + seen.size() + " users");
+                return ok;
+            });
+
+            test("GET /api/applications?cursor= (Walk to the end, rows inserted behind the cursor show up once)", () -> {
+                final String[] behind = {null};
+                List<String> seen = walkPages("/api/applications", "auid", () -> {
+                    // Sorts after the first page, so the walk has to reach it
+                    String appJson = String.format(
+                        "{\"uuid\":\"%s\",\"juid\":\"%s\",\"status\":\"applied\",\"appliedAt\":\"2099-05-01T10:00:00\"}",
+                        userIds.get(0), jobIds.get(4)
+                    );
+                    behind[0] = client.post("/api/applications", appJson).getAsString();
+                    appIds.add(behind[0]);
+                });
+                if (seen == null) return false;
+                boolean ok = seen.size() == new HashSet<>(seen).size()
+                    && seen.containsAll(appIds)
+                    && behind[0] != null;
+                if (!ok) print("           seen " + seen.size() + " applications");
+                return ok;
+            });
+
+            test("GET /api/users?cursor=bad (Invalid cursor)", () -> {
+                ApiClient.ApiResponse resp = client.get("/api/users?cursor=not-a-cursor");
+                return resp.getStatusCode() == 400
+                    && "Invalid cursor".equals(resp.getJson().getAsJsonObject().get("error").getAsString());
+            });
+
+            test("GET /api/applications?cursor=bad (Invalid cursor)", () -> {
+                ApiClient.ApiResponse resp = client.get("/api/applications?cursor=not-a-cursor");
+                return resp.getStatusCode() == 400
+                    && "Invalid cursor".equals(resp.getJson().getAsJsonObject().get("error").getAsString());
+            });
+
+        } finally {
+            try {
+                for (String auid : appIds) if (auid != null) client.delete("/api/applications/" + auid);
+                for (String juid : jobIds) if (juid != null) client.delete("/api/jobs/" + juid);
+                if (companyId[0] != null) client.delete("/api/companies/" + companyId[0]);
+                for (String uuid : userIds) if (uuid != null) client.delete("/api/users/" + uuid);
+            } catch (Exception ignored) {}
+        }
+    }
+
+    /**
+     * Conditional GET around a write to the same table: 304 before it, 200 with a
+     * new ETag right after it, then 304 again for the new tag. A route that takes
+     * its tag after reading the row can label an old body with the new tag, which
+     * the first 200 here must never be.
+     */
+    private static boolean conditionalGetSeesWrite(String path, Runnable write) {
+        String etag = client.get(path).getHeader("ETag");
+        if (etag == null) return false;
+        if (client.get(path, Collections.singletonMap("If-None-Match", etag)).getStatusCode() != 304) return false;
+
+        write.run();
+        ApiClient.ApiResponse changed = client.get(path, Collections.singletonMap("If-None-Match", etag));
+        String newTag = changed.getHeader("ETag");
+        if (changed.getStatusCode() != 200 || newTag == null || newTag.equals(etag)) return false;
+        return client.get(path, Collections.singletonMap("If-None-Match", newTag)).getStatusCode() == 304;
+    }
+
+    /**
+     * Follow nextCursor from the first page to the last and return the ids seen,
+     * in order; null if a page failed or the last page had a nextCursor. Small
+     * pages first (betweenPages runs after the first one), then big ones to get
+     * through the rest of the table.
+     */
+    private static List<String> walkPages(String path, String idField, Runnable betweenPages) {
+        List<String> seen = new ArrayList<>();
+        String cursor = "";
+        for (int page = 0; cursor != null; page++) {
+            int limit = page < 3 ? 2 : 500;
+            ApiClient.ApiResponse resp = client.get(path + "?limit=" + limit + "&cursor="
+                + URLEncoder.encode(cursor, StandardCharsets.UTF_8));
+            if (!resp.isSuccess()) return null;
+
+            JsonObject body = resp.getJson().getAsJsonObject();
+            JsonArray items = body.getAsJsonArray("items");
+            for (int i = 0; i < items.size(); i++) {
+                seen.add(items.get(i).getAsJsonObject().get(idField).getAsString());
+            }
+            cursor = body.has("nextCursor") && !body.get("nextCursor").isJsonNull()
+                ? body.get("nextCursor").getAsString() : null;
+            if (cursor != null && items.size() < limit) return null;   // a short page must be the last
+            if (page == 0) betweenPages.run();
+        }
+        return seen;
+    }
+
     /**
      * Run a test and track results
      */
@@ -0,0 +1,121 @@
+package jobtracker.testing;
+
+import jobtracker.dao.Ids;
+import jobtracker.db.Db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * Insert throughput: random CHAR(36) UUID keys vs time-ordered BINARY(16) keys.
+ *
+ * Builds two scratch tables shaped like `activity` (primary key plus a secondary
+ * index on a second id column), inserts the same number of rows into each with
+ * one autocommit INSERT per row - the way the DAO writes - and reports rows/sec
+ * and the resulting data/index sizes. The scratch tables are dropped afterwards.
+ *
+ * Run with: mvn compile exec:java -Dexec.mainClass=jobtracker.testing.InsertThroughputBenchmark -Dexec.args="50000"
+ *
+ * Requires: JOBTRACKER_DB_* environment variables pointing at a scratch database
+ */
+public class InsertThroughputBenchmark {
+
+    private static final String CHAR_TABLE = "bench_id_char36";
+    private static final String BINARY_TABLE = "bench_id_binary16";
+
+    public static void main(String[] args) throws SQLException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+
+        System.out.println("Inserting " + rows + " rows per scheme...\n");
+
+        try (Connection conn = Db.getConnection()) {
+            try {
+                createTables(conn);
+
+                long charNanos = insertCharKeys(conn, rows);
+                long binaryNanos = insertBinaryKeys(conn, rows);
+
+                try (Statement st = conn.createStatement()) {
+                    st.execute("ANALYZE TABLE " + CHAR_TABLE + ", " + BINARY_TABLE);
+                }
+
+                printResult(conn, "CHAR(36) random v4", CHAR_TABLE, rows, charNanos);
+                printResult(conn, "BINARY(16) time-ordered", BINARY_TABLE, rows, binaryNanos);
+            } finally {
+                dropTables(conn);
+            }
+        }
+    }
+
+    private static void createTables(Connection conn) throws SQLException {
+        dropTables(conn);
+        try (Statement st = conn.createStatement()) {
+            st.execute("CREATE TABLE " + CHAR_TABLE + " ("
+                    + "id CHAR(36) PRIMARY KEY, parent_id CHAR(36) NOT NULL, "
+                    + "event_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP, details TEXT NULL, "
+                    + "INDEX idx_parent (parent_id)"
+                    + ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci");
+            st.execute("CREATE TABLE " + BINARY_TABLE + " ("
+                    + "id BINARY(16) PRIMARY KEY, parent_id BINARY(16) NOT NULL, "
+                    + "event_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP, details TEXT NULL, "
+                    + "INDEX idx_parent (parent_id)"
+                    + ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci");
+        }
+    }
+
+    private static void dropTables(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS " + CHAR_TABLE);
+            st.execute("DROP TABLE IF EXISTS " + BINARY_TABLE);
+        }
+    }
+
+    private static long insertCharKeys(Connection conn, int rows) throws SQLException {
+        String sql = "INSERT INTO " + CHAR_TABLE + " (id, parent_id, details) VALUES (?, ?, 'benchmark row')";
+        long start = System.nanoTime();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 0; i < rows; i++) {
+                ps.setString(1, UUID.randomUUID().toString());
+                ps.setString(2, UUID.randomUUID().toString());
+                ps.executeUpdate();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long insertBinaryKeys(Connection conn, int rows) throws SQLException {
+        String sql = "INSERT INTO " + BINARY_TABLE + " (id, parent_id, details) VALUES (?, ?, 'benchmark row')";
+        long start = System.nanoTime();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 0; i < rows; i++) {
+                ps.setBytes(1, Ids.toBytes(Ids.newId()));
+                ps.setBytes(2, Ids.toBytes(Ids.newId()));
+                ps.executeUpdate();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void printResult(Connection conn, String label, String table, int rows, long nanos) throws SQLException {
+        String sql = "SELECT data_length, index_length FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?";
+        long dataBytes = 0;
+        long indexBytes = 0;
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, table);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    dataBytes = rs.getLong("data_length");
+                    indexBytes = rs.getLong("index_length");
+                }
+            }
+        }
+
+        double seconds = nanos / 1_000_000_000.0;
+        System.out.printf("%-26s %10.0f rows/sec   data %8.1f KB   secondary index %8.1f KB%n",
+                label, rows / seconds, dataBytes / 1024.0, indexBytes / 1024.0);
+    }
+}
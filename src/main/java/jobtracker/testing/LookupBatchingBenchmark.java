@@ -0,0 +1,127 @@
+package jobtracker.testing;
+
+import jobtracker.dao.BatchResult;
+import jobtracker.dao.LookupBatcher;
+import jobtracker.dao.ReportDaoJdbc;
+import jobtracker.dao.ReportDaoJdbc.UserRow;
+import jobtracker.db.Db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Point lookup throughput at high concurrency: one query per lookup vs lookups
+ * batched into IN queries by {@link LookupBatcher}.
+ *
+ * Inserts a set of scratch users, then has many threads look up random ones
+ * by uuid. The unbatched run uses a batcher with a window of 0 (every lookup is
+ * its own single-id query); the batched runs use the windows given on the
+ * command line. The entity cache is not involved. Scratch users are deleted
+ * afterwards.
+ *
+ * Run with: mvn compile exec:java -Dexec.mainClass=jobtracker.testing.LookupBatchingBenchmark -Dexec.args="64 200 0,200,500,1000"
+ *           (threads, lookups per thread, windows in microseconds)
+ *
+ * Requires: JOBTRACKER_DB_* environment variables pointing at a scratch database
+ */
+public class LookupBatchingBenchmark {
+
+    private static final int USERS = 2_000;
+    private static final String EMAIL_PREFIX = "lookup-bench-";
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int lookupsPerThread = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        String[] windows = (args.length > 2 ? args[2] : "0,200,500,1000").split(",");
+
+        ReportDaoJdbc dao = new ReportDaoJdbc();
+        List<String> ids = createUsers(dao);
+
+        try {
+            System.out.println(threads + " threads x " + lookupsPerThread + " lookups over " + ids.size() + " users\n");
+
+            // Warm up the pool and the server's buffer pool
+            run(new LookupBatcher<>("warmup", 0, 1, dao::getUsersByUuids), ids, threads, lookupsPerThread);
+
+            for (String w : windows) {
+                long windowMicros = Long.parseLong(w.trim());
+                LookupBatcher<UserRow> batcher = new LookupBatcher<>("user", windowMicros, 100, dao::getUsersByUuids);
+
+                long nanos = run(batcher, ids, threads, lookupsPerThread);
+
+                LookupBatcher.Stats stats = batcher.stats();
+                double seconds = nanos / 1_000_000_000.0;
+                double avgBatch = stats.batches == 0 ? 0 : (double) stats.keys / stats.batches;
+                System.out.printf("window %6d us   %10.0f lookups/sec   %8d queries   avg batch %6.1f   largest %4d%n",
+                        windowMicros, (double) threads * lookupsPerThread / seconds,
+                        stats.batches, avgBatch, stats.largestBatch);
+            }
+        } finally {
+            deleteUsers();
+        }
+    }
+
+    private static long run(LookupBatcher<UserRow> batcher, List<String> ids, int threads, int lookupsPerThread)
+            throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    int misses = 0;
+                    for (int i = 0; i < lookupsPerThread; i++) {
+                        String id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                        if (batcher.get(id) == null) misses++;
+                    }
+                    return misses;
+                }));
+            }
+            int misses = 0;
+            for (Future<Integer> f : futures) misses += f.get();
+            long nanos = System.nanoTime() - start;
+
+            if (misses > 0) {
+                System.out.println("WARNING: " + misses + " lookups found nothing");
+            }
+            return nanos;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static List<String> createUsers(ReportDaoJdbc dao) {
+        deleteUsers();
+
+        List<UserRow> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            UserRow u = new UserRow();
+            u.email = EMAIL_PREFIX + i + "@example.com";
+            u.passwordHash = "hash";
+            u.name = "Lookup Bench " + i;
+            users.add(u);
+        }
+        BatchResult result = dao.createUsers(users);
+        if (!result.errors.isEmpty()) {
+            throw new IllegalStateException("Could not create scratch users: " + result.errors);
+        }
+        return result.ids;
+    }
+
+    private static void deleteUsers() {
+        try (Connection conn = Db.getConnection();
+             PreparedStatement ps = conn.prepareStatement("DELETE FROM `user` WHERE email LIKE ?")) {
+            ps.setString(1, EMAIL_PREFIX + "%");
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("deleteUsers failed", e);
+        }
+    }
+}